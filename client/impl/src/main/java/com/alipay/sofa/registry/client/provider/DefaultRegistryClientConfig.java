@@ -91,6 +91,12 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
   /** */
   private boolean eventBusEnable;
 
+  /** */
+  private int registerBatchSize;
+
+  /** */
+  private int registerMaxInflight = 8;
+
   /**
    * Instantiates a new Default registry client config.
    *
@@ -405,6 +411,42 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
     this.eventBusEnable = eventBusEnable;
   }
 
+  /**
+   * Getter method for property <tt>registerBatchSize</tt>.
+   *
+   * @return property value of registerBatchSize
+   */
+  public int getRegisterBatchSize() {
+    return registerBatchSize;
+  }
+
+  /**
+   * Setter method for property <tt>registerBatchSize</tt>.
+   *
+   * @param registerBatchSize value to be assigned to property registerBatchSize
+   */
+  public void setRegisterBatchSize(int registerBatchSize) {
+    this.registerBatchSize = registerBatchSize;
+  }
+
+  /**
+   * Getter method for property <tt>registerMaxInflight</tt>.
+   *
+   * @return property value of registerMaxInflight
+   */
+  public int getRegisterMaxInflight() {
+    return registerMaxInflight;
+  }
+
+  /**
+   * Setter method for property <tt>registerMaxInflight</tt>.
+   *
+   * @param registerMaxInflight value to be assigned to property registerMaxInflight
+   */
+  public void setRegisterMaxInflight(int registerMaxInflight) {
+    this.registerMaxInflight = registerMaxInflight;
+  }
+
   /**
    * Equals boolean.
    *
@@ -527,6 +569,10 @@ public class DefaultRegistryClientConfig implements RegistryClientConfig {
         + authCacheInterval
         + ", eventBusEnable="
         + eventBusEnable
+        + ", registerBatchSize="
+        + registerBatchSize
+        + ", registerMaxInflight="
+        + registerMaxInflight
         + '}';
   }
 }
@@ -48,6 +48,8 @@ public class DefaultRegistryClientConfigBuilder {
   private String algorithm = "HmacSHA256";
   private long authCacheInterval = 5 * 60 * 1000;
   private boolean eventBusEnable = true;
+  private int registerBatchSize = 0;
+  private int registerMaxInflight = 8;
 
   /**
    * Start default registry client config builder.
@@ -292,34 +294,61 @@ public class DefaultRegistryClientConfigBuilder {
     return this;
   }
 
+  /**
+   * Sets register batch size, the registers are sent in pipelined batches if it is bigger than 1.
+   * It requires the session server supports the batch register request.
+   *
+   * @param registerBatchSize the register batch size
+   * @return the register batch size
+   */
+  public DefaultRegistryClientConfigBuilder setRegisterBatchSize(int registerBatchSize) {
+    this.registerBatchSize = registerBatchSize;
+    return this;
+  }
+
+  /**
+   * Sets register max inflight batches.
+   *
+   * @param registerMaxInflight the register max inflight
+   * @return the register max inflight
+   */
+  public DefaultRegistryClientConfigBuilder setRegisterMaxInflight(int registerMaxInflight) {
+    this.registerMaxInflight = registerMaxInflight;
+    return this;
+  }
+
   /**
    * Create default registry client config default registry client config.
    *
    * @return the default registry client config
    */
   public DefaultRegistryClientConfig build() {
-    return new DefaultRegistryClientConfig(
-        env,
-        instanceId,
-        ip,
-        zone,
-        registryEndpoint,
-        registryEndpointPort,
-        dataCenter,
-        appName,
-        connectTimeout,
-        socketTimeout,
-        invokeTimeout,
-        recheckInterval,
-        observerThreadCoreSize,
-        observerThreadMaxSize,
-        observerThreadQueueLength,
-        observerCallbackTimeout,
-        syncConfigRetryInterval,
-        accessKey,
-        secretKey,
-        algorithm,
-        authCacheInterval,
-        eventBusEnable);
+    DefaultRegistryClientConfig config =
+        new DefaultRegistryClientConfig(
+            env,
+            instanceId,
+            ip,
+            zone,
+            registryEndpoint,
+            registryEndpointPort,
+            dataCenter,
+            appName,
+            connectTimeout,
+            socketTimeout,
+            invokeTimeout,
+            recheckInterval,
+            observerThreadCoreSize,
+            observerThreadMaxSize,
+            observerThreadQueueLength,
+            observerCallbackTimeout,
+            syncConfigRetryInterval,
+            accessKey,
+            secretKey,
+            algorithm,
+            authCacheInterval,
+            eventBusEnable);
+    config.setRegisterBatchSize(registerBatchSize);
+    config.setRegisterMaxInflight(registerMaxInflight);
+    return config;
   }
 }
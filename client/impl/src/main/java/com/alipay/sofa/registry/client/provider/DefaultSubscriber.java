@@ -176,6 +176,7 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
       register = new SubscriberRegister();
       register.setRegistId(REGIST_ID);
       register.setScope(registration.getScopeEnum().name());
+      register.setAcceptDelta(true);
       setAttributes(register, registration, config);
       // auth signature
       setAuthSignature(register);
@@ -201,6 +202,92 @@ public class DefaultSubscriber extends AbstractInternalRegister implements Subsc
     }
   }
 
+  /**
+   * Put the delta data, the delta is applied only when the version of the segment is the
+   * baseVersion of the delta.
+   *
+   * @param segment the segment
+   * @param baseVersion the version which the delta based on
+   * @param version the version after applying the delta
+   * @param added the added dataBoxes
+   * @param removed the removed dataBoxes
+   * @param localZone the local zone
+   * @return false if the segment data mismatch the baseVersion, need the full data
+   */
+  public boolean putDeltaData(
+      String segment,
+      long baseVersion,
+      long version,
+      Map<String, List<DataBox>> added,
+      Map<String, List<DataBox>> removed,
+      String localZone) {
+    writeLock.lock();
+    try {
+      SegmentData existsData = data.get(segment);
+      if (null == existsData || null == existsData.getVersion()) {
+        return false;
+      }
+      if (existsData.getVersion() >= version) {
+        // the newer data has been received
+        return true;
+      }
+      if (existsData.getVersion() != baseVersion) {
+        return false;
+      }
+      Map<String, List<DataBox>> merged = new HashMap<String, List<DataBox>>();
+      if (null != existsData.getData()) {
+        for (Entry<String, List<DataBox>> entry : existsData.getData().entrySet()) {
+          merged.put(entry.getKey(), new ArrayList<DataBox>(entry.getValue()));
+        }
+      }
+      if (null != removed) {
+        for (Entry<String, List<DataBox>> entry : removed.entrySet()) {
+          List<DataBox> dataBoxes = merged.get(entry.getKey());
+          for (DataBox dataBox : entry.getValue()) {
+            if (null == dataBoxes || !removeDataBox(dataBoxes, dataBox)) {
+              // the delta not match the local data
+              return false;
+            }
+          }
+          if (dataBoxes.isEmpty()) {
+            merged.remove(entry.getKey());
+          }
+        }
+      }
+      if (null != added) {
+        for (Entry<String, List<DataBox>> entry : added.entrySet()) {
+          List<DataBox> dataBoxes = merged.get(entry.getKey());
+          if (null == dataBoxes) {
+            dataBoxes = new ArrayList<DataBox>(entry.getValue().size());
+            merged.put(entry.getKey(), dataBoxes);
+          }
+          dataBoxes.addAll(entry.getValue());
+        }
+      }
+      SegmentData segmentData = new SegmentData();
+      segmentData.setSegment(segment);
+      segmentData.setVersion(version);
+      segmentData.setData(merged);
+      data.put(segment, segmentData);
+      this.localZone = localZone;
+      init.compareAndSet(false, true);
+      return true;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private static boolean removeDataBox(List<DataBox> dataBoxes, DataBox removed) {
+    for (int i = 0; i < dataBoxes.size(); i++) {
+      String data = dataBoxes.get(i).getData();
+      if (data == null ? removed.getData() == null : data.equals(removed.getData())) {
+        dataBoxes.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void putSegmentData(SegmentData segmentData) {
     if (null != segmentData) {
 
@@ -16,6 +16,7 @@
  */
 package com.alipay.sofa.registry.client.remoting;
 
+import com.alipay.remoting.InvokeCallback;
 import com.alipay.remoting.exception.RemotingException;
 
 /**
@@ -52,4 +53,15 @@ public interface Client {
    * @throws InterruptedException the interrupted exception
    */
   Object invokeSync(Object request) throws RemotingException, InterruptedException;
+
+  /**
+   * Invoke with callback, the callback is called when the response arrives or timeout.
+   *
+   * @param request the request
+   * @param callback the callback
+   * @throws RemotingException the remoting exception
+   * @throws InterruptedException the interrupted exception
+   */
+  void invokeWithCallback(Object request, InvokeCallback callback)
+      throws RemotingException, InterruptedException;
 }
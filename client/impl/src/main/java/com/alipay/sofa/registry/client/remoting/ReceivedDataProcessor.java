@@ -38,6 +38,8 @@ import org.slf4j.Logger;
 public class ReceivedDataProcessor extends SyncUserProcessor<ReceivedData> {
   private static final Logger LOGGER = LoggerFactory.getLogger(ReceivedDataProcessor.class);
 
+  public static final String DELTA_MISMATCH = "delta mismatch";
+
   private RegisterCache registerCache;
 
   private ObserverHandler observerHandler;
@@ -82,7 +84,27 @@ public class ReceivedDataProcessor extends SyncUserProcessor<ReceivedData> {
 
         if (subscriber instanceof DefaultSubscriber) {
           DefaultSubscriber defaultSubscriber = (DefaultSubscriber) subscriber;
-          defaultSubscriber.putReceivedData(segmentData, request.getLocalZone());
+          if (null != request.getBaseVersion()) {
+            if (!defaultSubscriber.putDeltaData(
+                request.getSegment(),
+                request.getBaseVersion(),
+                request.getVersion(),
+                request.getData(),
+                request.getRemovedData(),
+                request.getLocalZone())) {
+              // the server will push the full data when the delta push failed
+              result.setSuccess(false);
+              result.setMessage(DELTA_MISMATCH);
+              LOGGER.info(
+                  "[received] delta mismatch, dataId: {}, registId: {}, baseVersion: {}",
+                  subscriber.getDataId(),
+                  registId,
+                  request.getBaseVersion());
+              continue;
+            }
+          } else {
+            defaultSubscriber.putReceivedData(segmentData, request.getLocalZone());
+          }
           try {
             observerHandler.notify(subscriber);
           } catch (Exception e) {
@@ -99,10 +121,11 @@ public class ReceivedDataProcessor extends SyncUserProcessor<ReceivedData> {
       }
 
       LOGGER.info(
-          "[received] receive subscriber data save success, dataId: {} group: {} version: {} data:{} registIds:{}",
+          "[received] receive subscriber data save success, dataId: {} group: {} version: {} baseVersion: {} data:{} registIds:{}",
           request.getDataId(),
           request.getGroup(),
           request.getVersion(),
+          request.getBaseVersion(),
           request.getData(),
           registIds);
     } catch (Exception e) {
@@ -33,6 +33,9 @@ public class TaskEvent implements Comparable<TaskEvent> {
 
   private long triggerTime;
 
+  /** the event is sending in a batch request, skip it until the response arrives */
+  private volatile boolean inflight;
+
   /**
    * Constructor.
    *
@@ -139,6 +142,24 @@ public class TaskEvent implements Comparable<TaskEvent> {
     return result;
   }
 
+  /**
+   * Getter method for property <tt>inflight</tt>.
+   *
+   * @return property value of inflight
+   */
+  public boolean isInflight() {
+    return inflight;
+  }
+
+  /**
+   * Setter method for property <tt>inflight</tt>.
+   *
+   * @param inflight value to be assigned to property inflight
+   */
+  public void setInflight(boolean inflight) {
+    this.inflight = inflight;
+  }
+
   /**
    * Inc send count int.
    *
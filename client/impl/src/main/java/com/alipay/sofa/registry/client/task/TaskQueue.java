@@ -18,10 +18,10 @@ package com.alipay.sofa.registry.client.task;
 
 import com.alipay.sofa.registry.client.api.Register;
 import com.alipay.sofa.registry.client.provider.AbstractInternalRegister;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -37,25 +37,23 @@ public class TaskQueue implements Iterable<TaskEvent> {
       new ConcurrentHashMap<String, TaskEvent>();
 
   /**
-   * Iterator iterator.
+   * Iterator iterator, iterate the tasks without copying and sorting them, the iterator is weakly
+   * consistent and read only, the tasks are removed by {@link #cleanCompletedTasks()}.
    *
    * @return the iterator
    */
   @Override
   public Iterator<TaskEvent> iterator() {
-    List<TaskEvent> taskList = new ArrayList<TaskEvent>(taskMap.values());
-    Collections.sort(taskList);
-    return taskList.iterator();
+    return Collections.unmodifiableCollection(taskMap.values()).iterator();
   }
 
   /** Delete the completed task, return task queue size. */
   public void cleanCompletedTasks() {
-    List<String> taskList = new ArrayList<String>(taskMap.keySet());
-    for (String key : taskList) {
-      TaskEvent event = taskMap.get(key);
+    for (Map.Entry<String, TaskEvent> entry : taskMap.entrySet()) {
+      TaskEvent event = entry.getValue();
       AbstractInternalRegister r = (AbstractInternalRegister) event.getSource();
       if (r.isDone()) {
-        taskMap.remove(key, event);
+        taskMap.remove(entry.getKey(), event);
       }
     }
     taskMap.size();
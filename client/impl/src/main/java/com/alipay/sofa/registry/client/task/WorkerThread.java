@@ -16,16 +16,24 @@
  */
 package com.alipay.sofa.registry.client.task;
 
+import com.alipay.remoting.InvokeCallback;
 import com.alipay.sofa.registry.client.api.Register;
 import com.alipay.sofa.registry.client.api.RegistryClientConfig;
 import com.alipay.sofa.registry.client.log.LoggerFactory;
 import com.alipay.sofa.registry.client.provider.AbstractInternalRegister;
 import com.alipay.sofa.registry.client.provider.AbstractInternalRegister.SyncTask;
+import com.alipay.sofa.registry.client.provider.DefaultRegistryClientConfig;
 import com.alipay.sofa.registry.client.provider.RegisterCache;
 import com.alipay.sofa.registry.client.remoting.Client;
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
 import com.alipay.sofa.registry.core.model.RegisterResponse;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 
@@ -47,6 +55,12 @@ public class WorkerThread extends AbstractWorkerThread {
 
   private AtomicBoolean inited = new AtomicBoolean(false);
 
+  /** Max registers in one batch request, the registers are sent one by one if less than 2 */
+  private final int batchSize;
+
+  /** Permits of the batch requests in flight */
+  private final Semaphore inflightPermits;
+
   /**
    * Instantiates a new Worker thread.
    *
@@ -57,6 +71,15 @@ public class WorkerThread extends AbstractWorkerThread {
     super(client);
     this.config = config;
     this.registerCache = registerCache;
+    // the batch settings are not a part of the api, the other configs send the registers one by one
+    if (config instanceof DefaultRegistryClientConfig) {
+      DefaultRegistryClientConfig defaultConfig = (DefaultRegistryClientConfig) config;
+      this.batchSize = defaultConfig.getRegisterBatchSize();
+      this.inflightPermits = new Semaphore(Math.max(1, defaultConfig.getRegisterMaxInflight()));
+    } else {
+      this.batchSize = 0;
+      this.inflightPermits = new Semaphore(1);
+    }
     this.setName("RegistryWorkerThread");
     this.setDaemon(true);
   }
@@ -103,11 +126,15 @@ public class WorkerThread extends AbstractWorkerThread {
         }
 
         Iterator<TaskEvent> lt = requestQueue.iterator();
+        List<TaskEvent> batch = null;
+        boolean sent = false;
 
         while (lt.hasNext()) {
           client.ensureConnected();
           TaskEvent ev = lt.next();
-          lt.remove();
+          if (ev.isInflight()) {
+            continue;
+          }
           int sendCount = ev.incSendCount();
 
           // Resent needs delay when task event is not the first time to send.
@@ -115,11 +142,31 @@ public class WorkerThread extends AbstractWorkerThread {
             continue;
           }
 
-          handleTask(ev);
+          sent = true;
+          if (batchSize <= 1) {
+            handleTask(ev);
+            continue;
+          }
+          if (batch == null) {
+            batch = new ArrayList<TaskEvent>(batchSize);
+          }
+          batch.add(ev);
+          if (batch.size() >= batchSize) {
+            handleBatch(batch);
+            batch = null;
+          }
+        }
+        if (batch != null) {
+          handleBatch(batch);
         }
 
         // Cleaning completed task, it will take more time when the registration number is large.
         requestQueue.cleanCompletedTasks();
+
+        // the batches in flight signal the thread when the responses arrive
+        if (!sent && batchSize > 1) {
+          await(config.getRecheckInterval());
+        }
       } catch (Throwable e) {
         LOGGER.error("[send] handle data error!", e);
       }
@@ -154,41 +201,149 @@ public class WorkerThread extends AbstractWorkerThread {
 
       Object result = client.invokeSync(request);
 
-      if (!(result instanceof RegisterResponse)) {
-        LOGGER.warn("[register] result type is wrong, {}", result);
-        return;
-      }
+      handleResult(abstractInternalRegister, requestId, request, result);
+    } catch (Exception e) {
+      LOGGER.error("[send] handle request failed, {}", event, e);
+    }
+  }
 
-      RegisterResponse response = (RegisterResponse) result;
-      if (!response.isSuccess()) {
-        LOGGER.info("[register] register to server failed, {}, {}", request, response);
-        return;
+  /**
+   * Send the registers of the events in one batch request, the response is handled asynchronously,
+   * at most {@link DefaultRegistryClientConfig#getRegisterMaxInflight()} batches are in flight.
+   *
+   * @param events the events
+   * @throws InterruptedException the interrupted exception
+   */
+  private void handleBatch(List<TaskEvent> events) throws InterruptedException {
+    final List<TaskEvent> sending = new ArrayList<TaskEvent>(events.size());
+    final List<SyncTask> syncTasks = new ArrayList<SyncTask>(events.size());
+    final List<BaseRegister> requests = new ArrayList<BaseRegister>(events.size());
+    final long now = System.currentTimeMillis();
+    for (TaskEvent event : events) {
+      event.setTriggerTime(now);
+      Register register = event.getSource();
+      if (!(register instanceof AbstractInternalRegister)) {
+        LOGGER.warn("[register] register type unknown, {}", register);
+        continue;
       }
-
-      boolean syncOK =
-          abstractInternalRegister.syncOK(requestId, response.getVersion(), response.isRefused());
-      if (!syncOK) {
-        LOGGER.info(
-            "[register] requestId has expired, ignore this response, {}, {}, {}",
-            requestId,
-            request,
-            response);
-        return;
+      SyncTask syncTask = ((AbstractInternalRegister) register).assemblySyncTask();
+      if (syncTask.isDone()) {
+        LOGGER.info("[register] register already sync succeeded, {}", register);
+        continue;
       }
-
-      if (!register.isEnabled()) {
-        registerCache.remove(register.getRegistId());
+      if (!(syncTask.getRequest() instanceof BaseRegister)) {
+        handleTask(event);
+        continue;
       }
+      sending.add(event);
+      syncTasks.add(syncTask);
+      requests.add((BaseRegister) syncTask.getRequest());
+    }
+    if (requests.isEmpty()) {
+      return;
+    }
+
+    inflightPermits.acquire();
+    for (TaskEvent event : sending) {
+      event.setInflight(true);
+    }
+    final BatchRegister batchRegister = new BatchRegister();
+    batchRegister.setRegisters(requests);
+    try {
+      client.invokeWithCallback(
+          batchRegister,
+          new InvokeCallback() {
+            @Override
+            public void onResponse(Object result) {
+              try {
+                handleBatchResult(sending, syncTasks, result);
+              } finally {
+                batchDone(sending);
+              }
+            }
+
+            @Override
+            public void onException(Throwable e) {
+              LOGGER.error("[send] handle batch request failed, {}", batchRegister, e);
+              batchDone(sending);
+            }
 
-      if (response.isRefused()) {
-        LOGGER.info(
-            "[register] register refused by server, {}, {}, {}", requestId, request, response);
-      } else {
-        LOGGER.info(
-            "[register] register to server success, {}, {}, {}", requestId, request, response);
+            @Override
+            public Executor getExecutor() {
+              return null;
+            }
+          });
+    } catch (Throwable e) {
+      LOGGER.error("[send] handle batch request failed, {}", batchRegister, e);
+      batchDone(sending);
+    }
+  }
+
+  private void handleBatchResult(List<TaskEvent> events, List<SyncTask> syncTasks, Object result) {
+    if (!(result instanceof BatchRegisterResponse)) {
+      LOGGER.warn("[register] batch result type is wrong, {}", result);
+      return;
+    }
+    List<RegisterResponse> responses = ((BatchRegisterResponse) result).getResponses();
+    if (responses == null || responses.size() != syncTasks.size()) {
+      LOGGER.warn("[register] batch result size is wrong, {}, {}", syncTasks.size(), result);
+      return;
+    }
+    for (int i = 0; i < syncTasks.size(); i++) {
+      SyncTask syncTask = syncTasks.get(i);
+      try {
+        handleResult(
+            (AbstractInternalRegister) events.get(i).getSource(),
+            syncTask.getRequestId(),
+            syncTask.getRequest(),
+            responses.get(i));
+      } catch (Throwable e) {
+        LOGGER.error("[send] handle batch response failed, {}", events.get(i), e);
       }
-    } catch (Exception e) {
-      LOGGER.error("[send] handle request failed, {}", event, e);
+    }
+  }
+
+  private void batchDone(List<TaskEvent> events) {
+    for (TaskEvent event : events) {
+      event.setInflight(false);
+    }
+    inflightPermits.release();
+    signal();
+  }
+
+  private void handleResult(
+      AbstractInternalRegister register, String requestId, Object request, Object result) {
+    if (!(result instanceof RegisterResponse)) {
+      LOGGER.warn("[register] result type is wrong, {}", result);
+      return;
+    }
+
+    RegisterResponse response = (RegisterResponse) result;
+    if (!response.isSuccess()) {
+      LOGGER.info("[register] register to server failed, {}, {}", request, response);
+      return;
+    }
+
+    boolean syncOK = register.syncOK(requestId, response.getVersion(), response.isRefused());
+    if (!syncOK) {
+      LOGGER.info(
+          "[register] requestId has expired, ignore this response, {}, {}, {}",
+          requestId,
+          request,
+          response);
+      return;
+    }
+
+    if (!register.isEnabled()) {
+      registerCache.remove(register.getRegistId());
+    }
+
+    if (response.isRefused()) {
+      LOGGER.info(
+          "[register] register refused by server, {}, {}, {}", requestId, request, response);
+    } else {
+      LOGGER.info(
+          "[register] register to server success, {}, {}, {}", requestId, request, response);
     }
   }
 }
@@ -21,12 +21,15 @@ import com.alipay.remoting.rpc.RpcServer;
 import com.alipay.remoting.rpc.protocol.SyncUserProcessor;
 import com.alipay.sofa.registry.core.constants.EventTypeConstants;
 import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
 import com.alipay.sofa.registry.core.model.ConfiguratorRegister;
 import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.PublisherRegister;
 import com.alipay.sofa.registry.core.model.RegisterResponse;
 import com.alipay.sofa.registry.core.model.Result;
 import com.alipay.sofa.registry.core.model.SubscriberRegister;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +64,7 @@ public class MockServer {
     rpcServer.registerUserProcessor(new MockSubscriberRegisterProcessor());
     rpcServer.registerUserProcessor(new MockPublisherRegisterProcessor());
     rpcServer.registerUserProcessor(new MockConfiguratorRegisterProcesor());
+    rpcServer.registerUserProcessor(new MockBatchRegisterProcessor());
     rpcServer.start();
   }
 
@@ -212,4 +216,37 @@ public class MockServer {
       return ConfiguratorRegister.class.getName();
     }
   }
+
+  class MockBatchRegisterProcessor extends SyncUserProcessor<BatchRegister> {
+    private final MockPublisherRegisterProcessor publisherProcessor =
+        new MockPublisherRegisterProcessor();
+    private final MockSubscriberRegisterProcessor subscriberProcessor =
+        new MockSubscriberRegisterProcessor();
+    private final MockConfiguratorRegisterProcesor configuratorProcessor =
+        new MockConfiguratorRegisterProcesor();
+
+    @Override
+    public Object handleRequest(BizContext bizCtx, BatchRegister request) throws Exception {
+      List<RegisterResponse> responses = new ArrayList<RegisterResponse>();
+      for (BaseRegister register : request.getRegisters()) {
+        Object response;
+        if (register instanceof PublisherRegister) {
+          response = publisherProcessor.handleRequest(bizCtx, (PublisherRegister) register);
+        } else if (register instanceof SubscriberRegister) {
+          response = subscriberProcessor.handleRequest(bizCtx, (SubscriberRegister) register);
+        } else {
+          response = configuratorProcessor.handleRequest(bizCtx, (ConfiguratorRegister) register);
+        }
+        responses.add((RegisterResponse) response);
+      }
+      BatchRegisterResponse batchResponse = new BatchRegisterResponse();
+      batchResponse.setResponses(responses);
+      return batchResponse;
+    }
+
+    @Override
+    public String interest() {
+      return BatchRegister.class.getName();
+    }
+  }
 }
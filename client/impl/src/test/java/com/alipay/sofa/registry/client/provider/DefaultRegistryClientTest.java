@@ -37,6 +37,8 @@ import com.alipay.sofa.registry.client.base.BaseTest;
 import com.alipay.sofa.registry.core.model.PublisherRegister;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.alipay.sofa.registry.core.model.SubscriberRegister;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.After;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -63,6 +65,40 @@ public class DefaultRegistryClientTest extends BaseTest {
     mockServer.stop();
   }
 
+  /** Register in batches. */
+  @Test
+  public void registerInBatch() throws InterruptedException {
+    DefaultRegistryClientConfig config =
+        DefaultRegistryClientConfigBuilder.start()
+            .setAppName(appName)
+            .setDataCenter(dataCenter)
+            .setInstanceId(instanceId)
+            .setRegistryEndpoint(mockServer.getIp())
+            .setRegisterBatchSize(4)
+            .setRegisterMaxInflight(2)
+            .build();
+    DefaultRegistryClient batchClient = new DefaultRegistryClient(config);
+    batchClient.init();
+
+    List<Publisher> publishers = new ArrayList<Publisher>();
+    for (int i = 0; i < 10; i++) {
+      publishers.add(batchClient.register(new PublisherRegistration(dataId + "-batch-" + i)));
+    }
+    SubscriberRegistration subscriberRegistration =
+        new SubscriberRegistration(dataId, mock(SubscriberDataObserver.class));
+    subscriberRegistration.setScopeEnum(ScopeEnum.dataCenter);
+    Subscriber subscriber = batchClient.register(subscriberRegistration);
+
+    Thread.sleep(2000L);
+
+    for (Publisher publisher : publishers) {
+      assertTrue(((DefaultPublisher) publisher).isRegistered());
+      assertNotNull(mockServer.queryPubliser(publisher.getRegistId()));
+    }
+    assertTrue(subscriber.isRegistered());
+    assertNotNull(mockServer.querySubscriber(subscriber.getRegistId()));
+  }
+
   /** Register publisher. */
   @Test
   public void registerPublisher() throws InterruptedException {
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.client.provider;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -233,6 +234,56 @@ public class DefaultSubscriberTest {
     assertZoneDataEquals(expectedMap8, userData10.getZoneData());
   }
 
+  @Test
+  public void testPutDeltaData() {
+    String localZone = ZHEJIANG;
+    DefaultRegistryClientConfig config = DefaultRegistryClientConfigBuilder.start().build();
+    DefaultSubscriber defaultSubscriber = new DefaultSubscriber(null, null, config);
+
+    // 1. no base data, need full data
+    Map<String, List<DataBox>> added1 = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(added1, ZHEJIANG, HANGZHOU);
+    assertFalse(defaultSubscriber.putDeltaData(segmentA, 1, 2, added1, null, localZone));
+
+    Map<String, List<DataBox>> map1 = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(map1, ZHEJIANG, HANGZHOU, NINGBO);
+    addToDataBoxMap(map1, JIANGSU, NANJING);
+    SegmentData sd1 = new SegmentData();
+    sd1.setSegment(segmentA);
+    sd1.setVersion(10L);
+    sd1.setData(map1);
+    defaultSubscriber.putReceivedData(sd1, localZone);
+
+    // 2. apply delta
+    Map<String, List<DataBox>> added2 = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(added2, ZHEJIANG, WENZHOU);
+    addToDataBoxMap(added2, FUJIAN, XIAMEN);
+    Map<String, List<DataBox>> removed2 = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(removed2, ZHEJIANG, NINGBO);
+    addToDataBoxMap(removed2, JIANGSU, NANJING);
+    assertTrue(defaultSubscriber.putDeltaData(segmentA, 10, 20, added2, removed2, localZone));
+
+    Map<String, List<String>> expectedMap2 = new HashMap<String, List<String>>();
+    addToStringMap(expectedMap2, ZHEJIANG, HANGZHOU, WENZHOU);
+    addToStringMap(expectedMap2, FUJIAN, XIAMEN);
+    assertZoneDataEquals(expectedMap2, defaultSubscriber.peekData().getZoneData());
+    // the received data is not modified
+    assertEquals(2, map1.get(ZHEJIANG).size());
+
+    // 3. the delta is stale, ignore it
+    assertTrue(defaultSubscriber.putDeltaData(segmentA, 10, 20, added2, removed2, localZone));
+    assertZoneDataEquals(expectedMap2, defaultSubscriber.peekData().getZoneData());
+
+    // 4. base version mismatch
+    assertFalse(defaultSubscriber.putDeltaData(segmentA, 15, 30, added1, null, localZone));
+
+    // 5. removed data not exist
+    Map<String, List<DataBox>> removed5 = new HashMap<String, List<DataBox>>();
+    addToDataBoxMap(removed5, ZHEJIANG, NINGBO);
+    assertFalse(defaultSubscriber.putDeltaData(segmentA, 20, 30, added1, removed5, localZone));
+    assertZoneDataEquals(expectedMap2, defaultSubscriber.peekData().getZoneData());
+  }
+
   private void addToDataBoxMap(Map<String, List<DataBox>> map, String key, String... values) {
     List<DataBox> list = map.get(key);
     if (list == null) {
@@ -48,6 +48,14 @@ public class ReceivedData implements Serializable {
 
   private String localZone;
 
+  /**
+   * not null means the push is a delta against the data of baseVersion: the data contains the added
+   * dataBoxes and the removedData contains the removed dataBoxes
+   */
+  private Long baseVersion;
+
+  private Map<String /*zone*/, List<DataBox>> removedData;
+
   /** Instantiates a new Received data multi. */
   public ReceivedData() {}
 
@@ -241,6 +249,42 @@ public class ReceivedData implements Serializable {
     this.localZone = localZone;
   }
 
+  /**
+   * Getter method for property <tt>baseVersion</tt>.
+   *
+   * @return property value of baseVersion
+   */
+  public Long getBaseVersion() {
+    return baseVersion;
+  }
+
+  /**
+   * Setter method for property <tt>baseVersion</tt>.
+   *
+   * @param baseVersion value to be assigned to property baseVersion
+   */
+  public void setBaseVersion(Long baseVersion) {
+    this.baseVersion = baseVersion;
+  }
+
+  /**
+   * Getter method for property <tt>removedData</tt>.
+   *
+   * @return property value of removedData
+   */
+  public Map<String, List<DataBox>> getRemovedData() {
+    return removedData;
+  }
+
+  /**
+   * Setter method for property <tt>removedData</tt>.
+   *
+   * @param removedData value to be assigned to property removedData
+   */
+  public void setRemovedData(Map<String, List<DataBox>> removedData) {
+    this.removedData = removedData;
+  }
+
   /**
    * To string string.
    *
@@ -268,6 +312,8 @@ public class ReceivedData implements Serializable {
         + subscriberRegistIds
         + ", version="
         + version
+        + ", baseVersion="
+        + baseVersion
         + ", localZone='"
         + localZone
         + '\''
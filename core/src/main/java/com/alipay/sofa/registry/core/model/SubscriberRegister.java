@@ -27,6 +27,9 @@ public class SubscriberRegister extends BaseRegister {
 
   private String acceptEncoding;
 
+  /** whether the subscriber accepts the delta push, see ReceivedData#getBaseVersion */
+  private boolean acceptDelta;
+
   /**
    * Getter method for property <tt>scope</tt>.
    *
@@ -62,4 +65,22 @@ public class SubscriberRegister extends BaseRegister {
   public void setAcceptEncoding(String acceptEncoding) {
     this.acceptEncoding = acceptEncoding;
   }
+
+  /**
+   * Getter method for property <tt>acceptDelta</tt>.
+   *
+   * @return property value of acceptDelta
+   */
+  public boolean isAcceptDelta() {
+    return acceptDelta;
+  }
+
+  /**
+   * Setter method for property <tt>acceptDelta</tt>.
+   *
+   * @param acceptDelta value to be assigned to property acceptDelta
+   */
+  public void setAcceptDelta(boolean acceptDelta) {
+    this.acceptDelta = acceptDelta;
+  }
 }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * run the benchmarks and write the results as json, so the results of different versions could be
+ * compared.
+ *
+ * <p>java -jar benchmarks.jar [includeRegex...], the result file is specified by
+ * -Dregistry.benchmark.result, default is jmh-result.json
+ */
+public final class BenchmarkMain {
+  private static final String KEY_RESULT_FILE = "registry.benchmark.result";
+
+  private BenchmarkMain() {}
+
+  public static void main(String[] args) throws RunnerException {
+    ChainedOptionsBuilder builder =
+        new OptionsBuilder()
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty(KEY_RESULT_FILE, "jmh-result.json"));
+    if (args.length == 0) {
+      builder.include("com\\.alipay\\.sofa\\.registry\\..*");
+    } else {
+      for (String include : args) {
+        builder.include(include);
+      }
+    }
+    new Runner(builder.build()).run();
+  }
+}
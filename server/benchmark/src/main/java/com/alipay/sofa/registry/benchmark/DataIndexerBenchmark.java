@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import com.alipay.sofa.registry.server.session.store.DataIndexer;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** the connectId index of the session store, add on every register and query on disconnect */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataIndexerBenchmark {
+  @Param({"1000", "100000"})
+  int keyCount;
+
+  @Param({"10"})
+  int valPerKey;
+
+  private DataIndexer<String, String> indexer;
+
+  private String[] keys;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    indexer =
+        new DataIndexer<String, String>("benchmark") {
+          @Override
+          protected void dataStoreForEach(BiConsumer<String, String> consumer) {}
+        };
+    keys = new String[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = "192.168.0." + (i % 250) + ":" + (10000 + i);
+      for (int j = 0; j < valPerKey; j++) {
+        indexer.add(keys[i], "registerId-" + i + "-" + j, () -> null);
+      }
+    }
+  }
+
+  private String randomKey() {
+    return keys[ThreadLocalRandom.current().nextInt(keyCount)];
+  }
+
+  @Benchmark
+  public Boolean add() {
+    final int seq = ThreadLocalRandom.current().nextInt(valPerKey * 2);
+    return indexer.add(randomKey(), "registerId-" + seq, () -> Boolean.TRUE);
+  }
+
+  @Benchmark
+  public Set<String> queryByKey() {
+    return indexer.queryByKey(randomKey());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.sofa.registry.common.model.client.pb.BaseRegisterPb;
+import com.alipay.sofa.registry.common.model.client.pb.DataBoxPb;
+import com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb;
+import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufSerializer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * encode/decode of the pb publisher register request of the client, compares the parser table of
+ * ProtobufSerializer with the reflective serializer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtobufSerializerBenchmark {
+  @Param({"1", "10"})
+  int dataBoxCount;
+
+  private final ProtobufSerializer serializer = ProtobufSerializer.getInstance();
+
+  private final ReflectiveProtobufSerializer reflectiveSerializer =
+      new ReflectiveProtobufSerializer();
+
+  private final String className = PublisherRegisterPb.class.getName();
+
+  private PublisherRegisterPb request;
+
+  private byte[] bytes;
+
+  @Setup(Level.Trial)
+  public void setup() throws CodecException {
+    BaseRegisterPb base =
+        BaseRegisterPb.newBuilder()
+            .setInstanceId("DEFAULT_INSTANCE_ID")
+            .setZone("zone-0")
+            .setAppName("benchmark-app")
+            .setDataId("com.alipay.sofa.registry.benchmark.Service")
+            .setGroup("DEFAULT_GROUP")
+            .setProcessId("12345")
+            .setRegistId("benchmark-registerId")
+            .setClientId("benchmark-clientId")
+            .setDataInfoId(
+                "com.alipay.sofa.registry.benchmark.Service#@#DEFAULT_INSTANCE_ID#@#DEFAULT_GROUP")
+            .setIp("192.168.0.1")
+            .setPort(12200)
+            .setEventType("REGISTER")
+            .setVersion(1)
+            .setTimestamp(System.currentTimeMillis())
+            .putAttributes("benchmark", "true")
+            .build();
+    PublisherRegisterPb.Builder builder = PublisherRegisterPb.newBuilder().setBaseRegister(base);
+    for (int i = 0; i < dataBoxCount; i++) {
+      builder.addDataList(
+          DataBoxPb.newBuilder().setData("192.168.0.1:12200?_TIMEOUT=3000&p=1&v=4.0&seq=" + i));
+    }
+    request = builder.build();
+    bytes = serializer.serialize(request);
+    serializer.registerParser(PublisherRegisterPb.getDefaultInstance());
+  }
+
+  @Benchmark
+  public byte[] encode() throws CodecException {
+    return serializer.serialize(request);
+  }
+
+  @Benchmark
+  public Object decode() throws CodecException {
+    return serializer.deserialize(bytes, className);
+  }
+
+  @Benchmark
+  public byte[] encodeReflective() throws CodecException {
+    return reflectiveSerializer.serialize(request);
+  }
+
+  @Benchmark
+  public Object decodeReflective() throws CodecException {
+    return reflectiveSerializer.deserialize(bytes, className);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
+import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.google.common.collect.Maps;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** digest of the publishers summary, calc on every slot diff */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublisherDigestBenchmark {
+  @Param({"10", "1000"})
+  int pubCount;
+
+  private DatumSummary summary;
+
+  private Map<String, DatumSummary> summaryMap;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final long now = System.currentTimeMillis();
+    Map<String, RegisterVersion> versions = Maps.newHashMapWithExpectedSize(pubCount);
+    for (int i = 0; i < pubCount; i++) {
+      versions.put("registerId-" + i, RegisterVersion.of(i, now + i));
+    }
+    summary = new DatumSummary("benchmark-dataInfoId", versions);
+    summaryMap = Maps.newHashMapWithExpectedSize(100);
+    for (int i = 0; i < 100; i++) {
+      summaryMap.put("benchmark-dataInfoId-" + i, new DatumSummary("benchmark-" + i, versions));
+    }
+  }
+
+  @Benchmark
+  public DatumDigest digest() {
+    return PublisherDigestUtil.digest(summary);
+  }
+
+  @Benchmark
+  public Map<String, DatumDigest> digestMap() {
+    return PublisherDigestUtil.digest(summaryMap);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.store.CompactPublisher;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * the retained heap of the publishers in the plain and the compact form, reported as the
+ * bytesPerPub counter; and the cost of materializing the compact publisher
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublisherFootprintBenchmark {
+  @Param({"100000"})
+  int pubCount;
+
+  @Param({"64", "512"})
+  int dataSize;
+
+  private Publisher publisher;
+
+  private CompactPublisher compactPublisher;
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint {
+    public long bytesPerPub;
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    publisher = newPublisher(0);
+    compactPublisher = CompactPublisher.compact(publisher);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public List<Publisher> footprintPublisher(Footprint footprint) {
+    final long start = usedHeap();
+    List<Publisher> list = new ArrayList<>(pubCount);
+    for (int i = 0; i < pubCount; i++) {
+      list.add(newPublisher(i));
+    }
+    footprint.bytesPerPub = (usedHeap() - start) / pubCount;
+    return list;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public List<CompactPublisher> footprintCompact(Footprint footprint) {
+    final long start = usedHeap();
+    List<CompactPublisher> list = new ArrayList<>(pubCount);
+    for (int i = 0; i < pubCount; i++) {
+      list.add(CompactPublisher.compact(newPublisher(i)));
+    }
+    footprint.bytesPerPub = (usedHeap() - start) / pubCount;
+    return list;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  public Publisher materialize() {
+    return compactPublisher.toPublisher();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  public CompactPublisher compact() {
+    return CompactPublisher.compact(publisher);
+  }
+
+  // the fields are new strings as decoded from the network, the setters intern some of them
+  private Publisher newPublisher(int i) {
+    Publisher pub = new Publisher();
+    final String dataId = "benchmark-dataId-" + (i % 1000);
+    pub.setDataInfoId(dataId + "#@#DEFAULT_INSTANCE_ID#@#DEFAULT_GROUP");
+    pub.setDataId(dataId);
+    pub.setInstanceId(new String("DEFAULT_INSTANCE_ID"));
+    pub.setGroup(new String("DEFAULT_GROUP"));
+    pub.setCell(new String("RZ00A"));
+    pub.setAppName("benchmark-app-" + (i % 100));
+    pub.setRegisterId(UUID.randomUUID().toString());
+    pub.setClientId(UUID.randomUUID().toString());
+    pub.setProcessId("10.0." + (i % 250) + ".1-" + (i % 5000));
+    pub.setVersion(i);
+    pub.setRegisterTimestamp(System.currentTimeMillis());
+    pub.setClientRegisterTimestamp(System.currentTimeMillis());
+    final String clientIp = "10.0." + (i % 250) + "." + (i % 200);
+    pub.setSourceAddress(new URL(URL.ProtocolType.BOLT, clientIp, 40000, URL.HESSIAN_2));
+    pub.setTargetAddress(new URL("10.1.0." + (i % 20), 9600));
+    pub.setSessionProcessId(new ProcessId("10.1.0." + (i % 20), 1, 1, i % 20));
+    pub.setDataList(Lists.newArrayList(new ServerDataBox(new byte[dataSize])));
+    return pub;
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import com.alipay.sofa.registry.common.model.PublishSource;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.common.model.store.DataInfo;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.common.model.store.SubPublisher;
+import com.alipay.sofa.registry.compress.CompressUtils;
+import com.alipay.sofa.registry.compress.Compressor;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.converter.ReceivedDataConverter;
+import com.alipay.sofa.registry.server.session.converter.pb.ReceivedDataConvertor;
+import com.alipay.sofa.registry.server.session.predicate.ZonePredicate;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** build the push data from the datum, and compress the pb push data */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceivedDataBenchmark {
+  private static final String LOCAL_ZONE = "zone-0";
+
+  @Param({"100", "2000"})
+  int pubCount;
+
+  @Param({"gzip", "zstd"})
+  String encoding;
+
+  private SubDatum datum;
+
+  private List<String> subscriberRegisterIds;
+
+  private Predicate<String> zonePredicate;
+
+  private ReceivedData receivedData;
+
+  private Compressor compressor;
+
+  // the compressed result is cached by version, change the version to skip the cache
+  private final AtomicLong version = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final String dataId = "benchmark-dataId";
+    final long now = System.currentTimeMillis();
+    List<SubPublisher> publishers = Lists.newArrayListWithCapacity(pubCount);
+    for (int i = 0; i < pubCount; i++) {
+      publishers.add(
+          new SubPublisher(
+              "registerId-" + i,
+              "zone-" + (i % 3),
+              Lists.newArrayList(new ServerDataBox("192.168.0." + (i % 250) + ":12200?a=b&c=d")),
+              "clientId-" + i,
+              i,
+              "192.168.0." + (i % 250) + ":" + (10000 + i),
+              now,
+              PublishSource.CLIENT));
+    }
+    datum =
+        SubDatum.normalOf(
+            DataInfo.toDataInfoId(dataId, "I", "G"),
+            "benchmark-dc",
+            100,
+            publishers,
+            dataId,
+            "I",
+            "G",
+            Collections.singletonList(now));
+    subscriberRegisterIds = Collections.singletonList("subscriber-registerId");
+    SessionServerConfigBean configBean = new SessionServerConfigBean(null);
+    zonePredicate =
+        ZonePredicate.zonePredicate(dataId, LOCAL_ZONE, ScopeEnum.dataCenter, configBean);
+    receivedData = getReceivedData();
+    compressor = CompressUtils.mustGet(encoding);
+  }
+
+  private ReceivedData getReceivedData() {
+    return ReceivedDataConverter.getReceivedDataMulti(
+            datum, ScopeEnum.dataCenter, subscriberRegisterIds, LOCAL_ZONE, zonePredicate)
+        .getPayload();
+  }
+
+  @Benchmark
+  public ReceivedData getReceivedDataMulti() {
+    return getReceivedData();
+  }
+
+  @Benchmark
+  public ReceivedDataPb convert2CompressedPb() {
+    receivedData.setVersion(version.incrementAndGet());
+    return ReceivedDataConvertor.convert2CompressedPb(receivedData, compressor);
+  }
+}
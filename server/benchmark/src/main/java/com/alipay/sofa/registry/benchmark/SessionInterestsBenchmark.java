@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.benchmark;
+
+import com.alipay.sofa.registry.common.model.ElementType;
+import com.alipay.sofa.registry.common.model.Tuple;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.store.BaseInfo;
+import com.alipay.sofa.registry.common.model.store.DataInfo;
+import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.server.session.store.SessionInterests;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** the interest check on datum change and the subscribers select of the version scan */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionInterestsBenchmark {
+  private static final String DATA_CENTER = "benchmark-dc";
+
+  @Param({"1000", "100000"})
+  int subCount;
+
+  @Param({"10"})
+  int subPerDataInfoId;
+
+  private SessionInterests interests;
+
+  private String[] dataInfoIds;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    SessionServerConfigBean configBean = new SessionServerConfigBean(null);
+    configBean.setSessionServerDataCenter(DATA_CENTER);
+    interests = new SessionInterests();
+    interests.setSessionServerConfig(configBean);
+
+    dataInfoIds = new String[Math.max(1, subCount / subPerDataInfoId)];
+    for (int i = 0; i < dataInfoIds.length; i++) {
+      dataInfoIds[i] = DataInfo.toDataInfoId("benchmark-dataId-" + i, "I", "G");
+    }
+    for (int i = 0; i < subCount; i++) {
+      Subscriber subscriber = newSubscriber(dataInfoIds[i % dataInfoIds.length], i);
+      interests.add(subscriber);
+      subscriber.checkAndUpdateCtx(DATA_CENTER, 100 + i, 1);
+    }
+  }
+
+  private static Subscriber newSubscriber(String dataInfoId, int seq) {
+    DataInfo dataInfo = DataInfo.valueOf(dataInfoId);
+    Subscriber subscriber = new Subscriber();
+    subscriber.setDataInfoId(dataInfoId);
+    subscriber.setDataId(dataInfo.getDataId());
+    subscriber.setInstanceId(dataInfo.getInstanceId());
+    subscriber.setGroup(dataInfo.getGroup());
+    subscriber.setRegisterId("registerId-" + seq);
+    subscriber.setAppName("benchmark-app");
+    subscriber.setClientVersion(BaseInfo.ClientVersion.StoreData);
+    subscriber.setScope(ScopeEnum.dataCenter);
+    subscriber.setElementType(ElementType.SUBSCRIBER);
+    subscriber.setSourceAddress(new URL("192.168.0." + (seq % 250), 10000 + seq % 50000));
+    subscriber.setTargetAddress(new URL("192.168.1.1", 9600));
+    return subscriber;
+  }
+
+  @Benchmark
+  public Interests.InterestVersionCheck checkInterestVersion() {
+    final String dataInfoId = dataInfoIds[ThreadLocalRandom.current().nextInt(dataInfoIds.length)];
+    return interests.checkInterestVersion(DATA_CENTER, dataInfoId, System.currentTimeMillis());
+  }
+
+  @Benchmark
+  public Tuple<Map<String, DatumVersion>, List<Subscriber>> selectSubscribers() {
+    return interests.selectSubscribers(DATA_CENTER);
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ConnectId;
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.store.DataInfo;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * put/remove/summary of PublisherGroup, the group is package private, so the benchmark is in the
+ * same package. the contended write/read path runs with 8/32 threads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublisherGroupOpsBenchmark {
+  private static final int SESSION_NUM = 8;
+
+  @Param({"100", "10000"})
+  int pubCount;
+
+  private PublisherGroup group;
+
+  private Publisher[] publishers;
+
+  private Set<String> sessionIps;
+
+  private final AtomicLong clientVersion = new AtomicLong(1000);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final String dataInfoId = DataInfo.toDataInfoId("benchmark-dataId", "I", "G");
+    group = new PublisherGroup(dataInfoId, "dc");
+    publishers = new Publisher[pubCount];
+    ProcessId[] processIds = new ProcessId[SESSION_NUM];
+    for (int i = 0; i < SESSION_NUM; i++) {
+      processIds[i] = new ProcessId("192.168.1." + i, System.currentTimeMillis(), i, i);
+    }
+    for (int i = 0; i < pubCount; i++) {
+      publishers[i] = newPublisher(dataInfoId, "registerId-" + i, processIds[i % SESSION_NUM]);
+    }
+    group.put(Lists.newArrayList(publishers));
+    sessionIps = Collections.singleton(processIds[0].getHostAddress());
+  }
+
+  private Publisher newPublisher(String dataInfoId, String registerId, ProcessId processId) {
+    DataInfo dataInfo = DataInfo.valueOf(dataInfoId);
+    Publisher publisher = new Publisher();
+    publisher.setDataInfoId(dataInfoId);
+    publisher.setDataId(dataInfo.getDataId());
+    publisher.setInstanceId(dataInfo.getInstanceId());
+    publisher.setGroup(dataInfo.getGroup());
+    publisher.setRegisterId(registerId);
+    publisher.setSessionProcessId(processId);
+    publisher.setRegisterTimestamp(System.currentTimeMillis());
+    publisher.setVersion(clientVersion.incrementAndGet());
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox("benchmark-data")));
+    ConnectId connectId =
+        ConnectId.of(processId.getHostAddress() + ":9600", processId.getHostAddress() + ":9999");
+    publisher.setSourceAddress(URL.valueOf(connectId.clientAddress()));
+    publisher.setTargetAddress(URL.valueOf(connectId.sessionAddress()));
+    return publisher;
+  }
+
+  private Publisher randomPublisher() {
+    return publishers[ThreadLocalRandom.current().nextInt(pubCount)];
+  }
+
+  @Benchmark
+  public DatumVersion put() {
+    Publisher exist = randomPublisher();
+    Publisher publisher =
+        newPublisher(exist.getDataInfoId(), exist.getRegisterId(), exist.getSessionProcessId());
+    return group.put(Collections.singletonList(publisher));
+  }
+
+  @Benchmark
+  public DatumVersion putRemove() {
+    Publisher exist = randomPublisher();
+    Publisher publisher =
+        newPublisher(exist.getDataInfoId(), exist.getRegisterId(), exist.getSessionProcessId());
+    group.put(Collections.singletonList(publisher));
+    return group.remove(
+        publisher.getSessionProcessId(),
+        Collections.singletonMap(publisher.getRegisterId(), publisher.registerVersion()));
+  }
+
+  @Benchmark
+  @Threads(8)
+  public DatumVersion putRemove_8() {
+    return putRemove();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public DatumVersion putRemove_32() {
+    return putRemove();
+  }
+
+  @Benchmark
+  public Datum toDatum() {
+    return group.toDatum();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Datum toDatum_32() {
+    return group.toDatum();
+  }
+
+  private Object mixed() {
+    if (ThreadLocalRandom.current().nextInt(10) == 0) {
+      return putRemove();
+    }
+    return group.getPublishers();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object mixed_8() {
+    return mixed();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Object mixed_32() {
+    return mixed();
+  }
+
+  @Benchmark
+  public DatumSummary allSummary() {
+    return group.getAllSummary();
+  }
+
+  @Benchmark
+  public Map<String, DatumSummary> sessionSummary() {
+    return group.getSummary(sessionIps);
+  }
+}
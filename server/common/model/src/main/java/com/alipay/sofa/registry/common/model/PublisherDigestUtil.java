@@ -71,6 +71,28 @@ public final class PublisherDigestUtil {
         publisherNum, publisherIdSign, publisherVerSign, publisherTimestampSign, max, min);
   }
 
+  /**
+   * the hash of one publisher in the bucket digest, the bucket digest is the sum of the publishers
+   * hash, so it could be maintained incrementally when the publisher add/remove
+   */
+  public static long bucketHash(String dataInfoId, String registerId, RegisterVersion ver) {
+    long h = digest(dataInfoId);
+    h = 31 * h + digest(registerId);
+    h = 31 * h + ver.getVersion();
+    h = 31 * h + ver.getRegisterTimestamp();
+    return mix(h);
+  }
+
+  private static long mix(long h) {
+    // the finalization mix of murmur3, spread the bits to avoid sum collision
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
   private static int digest(String str) {
     // use string.hashCode, it's the fastest. the calc result has cached.
     // but must pay attention to the compatibility of different jdk versions
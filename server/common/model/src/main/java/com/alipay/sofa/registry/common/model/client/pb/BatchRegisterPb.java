@@ -0,0 +1,1092 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.client.pb;
+
+/** Protobuf type {@code BatchRegisterPb} */
+public final class BatchRegisterPb extends com.google.protobuf.GeneratedMessageV3
+    implements
+    // @@protoc_insertion_point(message_implements:BatchRegisterPb)
+    BatchRegisterPbOrBuilder {
+  private static final long serialVersionUID = 0L;
+  // Use BatchRegisterPb.newBuilder() to construct.
+  private BatchRegisterPb(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+    super(builder);
+  }
+
+  private BatchRegisterPb() {
+    publishers_ = java.util.Collections.emptyList();
+    subscribers_ = java.util.Collections.emptyList();
+  }
+
+  @java.lang.Override
+  public final com.google.protobuf.UnknownFieldSet getUnknownFields() {
+    return this.unknownFields;
+  }
+
+  private BatchRegisterPb(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    this();
+    if (extensionRegistry == null) {
+      throw new java.lang.NullPointerException();
+    }
+    int mutable_bitField0_ = 0;
+    com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+        com.google.protobuf.UnknownFieldSet.newBuilder();
+    try {
+      boolean done = false;
+      while (!done) {
+        int tag = input.readTag();
+        switch (tag) {
+          case 0:
+            done = true;
+            break;
+          default:
+            {
+              if (!parseUnknownFieldProto3(input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          case 10:
+            {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                publishers_ =
+                    new java.util.ArrayList<
+                        com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              publishers_.add(
+                  input.readMessage(
+                      com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.parser(),
+                      extensionRegistry));
+              break;
+            }
+          case 18:
+            {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                subscribers_ =
+                    new java.util.ArrayList<
+                        com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              subscribers_.add(
+                  input.readMessage(
+                      com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.parser(),
+                      extensionRegistry));
+              break;
+            }
+        }
+      }
+    } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+      throw e.setUnfinishedMessage(this);
+    } catch (java.io.IOException e) {
+      throw new com.google.protobuf.InvalidProtocolBufferException(e).setUnfinishedMessage(this);
+    } finally {
+      if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+        publishers_ = java.util.Collections.unmodifiableList(publishers_);
+      }
+      if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+        subscribers_ = java.util.Collections.unmodifiableList(subscribers_);
+      }
+      this.unknownFields = unknownFields.build();
+      makeExtensionsImmutable();
+    }
+  }
+
+  public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+    return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+        .internal_static_BatchRegisterPb_descriptor;
+  }
+
+  protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internalGetFieldAccessorTable() {
+    return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+        .internal_static_BatchRegisterPb_fieldAccessorTable
+        .ensureFieldAccessorsInitialized(
+            com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.class,
+            com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.Builder.class);
+  }
+
+  public static final int PUBLISHERS_FIELD_NUMBER = 1;
+  private java.util.List<com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>
+      publishers_;
+  /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+  public java.util.List<com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>
+      getPublishersList() {
+    return publishers_;
+  }
+  /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+  public java.util.List<
+          ? extends com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder>
+      getPublishersOrBuilderList() {
+    return publishers_;
+  }
+  /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+  public int getPublishersCount() {
+    return publishers_.size();
+  }
+  /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb getPublishers(
+      int index) {
+    return publishers_.get(index);
+  }
+  /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder
+      getPublishersOrBuilder(int index) {
+    return publishers_.get(index);
+  }
+
+  public static final int SUBSCRIBERS_FIELD_NUMBER = 2;
+  private java.util.List<com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>
+      subscribers_;
+  /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+  public java.util.List<com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>
+      getSubscribersList() {
+    return subscribers_;
+  }
+  /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+  public java.util.List<
+          ? extends com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder>
+      getSubscribersOrBuilderList() {
+    return subscribers_;
+  }
+  /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+  public int getSubscribersCount() {
+    return subscribers_.size();
+  }
+  /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb getSubscribers(
+      int index) {
+    return subscribers_.get(index);
+  }
+  /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder
+      getSubscribersOrBuilder(int index) {
+    return subscribers_.get(index);
+  }
+
+  private byte memoizedIsInitialized = -1;
+
+  public final boolean isInitialized() {
+    byte isInitialized = memoizedIsInitialized;
+    if (isInitialized == 1) return true;
+    if (isInitialized == 0) return false;
+
+    memoizedIsInitialized = 1;
+    return true;
+  }
+
+  public void writeTo(com.google.protobuf.CodedOutputStream output) throws java.io.IOException {
+    for (int i = 0; i < publishers_.size(); i++) {
+      output.writeMessage(1, publishers_.get(i));
+    }
+    for (int i = 0; i < subscribers_.size(); i++) {
+      output.writeMessage(2, subscribers_.get(i));
+    }
+    unknownFields.writeTo(output);
+  }
+
+  public int getSerializedSize() {
+    int size = memoizedSize;
+    if (size != -1) return size;
+
+    size = 0;
+    for (int i = 0; i < publishers_.size(); i++) {
+      size += com.google.protobuf.CodedOutputStream.computeMessageSize(1, publishers_.get(i));
+    }
+    for (int i = 0; i < subscribers_.size(); i++) {
+      size += com.google.protobuf.CodedOutputStream.computeMessageSize(2, subscribers_.get(i));
+    }
+    size += unknownFields.getSerializedSize();
+    memoizedSize = size;
+    return size;
+  }
+
+  @java.lang.Override
+  public boolean equals(final java.lang.Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb)) {
+      return super.equals(obj);
+    }
+    com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb other =
+        (com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb) obj;
+
+    boolean result = true;
+    result = result && getPublishersList().equals(other.getPublishersList());
+    result = result && getSubscribersList().equals(other.getSubscribersList());
+    result = result && unknownFields.equals(other.unknownFields);
+    return result;
+  }
+
+  @java.lang.Override
+  public int hashCode() {
+    if (memoizedHashCode != 0) {
+      return memoizedHashCode;
+    }
+    int hash = 41;
+    hash = (19 * hash) + getDescriptor().hashCode();
+    if (getPublishersCount() > 0) {
+      hash = (37 * hash) + PUBLISHERS_FIELD_NUMBER;
+      hash = (53 * hash) + getPublishersList().hashCode();
+    }
+    if (getSubscribersCount() > 0) {
+      hash = (37 * hash) + SUBSCRIBERS_FIELD_NUMBER;
+      hash = (53 * hash) + getSubscribersList().hashCode();
+    }
+    hash = (29 * hash) + unknownFields.hashCode();
+    memoizedHashCode = hash;
+    return hash;
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      java.nio.ByteBuffer data) throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      java.nio.ByteBuffer data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      com.google.protobuf.ByteString data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      com.google.protobuf.ByteString data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      byte[] data) throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      byte[] data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      java.io.InputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseDelimitedFrom(
+      java.io.InputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseDelimitedFrom(
+      java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      com.google.protobuf.CodedInputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parseFrom(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public Builder newBuilderForType() {
+    return newBuilder();
+  }
+
+  public static Builder newBuilder() {
+    return DEFAULT_INSTANCE.toBuilder();
+  }
+
+  public static Builder newBuilder(
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb prototype) {
+    return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+  }
+
+  public Builder toBuilder() {
+    return this == DEFAULT_INSTANCE ? new Builder() : new Builder().mergeFrom(this);
+  }
+
+  @java.lang.Override
+  protected Builder newBuilderForType(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+    Builder builder = new Builder(parent);
+    return builder;
+  }
+  /** Protobuf type {@code BatchRegisterPb} */
+  public static final class Builder extends com.google.protobuf.GeneratedMessageV3.Builder<Builder>
+      implements
+      // @@protoc_insertion_point(builder_implements:BatchRegisterPb)
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOrBuilder {
+    public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+          .internal_static_BatchRegisterPb_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+          .internal_static_BatchRegisterPb_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.class,
+              com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.Builder.class);
+    }
+
+    // Construct using com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.newBuilder()
+    private Builder() {
+      maybeForceBuilderInitialization();
+    }
+
+    private Builder(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      super(parent);
+      maybeForceBuilderInitialization();
+    }
+
+    private void maybeForceBuilderInitialization() {
+      if (com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders) {
+        getPublishersFieldBuilder();
+        getSubscribersFieldBuilder();
+      }
+    }
+
+    public Builder clear() {
+      super.clear();
+      if (publishersBuilder_ == null) {
+        publishers_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+      } else {
+        publishersBuilder_.clear();
+      }
+      if (subscribersBuilder_ == null) {
+        subscribers_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+      } else {
+        subscribersBuilder_.clear();
+      }
+      return this;
+    }
+
+    public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+          .internal_static_BatchRegisterPb_descriptor;
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb
+        getDefaultInstanceForType() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.getDefaultInstance();
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb build() {
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb result = buildPartial();
+      if (!result.isInitialized()) {
+        throw newUninitializedMessageException(result);
+      }
+      return result;
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb buildPartial() {
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb result =
+          new com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb(this);
+      int from_bitField0_ = bitField0_;
+      if (publishersBuilder_ == null) {
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          publishers_ = java.util.Collections.unmodifiableList(publishers_);
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.publishers_ = publishers_;
+      } else {
+        result.publishers_ = publishersBuilder_.build();
+      }
+      if (subscribersBuilder_ == null) {
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          subscribers_ = java.util.Collections.unmodifiableList(subscribers_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.subscribers_ = subscribers_;
+      } else {
+        result.subscribers_ = subscribersBuilder_.build();
+      }
+      onBuilt();
+      return result;
+    }
+
+    public Builder clone() {
+      return (Builder) super.clone();
+    }
+
+    public Builder setField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+      return (Builder) super.setField(field, value);
+    }
+
+    public Builder clearField(com.google.protobuf.Descriptors.FieldDescriptor field) {
+      return (Builder) super.clearField(field);
+    }
+
+    public Builder clearOneof(com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+      return (Builder) super.clearOneof(oneof);
+    }
+
+    public Builder setRepeatedField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, int index, java.lang.Object value) {
+      return (Builder) super.setRepeatedField(field, index, value);
+    }
+
+    public Builder addRepeatedField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+      return (Builder) super.addRepeatedField(field, value);
+    }
+
+    public Builder mergeFrom(com.google.protobuf.Message other) {
+      if (other instanceof com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb) {
+        return mergeFrom((com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb) other);
+      } else {
+        super.mergeFrom(other);
+        return this;
+      }
+    }
+
+    public Builder mergeFrom(
+        com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb other) {
+      if (other
+          == com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb.getDefaultInstance())
+        return this;
+      if (publishersBuilder_ == null) {
+        if (!other.publishers_.isEmpty()) {
+          if (publishers_.isEmpty()) {
+            publishers_ = other.publishers_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensurePublishersIsMutable();
+            publishers_.addAll(other.publishers_);
+          }
+          onChanged();
+        }
+      } else {
+        if (!other.publishers_.isEmpty()) {
+          if (publishersBuilder_.isEmpty()) {
+            publishersBuilder_.dispose();
+            publishersBuilder_ = null;
+            publishers_ = other.publishers_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+            publishersBuilder_ =
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders
+                    ? getPublishersFieldBuilder()
+                    : null;
+          } else {
+            publishersBuilder_.addAllMessages(other.publishers_);
+          }
+        }
+      }
+      if (subscribersBuilder_ == null) {
+        if (!other.subscribers_.isEmpty()) {
+          if (subscribers_.isEmpty()) {
+            subscribers_ = other.subscribers_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureSubscribersIsMutable();
+            subscribers_.addAll(other.subscribers_);
+          }
+          onChanged();
+        }
+      } else {
+        if (!other.subscribers_.isEmpty()) {
+          if (subscribersBuilder_.isEmpty()) {
+            subscribersBuilder_.dispose();
+            subscribersBuilder_ = null;
+            subscribers_ = other.subscribers_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+            subscribersBuilder_ =
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders
+                    ? getSubscribersFieldBuilder()
+                    : null;
+          } else {
+            subscribersBuilder_.addAllMessages(other.subscribers_);
+          }
+        }
+      }
+      this.mergeUnknownFields(other.unknownFields);
+      onChanged();
+      return this;
+    }
+
+    public final boolean isInitialized() {
+      return true;
+    }
+
+    public Builder mergeFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb parsedMessage = null;
+      try {
+        parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        parsedMessage =
+            (com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb)
+                e.getUnfinishedMessage();
+        throw e.unwrapIOException();
+      } finally {
+        if (parsedMessage != null) {
+          mergeFrom(parsedMessage);
+        }
+      }
+      return this;
+    }
+
+    private int bitField0_;
+
+    private java.util.List<com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>
+        publishers_ = java.util.Collections.emptyList();
+
+    private void ensurePublishersIsMutable() {
+      if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+        publishers_ =
+            new java.util.ArrayList<
+                com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>(publishers_);
+        bitField0_ |= 0x00000001;
+      }
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb,
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder,
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder>
+        publishersBuilder_;
+
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public java.util.List<com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>
+        getPublishersList() {
+      if (publishersBuilder_ == null) {
+        return java.util.Collections.unmodifiableList(publishers_);
+      } else {
+        return publishersBuilder_.getMessageList();
+      }
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public int getPublishersCount() {
+      if (publishersBuilder_ == null) {
+        return publishers_.size();
+      } else {
+        return publishersBuilder_.getCount();
+      }
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb getPublishers(
+        int index) {
+      if (publishersBuilder_ == null) {
+        return publishers_.get(index);
+      } else {
+        return publishersBuilder_.getMessage(index);
+      }
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder setPublishers(
+        int index, com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb value) {
+      if (publishersBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensurePublishersIsMutable();
+        publishers_.set(index, value);
+        onChanged();
+      } else {
+        publishersBuilder_.setMessage(index, value);
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder setPublishers(
+        int index,
+        com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder
+            builderForValue) {
+      if (publishersBuilder_ == null) {
+        ensurePublishersIsMutable();
+        publishers_.set(index, builderForValue.build());
+        onChanged();
+      } else {
+        publishersBuilder_.setMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder addPublishers(
+        com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb value) {
+      if (publishersBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensurePublishersIsMutable();
+        publishers_.add(value);
+        onChanged();
+      } else {
+        publishersBuilder_.addMessage(value);
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder addPublishers(
+        int index, com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb value) {
+      if (publishersBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensurePublishersIsMutable();
+        publishers_.add(index, value);
+        onChanged();
+      } else {
+        publishersBuilder_.addMessage(index, value);
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder addPublishers(
+        com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder
+            builderForValue) {
+      if (publishersBuilder_ == null) {
+        ensurePublishersIsMutable();
+        publishers_.add(builderForValue.build());
+        onChanged();
+      } else {
+        publishersBuilder_.addMessage(builderForValue.build());
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder addPublishers(
+        int index,
+        com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder
+            builderForValue) {
+      if (publishersBuilder_ == null) {
+        ensurePublishersIsMutable();
+        publishers_.add(index, builderForValue.build());
+        onChanged();
+      } else {
+        publishersBuilder_.addMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder addAllPublishers(
+        java.lang.Iterable<
+                ? extends com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb>
+            values) {
+      if (publishersBuilder_ == null) {
+        ensurePublishersIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(values, publishers_);
+        onChanged();
+      } else {
+        publishersBuilder_.addAllMessages(values);
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder clearPublishers() {
+      if (publishersBuilder_ == null) {
+        publishers_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+      } else {
+        publishersBuilder_.clear();
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public Builder removePublishers(int index) {
+      if (publishersBuilder_ == null) {
+        ensurePublishersIsMutable();
+        publishers_.remove(index);
+        onChanged();
+      } else {
+        publishersBuilder_.remove(index);
+      }
+      return this;
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder
+        getPublishersBuilder(int index) {
+      return getPublishersFieldBuilder().getBuilder(index);
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder
+        getPublishersOrBuilder(int index) {
+      if (publishersBuilder_ == null) {
+        return publishers_.get(index);
+      } else {
+        return publishersBuilder_.getMessageOrBuilder(index);
+      }
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public java.util.List<
+            ? extends com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder>
+        getPublishersOrBuilderList() {
+      if (publishersBuilder_ != null) {
+        return publishersBuilder_.getMessageOrBuilderList();
+      } else {
+        return java.util.Collections.unmodifiableList(publishers_);
+      }
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder
+        addPublishersBuilder() {
+      return getPublishersFieldBuilder()
+          .addBuilder(
+              com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb
+                  .getDefaultInstance());
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder
+        addPublishersBuilder(int index) {
+      return getPublishersFieldBuilder()
+          .addBuilder(
+              index,
+              com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb
+                  .getDefaultInstance());
+    }
+    /** <code>repeated .PublisherRegisterPb publishers = 1;</code> */
+    public java.util.List<
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder>
+        getPublishersBuilderList() {
+      return getPublishersFieldBuilder().getBuilderList();
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb,
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder,
+            com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder>
+        getPublishersFieldBuilder() {
+      if (publishersBuilder_ == null) {
+        publishersBuilder_ =
+            new com.google.protobuf.RepeatedFieldBuilderV3<
+                com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb,
+                com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb.Builder,
+                com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOrBuilder>(
+                publishers_,
+                ((bitField0_ & 0x00000001) == 0x00000001),
+                getParentForChildren(),
+                isClean());
+        publishers_ = null;
+      }
+      return publishersBuilder_;
+    }
+
+    private java.util.List<com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>
+        subscribers_ = java.util.Collections.emptyList();
+
+    private void ensureSubscribersIsMutable() {
+      if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+        subscribers_ =
+            new java.util.ArrayList<
+                com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>(subscribers_);
+        bitField0_ |= 0x00000002;
+      }
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb,
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder,
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder>
+        subscribersBuilder_;
+
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public java.util.List<com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>
+        getSubscribersList() {
+      if (subscribersBuilder_ == null) {
+        return java.util.Collections.unmodifiableList(subscribers_);
+      } else {
+        return subscribersBuilder_.getMessageList();
+      }
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public int getSubscribersCount() {
+      if (subscribersBuilder_ == null) {
+        return subscribers_.size();
+      } else {
+        return subscribersBuilder_.getCount();
+      }
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb getSubscribers(
+        int index) {
+      if (subscribersBuilder_ == null) {
+        return subscribers_.get(index);
+      } else {
+        return subscribersBuilder_.getMessage(index);
+      }
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder setSubscribers(
+        int index, com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb value) {
+      if (subscribersBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureSubscribersIsMutable();
+        subscribers_.set(index, value);
+        onChanged();
+      } else {
+        subscribersBuilder_.setMessage(index, value);
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder setSubscribers(
+        int index,
+        com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder
+            builderForValue) {
+      if (subscribersBuilder_ == null) {
+        ensureSubscribersIsMutable();
+        subscribers_.set(index, builderForValue.build());
+        onChanged();
+      } else {
+        subscribersBuilder_.setMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder addSubscribers(
+        com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb value) {
+      if (subscribersBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureSubscribersIsMutable();
+        subscribers_.add(value);
+        onChanged();
+      } else {
+        subscribersBuilder_.addMessage(value);
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder addSubscribers(
+        int index, com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb value) {
+      if (subscribersBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureSubscribersIsMutable();
+        subscribers_.add(index, value);
+        onChanged();
+      } else {
+        subscribersBuilder_.addMessage(index, value);
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder addSubscribers(
+        com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder
+            builderForValue) {
+      if (subscribersBuilder_ == null) {
+        ensureSubscribersIsMutable();
+        subscribers_.add(builderForValue.build());
+        onChanged();
+      } else {
+        subscribersBuilder_.addMessage(builderForValue.build());
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder addSubscribers(
+        int index,
+        com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder
+            builderForValue) {
+      if (subscribersBuilder_ == null) {
+        ensureSubscribersIsMutable();
+        subscribers_.add(index, builderForValue.build());
+        onChanged();
+      } else {
+        subscribersBuilder_.addMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder addAllSubscribers(
+        java.lang.Iterable<
+                ? extends com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb>
+            values) {
+      if (subscribersBuilder_ == null) {
+        ensureSubscribersIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(values, subscribers_);
+        onChanged();
+      } else {
+        subscribersBuilder_.addAllMessages(values);
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder clearSubscribers() {
+      if (subscribersBuilder_ == null) {
+        subscribers_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+      } else {
+        subscribersBuilder_.clear();
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public Builder removeSubscribers(int index) {
+      if (subscribersBuilder_ == null) {
+        ensureSubscribersIsMutable();
+        subscribers_.remove(index);
+        onChanged();
+      } else {
+        subscribersBuilder_.remove(index);
+      }
+      return this;
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder
+        getSubscribersBuilder(int index) {
+      return getSubscribersFieldBuilder().getBuilder(index);
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder
+        getSubscribersOrBuilder(int index) {
+      if (subscribersBuilder_ == null) {
+        return subscribers_.get(index);
+      } else {
+        return subscribersBuilder_.getMessageOrBuilder(index);
+      }
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public java.util.List<
+            ? extends com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder>
+        getSubscribersOrBuilderList() {
+      if (subscribersBuilder_ != null) {
+        return subscribersBuilder_.getMessageOrBuilderList();
+      } else {
+        return java.util.Collections.unmodifiableList(subscribers_);
+      }
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder
+        addSubscribersBuilder() {
+      return getSubscribersFieldBuilder()
+          .addBuilder(
+              com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb
+                  .getDefaultInstance());
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder
+        addSubscribersBuilder(int index) {
+      return getSubscribersFieldBuilder()
+          .addBuilder(
+              index,
+              com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb
+                  .getDefaultInstance());
+    }
+    /** <code>repeated .SubscriberRegisterPb subscribers = 2;</code> */
+    public java.util.List<
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder>
+        getSubscribersBuilderList() {
+      return getSubscribersFieldBuilder().getBuilderList();
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb,
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder,
+            com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder>
+        getSubscribersFieldBuilder() {
+      if (subscribersBuilder_ == null) {
+        subscribersBuilder_ =
+            new com.google.protobuf.RepeatedFieldBuilderV3<
+                com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb,
+                com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb.Builder,
+                com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOrBuilder>(
+                subscribers_,
+                ((bitField0_ & 0x00000002) == 0x00000002),
+                getParentForChildren(),
+                isClean());
+        subscribers_ = null;
+      }
+      return subscribersBuilder_;
+    }
+
+    public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+      return super.setUnknownFieldsProto3(unknownFields);
+    }
+
+    public final Builder mergeUnknownFields(
+        final com.google.protobuf.UnknownFieldSet unknownFields) {
+      return super.mergeUnknownFields(unknownFields);
+    }
+
+    // @@protoc_insertion_point(builder_scope:BatchRegisterPb)
+  }
+
+  // @@protoc_insertion_point(class_scope:BatchRegisterPb)
+  private static final com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb
+      DEFAULT_INSTANCE;
+
+  static {
+    DEFAULT_INSTANCE = new com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb();
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb
+      getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final com.google.protobuf.Parser<BatchRegisterPb> PARSER =
+      new com.google.protobuf.AbstractParser<BatchRegisterPb>() {
+        public BatchRegisterPb parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new BatchRegisterPb(input, extensionRegistry);
+        }
+      };
+
+  public static com.google.protobuf.Parser<BatchRegisterPb> parser() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.protobuf.Parser<BatchRegisterPb> getParserForType() {
+    return PARSER;
+  }
+
+  public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb
+      getDefaultInstanceForType() {
+    return DEFAULT_INSTANCE;
+  }
+}
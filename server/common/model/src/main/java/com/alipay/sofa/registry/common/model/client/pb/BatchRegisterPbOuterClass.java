@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.client.pb;
+
+public final class BatchRegisterPbOuterClass {
+  private BatchRegisterPbOuterClass() {}
+
+  public static void registerAllExtensions(com.google.protobuf.ExtensionRegistryLite registry) {}
+
+  public static void registerAllExtensions(com.google.protobuf.ExtensionRegistry registry) {
+    registerAllExtensions((com.google.protobuf.ExtensionRegistryLite) registry);
+  }
+
+  static final com.google.protobuf.Descriptors.Descriptor
+      internal_static_BatchRegisterPb_descriptor;
+  static final com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_BatchRegisterPb_fieldAccessorTable;
+  static final com.google.protobuf.Descriptors.Descriptor
+      internal_static_BatchRegisterResponsePb_descriptor;
+  static final com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_BatchRegisterResponsePb_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor getDescriptor() {
+    return descriptor;
+  }
+
+  private static com.google.protobuf.Descriptors.FileDescriptor descriptor;
+
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\025BatchRegisterPb.proto\032\031PublisherRegist"
+          + "erPb.proto\032\032SubscriberRegisterPb.proto\032\030"
+          + "RegisterResponsePb.proto\"g\n\017BatchRegiste"
+          + "rPb\022(\n\npublishers\030\001 \003(\0132\024.PublisherRegis"
+          + "terPb\022*\n\013subscribers\030\002 \003(\0132\025.SubscriberR"
+          + "egisterPb\"A\n\027BatchRegisterResponsePb\022&\n\t"
+          + "responses\030\001 \003(\0132\023.RegisterResponsePbB7\n/"
+          + "com.alipay.sofa.registry.common.model.cl"
+          + "ient.pbP\001Z\002pbb\006proto3"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+        new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
+          public com.google.protobuf.ExtensionRegistry assignDescriptors(
+              com.google.protobuf.Descriptors.FileDescriptor root) {
+            descriptor = root;
+            return null;
+          }
+        };
+    com.google.protobuf.Descriptors.FileDescriptor.internalBuildGeneratedFileFrom(
+        descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+          com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOuterClass
+              .getDescriptor(),
+          com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOuterClass
+              .getDescriptor(),
+          com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOuterClass
+              .getDescriptor(),
+        },
+        assigner);
+    internal_static_BatchRegisterPb_descriptor = getDescriptor().getMessageTypes().get(0);
+    internal_static_BatchRegisterPb_fieldAccessorTable =
+        new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+            internal_static_BatchRegisterPb_descriptor,
+            new java.lang.String[] {
+              "Publishers", "Subscribers",
+            });
+    internal_static_BatchRegisterResponsePb_descriptor = getDescriptor().getMessageTypes().get(1);
+    internal_static_BatchRegisterResponsePb_fieldAccessorTable =
+        new com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+            internal_static_BatchRegisterResponsePb_descriptor,
+            new java.lang.String[] {
+              "Responses",
+            });
+    com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPbOuterClass.getDescriptor();
+    com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPbOuterClass.getDescriptor();
+    com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOuterClass.getDescriptor();
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
@@ -0,0 +1,949 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.client.pb;
+
+/** Protobuf type {@code BatchRegisterResponsePb} */
+public final class BatchRegisterResponsePb extends com.google.protobuf.GeneratedMessageV3
+    implements
+    // @@protoc_insertion_point(message_implements:BatchRegisterResponsePb)
+    BatchRegisterResponsePbOrBuilder {
+  private static final long serialVersionUID = 0L;
+  // Use BatchRegisterResponsePb.newBuilder() to construct.
+  private BatchRegisterResponsePb(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+    super(builder);
+  }
+
+  private BatchRegisterResponsePb() {
+    responses_ = java.util.Collections.emptyList();
+  }
+
+  @java.lang.Override
+  public final com.google.protobuf.UnknownFieldSet getUnknownFields() {
+    return this.unknownFields;
+  }
+
+  private BatchRegisterResponsePb(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    this();
+    if (extensionRegistry == null) {
+      throw new java.lang.NullPointerException();
+    }
+    int mutable_bitField0_ = 0;
+    com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+        com.google.protobuf.UnknownFieldSet.newBuilder();
+    try {
+      boolean done = false;
+      while (!done) {
+        int tag = input.readTag();
+        switch (tag) {
+          case 0:
+            done = true;
+            break;
+          default:
+            {
+              if (!parseUnknownFieldProto3(input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          case 10:
+            {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                responses_ =
+                    new java.util.ArrayList<
+                        com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              responses_.add(
+                  input.readMessage(
+                      com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.parser(),
+                      extensionRegistry));
+              break;
+            }
+        }
+      }
+    } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+      throw e.setUnfinishedMessage(this);
+    } catch (java.io.IOException e) {
+      throw new com.google.protobuf.InvalidProtocolBufferException(e).setUnfinishedMessage(this);
+    } finally {
+      if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+        responses_ = java.util.Collections.unmodifiableList(responses_);
+      }
+      this.unknownFields = unknownFields.build();
+      makeExtensionsImmutable();
+    }
+  }
+
+  public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+    return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+        .internal_static_BatchRegisterResponsePb_descriptor;
+  }
+
+  protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internalGetFieldAccessorTable() {
+    return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+        .internal_static_BatchRegisterResponsePb_fieldAccessorTable
+        .ensureFieldAccessorsInitialized(
+            com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb.class,
+            com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb.Builder.class);
+  }
+
+  public static final int RESPONSES_FIELD_NUMBER = 1;
+  private java.util.List<com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>
+      responses_;
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  public java.util.List<com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>
+      getResponsesList() {
+    return responses_;
+  }
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  public java.util.List<
+          ? extends com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder>
+      getResponsesOrBuilderList() {
+    return responses_;
+  }
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  public int getResponsesCount() {
+    return responses_.size();
+  }
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb getResponses(
+      int index) {
+    return responses_.get(index);
+  }
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder
+      getResponsesOrBuilder(int index) {
+    return responses_.get(index);
+  }
+
+  private byte memoizedIsInitialized = -1;
+
+  public final boolean isInitialized() {
+    byte isInitialized = memoizedIsInitialized;
+    if (isInitialized == 1) return true;
+    if (isInitialized == 0) return false;
+
+    memoizedIsInitialized = 1;
+    return true;
+  }
+
+  public void writeTo(com.google.protobuf.CodedOutputStream output) throws java.io.IOException {
+    for (int i = 0; i < responses_.size(); i++) {
+      output.writeMessage(1, responses_.get(i));
+    }
+    unknownFields.writeTo(output);
+  }
+
+  public int getSerializedSize() {
+    int size = memoizedSize;
+    if (size != -1) return size;
+
+    size = 0;
+    for (int i = 0; i < responses_.size(); i++) {
+      size += com.google.protobuf.CodedOutputStream.computeMessageSize(1, responses_.get(i));
+    }
+    size += unknownFields.getSerializedSize();
+    memoizedSize = size;
+    return size;
+  }
+
+  @java.lang.Override
+  public boolean equals(final java.lang.Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (!(obj instanceof com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb)) {
+      return super.equals(obj);
+    }
+    com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb other =
+        (com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb) obj;
+
+    boolean result = true;
+    result = result && getResponsesList().equals(other.getResponsesList());
+    result = result && unknownFields.equals(other.unknownFields);
+    return result;
+  }
+
+  @java.lang.Override
+  public int hashCode() {
+    if (memoizedHashCode != 0) {
+      return memoizedHashCode;
+    }
+    int hash = 41;
+    hash = (19 * hash) + getDescriptor().hashCode();
+    if (getResponsesCount() > 0) {
+      hash = (37 * hash) + RESPONSES_FIELD_NUMBER;
+      hash = (53 * hash) + getResponsesList().hashCode();
+    }
+    hash = (29 * hash) + unknownFields.hashCode();
+    memoizedHashCode = hash;
+    return hash;
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      java.nio.ByteBuffer data) throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      java.nio.ByteBuffer data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      com.google.protobuf.ByteString data)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      com.google.protobuf.ByteString data,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      byte[] data) throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      byte[] data, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws com.google.protobuf.InvalidProtocolBufferException {
+    return PARSER.parseFrom(data, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      java.io.InputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+      parseDelimitedFrom(java.io.InputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+      parseDelimitedFrom(
+          java.io.InputStream input, com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseDelimitedWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      com.google.protobuf.CodedInputStream input) throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(PARSER, input);
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parseFrom(
+      com.google.protobuf.CodedInputStream input,
+      com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+      throws java.io.IOException {
+    return com.google.protobuf.GeneratedMessageV3.parseWithIOException(
+        PARSER, input, extensionRegistry);
+  }
+
+  public Builder newBuilderForType() {
+    return newBuilder();
+  }
+
+  public static Builder newBuilder() {
+    return DEFAULT_INSTANCE.toBuilder();
+  }
+
+  public static Builder newBuilder(
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb prototype) {
+    return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+  }
+
+  public Builder toBuilder() {
+    return this == DEFAULT_INSTANCE ? new Builder() : new Builder().mergeFrom(this);
+  }
+
+  @java.lang.Override
+  protected Builder newBuilderForType(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+    Builder builder = new Builder(parent);
+    return builder;
+  }
+  /** Protobuf type {@code BatchRegisterResponsePb} */
+  public static final class Builder extends com.google.protobuf.GeneratedMessageV3.Builder<Builder>
+      implements
+      // @@protoc_insertion_point(builder_implements:BatchRegisterResponsePb)
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePbOrBuilder {
+    public static final com.google.protobuf.Descriptors.Descriptor getDescriptor() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+          .internal_static_BatchRegisterResponsePb_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+          .internal_static_BatchRegisterResponsePb_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb.class,
+              com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb.Builder
+                  .class);
+    }
+
+    // Construct using
+    // com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb.newBuilder()
+    private Builder() {
+      maybeForceBuilderInitialization();
+    }
+
+    private Builder(com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      super(parent);
+      maybeForceBuilderInitialization();
+    }
+
+    private void maybeForceBuilderInitialization() {
+      if (com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders) {
+        getResponsesFieldBuilder();
+      }
+    }
+
+    public Builder clear() {
+      super.clear();
+      if (responsesBuilder_ == null) {
+        responses_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+      } else {
+        responsesBuilder_.clear();
+      }
+      return this;
+    }
+
+    public com.google.protobuf.Descriptors.Descriptor getDescriptorForType() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPbOuterClass
+          .internal_static_BatchRegisterResponsePb_descriptor;
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+        getDefaultInstanceForType() {
+      return com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+          .getDefaultInstance();
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb build() {
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb result =
+          buildPartial();
+      if (!result.isInitialized()) {
+        throw newUninitializedMessageException(result);
+      }
+      return result;
+    }
+
+    public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb buildPartial() {
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb result =
+          new com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb(this);
+      int from_bitField0_ = bitField0_;
+      if (responsesBuilder_ == null) {
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          responses_ = java.util.Collections.unmodifiableList(responses_);
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.responses_ = responses_;
+      } else {
+        result.responses_ = responsesBuilder_.build();
+      }
+      onBuilt();
+      return result;
+    }
+
+    public Builder clone() {
+      return (Builder) super.clone();
+    }
+
+    public Builder setField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+      return (Builder) super.setField(field, value);
+    }
+
+    public Builder clearField(com.google.protobuf.Descriptors.FieldDescriptor field) {
+      return (Builder) super.clearField(field);
+    }
+
+    public Builder clearOneof(com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+      return (Builder) super.clearOneof(oneof);
+    }
+
+    public Builder setRepeatedField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, int index, java.lang.Object value) {
+      return (Builder) super.setRepeatedField(field, index, value);
+    }
+
+    public Builder addRepeatedField(
+        com.google.protobuf.Descriptors.FieldDescriptor field, java.lang.Object value) {
+      return (Builder) super.addRepeatedField(field, value);
+    }
+
+    public Builder mergeFrom(com.google.protobuf.Message other) {
+      if (other
+          instanceof com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb) {
+        return mergeFrom(
+            (com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb) other);
+      } else {
+        super.mergeFrom(other);
+        return this;
+      }
+    }
+
+    public Builder mergeFrom(
+        com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb other) {
+      if (other
+          == com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+              .getDefaultInstance()) return this;
+      if (responsesBuilder_ == null) {
+        if (!other.responses_.isEmpty()) {
+          if (responses_.isEmpty()) {
+            responses_ = other.responses_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureResponsesIsMutable();
+            responses_.addAll(other.responses_);
+          }
+          onChanged();
+        }
+      } else {
+        if (!other.responses_.isEmpty()) {
+          if (responsesBuilder_.isEmpty()) {
+            responsesBuilder_.dispose();
+            responsesBuilder_ = null;
+            responses_ = other.responses_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+            responsesBuilder_ =
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders
+                    ? getResponsesFieldBuilder()
+                    : null;
+          } else {
+            responsesBuilder_.addAllMessages(other.responses_);
+          }
+        }
+      }
+      this.mergeUnknownFields(other.unknownFields);
+      onChanged();
+      return this;
+    }
+
+    public final boolean isInitialized() {
+      return true;
+    }
+
+    public Builder mergeFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb parsedMessage = null;
+      try {
+        parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        parsedMessage =
+            (com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb)
+                e.getUnfinishedMessage();
+        throw e.unwrapIOException();
+      } finally {
+        if (parsedMessage != null) {
+          mergeFrom(parsedMessage);
+        }
+      }
+      return this;
+    }
+
+    private int bitField0_;
+
+    private java.util.List<com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>
+        responses_ = java.util.Collections.emptyList();
+
+    private void ensureResponsesIsMutable() {
+      if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+        responses_ =
+            new java.util.ArrayList<
+                com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>(responses_);
+        bitField0_ |= 0x00000001;
+      }
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb,
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder,
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder>
+        responsesBuilder_;
+
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public java.util.List<com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>
+        getResponsesList() {
+      if (responsesBuilder_ == null) {
+        return java.util.Collections.unmodifiableList(responses_);
+      } else {
+        return responsesBuilder_.getMessageList();
+      }
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public int getResponsesCount() {
+      if (responsesBuilder_ == null) {
+        return responses_.size();
+      } else {
+        return responsesBuilder_.getCount();
+      }
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb getResponses(
+        int index) {
+      if (responsesBuilder_ == null) {
+        return responses_.get(index);
+      } else {
+        return responsesBuilder_.getMessage(index);
+      }
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder setResponses(
+        int index, com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb value) {
+      if (responsesBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureResponsesIsMutable();
+        responses_.set(index, value);
+        onChanged();
+      } else {
+        responsesBuilder_.setMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder setResponses(
+        int index,
+        com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder
+            builderForValue) {
+      if (responsesBuilder_ == null) {
+        ensureResponsesIsMutable();
+        responses_.set(index, builderForValue.build());
+        onChanged();
+      } else {
+        responsesBuilder_.setMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder addResponses(
+        com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb value) {
+      if (responsesBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureResponsesIsMutable();
+        responses_.add(value);
+        onChanged();
+      } else {
+        responsesBuilder_.addMessage(value);
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder addResponses(
+        int index, com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb value) {
+      if (responsesBuilder_ == null) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureResponsesIsMutable();
+        responses_.add(index, value);
+        onChanged();
+      } else {
+        responsesBuilder_.addMessage(index, value);
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder addResponses(
+        com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder
+            builderForValue) {
+      if (responsesBuilder_ == null) {
+        ensureResponsesIsMutable();
+        responses_.add(builderForValue.build());
+        onChanged();
+      } else {
+        responsesBuilder_.addMessage(builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder addResponses(
+        int index,
+        com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder
+            builderForValue) {
+      if (responsesBuilder_ == null) {
+        ensureResponsesIsMutable();
+        responses_.add(index, builderForValue.build());
+        onChanged();
+      } else {
+        responsesBuilder_.addMessage(index, builderForValue.build());
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder addAllResponses(
+        java.lang.Iterable<
+                ? extends com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>
+            values) {
+      if (responsesBuilder_ == null) {
+        ensureResponsesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(values, responses_);
+        onChanged();
+      } else {
+        responsesBuilder_.addAllMessages(values);
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder clearResponses() {
+      if (responsesBuilder_ == null) {
+        responses_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+      } else {
+        responsesBuilder_.clear();
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public Builder removeResponses(int index) {
+      if (responsesBuilder_ == null) {
+        ensureResponsesIsMutable();
+        responses_.remove(index);
+        onChanged();
+      } else {
+        responsesBuilder_.remove(index);
+      }
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder
+        getResponsesBuilder(int index) {
+      return getResponsesFieldBuilder().getBuilder(index);
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder
+        getResponsesOrBuilder(int index) {
+      if (responsesBuilder_ == null) {
+        return responses_.get(index);
+      } else {
+        return responsesBuilder_.getMessageOrBuilder(index);
+      }
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public java.util.List<
+            ? extends com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder>
+        getResponsesOrBuilderList() {
+      if (responsesBuilder_ != null) {
+        return responsesBuilder_.getMessageOrBuilderList();
+      } else {
+        return java.util.Collections.unmodifiableList(responses_);
+      }
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder
+        addResponsesBuilder() {
+      return getResponsesFieldBuilder()
+          .addBuilder(
+              com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb
+                  .getDefaultInstance());
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder
+        addResponsesBuilder(int index) {
+      return getResponsesFieldBuilder()
+          .addBuilder(
+              index,
+              com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb
+                  .getDefaultInstance());
+    }
+    /**
+     *
+     *
+     * <pre>
+     * the responses of the publishers and then the subscribers, in the order of the request
+     * </pre>
+     *
+     * <code>repeated .RegisterResponsePb responses = 1;</code>
+     */
+    public java.util.List<
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder>
+        getResponsesBuilderList() {
+      return getResponsesFieldBuilder().getBuilderList();
+    }
+
+    private com.google.protobuf.RepeatedFieldBuilderV3<
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb,
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder,
+            com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder>
+        getResponsesFieldBuilder() {
+      if (responsesBuilder_ == null) {
+        responsesBuilder_ =
+            new com.google.protobuf.RepeatedFieldBuilderV3<
+                com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb,
+                com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb.Builder,
+                com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder>(
+                responses_,
+                ((bitField0_ & 0x00000001) == 0x00000001),
+                getParentForChildren(),
+                isClean());
+        responses_ = null;
+      }
+      return responsesBuilder_;
+    }
+
+    public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
+      return super.setUnknownFieldsProto3(unknownFields);
+    }
+
+    public final Builder mergeUnknownFields(
+        final com.google.protobuf.UnknownFieldSet unknownFields) {
+      return super.mergeUnknownFields(unknownFields);
+    }
+
+    // @@protoc_insertion_point(builder_scope:BatchRegisterResponsePb)
+  }
+
+  // @@protoc_insertion_point(class_scope:BatchRegisterResponsePb)
+  private static final com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+      DEFAULT_INSTANCE;
+
+  static {
+    DEFAULT_INSTANCE =
+        new com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb();
+  }
+
+  public static com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+      getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final com.google.protobuf.Parser<BatchRegisterResponsePb> PARSER =
+      new com.google.protobuf.AbstractParser<BatchRegisterResponsePb>() {
+        public BatchRegisterResponsePb parsePartialFrom(
+            com.google.protobuf.CodedInputStream input,
+            com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+            throws com.google.protobuf.InvalidProtocolBufferException {
+          return new BatchRegisterResponsePb(input, extensionRegistry);
+        }
+      };
+
+  public static com.google.protobuf.Parser<BatchRegisterResponsePb> parser() {
+    return PARSER;
+  }
+
+  @java.lang.Override
+  public com.google.protobuf.Parser<BatchRegisterResponsePb> getParserForType() {
+    return PARSER;
+  }
+
+  public com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb
+      getDefaultInstanceForType() {
+    return DEFAULT_INSTANCE;
+  }
+}
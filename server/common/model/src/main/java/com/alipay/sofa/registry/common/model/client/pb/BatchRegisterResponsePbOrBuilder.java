@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.client.pb;
+
+public interface BatchRegisterResponsePbOrBuilder
+    extends
+    // @@protoc_insertion_point(interface_extends:BatchRegisterResponsePb)
+    com.google.protobuf.MessageOrBuilder {
+
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  java.util.List<com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb>
+      getResponsesList();
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb getResponses(int index);
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  int getResponsesCount();
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  java.util.List<
+          ? extends com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder>
+      getResponsesOrBuilderList();
+  /**
+   *
+   *
+   * <pre>
+   * the responses of the publishers and then the subscribers, in the order of the request
+   * </pre>
+   *
+   * <code>repeated .RegisterResponsePb responses = 1;</code>
+   */
+  com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePbOrBuilder getResponsesOrBuilder(
+      int index);
+}
@@ -39,6 +39,7 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     encoding_ = "";
     body_ = com.google.protobuf.ByteString.EMPTY;
     originBodySize_ = 0;
+    baseVersion_ = 0L;
   }
 
   @java.lang.Override
@@ -162,6 +163,28 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
               originBodySize_ = input.readInt32();
               break;
             }
+          case 104:
+            {
+              baseVersion_ = input.readInt64();
+              break;
+            }
+          case 114:
+            {
+              if (!((mutable_bitField0_ & 0x00002000) == 0x00002000)) {
+                removedData_ =
+                    com.google.protobuf.MapField.newMapField(
+                        RemovedDataDefaultEntryHolder.defaultEntry);
+                mutable_bitField0_ |= 0x00002000;
+              }
+              com.google.protobuf.MapEntry<
+                      java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+                  removedData__ =
+                      input.readMessage(
+                          RemovedDataDefaultEntryHolder.defaultEntry.getParserForType(),
+                          extensionRegistry);
+              removedData_.getMutableMap().put(removedData__.getKey(), removedData__.getValue());
+              break;
+            }
         }
       }
     } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -187,6 +210,8 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     switch (number) {
       case 7:
         return internalGetData();
+      case 14:
+        return internalGetRemovedData();
       default:
         throw new RuntimeException("Invalid map field number: " + number);
     }
@@ -510,6 +535,100 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     return originBodySize_;
   }
 
+  public static final int BASEVERSION_FIELD_NUMBER = 13;
+  private long baseVersion_;
+  /**
+   *
+   *
+   * <pre>
+   * not 0 means the push is a delta against the data of baseVersion
+   * </pre>
+   *
+   * <code>int64 baseVersion = 13;</code>
+   */
+  public long getBaseVersion() {
+    return baseVersion_;
+  }
+
+  public static final int REMOVEDDATA_FIELD_NUMBER = 14;
+
+  private static final class RemovedDataDefaultEntryHolder {
+    static final com.google.protobuf.MapEntry<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        defaultEntry =
+            com.google.protobuf.MapEntry
+                .<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+                    newDefaultInstance(
+                        com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPbOuterClass
+                            .internal_static_ReceivedDataPb_RemovedDataEntry_descriptor,
+                        com.google.protobuf.WireFormat.FieldType.STRING,
+                        "",
+                        com.google.protobuf.WireFormat.FieldType.MESSAGE,
+                        com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb
+                            .getDefaultInstance());
+  }
+
+  private com.google.protobuf.MapField<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      removedData_;
+
+  private com.google.protobuf.MapField<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      internalGetRemovedData() {
+    if (removedData_ == null) {
+      return com.google.protobuf.MapField.emptyMapField(RemovedDataDefaultEntryHolder.defaultEntry);
+    }
+    return removedData_;
+  }
+
+  public int getRemovedDataCount() {
+    return internalGetRemovedData().getMap().size();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+  public boolean containsRemovedData(java.lang.String key) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    return internalGetRemovedData().getMap().containsKey(key);
+  }
+  /** Use {@link #getRemovedDataMap()} instead. */
+  @java.lang.Deprecated
+  public java.util.Map<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      getRemovedData() {
+    return getRemovedDataMap();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+  public java.util.Map<
+          java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+      getRemovedDataMap() {
+    return internalGetRemovedData().getMap();
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemovedDataOrDefault(
+      java.lang.String key,
+      com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb defaultValue) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        map = internalGetRemovedData().getMap();
+    return map.containsKey(key) ? map.get(key) : defaultValue;
+  }
+  /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+  public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemovedDataOrThrow(
+      java.lang.String key) {
+    if (key == null) {
+      throw new java.lang.NullPointerException();
+    }
+    java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        map = internalGetRemovedData().getMap();
+    if (!map.containsKey(key)) {
+      throw new java.lang.IllegalArgumentException();
+    }
+    return map.get(key);
+  }
+
   private byte memoizedIsInitialized = -1;
 
   public final boolean isInitialized() {
@@ -557,6 +676,11 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     if (originBodySize_ != 0) {
       output.writeInt32(12, originBodySize_);
     }
+    if (baseVersion_ != 0L) {
+      output.writeInt64(13, baseVersion_);
+    }
+    com.google.protobuf.GeneratedMessageV3.serializeStringMapTo(
+        output, internalGetRemovedData(), RemovedDataDefaultEntryHolder.defaultEntry, 14);
     unknownFields.writeTo(output);
   }
 
@@ -616,6 +740,22 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     if (originBodySize_ != 0) {
       size += com.google.protobuf.CodedOutputStream.computeInt32Size(12, originBodySize_);
     }
+    if (baseVersion_ != 0L) {
+      size += com.google.protobuf.CodedOutputStream.computeInt64Size(13, baseVersion_);
+    }
+    for (java.util.Map.Entry<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        entry : internalGetRemovedData().getMap().entrySet()) {
+      com.google.protobuf.MapEntry<
+              java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          removedData__ =
+              RemovedDataDefaultEntryHolder.defaultEntry
+                  .newBuilderForType()
+                  .setKey(entry.getKey())
+                  .setValue(entry.getValue())
+                  .build();
+      size += com.google.protobuf.CodedOutputStream.computeMessageSize(14, removedData__);
+    }
     size += unknownFields.getSerializedSize();
     memoizedSize = size;
     return size;
@@ -645,6 +785,8 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     result = result && getEncoding().equals(other.getEncoding());
     result = result && getBody().equals(other.getBody());
     result = result && (getOriginBodySize() == other.getOriginBodySize());
+    result = result && (getBaseVersion() == other.getBaseVersion());
+    result = result && internalGetRemovedData().equals(other.internalGetRemovedData());
     result = result && unknownFields.equals(other.unknownFields);
     return result;
   }
@@ -684,6 +826,12 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
     hash = (53 * hash) + getBody().hashCode();
     hash = (37 * hash) + ORIGINBODYSIZE_FIELD_NUMBER;
     hash = (53 * hash) + getOriginBodySize();
+    hash = (37 * hash) + BASEVERSION_FIELD_NUMBER;
+    hash = (53 * hash) + com.google.protobuf.Internal.hashLong(getBaseVersion());
+    if (!internalGetRemovedData().getMap().isEmpty()) {
+      hash = (37 * hash) + REMOVEDDATA_FIELD_NUMBER;
+      hash = (53 * hash) + internalGetRemovedData().hashCode();
+    }
     hash = (29 * hash) + unknownFields.hashCode();
     memoizedHashCode = hash;
     return hash;
@@ -798,6 +946,8 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
       switch (number) {
         case 7:
           return internalGetData();
+        case 14:
+          return internalGetRemovedData();
         default:
           throw new RuntimeException("Invalid map field number: " + number);
       }
@@ -808,6 +958,8 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
       switch (number) {
         case 7:
           return internalGetMutableData();
+        case 14:
+          return internalGetMutableRemovedData();
         default:
           throw new RuntimeException("Invalid map field number: " + number);
       }
@@ -861,6 +1013,9 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
 
       originBodySize_ = 0;
 
+      baseVersion_ = 0L;
+
+      internalGetMutableRemovedData().clear();
       return this;
     }
 
@@ -904,6 +1059,9 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
       result.encoding_ = encoding_;
       result.body_ = body_;
       result.originBodySize_ = originBodySize_;
+      result.baseVersion_ = baseVersion_;
+      result.removedData_ = internalGetRemovedData();
+      result.removedData_.makeImmutable();
       result.bitField0_ = to_bitField0_;
       onBuilt();
       return result;
@@ -997,6 +1155,10 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
       if (other.getOriginBodySize() != 0) {
         setOriginBodySize(other.getOriginBodySize());
       }
+      if (other.getBaseVersion() != 0L) {
+        setBaseVersion(other.getBaseVersion());
+      }
+      internalGetMutableRemovedData().mergeFrom(other.internalGetRemovedData());
       this.mergeUnknownFields(other.unknownFields);
       onChanged();
       return this;
@@ -1654,6 +1816,166 @@ public final class ReceivedDataPb extends com.google.protobuf.GeneratedMessageV3
       return this;
     }
 
+    private long baseVersion_;
+    /**
+     *
+     *
+     * <pre>
+     * not 0 means the push is a delta against the data of baseVersion
+     * </pre>
+     *
+     * <code>int64 baseVersion = 13;</code>
+     */
+    public long getBaseVersion() {
+      return baseVersion_;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * not 0 means the push is a delta against the data of baseVersion
+     * </pre>
+     *
+     * <code>int64 baseVersion = 13;</code>
+     */
+    public Builder setBaseVersion(long value) {
+
+      baseVersion_ = value;
+      onChanged();
+      return this;
+    }
+    /**
+     *
+     *
+     * <pre>
+     * not 0 means the push is a delta against the data of baseVersion
+     * </pre>
+     *
+     * <code>int64 baseVersion = 13;</code>
+     */
+    public Builder clearBaseVersion() {
+
+      baseVersion_ = 0L;
+      onChanged();
+      return this;
+    }
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        removedData_;
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        internalGetRemovedData() {
+      if (removedData_ == null) {
+        return com.google.protobuf.MapField.emptyMapField(
+            RemovedDataDefaultEntryHolder.defaultEntry);
+      }
+      return removedData_;
+    }
+
+    private com.google.protobuf.MapField<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        internalGetMutableRemovedData() {
+      onChanged();
+      ;
+      if (removedData_ == null) {
+        removedData_ =
+            com.google.protobuf.MapField.newMapField(RemovedDataDefaultEntryHolder.defaultEntry);
+      }
+      if (!removedData_.isMutable()) {
+        removedData_ = removedData_.copy();
+      }
+      return removedData_;
+    }
+
+    public int getRemovedDataCount() {
+      return internalGetRemovedData().getMap().size();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public boolean containsRemovedData(java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      return internalGetRemovedData().getMap().containsKey(key);
+    }
+    /** Use {@link #getRemovedDataMap()} instead. */
+    @java.lang.Deprecated
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getRemovedData() {
+      return getRemovedDataMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getRemovedDataMap() {
+      return internalGetRemovedData().getMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemovedDataOrDefault(
+        java.lang.String key,
+        com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb defaultValue) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          map = internalGetRemovedData().getMap();
+      return map.containsKey(key) ? map.get(key) : defaultValue;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb getRemovedDataOrThrow(
+        java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+          map = internalGetRemovedData().getMap();
+      if (!map.containsKey(key)) {
+        throw new java.lang.IllegalArgumentException();
+      }
+      return map.get(key);
+    }
+
+    public Builder clearRemovedData() {
+      internalGetMutableRemovedData().getMutableMap().clear();
+      return this;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public Builder removeRemovedData(java.lang.String key) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      internalGetMutableRemovedData().getMutableMap().remove(key);
+      return this;
+    }
+    /** Use alternate mutation accessors instead. */
+    @java.lang.Deprecated
+    public java.util.Map<
+            java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+        getMutableRemovedData() {
+      return internalGetMutableRemovedData().getMutableMap();
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public Builder putRemovedData(
+        java.lang.String key, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb value) {
+      if (key == null) {
+        throw new java.lang.NullPointerException();
+      }
+      if (value == null) {
+        throw new java.lang.NullPointerException();
+      }
+      internalGetMutableRemovedData().getMutableMap().put(key, value);
+      return this;
+    }
+    /** <code>map&lt;string, .DataBoxesPb&gt; removedData = 14;</code> */
+    public Builder putAllRemovedData(
+        java.util.Map<java.lang.String, com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb>
+            values) {
+      internalGetMutableRemovedData().getMutableMap().putAll(values);
+      return this;
+    }
+
     public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
       return super.setUnknownFieldsProto3(unknownFields);
     }
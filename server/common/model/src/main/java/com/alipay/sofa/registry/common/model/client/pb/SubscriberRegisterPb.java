@@ -30,6 +30,7 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
   private SubscriberRegisterPb() {
     scope_ = "";
     acceptEncoding_ = "";
+    acceptDelta_ = false;
   }
 
   @java.lang.Override
@@ -95,6 +96,11 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
               acceptEncoding_ = s;
               break;
             }
+          case 32:
+            {
+              acceptDelta_ = input.readBool();
+              break;
+            }
         }
       }
     } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -193,6 +199,13 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
     }
   }
 
+  public static final int ACCEPTDELTA_FIELD_NUMBER = 4;
+  private boolean acceptDelta_;
+  /** <code>bool acceptDelta = 4;</code> */
+  public boolean getAcceptDelta() {
+    return acceptDelta_;
+  }
+
   private byte memoizedIsInitialized = -1;
 
   public final boolean isInitialized() {
@@ -214,6 +227,9 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
     if (!getAcceptEncodingBytes().isEmpty()) {
       com.google.protobuf.GeneratedMessageV3.writeString(output, 3, acceptEncoding_);
     }
+    if (acceptDelta_ != false) {
+      output.writeBool(4, acceptDelta_);
+    }
     unknownFields.writeTo(output);
   }
 
@@ -231,6 +247,9 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
     if (!getAcceptEncodingBytes().isEmpty()) {
       size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, acceptEncoding_);
     }
+    if (acceptDelta_ != false) {
+      size += com.google.protobuf.CodedOutputStream.computeBoolSize(4, acceptDelta_);
+    }
     size += unknownFields.getSerializedSize();
     memoizedSize = size;
     return size;
@@ -254,6 +273,7 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
       result = result && getBaseRegister().equals(other.getBaseRegister());
     }
     result = result && getAcceptEncoding().equals(other.getAcceptEncoding());
+    result = result && (getAcceptDelta() == other.getAcceptDelta());
     result = result && unknownFields.equals(other.unknownFields);
     return result;
   }
@@ -273,6 +293,8 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
     }
     hash = (37 * hash) + ACCEPTENCODING_FIELD_NUMBER;
     hash = (53 * hash) + getAcceptEncoding().hashCode();
+    hash = (37 * hash) + ACCEPTDELTA_FIELD_NUMBER;
+    hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(getAcceptDelta());
     hash = (29 * hash) + unknownFields.hashCode();
     memoizedHashCode = hash;
     return hash;
@@ -419,6 +441,8 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
       }
       acceptEncoding_ = "";
 
+      acceptDelta_ = false;
+
       return this;
     }
 
@@ -451,6 +475,7 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
         result.baseRegister_ = baseRegisterBuilder_.build();
       }
       result.acceptEncoding_ = acceptEncoding_;
+      result.acceptDelta_ = acceptDelta_;
       onBuilt();
       return result;
     }
@@ -508,6 +533,9 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
         acceptEncoding_ = other.acceptEncoding_;
         onChanged();
       }
+      if (other.getAcceptDelta() != false) {
+        setAcceptDelta(other.getAcceptDelta());
+      }
       this.mergeUnknownFields(other.unknownFields);
       onChanged();
       return this;
@@ -760,6 +788,26 @@ public final class SubscriberRegisterPb extends com.google.protobuf.GeneratedMes
       return this;
     }
 
+    private boolean acceptDelta_;
+    /** <code>bool acceptDelta = 4;</code> */
+    public boolean getAcceptDelta() {
+      return acceptDelta_;
+    }
+    /** <code>bool acceptDelta = 4;</code> */
+    public Builder setAcceptDelta(boolean value) {
+
+      acceptDelta_ = value;
+      onChanged();
+      return this;
+    }
+    /** <code>bool acceptDelta = 4;</code> */
+    public Builder clearAcceptDelta() {
+
+      acceptDelta_ = false;
+      onChanged();
+      return this;
+    }
+
     public final Builder setUnknownFields(final com.google.protobuf.UnknownFieldSet unknownFields) {
       return super.setUnknownFieldsProto3(unknownFields);
     }
@@ -38,4 +38,7 @@ public interface SubscriberRegisterPbOrBuilder
   java.lang.String getAcceptEncoding();
   /** <code>string acceptEncoding = 3;</code> */
   com.google.protobuf.ByteString getAcceptEncodingBytes();
+
+  /** <code>bool acceptDelta = 4;</code> */
+  boolean getAcceptDelta();
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.dataserver;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.util.StringFormatter;
+import java.util.Collections;
+import java.util.List;
+
+/** request to get the data of multi dataInfoIds in the same slot */
+public class BatchGetDataRequest extends AbstractSlotRequest {
+
+  private static final long serialVersionUID = -2460853237469128735L;
+
+  private final List<String> dataInfoIds;
+
+  private final String dataCenter;
+
+  private String[] acceptEncodes;
+
+  public BatchGetDataRequest(
+      ProcessId sessionProcessId, List<String> dataInfoIds, String dataCenter, int slotId) {
+    super(slotId, sessionProcessId);
+    this.dataInfoIds = dataInfoIds;
+    this.dataCenter = dataCenter;
+  }
+
+  /**
+   * Getter method for property <tt>dataInfoIds</tt>.
+   *
+   * @return property value of dataInfoIds
+   */
+  public List<String> getDataInfoIds() {
+    return dataInfoIds == null ? Collections.emptyList() : dataInfoIds;
+  }
+
+  /**
+   * Getter method for property <tt>dataCenter</tt>.
+   *
+   * @return property value of dataCenter
+   */
+  public String getDataCenter() {
+    return dataCenter;
+  }
+
+  public String[] getAcceptEncodes() {
+    return acceptEncodes;
+  }
+
+  public void setAcceptEncodes(String[] encodes) {
+    acceptEncodes = encodes;
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format(
+        "BatchGetData:{},{},{},{},{}",
+        dataCenter,
+        getDataInfoIds().size(),
+        getSlotId(),
+        getSlotLeaderEpoch(),
+        getSlotTableEpoch());
+  }
+}
@@ -36,6 +36,11 @@ public class GetDataRequest extends AbstractSlotRequest {
 
   private String[] acceptEncodes;
 
+  // read from the slot follower, accept the datum whose version >= minDatumVersion
+  private boolean followerRead;
+
+  private long minDatumVersion;
+
   public GetDataRequest(
       ProcessId sessionProcessId, String dataInfoId, String dataCenter, int slotId) {
     super(slotId, sessionProcessId);
@@ -64,12 +69,14 @@ public class GetDataRequest extends AbstractSlotRequest {
   @Override
   public String toString() {
     return StringFormatter.format(
-        "GetData:{},{},{},{},{}",
+        "GetData:{},{},{},{},{},followerRead={}/{}",
         dataInfoId,
         dataCenter,
         getSlotId(),
         getSlotLeaderEpoch(),
-        getSlotTableEpoch());
+        getSlotTableEpoch(),
+        followerRead,
+        minDatumVersion);
   }
 
   public String[] getAcceptEncodes() {
@@ -79,4 +86,33 @@ public class GetDataRequest extends AbstractSlotRequest {
   public void setAcceptEncodes(String[] encodes) {
     acceptEncodes = encodes;
   }
+
+  /**
+   * Getter method for property <tt>followerRead</tt>.
+   *
+   * @return property value of followerRead
+   */
+  public boolean isFollowerRead() {
+    return followerRead;
+  }
+
+  /**
+   * Getter method for property <tt>minDatumVersion</tt>.
+   *
+   * @return property value of minDatumVersion
+   */
+  public long getMinDatumVersion() {
+    return minDatumVersion;
+  }
+
+  /**
+   * read from the slot follower, the follower rejects the request if its datum is older than the
+   * minDatumVersion
+   *
+   * @param minDatumVersion
+   */
+  public void setFollowerRead(long minDatumVersion) {
+    this.followerRead = true;
+    this.minDatumVersion = minDatumVersion;
+  }
 }
@@ -32,11 +32,12 @@ public class BaseHeartBeatResponse implements Serializable {
 
   private final boolean heartbeatOnLeader;
 
-  private final SlotTable slotTable;
+  // null means not changed since the epoch of the request, see HeartbeatRequest.knownXXXEpoch
+  private SlotTable slotTable;
 
-  private final VersionedList<MetaNode> metaNodes;
+  private VersionedList<MetaNode> metaNodes;
 
-  private final VersionedList<SessionNode> sessionNodes;
+  private VersionedList<SessionNode> sessionNodes;
 
   private final String metaLeader;
 
@@ -109,4 +110,26 @@ public class BaseHeartBeatResponse implements Serializable {
   public boolean isHeartbeatOnLeader() {
     return this.heartbeatOnLeader;
   }
+
+  /** whether the slotTable/metaNodes/sessionNodes are all present */
+  public boolean isComplete() {
+    return slotTable != null && metaNodes != null && sessionNodes != null;
+  }
+
+  /**
+   * fill the parts which omitted by the meta server with the previous response
+   *
+   * @param prev the previous complete response
+   */
+  public void fillUnchanged(BaseHeartBeatResponse prev) {
+    if (slotTable == null) {
+      slotTable = prev.slotTable;
+    }
+    if (metaNodes == null) {
+      metaNodes = prev.metaNodes;
+    }
+    if (sessionNodes == null) {
+      sessionNodes = prev.sessionNodes;
+    }
+  }
 }
@@ -46,6 +46,16 @@ public class HeartbeatRequest<T extends Node> implements Serializable {
 
   private SlotTable slotTable;
 
+  // the epochs of the last heartbeat response the node has, the meta server omits the parts which
+  // not change if the leader is not changed. -1 means unknown, the full response is needed
+  private long knownMetaLeaderEpoch = -1;
+
+  private long knownSlotTableEpoch = -1;
+
+  private long knownMetaNodesEpoch = -1;
+
+  private long knownSessionNodesEpoch = -1;
+
   /**
    * constructor
    *
@@ -179,6 +189,60 @@ public class HeartbeatRequest<T extends Node> implements Serializable {
     return this;
   }
 
+  /**
+   * Gets get known meta leader epoch.
+   *
+   * @return the get known meta leader epoch
+   */
+  public long getKnownMetaLeaderEpoch() {
+    return knownMetaLeaderEpoch;
+  }
+
+  /**
+   * Gets get known slot table epoch.
+   *
+   * @return the get known slot table epoch
+   */
+  public long getKnownSlotTableEpoch() {
+    return knownSlotTableEpoch;
+  }
+
+  /**
+   * Gets get known meta nodes epoch.
+   *
+   * @return the get known meta nodes epoch
+   */
+  public long getKnownMetaNodesEpoch() {
+    return knownMetaNodesEpoch;
+  }
+
+  /**
+   * Gets get known session nodes epoch.
+   *
+   * @return the get known session nodes epoch
+   */
+  public long getKnownSessionNodesEpoch() {
+    return knownSessionNodesEpoch;
+  }
+
+  /**
+   * Sets the epochs of the last heartbeat response.
+   *
+   * @param metaLeaderEpoch the epoch of the meta leader
+   * @param slotTableEpoch the epoch of the slot table
+   * @param metaNodesEpoch the epoch of the meta nodes
+   * @param sessionNodesEpoch the epoch of the session nodes
+   * @return the heartbeat request
+   */
+  public HeartbeatRequest<T> setKnownEpochs(
+      long metaLeaderEpoch, long slotTableEpoch, long metaNodesEpoch, long sessionNodesEpoch) {
+    this.knownMetaLeaderEpoch = metaLeaderEpoch;
+    this.knownSlotTableEpoch = slotTableEpoch;
+    this.knownMetaNodesEpoch = metaNodesEpoch;
+    this.knownSessionNodesEpoch = sessionNodesEpoch;
+    return this;
+  }
+
   /**
    * To string string.
    *
@@ -32,6 +32,9 @@ public class BaseSlotStatus implements Serializable {
 
   protected final String server;
 
+  // null if the data server not report the load
+  protected SlotLoad load;
+
   /**
    * Constructor.
    *
@@ -83,6 +86,24 @@ public class BaseSlotStatus implements Serializable {
     return server;
   }
 
+  /**
+   * Gets get load.
+   *
+   * @return the get load, null if not reported
+   */
+  public SlotLoad getLoad() {
+    return load;
+  }
+
+  /**
+   * Sets set load.
+   *
+   * @param load the load
+   */
+  public void setLoad(SlotLoad load) {
+    this.load = load;
+  }
+
   public enum LeaderStatus {
     INIT,
     HEALTHY,
@@ -110,6 +131,8 @@ public class BaseSlotStatus implements Serializable {
         + ", server='"
         + server
         + '\''
+        + ", load="
+        + load
         + '}';
   }
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * the bucket digest of a slot, one flat layer of buckets. the dataInfoId is mapped to a bucket by
+ * hashCode, the digest of the bucket is the sum of bucketHash of the publishers in the bucket. the
+ * peers compare all the buckets, then diff the dataInfoIds of the buckets which are different
+ */
+public final class DataSlotBucketDigest implements Serializable {
+  public static final int BUCKET_NUM = 256;
+
+  private final long[] buckets;
+
+  public DataSlotBucketDigest(long[] buckets) {
+    ParaCheckUtil.checkEquals(buckets.length, BUCKET_NUM, "buckets.length");
+    this.buckets = buckets;
+  }
+
+  public static int bucketOf(String dataInfoId) {
+    return dataInfoId.hashCode() & (BUCKET_NUM - 1);
+  }
+
+  public static DataSlotBucketDigest ofSummary(Map<String, DatumSummary> summaryMap) {
+    final long[] buckets = new long[BUCKET_NUM];
+    for (Map.Entry<String, DatumSummary> e : summaryMap.entrySet()) {
+      final String dataInfoId = e.getKey();
+      long h = 0;
+      for (Map.Entry<String, RegisterVersion> p : e.getValue().getPublisherVersions().entrySet()) {
+        h += PublisherDigestUtil.bucketHash(dataInfoId, p.getKey(), p.getValue());
+      }
+      buckets[bucketOf(dataInfoId)] += h;
+    }
+    return new DataSlotBucketDigest(buckets);
+  }
+
+  public static DataSlotBucketDigest ofPublishers(
+      Map<String, Map<String, Publisher>> publishersMap) {
+    final long[] buckets = new long[BUCKET_NUM];
+    for (Map.Entry<String, Map<String, Publisher>> e : publishersMap.entrySet()) {
+      final String dataInfoId = e.getKey();
+      long h = 0;
+      for (Map.Entry<String, Publisher> p : e.getValue().entrySet()) {
+        h += PublisherDigestUtil.bucketHash(dataInfoId, p.getKey(), p.getValue().registerVersion());
+      }
+      buckets[bucketOf(dataInfoId)] += h;
+    }
+    return new DataSlotBucketDigest(buckets);
+  }
+
+  /**
+   * compare the buckets one by one
+   *
+   * @param other the digest of the peer
+   * @return the buckets which has diff, empty if the same
+   */
+  public Set<Integer> diffBuckets(DataSlotBucketDigest other) {
+    if (Arrays.equals(buckets, other.buckets)) {
+      return Collections.emptySet();
+    }
+    Set<Integer> diffs = Sets.newTreeSet();
+    for (int i = 0; i < BUCKET_NUM; i++) {
+      if (buckets[i] != other.buckets[i]) {
+        diffs.add(i);
+      }
+    }
+    return diffs;
+  }
+
+  public static <T> Map<String, T> filterBuckets(Map<String, T> map, Set<Integer> buckets) {
+    Map<String, T> ret = Maps.newHashMapWithExpectedSize(map.size() * buckets.size() / BUCKET_NUM);
+    for (Map.Entry<String, T> e : map.entrySet()) {
+      if (buckets.contains(bucketOf(e.getKey()))) {
+        ret.put(e.getKey(), e.getValue());
+      }
+    }
+    return ret;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    DataSlotBucketDigest that = (DataSlotBucketDigest) o;
+    return Arrays.equals(buckets, that.buckets);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(buckets);
+  }
+
+  @Override
+  public String toString() {
+    return "BucketDigest{" + "hash=" + hashCode() + '}';
+  }
+}
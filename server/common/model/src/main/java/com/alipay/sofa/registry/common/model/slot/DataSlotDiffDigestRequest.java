@@ -20,6 +20,7 @@ import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author yuzhi.lyz
@@ -30,12 +31,20 @@ public class DataSlotDiffDigestRequest implements Serializable {
   // all dataInfoIds, diff by digest
   private final Map<String, DatumDigest> datumDigest;
   private final int slotId;
+  // the digest buckets of the datumDigest, null means all dataInfoIds of the slot
+  private final Set<Integer> buckets;
 
   public DataSlotDiffDigestRequest(
       long slotTableEpoch, int slotId, Map<String, DatumDigest> datumDigest) {
+    this(slotTableEpoch, slotId, datumDigest, null);
+  }
+
+  public DataSlotDiffDigestRequest(
+      long slotTableEpoch, int slotId, Map<String, DatumDigest> datumDigest, Set<Integer> buckets) {
     this.slotTableEpoch = slotTableEpoch;
     this.slotId = slotId;
     this.datumDigest = datumDigest == null ? Collections.emptyMap() : datumDigest;
+    this.buckets = buckets;
   }
 
   /**
@@ -60,6 +69,25 @@ public class DataSlotDiffDigestRequest implements Serializable {
     return Collections.unmodifiableMap(datumDigest);
   }
 
+  /**
+   * Getter method for property <tt>buckets</tt>.
+   *
+   * @return property value of buckets
+   */
+  public Set<Integer> getBuckets() {
+    return buckets;
+  }
+
+  /**
+   * filter the dataInfoIds which in the buckets of the request
+   *
+   * @param map
+   * @return
+   */
+  public <T> Map<String, T> filterBuckets(Map<String, T> map) {
+    return buckets == null ? map : DataSlotBucketDigest.filterBuckets(map, buckets);
+  }
+
   @Override
   public String toString() {
     return "DiffDigest{"
@@ -69,6 +97,8 @@ public class DataSlotDiffDigestRequest implements Serializable {
         + slotTableEpoch
         + ", digests="
         + datumDigest.size()
+        + ", buckets="
+        + (buckets == null ? "all" : buckets.size())
         + '}';
   }
 }
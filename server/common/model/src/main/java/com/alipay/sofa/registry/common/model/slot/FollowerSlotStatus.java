@@ -87,6 +87,8 @@ public class FollowerSlotStatus extends BaseSlotStatus implements Serializable {
         + ", server='"
         + server
         + '\''
+        + ", load="
+        + load
         + '}';
   }
 }
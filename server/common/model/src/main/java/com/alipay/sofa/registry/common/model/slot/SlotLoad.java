@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import java.io.Serializable;
+
+/** the load of a slot on the data server, reported to meta by the heartbeat */
+public final class SlotLoad implements Serializable {
+  private static final long serialVersionUID = -3871069383329214316L;
+
+  public static final SlotLoad EMPTY = new SlotLoad(0, 0, 0);
+
+  private final int pubCount;
+
+  private final long datumBytes;
+
+  // the requests per second of the put and get
+  private final double requestRate;
+
+  public SlotLoad(int pubCount, long datumBytes, double requestRate) {
+    this.pubCount = pubCount;
+    this.datumBytes = datumBytes;
+    this.requestRate = requestRate;
+  }
+
+  public int getPubCount() {
+    return pubCount;
+  }
+
+  public long getDatumBytes() {
+    return datumBytes;
+  }
+
+  public double getRequestRate() {
+    return requestRate;
+  }
+
+  @Override
+  public String toString() {
+    return "SlotLoad{"
+        + "pubCount="
+        + pubCount
+        + ", datumBytes="
+        + datumBytes
+        + ", requestRate="
+        + requestRate
+        + '}';
+  }
+}
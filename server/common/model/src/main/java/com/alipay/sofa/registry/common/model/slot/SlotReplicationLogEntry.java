@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** a mutation of the slot on the leader, replayed by the followers in seq order */
+public final class SlotReplicationLogEntry implements Serializable {
+  public enum Type {
+    // put the publishers(contains unpub) of the dataInfoId
+    PUT,
+    // remove the publishers of the dataInfoId by the registerVersions
+    REMOVE,
+    // clean the publishers of the session process
+    CLEAN,
+  }
+
+  private final long seq;
+  private final Type type;
+  private final String dataInfoId;
+  private final ProcessId sessionProcessId;
+  private final List<Publisher> publishers;
+  private final Map<String, RegisterVersion> removedPublishers;
+  // the datum version of the leader after the mutation, 0 if unknown
+  private final long datumVersion;
+
+  private SlotReplicationLogEntry(
+      long seq,
+      Type type,
+      String dataInfoId,
+      ProcessId sessionProcessId,
+      List<Publisher> publishers,
+      Map<String, RegisterVersion> removedPublishers,
+      long datumVersion) {
+    this.seq = seq;
+    this.type = type;
+    this.dataInfoId = dataInfoId;
+    this.sessionProcessId = sessionProcessId;
+    this.publishers = publishers;
+    this.removedPublishers = removedPublishers;
+    this.datumVersion = datumVersion;
+  }
+
+  public static SlotReplicationLogEntry put(
+      long seq, String dataInfoId, List<Publisher> publishers, long datumVersion) {
+    return new SlotReplicationLogEntry(
+        seq, Type.PUT, dataInfoId, null, publishers, null, datumVersion);
+  }
+
+  public static SlotReplicationLogEntry remove(
+      long seq,
+      String dataInfoId,
+      ProcessId sessionProcessId,
+      Map<String, RegisterVersion> removedPublishers,
+      long datumVersion) {
+    return new SlotReplicationLogEntry(
+        seq, Type.REMOVE, dataInfoId, sessionProcessId, null, removedPublishers, datumVersion);
+  }
+
+  public static SlotReplicationLogEntry clean(long seq, ProcessId sessionProcessId) {
+    return new SlotReplicationLogEntry(seq, Type.CLEAN, null, sessionProcessId, null, null, 0);
+  }
+
+  public long getSeq() {
+    return seq;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public String getDataInfoId() {
+    return dataInfoId;
+  }
+
+  public ProcessId getSessionProcessId() {
+    return sessionProcessId;
+  }
+
+  public List<Publisher> getPublishers() {
+    return publishers == null ? Collections.emptyList() : publishers;
+  }
+
+  public Map<String, RegisterVersion> getRemovedPublishers() {
+    return removedPublishers == null ? Collections.emptyMap() : removedPublishers;
+  }
+
+  public long getDatumVersion() {
+    return datumVersion;
+  }
+
+  @Override
+  public String toString() {
+    return "LogEntry{"
+        + "seq="
+        + seq
+        + ", type="
+        + type
+        + ", dataInfoId="
+        + dataInfoId
+        + ", session="
+        + sessionProcessId
+        + ", pubs="
+        + getPublishers().size()
+        + ", removes="
+        + getRemovedPublishers().size()
+        + ", ver="
+        + datumVersion
+        + '}';
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import java.io.Serializable;
+
+/** the follower tails the replication log of the slot leader from the position */
+public class SlotReplicationLogRequest implements Serializable {
+  // fromSeq < 0 means only query the current position of the log
+  public static final long POSITION_ONLY = -1;
+
+  private final long slotTableEpoch;
+  private final int slotId;
+  private final long slotLeaderEpoch;
+  private final long fromSeq;
+  private final int maxEntries;
+
+  public SlotReplicationLogRequest(
+      long slotTableEpoch, int slotId, long slotLeaderEpoch, long fromSeq, int maxEntries) {
+    this.slotTableEpoch = slotTableEpoch;
+    this.slotId = slotId;
+    this.slotLeaderEpoch = slotLeaderEpoch;
+    this.fromSeq = fromSeq;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Getter method for property <tt>slotTableEpoch</tt>.
+   *
+   * @return property value of slotTableEpoch
+   */
+  public long getSlotTableEpoch() {
+    return slotTableEpoch;
+  }
+
+  /**
+   * Getter method for property <tt>slotId</tt>.
+   *
+   * @return property value of slotId
+   */
+  public int getSlotId() {
+    return slotId;
+  }
+
+  /**
+   * Getter method for property <tt>slotLeaderEpoch</tt>.
+   *
+   * @return property value of slotLeaderEpoch
+   */
+  public long getSlotLeaderEpoch() {
+    return slotLeaderEpoch;
+  }
+
+  /**
+   * Getter method for property <tt>fromSeq</tt>.
+   *
+   * @return property value of fromSeq
+   */
+  public long getFromSeq() {
+    return fromSeq;
+  }
+
+  /**
+   * Getter method for property <tt>maxEntries</tt>.
+   *
+   * @return property value of maxEntries
+   */
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public boolean isPositionOnly() {
+    return fromSeq < 0;
+  }
+
+  @Override
+  public String toString() {
+    return "ReplicationLog{"
+        + "slotId="
+        + slotId
+        + ", epoch="
+        + slotTableEpoch
+        + ", leaderEpoch="
+        + slotLeaderEpoch
+        + ", from="
+        + fromSeq
+        + ", max="
+        + maxEntries
+        + '}';
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/** the entries of the replication log after the requested position */
+public class SlotReplicationLogResult implements Serializable {
+  private final long slotLeaderEpoch;
+  // the position after the entries, the next request starts from it
+  private final long nextSeq;
+  // the requested position is not in the log, the follower needs the digest sync
+  private final boolean truncated;
+  private final boolean hasRemain;
+  private final List<SlotReplicationLogEntry> entries;
+
+  public SlotReplicationLogResult(
+      long slotLeaderEpoch,
+      long nextSeq,
+      boolean truncated,
+      boolean hasRemain,
+      List<SlotReplicationLogEntry> entries) {
+    this.slotLeaderEpoch = slotLeaderEpoch;
+    this.nextSeq = nextSeq;
+    this.truncated = truncated;
+    this.hasRemain = hasRemain;
+    this.entries = entries == null ? Collections.emptyList() : entries;
+  }
+
+  public static SlotReplicationLogResult truncated(long slotLeaderEpoch, long nextSeq) {
+    return new SlotReplicationLogResult(slotLeaderEpoch, nextSeq, true, false, null);
+  }
+
+  public static SlotReplicationLogResult position(long slotLeaderEpoch, long nextSeq) {
+    return new SlotReplicationLogResult(slotLeaderEpoch, nextSeq, false, false, null);
+  }
+
+  /**
+   * Getter method for property <tt>slotLeaderEpoch</tt>.
+   *
+   * @return property value of slotLeaderEpoch
+   */
+  public long getSlotLeaderEpoch() {
+    return slotLeaderEpoch;
+  }
+
+  /**
+   * Getter method for property <tt>nextSeq</tt>.
+   *
+   * @return property value of nextSeq
+   */
+  public long getNextSeq() {
+    return nextSeq;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  public boolean isHasRemain() {
+    return hasRemain;
+  }
+
+  public List<SlotReplicationLogEntry> getEntries() {
+    return Collections.unmodifiableList(entries);
+  }
+
+  @Override
+  public String toString() {
+    return "ReplicationLogResult{"
+        + "leaderEpoch="
+        + slotLeaderEpoch
+        + ", next="
+        + nextSeq
+        + ", truncated="
+        + truncated
+        + ", remain="
+        + hasRemain
+        + ", entries="
+        + entries.size()
+        + '}';
+  }
+}
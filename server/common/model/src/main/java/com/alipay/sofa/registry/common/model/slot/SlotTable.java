@@ -34,9 +34,12 @@ public final class SlotTable implements Serializable {
   public static final SlotTable INIT = new SlotTable(-1, Collections.emptyList());
   private final long epoch;
   private final Map<Integer, Slot> slots;
+  // the slot num of the table generation, 0 means SlotConfig.SLOT_NUM, doubled by split
+  private final int slotNum;
 
-  private SlotTable(long epoch, Map<Integer, Slot> slots) {
+  private SlotTable(long epoch, Map<Integer, Slot> slots, int slotNum) {
     this.epoch = epoch;
+    this.slotNum = slotNum;
     if (!CollectionUtils.isEmpty(slots)) {
       this.slots = new TreeMap<>(slots);
     } else {
@@ -45,7 +48,12 @@ public final class SlotTable implements Serializable {
   }
 
   public SlotTable(long epoch, final Collection<Slot> slots) {
+    this(epoch, slots, 0);
+  }
+
+  public SlotTable(long epoch, final Collection<Slot> slots, int slotNum) {
     this.epoch = epoch;
+    this.slotNum = slotNum;
     SortedMap<Integer, Slot> slotMap = Maps.newTreeMap();
     if (!CollectionUtils.isEmpty(slots)) {
       slots.forEach(
@@ -95,10 +103,39 @@ public final class SlotTable implements Serializable {
     return epoch;
   }
 
+  /**
+   * Getter method for property <tt>slotNum</tt>.
+   *
+   * @return property value of slotNum, 0 means SlotConfig.SLOT_NUM
+   */
+  public int getSlotNum() {
+    return slotNum;
+  }
+
+  /**
+   * split every slot into two children with the doubled slot num, the slot s maps onto s and s +
+   * slotNum by the slot function, the children inherit the leader, leaderEpoch and followers, so
+   * the data stays on the same data servers
+   */
+  public SlotTable split(long epoch) {
+    final int num = slotNum > 0 ? slotNum : SlotConfig.SLOT_NUM;
+    final List<Slot> children = new ArrayList<>(slots.size() * 2);
+    for (Slot slot : slots.values()) {
+      children.add(slot);
+      final int childId = slot.getId() + num;
+      children.add(new Slot(childId, slot.getLeader(), slot.getLeaderEpoch(), slot.getFollowers()));
+    }
+    return new SlotTable(epoch, children, num * 2);
+  }
+
   @Override
   public String toString() {
     return StringFormatter.format(
-        "SlotTable{epoch={}, num={}, leaders={}}", epoch, slots.size(), slotLeaders());
+        "SlotTable{epoch={}, num={}, slotNum={}, leaders={}}",
+        epoch,
+        slots.size(),
+        slotNum,
+        slotLeaders());
   }
 
   /** the slot table is too big for rpc */
@@ -169,7 +206,7 @@ public final class SlotTable implements Serializable {
             slotMap.put(k, v);
           }
         });
-    return new SlotTable(epoch, slotMap);
+    return new SlotTable(epoch, slotMap, slotNum);
   }
 
   public int getLeaderNum(String dataServerIp) {
@@ -241,7 +278,7 @@ public final class SlotTable implements Serializable {
       for (Map.Entry<Integer, SlotBuilder> entry : slotBuilderMap.entrySet()) {
         slotMap.put(entry.getKey(), entry.getValue().build());
       }
-      return new SlotTable(epoch, slotMap);
+      return new SlotTable(epoch, slotMap, 0);
     }
   }
 
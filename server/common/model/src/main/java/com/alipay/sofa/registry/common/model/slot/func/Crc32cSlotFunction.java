@@ -49,6 +49,11 @@ public class Crc32cSlotFunction implements SlotFunction {
     return slotMask + 1;
   }
 
+  @Override
+  public SlotFunction withSlots(int slotNum) {
+    return new Crc32cSlotFunction(slotNum);
+  }
+
   @Override
   public int slotOf(Object o) {
     return getCrc32Code(o) & slotMask;
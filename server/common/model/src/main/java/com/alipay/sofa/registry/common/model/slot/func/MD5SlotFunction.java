@@ -29,7 +29,11 @@ public final class MD5SlotFunction implements SlotFunction {
   private final MD5HashFunction md5HashFunction = new MD5HashFunction();
 
   private MD5SlotFunction() {
-    this.maxSlots = SlotConfig.SLOT_NUM;
+    this(SlotConfig.SLOT_NUM);
+  }
+
+  private MD5SlotFunction(int maxSlots) {
+    this.maxSlots = maxSlots;
   }
 
   @Override
@@ -42,6 +46,11 @@ public final class MD5SlotFunction implements SlotFunction {
     return maxSlots;
   }
 
+  @Override
+  public SlotFunction withSlots(int slotNum) {
+    return new MD5SlotFunction(slotNum);
+  }
+
   @Override
   public int slotOf(Object o) {
     // make sure >=0
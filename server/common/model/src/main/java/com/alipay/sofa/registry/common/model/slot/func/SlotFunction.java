@@ -26,4 +26,10 @@ public interface SlotFunction {
   int maxSlots();
 
   int slotOf(Object o);
+
+  /**
+   * the function of the same hash with another slot num, the slot of the doubled slot num is either
+   * the same slot or the slot plus the current slot num
+   */
+  SlotFunction withSlots(int slotNum);
 }
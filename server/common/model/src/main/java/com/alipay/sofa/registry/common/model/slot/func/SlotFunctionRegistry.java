@@ -27,6 +27,9 @@ import java.util.Map;
 public final class SlotFunctionRegistry {
   private static final Map<String, SlotFunction> funcs = Maps.newConcurrentMap();
 
+  // slotNum -> the configured func with the slotNum, the slot table is split online
+  private static final Map<Integer, SlotFunction> splitFuncs = Maps.newConcurrentMap();
+
   static {
     register(Crc32cSlotFunction.INSTANCE);
     register(MD5SlotFunction.INSTANCE);
@@ -39,4 +42,16 @@ public final class SlotFunctionRegistry {
   public static SlotFunction getFunc() {
     return funcs.get(SlotConfig.FUNC);
   }
+
+  /**
+   * the func of the slot table generation
+   *
+   * @param slotNum the slot num of the slot table, 0 means SlotConfig.SLOT_NUM
+   */
+  public static SlotFunction getFunc(int slotNum) {
+    if (slotNum <= 0 || slotNum == SlotConfig.SLOT_NUM) {
+      return getFunc();
+    }
+    return splitFuncs.computeIfAbsent(slotNum, k -> getFunc().withSlots(k));
+  }
 }
@@ -0,0 +1,527 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.store;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.PublishSource;
+import com.alipay.sofa.registry.common.model.PublishType;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.store.BaseInfo.ClientVersion;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the compact and immutable form of the publisher for long-term storage. the low cardinality words
+ * are encoded to the ids of the dictionary, the addresses are packed into long, the dataList is
+ * packed into one byte array. the publisher is materialized by toPublisher when needed
+ */
+public final class CompactPublisher {
+  // the dictionary never shrinks, only the instanceId/group/cell/appName are put into it
+  private static final int DICTIONARY_MAX_SIZE = 1 << 16;
+
+  private static final WordDictionary DICTIONARY = new WordDictionary(DICTIONARY_MAX_SIZE);
+
+  private static final ClientVersion[] CLIENT_VERSIONS = ClientVersion.values();
+  private static final PublishType[] PUBLISH_TYPES = PublishType.values();
+  private static final PublishSource[] PUBLISH_SOURCES = PublishSource.values();
+
+  // the layout of the packed url, 0 means null
+  private static final int URL_PRESENT_BIT = 1 << 11;
+  private static final int URL_IP_PRESENT_BIT = 1 << 9;
+  private static final int URL_SERIALIZER_PRESENT_BIT = 1 << 8;
+
+  // the words with high cardinality are interned by WordCache
+  private final String dataInfoId;
+  private final String dataId;
+  private final String processId;
+  private final String registerId;
+  private final byte[] clientId;
+
+  // id + 1 of the dictionary, 0 means null
+  private final int instanceId;
+  private final int group;
+  private final int cell;
+  private final int appName;
+
+  private final long version;
+  private final long registerTimestamp;
+  private final long clientRegisterTimestamp;
+
+  private final long sourceAddress;
+  private final long targetAddress;
+
+  // ordinal + 1 of clientVersion/publishType/publishSource, 8 bits per enum
+  private final int enums;
+
+  private final Map<String, String> attributes;
+  private final ProcessId sessionProcessId;
+
+  // [count][serialization, length, bytes]..., null means dataList is null
+  private final byte[] dataBoxes;
+
+  private CompactPublisher(Publisher publisher, int[] words, long[] addresses, byte[] dataBoxes) {
+    this.dataInfoId = WordCache.getWordCache(publisher.getDataInfoId());
+    this.dataId = WordCache.getWordCache(publisher.getDataId());
+    this.processId = WordCache.getWordCache(publisher.getProcessId());
+    this.registerId = publisher.getRegisterId();
+    this.clientId = encodeString(publisher.getClientId());
+    this.instanceId = words[0];
+    this.group = words[1];
+    this.cell = words[2];
+    this.appName = words[3];
+    this.version = publisher.getVersion();
+    this.registerTimestamp = publisher.getRegisterTimestamp();
+    this.clientRegisterTimestamp = publisher.getClientRegisterTimestamp();
+    this.sourceAddress = addresses[0];
+    this.targetAddress = addresses[1];
+    this.enums =
+        encodeEnum(publisher.getClientVersion())
+            | encodeEnum(publisher.getPublishType()) << 8
+            | encodeEnum(publisher.getPublishSource()) << 16;
+    this.attributes = publisher.attributesSize() == 0 ? null : publisher.getAttributes();
+    this.sessionProcessId = publisher.getSessionProcessId();
+    this.dataBoxes = dataBoxes;
+  }
+
+  /**
+   * @param publisher
+   * @return null if the publisher could not be compacted, e.g. the subclass of Publisher, the
+   *     dataBox is not in bytes or the dictionary is full
+   */
+  public static CompactPublisher compact(Publisher publisher) {
+    if (publisher.getClass() != Publisher.class) {
+      return null;
+    }
+    final byte[] dataBoxes = encodeDataList(publisher.getDataList());
+    if (dataBoxes == null && publisher.getDataList() != null) {
+      return null;
+    }
+    final int[] words =
+        encodeWords(
+            publisher.getInstanceId(),
+            publisher.getGroup(),
+            publisher.getCell(),
+            publisher.getAppName());
+    if (words == null) {
+      return null;
+    }
+    final long source = encodeURL(publisher.getSourceAddress());
+    final long target = encodeURL(publisher.getTargetAddress());
+    if (source == -1 || target == -1) {
+      return null;
+    }
+    return new CompactPublisher(publisher, words, new long[] {source, target}, dataBoxes);
+  }
+
+  /**
+   * check the publisher could be written in the portable binary form
+   *
+   * @param publisher
+   * @return false if the subclass of Publisher or the dataBox is not in bytes
+   */
+  public static boolean isPortable(Publisher publisher) {
+    if (publisher.getClass() != Publisher.class) {
+      return false;
+    }
+    return publisher.getDataList() == null || encodeDataList(publisher.getDataList()) != null;
+  }
+
+  /**
+   * write the publisher in the portable binary form, the fields are same as the compact form but
+   * the words are written as strings, the ids of the dictionary are only valid in the process
+   *
+   * @param publisher must be portable
+   * @param out
+   */
+  public static void writeTo(Publisher publisher, DataOutput out) throws IOException {
+    final byte[] dataBoxes = encodeDataList(publisher.getDataList());
+    if (!isPortable(publisher)) {
+      throw new IllegalArgumentException("publisher is not portable: " + publisher);
+    }
+    writeString(out, publisher.getDataInfoId());
+    writeString(out, publisher.getDataId());
+    writeString(out, publisher.getInstanceId());
+    writeString(out, publisher.getGroup());
+    writeString(out, publisher.getCell());
+    writeString(out, publisher.getAppName());
+    writeString(out, publisher.getProcessId());
+    writeString(out, publisher.getRegisterId());
+    writeString(out, publisher.getClientId());
+    out.writeLong(publisher.getVersion());
+    out.writeLong(publisher.getRegisterTimestamp());
+    out.writeLong(publisher.getClientRegisterTimestamp());
+    writeURL(out, publisher.getSourceAddress());
+    writeURL(out, publisher.getTargetAddress());
+    // the names of the enums, the ordinals maybe changed between the versions
+    writeString(out, enumName(publisher.getClientVersion()));
+    writeString(out, enumName(publisher.getPublishType()));
+    writeString(out, enumName(publisher.getPublishSource()));
+    final Map<String, String> attributes =
+        publisher.attributesSize() == 0 ? null : publisher.getAttributes();
+    out.writeInt(attributes == null ? -1 : attributes.size());
+    if (attributes != null) {
+      for (Map.Entry<String, String> e : attributes.entrySet()) {
+        writeString(out, e.getKey());
+        writeString(out, e.getValue());
+      }
+    }
+    final ProcessId sessionProcessId = publisher.getSessionProcessId();
+    out.writeBoolean(sessionProcessId != null);
+    if (sessionProcessId != null) {
+      writeString(out, sessionProcessId.getHostAddress());
+      out.writeLong(sessionProcessId.getTimestamp());
+      out.writeInt(sessionProcessId.getPid());
+      out.writeInt(sessionProcessId.getRand());
+    }
+    writeBytes(out, dataBoxes);
+  }
+
+  /** read the publisher written by writeTo */
+  public static Publisher readFrom(DataInput in) throws IOException {
+    Publisher publisher = new Publisher();
+    publisher.setDataInfoId(readString(in));
+    publisher.setDataId(readString(in));
+    publisher.setInstanceId(readString(in));
+    publisher.setGroup(readString(in));
+    publisher.setCell(readString(in));
+    publisher.setAppName(readString(in));
+    publisher.setProcessId(readString(in));
+    publisher.setRegisterId(readString(in));
+    publisher.setClientId(readString(in));
+    publisher.setVersion(in.readLong());
+    publisher.setRegisterTimestamp(in.readLong());
+    publisher.setClientRegisterTimestamp(in.readLong());
+    publisher.setSourceAddress(readURL(in));
+    publisher.setTargetAddress(readURL(in));
+    publisher.setClientVersion(enumOf(ClientVersion.class, readString(in)));
+    publisher.setPublishType(enumOf(PublishType.class, readString(in)));
+    publisher.setPublishSource(enumOf(PublishSource.class, readString(in)));
+    final int attributesSize = in.readInt();
+    if (attributesSize >= 0) {
+      Map<String, String> attributes = Maps.newHashMapWithExpectedSize(attributesSize);
+      for (int i = 0; i < attributesSize; i++) {
+        attributes.put(readString(in), readString(in));
+      }
+      publisher.setAttributes(attributes);
+    }
+    if (in.readBoolean()) {
+      publisher.setSessionProcessId(
+          new ProcessId(readString(in), in.readLong(), in.readInt(), in.readInt()));
+    }
+    publisher.setDataList(decodeDataList(readBytes(in)));
+    return publisher;
+  }
+
+  /** materialize a new publisher, the caller could modify it */
+  public Publisher toPublisher() {
+    Publisher publisher = new Publisher();
+    publisher.setDataInfoId(dataInfoId);
+    publisher.setDataId(dataId);
+    publisher.setProcessId(processId);
+    publisher.setRegisterId(registerId);
+    publisher.setClientId(decodeString(clientId));
+    publisher.setInstanceId(decodeWord(instanceId));
+    publisher.setGroup(decodeWord(group));
+    publisher.setCell(decodeWord(cell));
+    publisher.setAppName(decodeWord(appName));
+    publisher.setVersion(version);
+    publisher.setRegisterTimestamp(registerTimestamp);
+    publisher.setClientRegisterTimestamp(clientRegisterTimestamp);
+    publisher.setSourceAddress(decodeURL(sourceAddress));
+    publisher.setTargetAddress(decodeURL(targetAddress));
+    publisher.setClientVersion(decodeEnum(CLIENT_VERSIONS, enums));
+    publisher.setPublishType(decodeEnum(PUBLISH_TYPES, enums >>> 8));
+    publisher.setPublishSource(decodeEnum(PUBLISH_SOURCES, enums >>> 16));
+    if (attributes != null) {
+      publisher.setAttributes(attributes);
+    }
+    publisher.setSessionProcessId(sessionProcessId);
+    publisher.setDataList(getDataList());
+    return publisher;
+  }
+
+  /** decode the dataList only, avoid materializing the whole publisher */
+  public List<ServerDataBox> getDataList() {
+    return decodeDataList(dataBoxes);
+  }
+
+  private static List<ServerDataBox> decodeDataList(byte[] dataBoxes) {
+    if (dataBoxes == null) {
+      return null;
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(dataBoxes);
+    final int count = buffer.getInt();
+    List<ServerDataBox> list = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final int serialization = buffer.getInt();
+      byte[] bytes = new byte[buffer.getInt()];
+      buffer.get(bytes);
+      ServerDataBox box = new ServerDataBox(bytes);
+      box.setSerialization(serialization);
+      list.add(box);
+    }
+    return list;
+  }
+
+  public String getRegisterId() {
+    return registerId;
+  }
+
+  public ProcessId getSessionProcessId() {
+    return sessionProcessId;
+  }
+
+  public int dataBoxesSize() {
+    return dataBoxes == null ? 0 : dataBoxes.length;
+  }
+
+  public Map<String, String> getAttributes() {
+    return attributes == null ? Collections.emptyMap() : Collections.unmodifiableMap(attributes);
+  }
+
+  private static byte[] encodeDataList(List<ServerDataBox> dataList) {
+    if (dataList == null) {
+      return null;
+    }
+    int size = 4;
+    for (ServerDataBox box : dataList) {
+      if (box == null || !box.isInBytes()) {
+        return null;
+      }
+      size += 8 + box.byteSize();
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(dataList.size());
+    for (ServerDataBox box : dataList) {
+      buffer.putInt(box.getSerialization());
+      buffer.putInt(box.byteSize());
+      buffer.put(box.getBytes());
+    }
+    return buffer.array();
+  }
+
+  private static int[] encodeWords(String... words) {
+    int[] ids = new int[words.length];
+    for (int i = 0; i < words.length; i++) {
+      if (words[i] == null) {
+        continue;
+      }
+      final int id = DICTIONARY.idOf(words[i]);
+      if (id == WordDictionary.NOT_FOUND) {
+        return null;
+      }
+      ids[i] = id + 1;
+    }
+    return ids;
+  }
+
+  private static String decodeWord(int id) {
+    return id == 0 ? null : DICTIONARY.wordOf(id - 1);
+  }
+
+  /**
+   * [ipv4:32][port:16][protocol ordinal + 1:4][present:1][unused:1][ip present:1][serializer
+   * present:1][serializer:8]. the ip is packed instead of putting into the dictionary, the ips of
+   * the clients are high cardinality
+   *
+   * @return 0 if the url is null, -1 if the url could not be encoded, e.g. the ip is not ipv4
+   */
+  @VisibleForTesting
+  static long encodeURL(URL url) {
+    if (url == null) {
+      return 0;
+    }
+    if (url.getPort() < 0 || url.getPort() > 0xFFFF) {
+      return -1;
+    }
+    long packed = (long) url.getPort() << 16 | URL_PRESENT_BIT;
+    if (url.getIpAddress() != null) {
+      final long ip = encodeIPv4(url.getIpAddress());
+      if (ip == -1) {
+        return -1;
+      }
+      packed |= ip << 32 | URL_IP_PRESENT_BIT;
+    }
+    if (url.getProtocol() != null) {
+      packed |= (url.getProtocol().ordinal() + 1) << 12;
+    }
+    if (url.getSerializerIndex() != null) {
+      packed |= URL_SERIALIZER_PRESENT_BIT | (url.getSerializerIndex() & 0xFF);
+    }
+    return packed;
+  }
+
+  @VisibleForTesting
+  static URL decodeURL(long packed) {
+    if (packed == 0) {
+      return null;
+    }
+    final String ip = (packed & URL_IP_PRESENT_BIT) == 0 ? null : decodeIPv4(packed >>> 32);
+    final int port = (int) (packed >>> 16) & 0xFFFF;
+    final int protocol = (int) (packed >>> 12) & 0xF;
+    final Byte serializer =
+        (packed & URL_SERIALIZER_PRESENT_BIT) == 0 ? null : (byte) (packed & 0xFF);
+    return URL.of(
+        protocol == 0 ? null : URL.ProtocolType.values()[protocol - 1], ip, port, serializer);
+  }
+
+  /** @return the ipv4 as unsigned int, -1 if the ip is not the canonical form of ipv4 */
+  @VisibleForTesting
+  static long encodeIPv4(String ip) {
+    long value = 0;
+    int octets = 0;
+    int start = 0;
+    final int length = ip.length();
+    while (start <= length) {
+      int end = ip.indexOf('.', start);
+      if (end == -1) {
+        end = length;
+      }
+      final int digits = end - start;
+      // no leading zero, decode must return the same string
+      if (octets == 4 || digits == 0 || digits > 3 || (digits > 1 && ip.charAt(start) == '0')) {
+        return -1;
+      }
+      int octet = 0;
+      for (int i = start; i < end; i++) {
+        final char c = ip.charAt(i);
+        if (c < '0' || c > '9') {
+          return -1;
+        }
+        octet = octet * 10 + (c - '0');
+      }
+      if (octet > 0xFF) {
+        return -1;
+      }
+      value = value << 8 | octet;
+      octets++;
+      start = end + 1;
+    }
+    return octets == 4 ? value : -1;
+  }
+
+  @VisibleForTesting
+  static String decodeIPv4(long ip) {
+    return new StringBuilder(15)
+        .append((ip >>> 24) & 0xFF)
+        .append('.')
+        .append((ip >>> 16) & 0xFF)
+        .append('.')
+        .append((ip >>> 8) & 0xFF)
+        .append('.')
+        .append(ip & 0xFF)
+        .toString();
+  }
+
+  private static int encodeEnum(Enum<?> e) {
+    return e == null ? 0 : e.ordinal() + 1;
+  }
+
+  private static <T extends Enum<T>> T decodeEnum(T[] values, int packed) {
+    final int ordinal = packed & 0xFF;
+    return ordinal == 0 ? null : values[ordinal - 1];
+  }
+
+  private static String enumName(Enum<?> e) {
+    return e == null ? null : e.name();
+  }
+
+  private static <T extends Enum<T>> T enumOf(Class<T> clazz, String name) {
+    return name == null ? null : Enum.valueOf(clazz, name);
+  }
+
+  private static void writeURL(DataOutput out, URL url) throws IOException {
+    out.writeBoolean(url != null);
+    if (url == null) {
+      return;
+    }
+    writeString(out, enumName(url.getProtocol()));
+    writeString(out, url.getIpAddress());
+    out.writeInt(url.getPort());
+    out.writeBoolean(url.getSerializerIndex() != null);
+    if (url.getSerializerIndex() != null) {
+      out.writeByte(url.getSerializerIndex());
+    }
+  }
+
+  private static URL readURL(DataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    final URL.ProtocolType protocol = enumOf(URL.ProtocolType.class, readString(in));
+    final String ip = readString(in);
+    final int port = in.readInt();
+    final Byte serializer = in.readBoolean() ? in.readByte() : null;
+    return URL.of(protocol, ip, port, serializer);
+  }
+
+  private static void writeString(DataOutput out, String s) throws IOException {
+    writeBytes(out, encodeString(s));
+  }
+
+  private static String readString(DataInput in) throws IOException {
+    return decodeString(readBytes(in));
+  }
+
+  private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+    out.writeInt(bytes == null ? -1 : bytes.length);
+    if (bytes != null) {
+      out.write(bytes);
+    }
+  }
+
+  private static byte[] readBytes(DataInput in) throws IOException {
+    final int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static byte[] encodeString(String s) {
+    return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String decodeString(byte[] bytes) {
+    return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return "CompactPub{"
+        + "dataInfoId="
+        + dataInfoId
+        + ", registerId="
+        + registerId
+        + ", ver="
+        + version
+        + ", dataBoxes="
+        + dataBoxesSize()
+        + '}';
+  }
+}
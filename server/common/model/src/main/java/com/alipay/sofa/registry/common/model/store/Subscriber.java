@@ -42,6 +42,8 @@ public class Subscriber extends BaseInfo {
   private ElementType elementType;
   /** */
   private String[] acceptEncodes;
+  /** the client accepts the delta push */
+  private boolean acceptDelta;
 
   /** last push context */
   private Map<String /*dataCenter*/, PushContext> lastPushContexts;
@@ -280,6 +282,24 @@ public class Subscriber extends BaseInfo {
     this.acceptEncodes = encodes;
   }
 
+  /**
+   * Getter method for property <tt>acceptDelta</tt>.
+   *
+   * @return property value of acceptDelta
+   */
+  public boolean isAcceptDelta() {
+    return acceptDelta;
+  }
+
+  /**
+   * Setter method for property <tt>acceptDelta</tt>.
+   *
+   * @param acceptDelta value to be assigned to property acceptDelta
+   */
+  public void setAcceptDelta(boolean acceptDelta) {
+    this.acceptDelta = acceptDelta;
+  }
+
   private static class PushContext {
     long pushedVersion;
     long lastMaxPushVersion = -1;
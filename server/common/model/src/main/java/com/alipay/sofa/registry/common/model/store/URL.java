@@ -118,6 +118,16 @@ public final class URL implements Serializable {
     url.setIpAddress(url.getIpAddress());
     return url;
   }
+
+  /** build the url without resolving the ipAddress, it's already resolved when encoding */
+  static URL of(ProtocolType protocol, String ipAddress, int port, Byte serializerIndex) {
+    URL url = new URL();
+    url.protocol = protocol;
+    url.ipAddress = ipAddress;
+    url.port = port;
+    url.serializerIndex = serializerIndex;
+    return url;
+  }
   /**
    * url transfer to InetSocketAddress
    *
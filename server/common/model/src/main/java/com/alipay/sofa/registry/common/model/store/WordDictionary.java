@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.store;
+
+import com.google.common.collect.Maps;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * append-only dictionary of the low cardinality words(cell/app/group...), encodes a word to a int
+ * id. the ids never been reclaimed, so the dictionary is bounded by maxSize, the high cardinality
+ * words(ip, processId...) must not be put into it
+ */
+public final class WordDictionary {
+  public static final int NOT_FOUND = -1;
+
+  private final Map<String, Integer> ids = Maps.newConcurrentMap();
+
+  private final int maxSize;
+
+  // copy on grow, the readers see the array with the id after the id is published to the map
+  private volatile String[] words = new String[64];
+
+  private int size;
+
+  public WordDictionary(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param word
+   * @return the id of the word, NOT_FOUND if the dictionary is full
+   */
+  public int idOf(String word) {
+    Integer id = ids.get(word);
+    if (id != null) {
+      return id;
+    }
+    synchronized (this) {
+      id = ids.get(word);
+      if (id != null) {
+        return id;
+      }
+      if (size >= maxSize) {
+        return NOT_FOUND;
+      }
+      String[] array = words;
+      if (size == array.length) {
+        array = Arrays.copyOf(array, Math.min(maxSize, array.length * 2));
+      }
+      final String w = WordCache.getWordCache(word);
+      array[size] = w;
+      this.words = array;
+      ids.put(w, size);
+      return size++;
+    }
+  }
+
+  public String wordOf(int id) {
+    return words[id];
+  }
+
+  public int size() {
+    return ids.size();
+  }
+}
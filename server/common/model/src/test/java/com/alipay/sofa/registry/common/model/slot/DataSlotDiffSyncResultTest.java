@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Assert;
 import org.junit.Test;
@@ -192,6 +193,39 @@ public class DataSlotDiffSyncResultTest {
     DataSlotDiffUtils.logDiffResult(result, 10);
   }
 
+  @Test
+  public void testBucketDigest() {
+    Map<String, Integer> m = Maps.newHashMap();
+    for (int i = 0; i < 100; i++) {
+      m.put("bucket-" + i, i % 5);
+    }
+    Map<String, Map<String, Publisher>> publishers = randPublishers(m);
+    Map<String, DatumSummary> summaryMap = PublisherUtils.getDatumSummary(publishers);
+    DataSlotBucketDigest digest = DataSlotBucketDigest.ofPublishers(publishers);
+    DataSlotBucketDigest summaryDigest = DataSlotBucketDigest.ofSummary(summaryMap);
+    Assert.assertEquals(digest, summaryDigest);
+    Assert.assertTrue(digest.diffBuckets(summaryDigest).isEmpty());
+
+    // update one publisher
+    final String dataInfoId = "bucket-1";
+    Publisher p = publishers.get(dataInfoId).values().iterator().next();
+    p.setVersion(p.getVersion() + 1);
+    DataSlotBucketDigest updated = DataSlotBucketDigest.ofPublishers(publishers);
+    Assert.assertNotEquals(digest, updated);
+    Set<Integer> diffs = digest.diffBuckets(updated);
+    Assert.assertEquals(diffs, Collections.singleton(DataSlotBucketDigest.bucketOf(dataInfoId)));
+
+    Map<String, DatumSummary> filtered = DataSlotBucketDigest.filterBuckets(summaryMap, diffs);
+    Assert.assertTrue(filtered.containsKey(dataInfoId));
+    for (String d : filtered.keySet()) {
+      Assert.assertTrue(diffs.contains(DataSlotBucketDigest.bucketOf(d)));
+    }
+
+    // add an empty dataInfoId not change the digest
+    publishers.put("bucket-empty", Collections.emptyMap());
+    Assert.assertEquals(updated, DataSlotBucketDigest.ofPublishers(publishers));
+  }
+
   private static void checkAddedPublisher(
       Map<String, Map<String, Publisher>> publishers, DataSlotDiffPublisherResult result) {
     for (Map.Entry<String, List<Publisher>> e : result.getUpdatedPublishers().entrySet()) {
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.slot;
+
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunction;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlotTableSplitTest {
+
+  @Test
+  public void testFuncSplit() {
+    final SlotFunction func = SlotFunctionRegistry.getFunc();
+    final int slotNum = func.maxSlots();
+    Assert.assertSame(func, SlotFunctionRegistry.getFunc(0));
+    Assert.assertSame(func, SlotFunctionRegistry.getFunc(slotNum));
+
+    final SlotFunction doubled = SlotFunctionRegistry.getFunc(slotNum * 2);
+    Assert.assertSame(doubled, SlotFunctionRegistry.getFunc(slotNum * 2));
+    Assert.assertEquals(slotNum * 2, doubled.maxSlots());
+    Assert.assertEquals(func.name(), doubled.name());
+    for (int i = 0; i < 10000; i++) {
+      final String dataInfoId = "dataInfoId-" + i;
+      final int parent = func.slotOf(dataInfoId);
+      final int child = doubled.slotOf(dataInfoId);
+      Assert.assertTrue(child == parent || child == parent + slotNum);
+    }
+  }
+
+  @Test
+  public void testTableSplit() {
+    List<Slot> slots =
+        Lists.newArrayList(
+            new Slot(0, "a", 10, Lists.newArrayList("b")),
+            new Slot(1, "b", 11, Lists.newArrayList("a")));
+    SlotTable table = new SlotTable(100, slots, 2);
+    Assert.assertEquals(2, table.getSlotNum());
+
+    SlotTable split = table.split(101);
+    Assert.assertEquals(101, split.getEpoch());
+    Assert.assertEquals(4, split.getSlotNum());
+    Assert.assertEquals(4, split.getSlots().size());
+    for (Slot slot : slots) {
+      Assert.assertEquals(slot, split.getSlot(slot.getId()));
+      Slot child = split.getSlot(slot.getId() + 2);
+      Assert.assertEquals(slot.getLeader(), child.getLeader());
+      Assert.assertEquals(slot.getLeaderEpoch(), child.getLeaderEpoch());
+      Assert.assertEquals(slot.getFollowers(), child.getFollowers());
+    }
+    // the filtered table keeps the slot num
+    Assert.assertEquals(4, split.filter("a").getSlotNum());
+    Assert.assertEquals(8, split.split(102).getSlotNum());
+
+    // the table of the configured slot num
+    SlotTable init = new SlotTable(100, slots);
+    Assert.assertEquals(0, init.getSlotNum());
+    Assert.assertEquals(SlotConfig.SLOT_NUM * 2, init.split(101).getSlotNum());
+    Assert.assertEquals("a", init.split(101).getSlot(SlotConfig.SLOT_NUM).getLeader());
+  }
+}
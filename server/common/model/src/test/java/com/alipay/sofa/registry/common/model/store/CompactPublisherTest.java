@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.common.model.store;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.PublishSource;
+import com.alipay.sofa.registry.common.model.PublishType;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.google.common.collect.Lists;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactPublisherTest {
+
+  private Publisher newPublisher() {
+    Publisher pub = new Publisher();
+    pub.setDataInfoId("dataId#@#instanceId#@#group");
+    pub.setDataId("dataId");
+    pub.setInstanceId("instanceId");
+    pub.setGroup("group");
+    pub.setCell("cell");
+    pub.setAppName("app");
+    pub.setProcessId("processId");
+    pub.setRegisterId("registerId");
+    pub.setClientId("clientId");
+    pub.setVersion(10);
+    pub.setRegisterTimestamp(100);
+    pub.setClientRegisterTimestamp(200);
+    pub.setClientVersion(BaseInfo.ClientVersion.StoreData);
+    pub.setPublishType(PublishType.TEMPORARY);
+    pub.setPublishSource(PublishSource.DATUM_SYNCER);
+    pub.setSourceAddress(new URL(URL.ProtocolType.BOLT, "127.0.0.1", 9600, URL.PROTOBUF));
+    pub.setTargetAddress(new URL("127.0.0.2", 9601));
+    pub.setAttributes(Collections.singletonMap("k", "v"));
+    pub.setSessionProcessId(new ProcessId("127.0.0.2", 1, 2, 3));
+    pub.setDataList(
+        Lists.newArrayList(
+            new ServerDataBox(new byte[] {1, 2, 3}), new ServerDataBox(new byte[0])));
+    return pub;
+  }
+
+  @Test
+  public void testRoundTrip() {
+    Publisher pub = newPublisher();
+    CompactPublisher compact = CompactPublisher.compact(pub);
+    Assert.assertNotNull(compact);
+    Assert.assertEquals(compact.dataBoxesSize(), 4 + 8 + 3 + 8);
+
+    Publisher p = compact.toPublisher();
+    Assert.assertNotSame(p, compact.toPublisher());
+    Assert.assertEquals(p.getDataInfoId(), pub.getDataInfoId());
+    Assert.assertEquals(p.getDataId(), pub.getDataId());
+    Assert.assertEquals(p.getInstanceId(), pub.getInstanceId());
+    Assert.assertEquals(p.getGroup(), pub.getGroup());
+    Assert.assertEquals(p.getCell(), pub.getCell());
+    Assert.assertEquals(p.getAppName(), pub.getAppName());
+    Assert.assertEquals(p.getProcessId(), pub.getProcessId());
+    Assert.assertEquals(p.getRegisterId(), pub.getRegisterId());
+    Assert.assertEquals(p.getClientId(), pub.getClientId());
+    Assert.assertEquals(p.registerVersion(), pub.registerVersion());
+    Assert.assertEquals(p.getClientRegisterTimestamp(), pub.getClientRegisterTimestamp());
+    Assert.assertEquals(p.getClientVersion(), pub.getClientVersion());
+    Assert.assertEquals(p.getPublishType(), pub.getPublishType());
+    Assert.assertEquals(p.getPublishSource(), pub.getPublishSource());
+    Assert.assertEquals(p.getAttributes(), pub.getAttributes());
+    Assert.assertEquals(p.getSessionProcessId(), pub.getSessionProcessId());
+    Assert.assertEquals(p.getDataList(), pub.getDataList());
+    Assert.assertEquals(p.connectId(), pub.connectId());
+    Assert.assertEquals(p.getSourceAddress().getProtocol(), URL.ProtocolType.BOLT);
+    Assert.assertEquals(p.getSourceAddress().getSerializerIndex().byteValue(), URL.PROTOBUF);
+    Assert.assertNull(p.getTargetAddress().getProtocol());
+    Assert.assertEquals(p.getTargetAddress().getSerializerIndex().byteValue(), URL.HESSIAN_2);
+  }
+
+  @Test
+  public void testNulls() {
+    Publisher pub = new Publisher();
+    pub.setRegisterId("registerId");
+    pub.setPublishType(null);
+    CompactPublisher compact = CompactPublisher.compact(pub);
+    Publisher p = compact.toPublisher();
+    Assert.assertNull(p.getDataList());
+    Assert.assertNull(p.getCell());
+    Assert.assertNull(p.getClientId());
+    Assert.assertNull(p.getSourceAddress());
+    Assert.assertNull(p.getPublishType());
+    Assert.assertEquals(p.getPublishSource(), PublishSource.CLIENT);
+    Assert.assertEquals(0, p.attributesSize());
+    Assert.assertEquals(0, compact.dataBoxesSize());
+
+    URL url = new URL();
+    Assert.assertEquals(url, CompactPublisher.decodeURL(CompactPublisher.encodeURL(url)));
+    Assert.assertNull(CompactPublisher.decodeURL(CompactPublisher.encodeURL(null)));
+  }
+
+  @Test
+  public void testNotCompact() {
+    Publisher pub = newPublisher();
+    pub.setDataList(Lists.newArrayList(new ServerDataBox("obj")));
+    Assert.assertNull(CompactPublisher.compact(pub));
+
+    pub = newPublisher();
+    pub.setSourceAddress(new URL("127.0.0.1", 65536));
+    Assert.assertNull(CompactPublisher.compact(pub));
+
+    pub = newPublisher();
+    pub.setSourceAddress(new URL("::1", 9600));
+    Assert.assertNull(CompactPublisher.compact(pub));
+
+    UnPublisher unpub = UnPublisher.of(newPublisher());
+    Assert.assertNull(CompactPublisher.compact(unpub));
+  }
+
+  @Test
+  public void testIPv4() {
+    for (String ip : new String[] {"0.0.0.0", "127.0.0.1", "10.1.22.255", "255.255.255.255"}) {
+      Assert.assertEquals(ip, CompactPublisher.decodeIPv4(CompactPublisher.encodeIPv4(ip)));
+    }
+    URL url = new URL(URL.ProtocolType.BOLT, "255.255.255.255", 65535, URL.PROTOBUF);
+    Assert.assertEquals(url, CompactPublisher.decodeURL(CompactPublisher.encodeURL(url)));
+    for (String ip : new String[] {"", "1.2.3", "1.2.3.4.", "1.2.3.4.5", "01.2.3.4", "1.2.3.256"}) {
+      Assert.assertEquals(ip, -1, CompactPublisher.encodeIPv4(ip));
+    }
+    Assert.assertEquals(-1, CompactPublisher.encodeIPv4("a.b.c.d"));
+    Assert.assertEquals(-1, CompactPublisher.encodeIPv4("1..2.3"));
+  }
+
+  @Test
+  public void testPortable() throws Exception {
+    Publisher pub = newPublisher();
+    // not compact but portable
+    pub.setSourceAddress(new URL("::1", 65536));
+    Assert.assertTrue(CompactPublisher.isPortable(pub));
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    CompactPublisher.writeTo(pub, new DataOutputStream(bos));
+    CompactPublisher.writeTo(new Publisher(), new DataOutputStream(bos));
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+    Publisher p = CompactPublisher.readFrom(in);
+    Assert.assertEquals(p.getDataInfoId(), pub.getDataInfoId());
+    Assert.assertEquals(p.getCell(), pub.getCell());
+    Assert.assertEquals(p.getRegisterId(), pub.getRegisterId());
+    Assert.assertEquals(p.registerVersion(), pub.registerVersion());
+    Assert.assertEquals(p.getClientRegisterTimestamp(), pub.getClientRegisterTimestamp());
+    Assert.assertEquals(p.getClientVersion(), pub.getClientVersion());
+    Assert.assertEquals(p.getPublishType(), pub.getPublishType());
+    Assert.assertEquals(p.getPublishSource(), pub.getPublishSource());
+    Assert.assertEquals(p.getAttributes(), pub.getAttributes());
+    Assert.assertEquals(p.getSessionProcessId(), pub.getSessionProcessId());
+    Assert.assertEquals(p.getDataList(), pub.getDataList());
+    Assert.assertEquals(p.getSourceAddress(), pub.getSourceAddress());
+    Assert.assertEquals(p.getTargetAddress(), pub.getTargetAddress());
+
+    p = CompactPublisher.readFrom(in);
+    Assert.assertNull(p.getRegisterId());
+    Assert.assertNull(p.getDataList());
+    Assert.assertNull(p.getSourceAddress());
+    Assert.assertNull(p.getSessionProcessId());
+    Assert.assertEquals(0, p.attributesSize());
+    Assert.assertEquals(0, in.available());
+
+    pub.setDataList(Lists.newArrayList(new ServerDataBox("obj")));
+    Assert.assertFalse(CompactPublisher.isPortable(pub));
+    Assert.assertFalse(CompactPublisher.isPortable(UnPublisher.of(newPublisher())));
+  }
+}
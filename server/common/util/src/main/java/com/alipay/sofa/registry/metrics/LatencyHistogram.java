@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.metrics;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * a fixed memory latency histogram. like HdrHistogram, every power of two range is divided into the
+ * same number of linear sub buckets, so the relative error of the percentile is less than
+ * 1/SUB_BUCKETS. recording is lock free and O(1).
+ *
+ * <p>the percentiles are windowed: the records go into the current window, every windowMillis the
+ * current window becomes the previous one and a new window starts, the snapshot merges the two
+ * windows, so it covers the latest [windowMillis, 2*windowMillis). the count and sum are also kept
+ * cumulatively, the count and sum of a prometheus summary must be monotonic
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  public static final long DEFAULT_WINDOW_MILLIS = 60 * 1000;
+
+  private final long maxValue;
+  private final int bucketNum;
+  private final long windowMillis;
+  private final LongSupplier clock;
+
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalSum = new LongAdder();
+
+  // swap under the monitor of this, a new window is created instead of resetting the stale one,
+  // so a concurrent record never writes into a window which is resetting
+  private volatile Window current;
+  private volatile Window previous;
+  private volatile long windowStartTimestamp;
+
+  public LatencyHistogram(long maxValue) {
+    this(maxValue, DEFAULT_WINDOW_MILLIS);
+  }
+
+  public LatencyHistogram(long maxValue, long windowMillis) {
+    this(maxValue, windowMillis, System::currentTimeMillis);
+  }
+
+  LatencyHistogram(long maxValue, long windowMillis, LongSupplier clock) {
+    Preconditions.checkArgument(maxValue > 0, "maxValue must be positive");
+    Preconditions.checkArgument(windowMillis > 0, "windowMillis must be positive");
+    this.maxValue = maxValue;
+    this.bucketNum = indexOf(maxValue) + 1;
+    this.windowMillis = windowMillis;
+    this.clock = clock;
+    this.current = new Window(bucketNum);
+    this.previous = new Window(bucketNum);
+    this.windowStartTimestamp = clock.getAsLong();
+  }
+
+  /** the value is trimmed into [0, maxValue] */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    } else if (value > maxValue) {
+      value = maxValue;
+    }
+    rotateIfNeed();
+    current.record(indexOf(value), value);
+    totalCount.increment();
+    totalSum.add(value);
+  }
+
+  public synchronized void reset() {
+    current = new Window(bucketNum);
+    previous = new Window(bucketNum);
+    windowStartTimestamp = clock.getAsLong();
+    totalCount.reset();
+    totalSum.reset();
+  }
+
+  private void rotateIfNeed() {
+    final long now = clock.getAsLong();
+    if (now - windowStartTimestamp < windowMillis) {
+      return;
+    }
+    synchronized (this) {
+      final long elapsed = now - windowStartTimestamp;
+      if (elapsed < windowMillis) {
+        return;
+      }
+      // no record in the last window, the current one is stale too
+      previous = elapsed < 2 * windowMillis ? current : new Window(bucketNum);
+      current = new Window(bucketNum);
+      windowStartTimestamp = now;
+    }
+  }
+
+  public Snapshot snapshot() {
+    rotateIfNeed();
+    final Window prev = previous;
+    final Window curr = current;
+    final long[] copy = new long[bucketNum];
+    long count = 0;
+    for (int i = 0; i < copy.length; i++) {
+      copy[i] = prev.counts.get(i) + curr.counts.get(i);
+      count += copy[i];
+    }
+    return new Snapshot(
+        copy,
+        count,
+        prev.sum.sum() + curr.sum.sum(),
+        Math.max(prev.max.get(), curr.max.get()),
+        totalCount.sum(),
+        totalSum.sum());
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int exp = 63 - Long.numberOfLeadingZeros(value);
+    final int shift = exp - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  /** the max value of the bucket */
+  static long highestOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int shift = index / SUB_BUCKETS - 1;
+    final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  private static final class Window {
+    final AtomicLongArray counts;
+    final LongAdder sum = new LongAdder();
+    final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Window(int bucketNum) {
+      this.counts = new AtomicLongArray(bucketNum);
+    }
+
+    void record(int index, long value) {
+      counts.incrementAndGet(index);
+      sum.add(value);
+      max.accumulate(value);
+    }
+  }
+
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final long totalCount;
+    private final long totalSum;
+
+    Snapshot(long[] counts, long count, long sum, long max, long totalCount, long totalSum) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+      this.totalCount = totalCount;
+      this.totalSum = totalSum;
+    }
+
+    /** the count of the window */
+    public long getCount() {
+      return count;
+    }
+
+    /** the sum of the window */
+    public long getSum() {
+      return sum;
+    }
+
+    /** the max of the window */
+    public long getMax() {
+      return max;
+    }
+
+    /** the count since created or reset */
+    public long getTotalCount() {
+      return totalCount;
+    }
+
+    /** the sum since created or reset */
+    public long getTotalSum() {
+      return totalSum;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile in [0, 100]
+     * @return the highest value of the bucket which contains the percentile
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      final long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long accumulated = 0;
+      for (int i = 0; i < counts.length; i++) {
+        accumulated += counts[i];
+        if (accumulated >= target) {
+          return Math.min(highestOf(i), max);
+        }
+      }
+      return max;
+    }
+  }
+}
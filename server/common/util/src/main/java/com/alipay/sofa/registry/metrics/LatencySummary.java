@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.metrics;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.SimpleCollector;
+import io.prometheus.client.SummaryMetricFamily;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * export the LatencyHistogram children in millis as the quantiles of a prometheus summary, the
+ * quantiles are of the recent window, the count and sum are cumulative
+ */
+public class LatencySummary extends SimpleCollector<LatencyHistogram>
+    implements Collector.Describable {
+  private static final double[] QUANTILES = new double[] {0.5, 0.9, 0.99, 0.999};
+  // one hour in millis
+  private static final long MAX_VALUE = 3600 * 1000;
+
+  LatencySummary(Builder b) {
+    super(b);
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    List<MetricFamilySamples.Sample> samples = new ArrayList<>(children.size() * 6);
+    final List<String> quantileLabelNames = new ArrayList<>(labelNames);
+    quantileLabelNames.add("quantile");
+    for (Map.Entry<List<String>, LatencyHistogram> c : children.entrySet()) {
+      final LatencyHistogram.Snapshot snapshot = c.getValue().snapshot();
+      for (double q : QUANTILES) {
+        final List<String> labelValues = new ArrayList<>(c.getKey());
+        labelValues.add(doubleToGoString(q));
+        samples.add(
+            new MetricFamilySamples.Sample(
+                fullname, quantileLabelNames, labelValues, snapshot.getValueAtPercentile(q * 100)));
+      }
+      samples.add(
+          new MetricFamilySamples.Sample(
+              fullname + "_count", labelNames, c.getKey(), snapshot.getTotalCount()));
+      samples.add(
+          new MetricFamilySamples.Sample(
+              fullname + "_sum", labelNames, c.getKey(), snapshot.getTotalSum()));
+    }
+    return familySamplesList(Type.SUMMARY, samples);
+  }
+
+  @Override
+  public List<MetricFamilySamples> describe() {
+    return Collections.<MetricFamilySamples>singletonList(
+        new SummaryMetricFamily(fullname, help, labelNames));
+  }
+
+  @Override
+  protected LatencyHistogram newChild() {
+    return new LatencyHistogram(MAX_VALUE);
+  }
+
+  public static class Builder extends SimpleCollector.Builder<Builder, LatencySummary> {
+
+    @Override
+    public LatencySummary create() {
+      return new LatencySummary(this);
+    }
+  }
+
+  public static Builder build() {
+    return new Builder();
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.net;
+
+import com.google.common.net.InetAddresses;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * the immutable matcher of the ip rules, the rule is an exact ip or a cidr range of ipv4/ipv6, e.g.
+ * "1.1.1.1", "10.0.0.0/8", "fe80::/10". the rules are compiled into a binary trie of the address
+ * bits, so the match is one walk of the address bits whatever the number of the rules is. when
+ * multi rules match, the value of the longest prefix wins
+ */
+public final class IPPrefixMatcher<V> {
+  private static final int IPV4_BITS = 32;
+  private static final int IPV6_BITS = 128;
+
+  private static final IPPrefixMatcher EMPTY = new Builder().build();
+
+  private final Trie ipv4;
+  private final Trie ipv6;
+  private final int size;
+
+  private IPPrefixMatcher(Trie ipv4, Trie ipv6, int size) {
+    this.ipv4 = ipv4;
+    this.ipv6 = ipv6;
+    this.size = size;
+  }
+
+  public static <V> IPPrefixMatcher<V> empty() {
+    return EMPTY;
+  }
+
+  public static <V> Builder<V> builder() {
+    return new Builder<>();
+  }
+
+  /** the invalid rules are ignored */
+  public static IPPrefixMatcher<Boolean> of(Collection<String> rules) {
+    if (rules == null || rules.isEmpty()) {
+      return empty();
+    }
+    Builder<Boolean> builder = builder();
+    for (String rule : rules) {
+      builder.tryAdd(rule, Boolean.TRUE);
+    }
+    return builder.build();
+  }
+
+  /** @return the value of the longest matched rule, null if no rule matches or invalid ip */
+  public V match(String ip) {
+    if (size == 0 || ip == null) {
+      return null;
+    }
+    final long v4 = parseIPv4(ip);
+    if (v4 >= 0) {
+      return (V) ipv4.match(v4);
+    }
+    final byte[] bytes = parseAddress(ip);
+    if (bytes == null) {
+      return null;
+    }
+    return (V) (bytes.length == 4 ? ipv4.match(toLong(bytes)) : ipv6.match(bytes));
+  }
+
+  public boolean contains(String ip) {
+    return match(ip) != null;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "IPPrefixMatcher{size=" + size + "}";
+  }
+
+  /** parse the dotted ipv4 without allocation, @return -1 if not a ipv4 */
+  static long parseIPv4(String ip) {
+    final int len = ip.length();
+    if (len < 7 || len > 15) {
+      return -1;
+    }
+    long value = 0;
+    int part = 0;
+    int digits = 0;
+    int dots = 0;
+    for (int i = 0; i < len; i++) {
+      final char c = ip.charAt(i);
+      if (c == '.') {
+        if (digits == 0 || ++dots > 3) {
+          return -1;
+        }
+        value = (value << 8) | part;
+        part = 0;
+        digits = 0;
+      } else if (c >= '0' && c <= '9') {
+        part = part * 10 + (c - '0');
+        if (++digits > 3 || part > 255) {
+          return -1;
+        }
+      } else {
+        return -1;
+      }
+    }
+    if (digits == 0 || dots != 3) {
+      return -1;
+    }
+    return (value << 8) | part;
+  }
+
+  /** parse the literal address, never resolve the host, @return null if invalid */
+  private static byte[] parseAddress(String ip) {
+    if (ip.indexOf(':') < 0) {
+      return null;
+    }
+    try {
+      return InetAddresses.forString(ip).getAddress();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static long toLong(byte[] ipv4) {
+    long v = 0;
+    for (byte b : ipv4) {
+      v = (v << 8) | (b & 0xFF);
+    }
+    return v;
+  }
+
+  /** the trie is compiled into arrays, the node 0 is the root, the child 0 means no child */
+  private static final class Trie {
+    static final Trie EMPTY = new Trie(new int[2], new Object[1]);
+    final int[] children;
+    final Object[] values;
+
+    Trie(int[] children, Object[] values) {
+      this.children = children;
+      this.values = values;
+    }
+
+    Object match(long ipv4) {
+      Object matched = values[0];
+      int node = 0;
+      for (int i = IPV4_BITS - 1; i >= 0; i--) {
+        node = children[(node << 1) | (int) ((ipv4 >>> i) & 1)];
+        if (node == 0) {
+          break;
+        }
+        if (values[node] != null) {
+          matched = values[node];
+        }
+      }
+      return matched;
+    }
+
+    Object match(byte[] ipv6) {
+      Object matched = values[0];
+      int node = 0;
+      for (int i = 0; i < IPV6_BITS; i++) {
+        node = children[(node << 1) | bitOf(ipv6, i)];
+        if (node == 0) {
+          break;
+        }
+        if (values[node] != null) {
+          matched = values[node];
+        }
+      }
+      return matched;
+    }
+  }
+
+  private static int bitOf(byte[] address, int index) {
+    return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+  }
+
+  public static final class Builder<V> {
+    private final Node ipv4 = new Node();
+    private final Node ipv6 = new Node();
+    private int size;
+
+    private Builder() {}
+
+    /**
+     * add the exact ip or the cidr range
+     *
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public Builder<V> add(String rule, V value) {
+      if (rule == null || value == null) {
+        throw new IllegalArgumentException("null rule or value");
+      }
+      final String s = rule.trim();
+      final int slash = s.indexOf('/');
+      final String ip = slash < 0 ? s : s.substring(0, slash);
+      byte[] address;
+      final long v4 = parseIPv4(ip);
+      if (v4 >= 0) {
+        address = new byte[] {(byte) (v4 >>> 24), (byte) (v4 >>> 16), (byte) (v4 >>> 8), (byte) v4};
+      } else {
+        address = parseAddress(ip);
+      }
+      if (address == null) {
+        throw new IllegalArgumentException("invalid ip rule: " + rule);
+      }
+      final int bits = address.length * 8;
+      int prefix = bits;
+      if (slash >= 0) {
+        try {
+          prefix = Integer.parseInt(s.substring(slash + 1));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("invalid ip rule: " + rule);
+        }
+        if (prefix < 0 || prefix > bits) {
+          throw new IllegalArgumentException("invalid prefix length: " + rule);
+        }
+      }
+      Node node = address.length == 4 ? ipv4 : ipv6;
+      for (int i = 0; i < prefix; i++) {
+        final int bit = bitOf(address, i);
+        if (node.children[bit] == null) {
+          node.children[bit] = new Node();
+        }
+        node = node.children[bit];
+      }
+      if (node.value == null) {
+        size++;
+      }
+      node.value = value;
+      return this;
+    }
+
+    /** @return false if the rule is invalid */
+    public boolean tryAdd(String rule, V value) {
+      try {
+        add(rule, value);
+        return true;
+      } catch (IllegalArgumentException e) {
+        return false;
+      }
+    }
+
+    public IPPrefixMatcher<V> build() {
+      return new IPPrefixMatcher<>(compile(ipv4), compile(ipv6), size);
+    }
+
+    private static Trie compile(Node root) {
+      if (root.children[0] == null && root.children[1] == null && root.value == null) {
+        return Trie.EMPTY;
+      }
+      // breadth first, assign the index of the nodes
+      final List<Node> nodes = new ArrayList<>();
+      nodes.add(root);
+      for (int i = 0; i < nodes.size(); i++) {
+        for (Node child : nodes.get(i).children) {
+          if (child != null) {
+            nodes.add(child);
+          }
+        }
+      }
+      final int[] children = new int[nodes.size() * 2];
+      final Object[] values = new Object[nodes.size()];
+      int next = 1;
+      for (int i = 0; i < nodes.size(); i++) {
+        final Node n = nodes.get(i);
+        values[i] = n.value;
+        for (int bit = 0; bit < 2; bit++) {
+          if (n.children[bit] != null) {
+            children[(i << 1) | bit] = next++;
+          }
+        }
+      }
+      return new Trie(children, values);
+    }
+  }
+
+  private static final class Node {
+    final Node[] children = new Node[2];
+    Object value;
+  }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.task;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongSupplier;
+
+/**
+ * a hashed timing wheel, schedule and cancel are O(1), the tick thread only visits the timeouts of
+ * the current bucket. the expired tasks run in the tick thread, so they must be short, hand off the
+ * heavy work to an executor. the manual wheel has no tick thread, the caller drives it by advance
+ */
+public final class HashedTimingWheel {
+  private static final Logger LOGGER = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+  private static final int MAX_TRANSFER_PER_TICK = 100000;
+
+  private final String name;
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  // null means ticking by the tick thread with the system clock
+  private final LongSupplier manualClock;
+  private final long startTime;
+  private final Worker worker = new Worker();
+
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean started = new AtomicBoolean(false);
+  private volatile boolean stopped;
+  private volatile Thread workerThread;
+
+  public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+    this(name, tickDuration, unit, ticksPerWheel, null);
+  }
+
+  private HashedTimingWheel(
+      String name, long tickDuration, TimeUnit unit, int ticksPerWheel, LongSupplier manualClock) {
+    Preconditions.checkArgument(tickDuration > 0, "tickDuration must be positive");
+    Preconditions.checkArgument(ticksPerWheel > 0, "ticksPerWheel must be positive");
+    this.name = name;
+    this.tickNanos = Math.max(unit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+    int n = 1;
+    while (n < ticksPerWheel) {
+      n <<= 1;
+    }
+    this.wheel = new Bucket[n];
+    for (int i = 0; i < n; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = n - 1;
+    this.manualClock = manualClock;
+    this.startTime = nanoTime();
+  }
+
+  /** the wheel ticks only when advance is called, the nanoClock is the clock of the deadlines */
+  @VisibleForTesting
+  public static HashedTimingWheel manual(
+      String name, long tickDuration, TimeUnit unit, int ticksPerWheel, LongSupplier nanoClock) {
+    Preconditions.checkNotNull(nanoClock);
+    return new HashedTimingWheel(name, tickDuration, unit, ticksPerWheel, nanoClock);
+  }
+
+  /**
+   * run the ticks which are passed by the manual clock, expire the timeouts in the caller thread
+   */
+  @VisibleForTesting
+  public void advance() {
+    Preconditions.checkState(manualClock != null, "%s is not manual", name);
+    synchronized (worker) {
+      final long now = nanoTime() - startTime;
+      while (!stopped && worker.deadlineOf(worker.tick + 1) <= now) {
+        worker.processTick(now);
+      }
+    }
+  }
+
+  private long nanoTime() {
+    return manualClock == null ? System.nanoTime() : manualClock.getAsLong();
+  }
+
+  /** the tick thread starts lazily at the first schedule */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    Preconditions.checkNotNull(task);
+    Preconditions.checkState(!stopped, "%s is stopped", name);
+    start();
+    long deadline = nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+    if (delay > 0 && deadline < 0) {
+      // overflow
+      deadline = Long.MAX_VALUE;
+    }
+    Timeout timeout = new Timeout(this, task, deadline);
+    size.incrementAndGet();
+    pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  private void start() {
+    if (manualClock != null || started.get() || !started.compareAndSet(false, true)) {
+      return;
+    }
+    Thread t = ConcurrentUtils.createDaemonThread(name, worker);
+    this.workerThread = t;
+    t.start();
+  }
+
+  public void stop() {
+    this.stopped = true;
+    final Thread t = workerThread;
+    if (t != null) {
+      t.interrupt();
+    }
+  }
+
+  /** the number of the timeouts which are neither expired nor cancelled */
+  public int size() {
+    return size.get();
+  }
+
+  private final class Worker implements Runnable {
+    private long tick;
+
+    @Override
+    public void run() {
+      while (!stopped) {
+        final long now = waitForNextTick();
+        if (now < 0) {
+          break;
+        }
+        processTick(now);
+      }
+      LOGGER.info("{} stopped, drop timeouts={}", name, size.get());
+    }
+
+    long deadlineOf(long tick) {
+      return tickNanos * tick;
+    }
+
+    void processTick(long now) {
+      try {
+        processCancelled();
+        transferPending();
+        wheel[(int) (tick & mask)].expire(now);
+      } catch (Throwable e) {
+        LOGGER.error("{} failed to process tick {}", name, tick, e);
+      }
+      tick++;
+    }
+
+    private long waitForNextTick() {
+      final long deadline = deadlineOf(tick + 1);
+      for (; ; ) {
+        final long now = System.nanoTime() - startTime;
+        final long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999999);
+        if (sleepMillis <= 0) {
+          return now;
+        }
+        try {
+          Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+          if (stopped) {
+            return -1;
+          }
+        }
+      }
+    }
+
+    private void transferPending() {
+      for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+        final Timeout timeout = pendingTimeouts.poll();
+        if (timeout == null) {
+          return;
+        }
+        if (timeout.state != Timeout.ST_INIT) {
+          continue;
+        }
+        final long calculated = timeout.deadline / tickNanos;
+        timeout.remainingRounds = (calculated - tick) / wheel.length;
+        // the deadline is passed, put it to the current tick
+        final long ticks = Math.max(calculated, tick);
+        wheel[(int) (ticks & mask)].add(timeout);
+      }
+    }
+
+    private void processCancelled() {
+      for (; ; ) {
+        final Timeout timeout = cancelledTimeouts.poll();
+        if (timeout == null) {
+          return;
+        }
+        if (timeout.bucket != null) {
+          timeout.bucket.remove(timeout);
+        }
+      }
+    }
+  }
+
+  /** the timeouts of a bucket, only accessed by the tick thread */
+  private final class Bucket {
+    Timeout head;
+    Timeout tail;
+
+    void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    void expire(long now) {
+      Timeout timeout = head;
+      while (timeout != null) {
+        final Timeout next = timeout.next;
+        if (timeout.remainingRounds <= 0) {
+          remove(timeout);
+          if (timeout.deadline <= now) {
+            timeout.expire();
+          } else {
+            // should not happen, the deadline is in the later rounds
+            LOGGER.error("{} wrong deadline {}, now={}", name, timeout.deadline, now);
+            pendingTimeouts.add(timeout);
+          }
+        } else if (timeout.state == Timeout.ST_CANCELLED) {
+          remove(timeout);
+        } else {
+          timeout.remainingRounds--;
+        }
+        timeout = next;
+      }
+    }
+
+    void remove(Timeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+      final Timeout next = timeout.next;
+      if (timeout.prev != null) {
+        timeout.prev.next = next;
+      }
+      if (next != null) {
+        next.prev = timeout.prev;
+      }
+      if (timeout == head) {
+        head = next;
+      }
+      if (timeout == tail) {
+        tail = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+
+  public static final class Timeout {
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final HashedTimingWheel timer;
+    private final Runnable task;
+    private final long deadline;
+    private volatile int state = ST_INIT;
+
+    // accessed by the tick thread
+    long remainingRounds;
+    Timeout next;
+    Timeout prev;
+    Bucket bucket;
+
+    Timeout(HashedTimingWheel timer, Runnable task, long deadline) {
+      this.timer = timer;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /** @return false if the timeout has expired or cancelled */
+    public boolean cancel() {
+      if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+        return false;
+      }
+      timer.size.decrementAndGet();
+      timer.cancelledTimeouts.add(this);
+      return true;
+    }
+
+    public boolean isCancelled() {
+      return state == ST_CANCELLED;
+    }
+
+    public boolean isExpired() {
+      return state == ST_EXPIRED;
+    }
+
+    void expire() {
+      if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+        return;
+      }
+      timer.size.decrementAndGet();
+      try {
+        task.run();
+      } catch (Throwable e) {
+        LOGGER.error("{} failed to run timeout task {}", timer.name, task, e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format("Timeout{{},state={},task={}}", timer.name, state, task);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return StringFormatter.format("HashedTimingWheel{{},size={}}", name, size.get());
+  }
+}
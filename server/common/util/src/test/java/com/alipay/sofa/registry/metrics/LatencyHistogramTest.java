@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.metrics;
+
+import io.prometheus.client.Collector;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testIndex() {
+    int prev = -1;
+    for (long v = 0; v < 100000; v++) {
+      final int index = LatencyHistogram.indexOf(v);
+      Assert.assertTrue(index == prev || index == prev + 1);
+      Assert.assertTrue(LatencyHistogram.highestOf(index) >= v);
+      // relative error less than 1/16
+      Assert.assertTrue(LatencyHistogram.highestOf(index) - v <= v / 16);
+      prev = index;
+    }
+  }
+
+  @Test
+  public void testPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram(10000);
+    Assert.assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    histogram.record(-1);
+    histogram.record(20000);
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    Assert.assertEquals(1002, snapshot.getCount());
+    Assert.assertEquals(10000, snapshot.getMax());
+    Assert.assertEquals(500500 + 10000, snapshot.getSum());
+    assertNear(500, snapshot.getValueAtPercentile(50));
+    assertNear(990, snapshot.getValueAtPercentile(99));
+    Assert.assertEquals(10000, snapshot.getValueAtPercentile(100));
+
+    histogram.reset();
+    Assert.assertEquals(0, histogram.snapshot().getCount());
+    Assert.assertEquals(0, histogram.snapshot().getMax());
+  }
+
+  @Test
+  public void testWindow() {
+    AtomicLong clock = new AtomicLong(1000);
+    LatencyHistogram histogram = new LatencyHistogram(10000, 100, clock::get);
+    histogram.record(5000);
+    clock.addAndGet(100);
+    // the previous window is kept
+    histogram.record(10);
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    Assert.assertEquals(2, snapshot.getCount());
+    Assert.assertEquals(5000, snapshot.getMax());
+
+    // the window of 5000 expires
+    clock.addAndGet(100);
+    snapshot = histogram.snapshot();
+    Assert.assertEquals(1, snapshot.getCount());
+    Assert.assertEquals(10, snapshot.getMax());
+    Assert.assertEquals(10, snapshot.getValueAtPercentile(99));
+    Assert.assertEquals(2, snapshot.getTotalCount());
+    Assert.assertEquals(5010, snapshot.getTotalSum());
+
+    // no records in the last two windows
+    histogram.record(20);
+    clock.addAndGet(250);
+    snapshot = histogram.snapshot();
+    Assert.assertEquals(0, snapshot.getCount());
+    Assert.assertEquals(0, snapshot.getValueAtPercentile(99));
+    Assert.assertEquals(3, snapshot.getTotalCount());
+  }
+
+  @Test
+  public void testSummary() {
+    LatencySummary summary =
+        LatencySummary.build()
+            .name("latency_summary_test")
+            .labelNames("stage")
+            .help("help")
+            .register();
+    summary.labels("s1").record(10);
+    summary.labels("s2").record(20);
+    List<Collector.MetricFamilySamples> samples = summary.collect();
+    // 4 quantiles, count and sum
+    Assert.assertEquals(12, samples.get(0).samples.size());
+    Assert.assertEquals(Collector.Type.SUMMARY, samples.get(0).type);
+  }
+
+  private static void assertNear(long expect, long actual) {
+    Assert.assertTrue(actual + "!=" + expect, Math.abs(actual - expect) <= expect / 16);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.net;
+
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IPPrefixMatcherTest {
+
+  @Test
+  public void testExact() {
+    IPPrefixMatcher<Boolean> matcher =
+        IPPrefixMatcher.of(Lists.newArrayList("192.168.1.1", " 10.0.0.2 "));
+    Assert.assertEquals(2, matcher.size());
+    Assert.assertTrue(matcher.contains("192.168.1.1"));
+    Assert.assertTrue(matcher.contains("10.0.0.2"));
+    Assert.assertFalse(matcher.contains("192.168.1.2"));
+    Assert.assertFalse(matcher.contains("10.0.0.20"));
+  }
+
+  @Test
+  public void testCidr() {
+    IPPrefixMatcher<Boolean> matcher =
+        IPPrefixMatcher.of(Lists.newArrayList("10.0.0.0/8", "192.168.1.128/25", "0.0.0.0/32"));
+    Assert.assertTrue(matcher.contains("10.0.0.0"));
+    Assert.assertTrue(matcher.contains("10.255.255.255"));
+    Assert.assertFalse(matcher.contains("11.0.0.1"));
+    Assert.assertTrue(matcher.contains("192.168.1.200"));
+    Assert.assertFalse(matcher.contains("192.168.1.127"));
+    Assert.assertTrue(matcher.contains("0.0.0.0"));
+    Assert.assertFalse(matcher.contains("0.0.0.1"));
+
+    IPPrefixMatcher<Boolean> all = IPPrefixMatcher.of(Collections.singletonList("0.0.0.0/0"));
+    Assert.assertTrue(all.contains("1.2.3.4"));
+    Assert.assertFalse(all.contains("::1"));
+  }
+
+  @Test
+  public void testLongestPrefix() {
+    IPPrefixMatcher<String> matcher =
+        IPPrefixMatcher.<String>builder()
+            .add("10.0.0.0/8", "a")
+            .add("10.1.0.0/16", "b")
+            .add("10.1.2.3", "c")
+            .build();
+    Assert.assertEquals(3, matcher.size());
+    Assert.assertEquals("a", matcher.match("10.2.0.1"));
+    Assert.assertEquals("b", matcher.match("10.1.0.1"));
+    Assert.assertEquals("c", matcher.match("10.1.2.3"));
+    Assert.assertNull(matcher.match("11.1.2.3"));
+  }
+
+  @Test
+  public void testIPv6() {
+    IPPrefixMatcher<Boolean> matcher =
+        IPPrefixMatcher.of(Lists.newArrayList("fe80::/10", "2001:db8::1", "10.0.0.0/8"));
+    Assert.assertTrue(matcher.contains("fe80::1"));
+    Assert.assertTrue(matcher.contains("febf:ffff::1"));
+    Assert.assertFalse(matcher.contains("fec0::1"));
+    Assert.assertTrue(matcher.contains("2001:0db8:0:0:0:0:0:1"));
+    Assert.assertFalse(matcher.contains("2001:db8::2"));
+    // the ipv4 mapped address matches the ipv4 rules
+    Assert.assertTrue(matcher.contains("::ffff:10.1.2.3"));
+  }
+
+  @Test
+  public void testInvalid() {
+    IPPrefixMatcher<Boolean> matcher =
+        IPPrefixMatcher.of(
+            Lists.newArrayList("abc", "10.0.0.0/33", "10.0.0.0/x", "1.2.3", "", "10.1.1.1"));
+    Assert.assertEquals(1, matcher.size());
+    Assert.assertFalse(matcher.contains(null));
+    Assert.assertFalse(matcher.contains("abc"));
+    Assert.assertFalse(matcher.contains("10.1.1.256"));
+    Assert.assertFalse(matcher.contains("10.1.1"));
+    Assert.assertFalse(matcher.contains("localhost"));
+    Assert.assertTrue(matcher.contains("10.1.1.1"));
+
+    IPPrefixMatcher.Builder<Boolean> builder = IPPrefixMatcher.builder();
+    Assert.assertFalse(builder.tryAdd("1.1.1.1/-1", true));
+    Assert.assertTrue(builder.tryAdd("1.1.1.1/24", true));
+    try {
+      builder.add("1.1.1.x", true);
+      Assert.fail();
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("1.1.1.x"));
+    }
+    Assert.assertTrue(builder.build().contains("1.1.1.8"));
+  }
+
+  @Test
+  public void testEmpty() {
+    Assert.assertTrue(IPPrefixMatcher.empty().isEmpty());
+    Assert.assertNull(IPPrefixMatcher.empty().match("1.1.1.1"));
+    Assert.assertTrue(IPPrefixMatcher.of(null).isEmpty());
+    Assert.assertTrue(IPPrefixMatcher.of(Collections.emptyList()).isEmpty());
+  }
+
+  @Test
+  public void testParseIPv4() {
+    Assert.assertEquals(0L, IPPrefixMatcher.parseIPv4("0.0.0.0"));
+    Assert.assertEquals(0xFFFFFFFFL, IPPrefixMatcher.parseIPv4("255.255.255.255"));
+    Assert.assertEquals(0x0A010203L, IPPrefixMatcher.parseIPv4("10.1.2.3"));
+    Assert.assertEquals(-1, IPPrefixMatcher.parseIPv4("10..2.3"));
+    Assert.assertEquals(-1, IPPrefixMatcher.parseIPv4("10.1.2.3."));
+    Assert.assertEquals(-1, IPPrefixMatcher.parseIPv4("1000.1.2.3"));
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.task;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashedTimingWheelTest {
+  private final HashedTimingWheel timer =
+      new HashedTimingWheel("TestTimer", 10, TimeUnit.MILLISECONDS, 8);
+
+  @After
+  public void after() {
+    timer.stop();
+  }
+
+  @Test
+  public void testExpire() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(3);
+    final long start = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    final long[] expires = new long[3];
+    // 300ms is more than one round of the wheel
+    final long[] delays = new long[] {0, 50, 300};
+    for (int i = 0; i < delays.length; i++) {
+      final int index = i;
+      timer.schedule(
+          () -> {
+            expires[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+            latch.countDown();
+          },
+          delays[i],
+          TimeUnit.MILLISECONDS);
+    }
+    Assert.assertTrue(latch.await(3, TimeUnit.SECONDS));
+    for (int i = 0; i < delays.length; i++) {
+      Assert.assertTrue(expires[i] - start >= delays[i]);
+    }
+    Assert.assertEquals(0, timer.size());
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+    final AtomicInteger count = new AtomicInteger();
+    HashedTimingWheel.Timeout timeout =
+        timer.schedule(() -> count.incrementAndGet(), 50, TimeUnit.MILLISECONDS);
+    Assert.assertEquals(1, timer.size());
+    Assert.assertTrue(timeout.cancel());
+    Assert.assertFalse(timeout.cancel());
+    Assert.assertTrue(timeout.isCancelled());
+    Assert.assertEquals(0, timer.size());
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    HashedTimingWheel.Timeout other =
+        timer.schedule(
+            () -> {
+              throw new RuntimeException("expected");
+            },
+            100,
+            TimeUnit.MILLISECONDS);
+    timer.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+    Assert.assertTrue(latch.await(3, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    Assert.assertEquals(0, count.get());
+    Assert.assertTrue(other.isExpired());
+    Assert.assertFalse(other.cancel());
+  }
+
+  @Test
+  public void testManual() {
+    final AtomicLong clock = new AtomicLong(System.nanoTime());
+    HashedTimingWheel manual =
+        HashedTimingWheel.manual("ManualTimer", 10, TimeUnit.MILLISECONDS, 8, clock::get);
+    final AtomicInteger count = new AtomicInteger();
+    manual.schedule(count::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+    // 300ms is more than one round of the wheel
+    manual.schedule(count::incrementAndGet, 300, TimeUnit.MILLISECONDS);
+    manual.advance();
+    Assert.assertEquals(0, count.get());
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+    manual.advance();
+    Assert.assertEquals(0, count.get());
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+    manual.advance();
+    Assert.assertEquals(1, count.get());
+    Assert.assertEquals(1, manual.size());
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+    manual.advance();
+    Assert.assertEquals(2, count.get());
+    Assert.assertEquals(0, manual.size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNotManual() {
+    timer.advance();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testStop() {
+    timer.stop();
+    timer.schedule(() -> {}, 1, TimeUnit.MILLISECONDS);
+  }
+}
@@ -46,6 +46,15 @@ public interface Channel {
    */
   boolean isConnected();
 
+  /**
+   * is writable, false if the pending outbound bytes are over the high water mark.
+   *
+   * @return writable
+   */
+  default boolean isWritable() {
+    return isConnected();
+  }
+
   /**
    * get attribute in context.
    *
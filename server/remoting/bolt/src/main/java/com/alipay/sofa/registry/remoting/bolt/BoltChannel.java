@@ -63,6 +63,12 @@ public class BoltChannel implements Channel {
     return connection.isFine();
   }
 
+  @Override
+  public boolean isWritable() {
+    final io.netty.channel.Channel channel = connection.getChannel();
+    return channel != null && channel.isWritable();
+  }
+
   @Override
   public void setConnAttribute(String key, Object value) {
 
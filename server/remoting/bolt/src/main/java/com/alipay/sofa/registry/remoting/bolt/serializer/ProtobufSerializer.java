@@ -21,6 +21,7 @@ import com.alipay.remoting.exception.DeserializationException;
 import com.alipay.remoting.exception.SerializationException;
 import com.alipay.remoting.serialization.Serializer;
 import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
@@ -36,11 +37,11 @@ public class ProtobufSerializer implements Serializer {
 
   public static final byte PROTOCOL_PROTOBUF = 11;
 
-  /** cache parse method */
-  private final ConcurrentHashMap<Class, Method> parseMethodMap = new ConcurrentHashMap<>();
-
-  /** cache toByteArray method */
-  private final ConcurrentHashMap<Class, Method> toByteArrayMethodMap = new ConcurrentHashMap<>();
+  /**
+   * parsers of the message classes keyed by class name, the messages are decoded by the generated
+   * parser directly, without Class.forName and reflective invocation
+   */
+  private final ConcurrentHashMap<String, Parser> parserMap = new ConcurrentHashMap<>();
 
   private static final ProtobufSerializer instance = new ProtobufSerializer();
 
@@ -50,34 +51,22 @@ public class ProtobufSerializer implements Serializer {
     return instance;
   }
 
+  /**
+   * register the parser of the message class, the parser of class not registered is resolved by
+   * reflection at the first time
+   *
+   * @param defaultInstance the default instance of the message class
+   */
+  public void registerParser(MessageLite defaultInstance) {
+    parserMap.put(defaultInstance.getClass().getName(), defaultInstance.getParserForType());
+  }
+
   @Override
   public byte[] serialize(Object object) throws CodecException {
     if (object == null) {
       throw new SerializationException("Unsupported null message");
-    } else if (isProtoBufMessageLite(object)) {
-      Class clazz = object.getClass();
-      Method method = toByteArrayMethodMap.get(clazz);
-      if (method == null) {
-        try {
-          method = clazz.getMethod("toByteArray");
-          method.setAccessible(true);
-          toByteArrayMethodMap.put(clazz, method);
-        } catch (Exception e) {
-          throw new SerializationException(
-              "Cannot found method "
-                  + clazz.getName()
-                  + ".toByteArray(), please check the generated code");
-        }
-      }
-      try {
-        return (byte[]) method.invoke(object);
-      } catch (Exception e) {
-        throw new SerializationException(
-            "Cannot found method "
-                + clazz.getName()
-                + ".toByteArray(), please check the generated code");
-      }
-
+    } else if (object instanceof MessageLite) {
+      return ((MessageLite) object).toByteArray();
     } else if (object instanceof String) {
       return ((String) object).getBytes(StandardCharsets.UTF_8);
     } else {
@@ -88,6 +77,10 @@ public class ProtobufSerializer implements Serializer {
 
   @Override
   public <T> T deserialize(byte[] data, String classOfT) throws CodecException {
+    Parser parser = parserMap.get(classOfT);
+    if (parser != null) {
+      return (T) parse(parser, data, classOfT);
+    }
     try {
       Class requestClass = Class.forName(classOfT);
       return (T) decode(data, requestClass);
@@ -98,29 +91,13 @@ public class ProtobufSerializer implements Serializer {
 
   public Object decode(byte[] bytes, Class clazz) throws DeserializationException {
     if (isProtoBufMessageLite(clazz)) {
-      try {
-        Method method = parseMethodMap.get(clazz);
-        if (method == null) {
-          method = clazz.getMethod("parseFrom", byte[].class);
-          if (!Modifier.isStatic(method.getModifiers())) {
-            throw new CodecException(
-                "Cannot found method "
-                    + clazz.getName()
-                    + ".parseFrom(byte[]), please check the generated code");
-          }
-          method.setAccessible(true);
-          parseMethodMap.put(clazz, method);
-        }
-        return method.invoke(null, bytes);
-      } catch (DeserializationException e) {
-        throw e;
-      } catch (Exception e) {
-        throw new DeserializationException(
-            "Cannot found method "
-                + clazz.getName()
-                + ".parseFrom(byte[]), please check the generated code",
-            e);
+      final String className = clazz.getName();
+      Parser parser = parserMap.get(className);
+      if (parser == null) {
+        parser = resolveParser(clazz);
+        parserMap.put(className, parser);
       }
+      return parse(parser, bytes, className);
     } else if (clazz == String.class) {
       return new String(bytes, StandardCharsets.UTF_8);
     } else {
@@ -129,55 +106,41 @@ public class ProtobufSerializer implements Serializer {
     }
   }
 
-  public static boolean isProtoBufMessageLite(Object object) {
-    Class clzz = object == null ? null : object.getClass();
-    return isProtoBufMessageLite(clzz);
-  }
-
-  private static boolean isProtoBufMessageLite(Class clzz) {
-    if (clzz != null) {
-      return isSpecificationInterface(clzz, MessageLite.class.getCanonicalName());
+  private static Object parse(Parser parser, byte[] bytes, String className)
+      throws DeserializationException {
+    try {
+      return parser.parseFrom(bytes);
+    } catch (Exception e) {
+      throw new DeserializationException("Cannot parse " + className, e);
     }
-    return false;
   }
 
-  /**
-   * whether clazz has a interface named interfaceName
-   *
-   * @param clazz
-   * @param interfaceName
-   * @return
-   */
-  private static boolean isSpecificationInterface(Class<?> clazz, String interfaceName) {
-
-    boolean find = false;
-
-    // First, get all direct interface
-    Class<?>[] interfaces = clazz.getInterfaces();
-    if (interfaces.length > 0) {
-      for (Class<?> interfaze : interfaces) {
-        find = interfaceName.equalsIgnoreCase(interfaze.getCanonicalName());
-        if (find) {
-          break;
-        }
+  private static Parser resolveParser(Class clazz) throws DeserializationException {
+    try {
+      Method method = clazz.getMethod("getDefaultInstance");
+      if (!Modifier.isStatic(method.getModifiers())) {
+        throw new DeserializationException(
+            "Cannot found method "
+                + clazz.getName()
+                + ".getDefaultInstance(), please check the generated code");
       }
+      return ((MessageLite) method.invoke(null)).getParserForType();
+    } catch (DeserializationException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DeserializationException(
+          "Cannot found method "
+              + clazz.getName()
+              + ".getDefaultInstance(), please check the generated code",
+          e);
     }
-    while (!Object.class.getCanonicalName().equals(clazz.getCanonicalName()) && !find) {
-      // Add the super class
-      Class<?> superClass = clazz.getSuperclass();
-
-      // Interfaces does not have java,lang.Object as superclass, they have null, so break the cycle
-      // and return
-      if (superClass == null) {
-        break;
-      }
-
-      // Now inspect the superclass
-      clazz = superClass;
+  }
 
-      find = isSpecificationInterface(clazz, interfaceName);
-    }
+  public static boolean isProtoBufMessageLite(Object object) {
+    return object instanceof MessageLite;
+  }
 
-    return find;
+  private static boolean isProtoBufMessageLite(Class clzz) {
+    return clzz != null && MessageLite.class.isAssignableFrom(clzz);
   }
 }
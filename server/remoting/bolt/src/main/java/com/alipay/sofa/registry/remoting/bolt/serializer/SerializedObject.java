@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.remoting.bolt.serializer;
+
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+
+/**
+ * the response which has been serialized, the content is written to the connection directly by
+ * {@link SerializedObjectCustomSerializer}, the peer receives the origin object
+ */
+public final class SerializedObject {
+  private final byte serializer;
+  private final byte[] content;
+
+  private SerializedObject(byte serializer, byte[] content) {
+    this.serializer = serializer;
+    this.content = content;
+  }
+
+  public static SerializedObject of(Object obj) throws CodecException {
+    return of(obj, SerializerManager.Hessian2);
+  }
+
+  public static SerializedObject of(Object obj, byte serializer) throws CodecException {
+    ParaCheckUtil.checkNotNull(obj, "obj");
+    return new SerializedObject(
+        serializer, SerializerManager.getSerializer(serializer).serialize(obj));
+  }
+
+  /**
+   * get the content serialized by the specific serializer, the content is reused if the serializer
+   * matches
+   *
+   * @param targetSerializer
+   * @return
+   * @throws CodecException
+   */
+  public byte[] getContent(byte targetSerializer) throws CodecException {
+    if (targetSerializer == serializer) {
+      return content;
+    }
+    return SerializerManager.getSerializer(targetSerializer).serialize(getObject());
+  }
+
+  public Object getObject() throws CodecException {
+    return SerializerManager.getSerializer(serializer).deserialize(content, null);
+  }
+
+  public byte getSerializer() {
+    return serializer;
+  }
+
+  public int size() {
+    return content.length;
+  }
+}
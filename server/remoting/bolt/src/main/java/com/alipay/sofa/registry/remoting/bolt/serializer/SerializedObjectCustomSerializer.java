@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.remoting.bolt.serializer;
+
+import com.alipay.remoting.CustomSerializer;
+import com.alipay.remoting.CustomSerializerManager;
+import com.alipay.remoting.InvokeContext;
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.rpc.RequestCommand;
+import com.alipay.remoting.rpc.ResponseCommand;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcResponseCommand;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * write the content of {@link SerializedObject} as the response content and the content of {@link
+ * SerializedRequest} as the request content without serializing
+ */
+public class SerializedObjectCustomSerializer implements CustomSerializer {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(SerializedObjectCustomSerializer.class);
+
+  public static void register() {
+    final SerializedObjectCustomSerializer serializer = new SerializedObjectCustomSerializer();
+    CustomSerializerManager.registerCustomSerializer(SerializedObject.class.getName(), serializer);
+    CustomSerializerManager.registerCustomSerializer(SerializedRequest.class.getName(), serializer);
+  }
+
+  @Override
+  public <T extends RequestCommand> boolean serializeHeader(
+      T request, InvokeContext invokeContext) {
+    return false;
+  }
+
+  @Override
+  public <T extends ResponseCommand> boolean serializeHeader(T response) {
+    return false;
+  }
+
+  @Override
+  public <T extends RequestCommand> boolean deserializeHeader(T request) {
+    return false;
+  }
+
+  @Override
+  public <T extends ResponseCommand> boolean deserializeHeader(
+      T response, InvokeContext invokeContext) {
+    return false;
+  }
+
+  @Override
+  public <T extends RequestCommand> boolean serializeContent(
+      T request, InvokeContext invokeContext) {
+    if (request instanceof RpcRequestCommand) {
+      Object appRequest = ((RpcRequestCommand) request).getRequestObject();
+      if (appRequest instanceof SerializedRequest) {
+        SerializedRequest serializedRequest = (SerializedRequest) appRequest;
+        // the clazz has been serialized as SerializedRequest, the peer decodes with the className
+        final String className = serializedRequest.getClassName();
+        ((RpcRequestCommand) request).setRequestClass(className);
+        request.setClazz(className.getBytes(StandardCharsets.UTF_8));
+        request.setContent(serializedRequest.getContent());
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public <T extends ResponseCommand> boolean serializeContent(T response) {
+    if (response instanceof RpcResponseCommand) {
+      Object appResponse = ((RpcResponseCommand) response).getResponseObject();
+      if (appResponse instanceof SerializedObject) {
+        try {
+          SerializedObject serializedObject = (SerializedObject) appResponse;
+          response.setContent(serializedObject.getContent(response.getSerializer()));
+          return true;
+        } catch (CodecException e) {
+          LOGGER.error("[bolt] encode serialized response error, {}", response, e);
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public <T extends RequestCommand> boolean deserializeContent(T request) {
+    return false;
+  }
+
+  @Override
+  public <T extends ResponseCommand> boolean deserializeContent(
+      T response, InvokeContext invokeContext) {
+    // the content is the origin object, use the default deserializer
+    return false;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.remoting.bolt.serializer;
+
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+
+/**
+ * the request which has been serialized, the content is written to the connection directly by
+ * {@link SerializedObjectCustomSerializer}, the peer receives the request as the object of the
+ * className
+ */
+public final class SerializedRequest {
+  private final String className;
+  private final byte[] content;
+
+  public SerializedRequest(String className, byte[] content) {
+    ParaCheckUtil.checkNotBlank(className, "className");
+    ParaCheckUtil.checkNotNull(content, "content");
+    this.className = className;
+    this.content = content;
+  }
+
+  public String getClassName() {
+    return className;
+  }
+
+  public byte[] getContent() {
+    return content;
+  }
+
+  public int size() {
+    return content.length;
+  }
+}
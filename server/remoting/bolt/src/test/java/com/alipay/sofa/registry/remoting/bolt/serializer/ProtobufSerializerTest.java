@@ -16,8 +16,11 @@
  */
 package com.alipay.sofa.registry.remoting.bolt.serializer;
 
+import com.alipay.remoting.exception.CodecException;
 import com.alipay.remoting.exception.DeserializationException;
 import com.alipay.remoting.exception.SerializationException;
+import com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb;
+import com.alipay.sofa.registry.common.model.client.pb.ResultPb;
 import com.alipay.sofa.registry.remoting.bolt.TestUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -38,4 +41,30 @@ public class ProtobufSerializerTest {
     Assert.assertFalse(ProtobufSerializer.isProtoBufMessageLite(new Integer(10)));
     Assert.assertFalse(ProtobufSerializer.isProtoBufMessageLite("xx"));
   }
+
+  @Test
+  public void testCodec() throws CodecException {
+    ProtobufSerializer serializer = ProtobufSerializer.getInstance();
+    // registered parser
+    serializer.registerParser(ResultPb.getDefaultInstance());
+    ResultPb result = ResultPb.newBuilder().setSuccess(true).setMessage("test").build();
+    byte[] bytes = serializer.serialize(result);
+    Assert.assertEquals(result, serializer.deserialize(bytes, ResultPb.class.getName()));
+    Assert.assertEquals(result, serializer.decode(bytes, ResultPb.class));
+
+    // resolve the parser at the first time
+    RegisterResponsePb response =
+        RegisterResponsePb.newBuilder().setSuccess(true).setRegistId("testRegistId").build();
+    bytes = serializer.serialize(response);
+    Assert.assertEquals(
+        response, serializer.deserialize(bytes, RegisterResponsePb.class.getName()));
+    Assert.assertEquals(response, serializer.decode(bytes, RegisterResponsePb.class));
+
+    Assert.assertEquals(
+        "xx", serializer.deserialize(serializer.serialize("xx"), String.class.getName()));
+    Assert.assertTrue(ProtobufSerializer.isProtoBufMessageLite(result));
+    TestUtils.assertRunException(
+        DeserializationException.class,
+        () -> serializer.deserialize(new byte[] {1, 2, 3}, ResultPb.class.getName()));
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.remoting.bolt.serializer;
+
+import com.alipay.remoting.rpc.HeartbeatAckCommand;
+import com.alipay.remoting.rpc.protocol.RpcRequestCommand;
+import com.alipay.remoting.rpc.protocol.RpcResponseCommand;
+import com.alipay.remoting.serialization.SerializerManager;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SerializedObjectCustomSerializerTest {
+
+  @Test
+  public void testNotSerializedObject() throws Exception {
+    SerializedObjectCustomSerializer serializer = new SerializedObjectCustomSerializer();
+    Assert.assertFalse(serializer.serializeContent(new HeartbeatAckCommand()));
+    RpcResponseCommand command = new RpcResponseCommand("testObj");
+    command.setResponseObject("testObj");
+    Assert.assertFalse(serializer.serializeContent(command));
+    Assert.assertNull(command.getContent());
+    Assert.assertFalse(serializer.deserializeContent(command, null));
+  }
+
+  @Test
+  public void testSerializeRep() throws Exception {
+    SerializedObjectCustomSerializer serializer = new SerializedObjectCustomSerializer();
+    SerializedObject obj = SerializedObject.of("testObj");
+    Assert.assertEquals(obj.getSerializer(), SerializerManager.Hessian2);
+    Assert.assertEquals(obj.getObject(), "testObj");
+    Assert.assertTrue(obj.size() > 0);
+
+    RpcResponseCommand command = new RpcResponseCommand(obj);
+    command.setSerializer(SerializerManager.Hessian2);
+    command.setResponseObject(obj);
+    Assert.assertTrue(serializer.serializeContent(command));
+    // reuse the content
+    Assert.assertSame(command.getContent(), obj.getContent(SerializerManager.Hessian2));
+    Assert.assertEquals(
+        SerializerManager.getSerializer(SerializerManager.Hessian2)
+            .deserialize(command.getContent(), String.class.getName()),
+        "testObj");
+  }
+
+  @Test
+  public void testSerializeReq() throws Exception {
+    SerializedObjectCustomSerializer serializer = new SerializedObjectCustomSerializer();
+    byte[] content = new byte[] {1, 2, 3};
+    SerializedRequest req = new SerializedRequest(String.class.getName(), content);
+    Assert.assertEquals(req.size(), 3);
+
+    RpcRequestCommand command = new RpcRequestCommand(req);
+    command.setRequestClass(SerializedRequest.class.getName());
+    command.serializeClazz();
+    Assert.assertTrue(serializer.serializeContent(command, null));
+    Assert.assertSame(command.getContent(), content);
+    Assert.assertEquals(command.getRequestClass(), String.class.getName());
+    Assert.assertEquals(
+        new String(command.getClazz(), StandardCharsets.UTF_8), String.class.getName());
+
+    command = new RpcRequestCommand("testObj");
+    Assert.assertFalse(serializer.serializeContent(command, null));
+    Assert.assertNull(command.getContent());
+  }
+}
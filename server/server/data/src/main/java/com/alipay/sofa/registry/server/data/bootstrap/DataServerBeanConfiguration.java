@@ -22,16 +22,20 @@ import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.remoting.jersey.exchange.JerseyExchange;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.cache.DatumStorage;
+import com.alipay.sofa.registry.server.data.cache.LocalDatumSnapshot;
 import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
 import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.journal.DataAuditJournal;
 import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
 import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
 import com.alipay.sofa.registry.server.data.providedata.FetchStopPushService;
 import com.alipay.sofa.registry.server.data.remoting.DataMetaServerManager;
 import com.alipay.sofa.registry.server.data.remoting.DataNodeExchanger;
 import com.alipay.sofa.registry.server.data.remoting.SessionNodeExchanger;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerDiffBucketRequestHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerDiffDigestRequestHandler;
 import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerDiffPublisherRequestHandler;
+import com.alipay.sofa.registry.server.data.remoting.dataserver.handler.SlotFollowerReplicationLogRequestHandler;
 import com.alipay.sofa.registry.server.data.remoting.metaserver.MetaServerServiceImpl;
 import com.alipay.sofa.registry.server.data.remoting.metaserver.handler.NotifyProvideDataChangeHandler;
 import com.alipay.sofa.registry.server.data.remoting.metaserver.provideData.ProvideDataProcessorManager;
@@ -41,10 +45,13 @@ import com.alipay.sofa.registry.server.data.resource.DataDigestResource;
 import com.alipay.sofa.registry.server.data.resource.DatumApiResource;
 import com.alipay.sofa.registry.server.data.resource.HealthResource;
 import com.alipay.sofa.registry.server.data.resource.SlotTableStatusResource;
+import com.alipay.sofa.registry.server.data.slot.SlotLoads;
 import com.alipay.sofa.registry.server.data.slot.SlotManager;
 import com.alipay.sofa.registry.server.data.slot.SlotManagerImpl;
+import com.alipay.sofa.registry.server.data.slot.SlotReplicationLogs;
 import com.alipay.sofa.registry.server.data.timer.CacheCountTask;
 import com.alipay.sofa.registry.server.data.timer.CacheDigestTask;
+import com.alipay.sofa.registry.server.data.timer.LocalDatumSnapshotTask;
 import com.alipay.sofa.registry.server.shared.meta.MetaServerManager;
 import com.alipay.sofa.registry.server.shared.providedata.FetchSystemPropertyService;
 import com.alipay.sofa.registry.server.shared.providedata.ProvideDataProcessor;
@@ -144,6 +151,26 @@ public class DataServerBeanConfiguration {
     public DiskSlotTableRecorder diskSlotTableRecorder() {
       return new DiskSlotTableRecorder();
     }
+
+    @Bean
+    public LocalDatumSnapshot localDatumSnapshot() {
+      return new LocalDatumSnapshot();
+    }
+
+    @Bean
+    public LocalDatumSnapshotTask localDatumSnapshotTask() {
+      return new LocalDatumSnapshotTask();
+    }
+
+    @Bean
+    public SlotReplicationLogs slotReplicationLogs() {
+      return new SlotReplicationLogs();
+    }
+
+    @Bean
+    public SlotLoads slotLoads() {
+      return new SlotLoads();
+    }
   }
 
   @Configuration
@@ -158,6 +185,11 @@ public class DataServerBeanConfiguration {
     public CacheCountTask cacheCountTask() {
       return new CacheCountTask();
     }
+
+    @Bean
+    public DataAuditJournal dataAuditJournal() {
+      return new DataAuditJournal();
+    }
   }
 
   @Configuration
@@ -187,8 +219,10 @@ public class DataServerBeanConfiguration {
     public Collection<AbstractServerHandler> serverHandlers() {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(getDataHandler());
+      list.add(batchGetDataHandler());
       list.add(batchPutDataHandler());
       list.add(getDataVersionsHandler());
+      list.add(getSlotVersionHandler());
       return list;
     }
 
@@ -196,7 +230,9 @@ public class DataServerBeanConfiguration {
     public Collection<AbstractServerHandler> serverSyncHandlers() {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(slotFollowerDiffDataInfoIdRequestHandler());
+      list.add(slotFollowerDiffBucketRequestHandler());
       list.add(slotFollowerDiffPublisherRequestHandler());
+      list.add(slotFollowerReplicationLogRequestHandler());
       return list;
     }
 
@@ -213,21 +249,41 @@ public class DataServerBeanConfiguration {
       return new GetDataHandler();
     }
 
+    @Bean
+    public AbstractServerHandler batchGetDataHandler() {
+      return new BatchGetDataHandler();
+    }
+
     @Bean
     public AbstractServerHandler slotFollowerDiffDataInfoIdRequestHandler() {
       return new SlotFollowerDiffDigestRequestHandler();
     }
 
+    @Bean
+    public AbstractServerHandler slotFollowerDiffBucketRequestHandler() {
+      return new SlotFollowerDiffBucketRequestHandler();
+    }
+
     @Bean
     public AbstractServerHandler slotFollowerDiffPublisherRequestHandler() {
       return new SlotFollowerDiffPublisherRequestHandler();
     }
 
+    @Bean
+    public AbstractServerHandler slotFollowerReplicationLogRequestHandler() {
+      return new SlotFollowerReplicationLogRequestHandler();
+    }
+
     @Bean
     public AbstractServerHandler getDataVersionsHandler() {
       return new GetDataVersionsHandler();
     }
 
+    @Bean
+    public AbstractServerHandler getSlotVersionHandler() {
+      return new GetSlotVersionHandler();
+    }
+
     @Bean
     public AbstractServerHandler batchPutDataHandler() {
       return new BatchPutDataHandler();
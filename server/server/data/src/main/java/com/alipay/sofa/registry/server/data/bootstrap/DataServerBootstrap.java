@@ -28,11 +28,13 @@ import com.alipay.sofa.registry.metrics.TaskMetrics;
 import com.alipay.sofa.registry.net.NetUtil;
 import com.alipay.sofa.registry.remoting.ChannelHandler;
 import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedObjectCustomSerializer;
 import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
 import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
 import com.alipay.sofa.registry.server.data.providedata.FetchStopPushService;
 import com.alipay.sofa.registry.server.data.slot.SlotManager;
+import com.alipay.sofa.registry.server.data.timer.LocalDatumSnapshotTask;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.server.shared.meta.MetaServerService;
 import com.alipay.sofa.registry.server.shared.providedata.SystemPropertyProcessorManager;
@@ -92,6 +94,8 @@ public class DataServerBootstrap {
 
   @Resource private FetchStopPushService fetchStopPushService;
 
+  @Autowired private LocalDatumSnapshotTask localDatumSnapshotTask;
+
   private Server server;
 
   private Server notifyServer;
@@ -133,6 +137,8 @@ public class DataServerBootstrap {
 
       ReporterUtils.enablePrometheusDefaultExports();
 
+      SerializedObjectCustomSerializer.register();
+
       openDataServer();
 
       openDataSyncServer();
@@ -281,6 +287,10 @@ public class DataServerBootstrap {
     try {
       LOGGER.info("{} Shutting down Data Server..", new Date().toString());
 
+      // write the snapshot before the slots are released by graceful shutdown
+      if (dataServerConfig.isLocalSnapshotEnable()) {
+        localDatumSnapshotTask.snapshot();
+      }
       gracefulShutdown();
 
       stopHttpServer();
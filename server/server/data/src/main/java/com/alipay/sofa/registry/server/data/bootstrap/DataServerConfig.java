@@ -19,6 +19,7 @@ package com.alipay.sofa.registry.server.data.bootstrap;
 import com.alipay.sofa.registry.server.shared.config.ServerShareConfig;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.util.OsUtils;
+import java.io.File;
 import java.util.Collection;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.commons.lang.builder.ToStringStyle;
@@ -63,6 +64,12 @@ public class DataServerConfig implements ServerShareConfig {
   private int notifyTempExecutorQueueSize = 4000;
   private int notifyTempDataIntervalMillis = 500;
 
+  private volatile boolean notifyAdaptiveBatchEnable = false;
+
+  private int notifyAdaptiveMinDelayMillis = 50;
+
+  private int notifyAdaptiveMaxDelayMillis = 2000;
+
   private int rpcTimeoutMillis = 3000;
 
   private CommonConfig commonConfig;
@@ -102,6 +109,27 @@ public class DataServerConfig implements ServerShareConfig {
 
   private volatile int slotSyncPublisherMaxNum = 512;
 
+  // compare the bucket digest of slot before diff the digest of dataInfoIds
+  // enable it after all the data and session servers support DataSlotDiffBucketRequest
+  private volatile boolean slotSyncBucketDigestEnable = false;
+
+  // the followers tail the replication log of the leader, the digest sync only runs when the
+  // position of the follower is truncated. enable it after all the data servers support it
+  private volatile boolean slotReplicationLogEnable = false;
+
+  private int slotReplicationLogCapacity = 10000;
+
+  private volatile int slotReplicationTailIntervalMillis = 500;
+
+  private volatile int slotReplicationTailMaxEntries = 512;
+
+  // cache the serialized GetData response, the sessions get the same datum version share it
+  private volatile boolean getDataSnapshotEnable = false;
+
+  private int getDataSnapshotSilentMillis = 60 * 1000;
+
+  private long getDataSnapshotMaxWeight = 1024 * 1024 * 128;
+
   private int slotSyncRequestExecutorMinPoolSize = OsUtils.getCpuCount() * 3;
 
   private int slotSyncRequestExecutorMaxPoolSize = OsUtils.getCpuCount() * 3;
@@ -131,6 +159,40 @@ public class DataServerConfig implements ServerShareConfig {
 
   private boolean gracefulShutdown = false;
 
+  private boolean localSnapshotEnable = false;
+
+  private String localSnapshotDir =
+      System.getProperty("user.home")
+          + File.separator
+          + "sofa-registry"
+          + File.separator
+          + "datum-snapshot";
+
+  private int localSnapshotIntervalSecs = 300;
+
+  private int localSnapshotMaxAgeSecs = 60 * 30;
+
+  private boolean publisherCompactEnable = false;
+
+  private boolean auditJournalEnable = false;
+
+  private String auditJournalDir =
+      System.getProperty("user.home")
+          + File.separator
+          + "logs"
+          + File.separator
+          + "registry"
+          + File.separator
+          + "audit-journal";
+
+  private int auditJournalFileSizeMB = 64;
+
+  private int auditJournalFileCount = 8;
+
+  private int auditJournalQueueSize = 1024 * 64;
+
+  private int slotLoadRefreshIntervalSecs = 30;
+
   /**
    * constructor
    *
@@ -489,6 +551,208 @@ public class DataServerConfig implements ServerShareConfig {
     this.slotSyncPublisherMaxNum = slotSyncPublisherMaxNum;
   }
 
+  /**
+   * Getter method for property <tt>slotSyncBucketDigestEnable</tt>.
+   *
+   * @return property value of slotSyncBucketDigestEnable
+   */
+  public boolean isSlotSyncBucketDigestEnable() {
+    return slotSyncBucketDigestEnable;
+  }
+
+  /**
+   * Setter method for property <tt>slotSyncBucketDigestEnable</tt>.
+   *
+   * @param slotSyncBucketDigestEnable value to be assigned to property slotSyncBucketDigestEnable
+   */
+  public void setSlotSyncBucketDigestEnable(boolean slotSyncBucketDigestEnable) {
+    this.slotSyncBucketDigestEnable = slotSyncBucketDigestEnable;
+  }
+
+  /**
+   * Getter method for property <tt>slotReplicationLogEnable</tt>.
+   *
+   * @return property value of slotReplicationLogEnable
+   */
+  public boolean isSlotReplicationLogEnable() {
+    return slotReplicationLogEnable;
+  }
+
+  /**
+   * Setter method for property <tt>slotReplicationLogEnable</tt>.
+   *
+   * @param slotReplicationLogEnable value to be assigned to property slotReplicationLogEnable
+   */
+  public void setSlotReplicationLogEnable(boolean slotReplicationLogEnable) {
+    this.slotReplicationLogEnable = slotReplicationLogEnable;
+  }
+
+  /**
+   * Getter method for property <tt>slotReplicationLogCapacity</tt>.
+   *
+   * @return property value of slotReplicationLogCapacity
+   */
+  public int getSlotReplicationLogCapacity() {
+    return slotReplicationLogCapacity;
+  }
+
+  /**
+   * Setter method for property <tt>slotReplicationLogCapacity</tt>.
+   *
+   * @param slotReplicationLogCapacity value to be assigned to property slotReplicationLogCapacity
+   */
+  public void setSlotReplicationLogCapacity(int slotReplicationLogCapacity) {
+    this.slotReplicationLogCapacity = slotReplicationLogCapacity;
+  }
+
+  /**
+   * Getter method for property <tt>slotReplicationTailIntervalMillis</tt>.
+   *
+   * @return property value of slotReplicationTailIntervalMillis
+   */
+  public int getSlotReplicationTailIntervalMillis() {
+    return slotReplicationTailIntervalMillis;
+  }
+
+  /**
+   * Setter method for property <tt>slotReplicationTailIntervalMillis</tt>.
+   *
+   * @param slotReplicationTailIntervalMillis value to be assigned to property
+   *     slotReplicationTailIntervalMillis
+   */
+  public void setSlotReplicationTailIntervalMillis(int slotReplicationTailIntervalMillis) {
+    this.slotReplicationTailIntervalMillis = slotReplicationTailIntervalMillis;
+  }
+
+  /**
+   * Getter method for property <tt>slotReplicationTailMaxEntries</tt>.
+   *
+   * @return property value of slotReplicationTailMaxEntries
+   */
+  public int getSlotReplicationTailMaxEntries() {
+    return slotReplicationTailMaxEntries;
+  }
+
+  /**
+   * Setter method for property <tt>slotReplicationTailMaxEntries</tt>.
+   *
+   * @param slotReplicationTailMaxEntries value to be assigned to property
+   *     slotReplicationTailMaxEntries
+   */
+  public void setSlotReplicationTailMaxEntries(int slotReplicationTailMaxEntries) {
+    this.slotReplicationTailMaxEntries = slotReplicationTailMaxEntries;
+  }
+
+  /**
+   * Getter method for property <tt>getDataSnapshotEnable</tt>.
+   *
+   * @return property value of getDataSnapshotEnable
+   */
+  public boolean isGetDataSnapshotEnable() {
+    return getDataSnapshotEnable;
+  }
+
+  /**
+   * Setter method for property <tt>getDataSnapshotEnable</tt>.
+   *
+   * @param getDataSnapshotEnable value to be assigned to property getDataSnapshotEnable
+   */
+  public void setGetDataSnapshotEnable(boolean getDataSnapshotEnable) {
+    this.getDataSnapshotEnable = getDataSnapshotEnable;
+  }
+
+  /**
+   * Getter method for property <tt>getDataSnapshotSilentMillis</tt>.
+   *
+   * @return property value of getDataSnapshotSilentMillis
+   */
+  public int getGetDataSnapshotSilentMillis() {
+    return getDataSnapshotSilentMillis;
+  }
+
+  /**
+   * Setter method for property <tt>getDataSnapshotSilentMillis</tt>.
+   *
+   * @param getDataSnapshotSilentMillis value to be assigned to property getDataSnapshotSilentMillis
+   */
+  public void setGetDataSnapshotSilentMillis(int getDataSnapshotSilentMillis) {
+    this.getDataSnapshotSilentMillis = getDataSnapshotSilentMillis;
+  }
+
+  /**
+   * Getter method for property <tt>getDataSnapshotMaxWeight</tt>.
+   *
+   * @return property value of getDataSnapshotMaxWeight
+   */
+  public long getGetDataSnapshotMaxWeight() {
+    return getDataSnapshotMaxWeight;
+  }
+
+  /**
+   * Setter method for property <tt>getDataSnapshotMaxWeight</tt>.
+   *
+   * @param getDataSnapshotMaxWeight value to be assigned to property getDataSnapshotMaxWeight
+   */
+  public void setGetDataSnapshotMaxWeight(long getDataSnapshotMaxWeight) {
+    this.getDataSnapshotMaxWeight = getDataSnapshotMaxWeight;
+  }
+
+  /**
+   * Getter method for property <tt>notifyAdaptiveBatchEnable</tt>.
+   *
+   * @return property value of notifyAdaptiveBatchEnable
+   */
+  public boolean isNotifyAdaptiveBatchEnable() {
+    return notifyAdaptiveBatchEnable;
+  }
+
+  /**
+   * Setter method for property <tt>notifyAdaptiveBatchEnable</tt>.
+   *
+   * @param notifyAdaptiveBatchEnable value to be assigned to property notifyAdaptiveBatchEnable
+   */
+  public void setNotifyAdaptiveBatchEnable(boolean notifyAdaptiveBatchEnable) {
+    this.notifyAdaptiveBatchEnable = notifyAdaptiveBatchEnable;
+  }
+
+  /**
+   * Getter method for property <tt>notifyAdaptiveMinDelayMillis</tt>.
+   *
+   * @return property value of notifyAdaptiveMinDelayMillis
+   */
+  public int getNotifyAdaptiveMinDelayMillis() {
+    return notifyAdaptiveMinDelayMillis;
+  }
+
+  /**
+   * Setter method for property <tt>notifyAdaptiveMinDelayMillis</tt>.
+   *
+   * @param notifyAdaptiveMinDelayMillis value to be assigned to property
+   *     notifyAdaptiveMinDelayMillis
+   */
+  public void setNotifyAdaptiveMinDelayMillis(int notifyAdaptiveMinDelayMillis) {
+    this.notifyAdaptiveMinDelayMillis = notifyAdaptiveMinDelayMillis;
+  }
+
+  /**
+   * Getter method for property <tt>notifyAdaptiveMaxDelayMillis</tt>.
+   *
+   * @return property value of notifyAdaptiveMaxDelayMillis
+   */
+  public int getNotifyAdaptiveMaxDelayMillis() {
+    return notifyAdaptiveMaxDelayMillis;
+  }
+
+  /**
+   * Setter method for property <tt>notifyAdaptiveMaxDelayMillis</tt>.
+   *
+   * @param notifyAdaptiveMaxDelayMillis value to be assigned to property
+   *     notifyAdaptiveMaxDelayMillis
+   */
+  public void setNotifyAdaptiveMaxDelayMillis(int notifyAdaptiveMaxDelayMillis) {
+    this.notifyAdaptiveMaxDelayMillis = notifyAdaptiveMaxDelayMillis;
+  }
+
   /**
    * Getter method for property <tt>slotLeaderSyncSessionExecutorThreadSize</tt>.
    *
@@ -902,4 +1166,202 @@ public class DataServerConfig implements ServerShareConfig {
   public void setGracefulShutdown(boolean gracefulShutdown) {
     this.gracefulShutdown = gracefulShutdown;
   }
+
+  /**
+   * Getter method for property <tt>localSnapshotEnable</tt>.
+   *
+   * @return property value of localSnapshotEnable
+   */
+  public boolean isLocalSnapshotEnable() {
+    return localSnapshotEnable;
+  }
+
+  /**
+   * Setter method for property <tt>localSnapshotEnable</tt>.
+   *
+   * @param localSnapshotEnable value to be assigned to property localSnapshotEnable
+   */
+  public void setLocalSnapshotEnable(boolean localSnapshotEnable) {
+    this.localSnapshotEnable = localSnapshotEnable;
+  }
+
+  /**
+   * Getter method for property <tt>localSnapshotDir</tt>.
+   *
+   * @return property value of localSnapshotDir
+   */
+  public String getLocalSnapshotDir() {
+    return localSnapshotDir;
+  }
+
+  /**
+   * Setter method for property <tt>localSnapshotDir</tt>.
+   *
+   * @param localSnapshotDir value to be assigned to property localSnapshotDir
+   */
+  public void setLocalSnapshotDir(String localSnapshotDir) {
+    this.localSnapshotDir = localSnapshotDir;
+  }
+
+  /**
+   * Getter method for property <tt>localSnapshotIntervalSecs</tt>.
+   *
+   * @return property value of localSnapshotIntervalSecs
+   */
+  public int getLocalSnapshotIntervalSecs() {
+    return localSnapshotIntervalSecs;
+  }
+
+  /**
+   * Setter method for property <tt>localSnapshotIntervalSecs</tt>.
+   *
+   * @param localSnapshotIntervalSecs value to be assigned to property localSnapshotIntervalSecs
+   */
+  public void setLocalSnapshotIntervalSecs(int localSnapshotIntervalSecs) {
+    this.localSnapshotIntervalSecs = localSnapshotIntervalSecs;
+  }
+
+  /**
+   * Getter method for property <tt>localSnapshotMaxAgeSecs</tt>.
+   *
+   * @return property value of localSnapshotMaxAgeSecs
+   */
+  public int getLocalSnapshotMaxAgeSecs() {
+    return localSnapshotMaxAgeSecs;
+  }
+
+  /**
+   * Setter method for property <tt>localSnapshotMaxAgeSecs</tt>.
+   *
+   * @param localSnapshotMaxAgeSecs value to be assigned to property localSnapshotMaxAgeSecs
+   */
+  public void setLocalSnapshotMaxAgeSecs(int localSnapshotMaxAgeSecs) {
+    this.localSnapshotMaxAgeSecs = localSnapshotMaxAgeSecs;
+  }
+
+  /**
+   * Getter method for property <tt>publisherCompactEnable</tt>.
+   *
+   * @return property value of publisherCompactEnable
+   */
+  public boolean isPublisherCompactEnable() {
+    return publisherCompactEnable;
+  }
+
+  /**
+   * Setter method for property <tt>publisherCompactEnable</tt>.
+   *
+   * @param publisherCompactEnable value to be assigned to property publisherCompactEnable
+   */
+  public void setPublisherCompactEnable(boolean publisherCompactEnable) {
+    this.publisherCompactEnable = publisherCompactEnable;
+  }
+
+  /**
+   * Getter method for property <tt>auditJournalEnable</tt>.
+   *
+   * @return property value of auditJournalEnable
+   */
+  public boolean isAuditJournalEnable() {
+    return auditJournalEnable;
+  }
+
+  /**
+   * Setter method for property <tt>auditJournalEnable</tt>.
+   *
+   * @param auditJournalEnable value to be assigned to property auditJournalEnable
+   */
+  public void setAuditJournalEnable(boolean auditJournalEnable) {
+    this.auditJournalEnable = auditJournalEnable;
+  }
+
+  /**
+   * Getter method for property <tt>auditJournalDir</tt>.
+   *
+   * @return property value of auditJournalDir
+   */
+  public String getAuditJournalDir() {
+    return auditJournalDir;
+  }
+
+  /**
+   * Setter method for property <tt>auditJournalDir</tt>.
+   *
+   * @param auditJournalDir value to be assigned to property auditJournalDir
+   */
+  public void setAuditJournalDir(String auditJournalDir) {
+    this.auditJournalDir = auditJournalDir;
+  }
+
+  /**
+   * Getter method for property <tt>auditJournalFileSizeMB</tt>.
+   *
+   * @return property value of auditJournalFileSizeMB
+   */
+  public int getAuditJournalFileSizeMB() {
+    return auditJournalFileSizeMB;
+  }
+
+  /**
+   * Setter method for property <tt>auditJournalFileSizeMB</tt>.
+   *
+   * @param auditJournalFileSizeMB value to be assigned to property auditJournalFileSizeMB
+   */
+  public void setAuditJournalFileSizeMB(int auditJournalFileSizeMB) {
+    this.auditJournalFileSizeMB = auditJournalFileSizeMB;
+  }
+
+  /**
+   * Getter method for property <tt>auditJournalFileCount</tt>.
+   *
+   * @return property value of auditJournalFileCount
+   */
+  public int getAuditJournalFileCount() {
+    return auditJournalFileCount;
+  }
+
+  /**
+   * Setter method for property <tt>auditJournalFileCount</tt>.
+   *
+   * @param auditJournalFileCount value to be assigned to property auditJournalFileCount
+   */
+  public void setAuditJournalFileCount(int auditJournalFileCount) {
+    this.auditJournalFileCount = auditJournalFileCount;
+  }
+
+  /**
+   * Getter method for property <tt>auditJournalQueueSize</tt>.
+   *
+   * @return property value of auditJournalQueueSize
+   */
+  public int getAuditJournalQueueSize() {
+    return auditJournalQueueSize;
+  }
+
+  /**
+   * Setter method for property <tt>auditJournalQueueSize</tt>.
+   *
+   * @param auditJournalQueueSize value to be assigned to property auditJournalQueueSize
+   */
+  public void setAuditJournalQueueSize(int auditJournalQueueSize) {
+    this.auditJournalQueueSize = auditJournalQueueSize;
+  }
+
+  /**
+   * Getter method for property <tt>slotLoadRefreshIntervalSecs</tt>.
+   *
+   * @return property value of slotLoadRefreshIntervalSecs
+   */
+  public int getSlotLoadRefreshIntervalSecs() {
+    return slotLoadRefreshIntervalSecs;
+  }
+
+  /**
+   * Setter method for property <tt>slotLoadRefreshIntervalSecs</tt>.
+   *
+   * @param slotLoadRefreshIntervalSecs value to be assigned to property slotLoadRefreshIntervalSecs
+   */
+  public void setSlotLoadRefreshIntervalSecs(int slotLoadRefreshIntervalSecs) {
+    this.slotLoadRefreshIntervalSecs = slotLoadRefreshIntervalSecs;
+  }
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ConnectId;
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * index of connectId -> (dataInfoId, registerId) and sessionProcessId -> (dataInfoId, registerId)
+ * for the pub envelopes, the unpub envelopes are not indexed. the mutations of one registerId are
+ * serialized by the stripe lock of PublisherGroup, the mutations of one key are serialized by the
+ * compute of the map
+ */
+public final class ConnectIdIndex {
+  private final Map<ConnectId, Map<String /*dataInfoId*/, Set<String /*registerId*/>>> index =
+      Maps.newConcurrentMap();
+
+  private final Map<ProcessId, Map<String /*dataInfoId*/, Set<String /*registerId*/>>>
+      sessionIndex = Maps.newConcurrentMap();
+
+  void onReplace(
+      String dataInfoId, String registerId, PublisherEnvelope prev, PublisherEnvelope now) {
+    final ConnectId prevConnectId = prev == null ? null : prev.connectId;
+    final ConnectId nowConnectId = now == null ? null : now.connectId;
+    replace(index, dataInfoId, registerId, prevConnectId, nowConnectId);
+    // the unpub is not indexed, the sessionProcessId is indexed only if the connectId is
+    replace(
+        sessionIndex,
+        dataInfoId,
+        registerId,
+        prevConnectId == null ? null : prev.sessionProcessId,
+        nowConnectId == null ? null : now.sessionProcessId);
+  }
+
+  private static <K> void replace(
+      Map<K, Map<String, Set<String>>> index,
+      String dataInfoId,
+      String registerId,
+      K prevKey,
+      K nowKey) {
+    if (prevKey != null && prevKey.equals(nowKey)) {
+      // the entry in index not change
+      return;
+    }
+    if (prevKey != null) {
+      remove(index, prevKey, dataInfoId, registerId);
+    }
+    if (nowKey != null) {
+      add(index, nowKey, dataInfoId, registerId);
+    }
+  }
+
+  void onRemove(String dataInfoId, String registerId, PublisherEnvelope prev) {
+    onReplace(dataInfoId, registerId, prev, null);
+  }
+
+  private static <K> void add(
+      Map<K, Map<String, Set<String>>> index, K key, String dataInfoId, String registerId) {
+    index.compute(
+        key,
+        (k, v) -> {
+          if (v == null) {
+            v = Maps.newConcurrentMap();
+          }
+          v.computeIfAbsent(dataInfoId, d -> Sets.newConcurrentHashSet()).add(registerId);
+          return v;
+        });
+  }
+
+  private static <K> void remove(
+      Map<K, Map<String, Set<String>>> index, K key, String dataInfoId, String registerId) {
+    index.computeIfPresent(
+        key,
+        (k, v) -> {
+          Set<String> registerIds = v.get(dataInfoId);
+          if (registerIds != null) {
+            registerIds.remove(registerId);
+            if (registerIds.isEmpty()) {
+              v.remove(dataInfoId);
+            }
+          }
+          return v.isEmpty() ? null : v;
+        });
+  }
+
+  Map<String /*dataInfoId*/, Set<String /*registerId*/>> get(ConnectId connectId) {
+    Map<String, Set<String>> m = index.get(connectId);
+    return m == null ? Collections.emptyMap() : m;
+  }
+
+  Set<String> get(ConnectId connectId, String dataInfoId) {
+    Set<String> registerIds = get(connectId).get(dataInfoId);
+    return registerIds == null ? Collections.emptySet() : registerIds;
+  }
+
+  Map<String /*dataInfoId*/, Set<String /*registerId*/>> get(ProcessId sessionProcessId) {
+    Map<String, Set<String>> m = sessionIndex.get(sessionProcessId);
+    return m == null ? Collections.emptyMap() : m;
+  }
+
+  Set<String> get(ProcessId sessionProcessId, String dataInfoId) {
+    Set<String> registerIds = get(sessionProcessId).get(dataInfoId);
+    return registerIds == null ? Collections.emptySet() : registerIds;
+  }
+
+  int size() {
+    return index.size();
+  }
+}
@@ -65,6 +65,11 @@ public class DatumCache {
     return localDatumStorage.getVersions(slotId, targetDataInfoIds);
   }
 
+  public long getSlotVersion(String dataCenter, int slotId) {
+    // local
+    return localDatumStorage.getSlotVersion(slotId);
+  }
+
   public DatumVersion updateVersion(String dataCenter, String dataInfoId) {
     return localDatumStorage.updateVersion(dataInfoId);
   }
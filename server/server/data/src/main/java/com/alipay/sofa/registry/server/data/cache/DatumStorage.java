@@ -22,6 +22,8 @@ import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.server.data.slot.SlotChangeListener;
 import java.util.Collection;
@@ -47,6 +49,8 @@ public interface DatumStorage {
 
   Map<String, DatumVersion> getVersions(int slotId, Collection<String> targetDatInfoIds);
 
+  long getSlotVersion(int slotId);
+
   Map<String, Publisher> getByConnectId(ConnectId connectId);
 
   Map<String, Map<String, Publisher>> getPublishers(int slot);
@@ -62,6 +66,13 @@ public interface DatumStorage {
 
   Map<String, Integer> getPubCount();
 
+  /**
+   * get the publisher count and the data bytes of the local slots, it walks all the publishers
+   *
+   * @return
+   */
+  Map<Integer, SlotLoad> getSlotLoads();
+
   DatumVersion put(Publisher publisher);
 
   DatumVersion createEmptyDatumIfAbsent(String dataInfoId, String dataCenter);
@@ -82,6 +93,14 @@ public interface DatumStorage {
 
   Map<String, DatumSummary> getDatumSummary(int slotId);
 
+  /**
+   * get the bucket digest of all the publishers in the slot, maintained incrementally
+   *
+   * @param slotId
+   * @return
+   */
+  DataSlotBucketDigest getBucketDigest(int slotId);
+
   SlotChangeListener getSlotChangeListener();
 
   Set<ProcessId> getSessionProcessIds();
@@ -93,4 +112,11 @@ public interface DatumStorage {
   Map<String, DatumVersion> updateVersion(int slotId);
 
   DatumVersion updateVersion(String dataInfoId);
+
+  /**
+   * write the publishers of the current slots to the local snapshot
+   *
+   * @return the num of slots written
+   */
+  int writeSnapshot();
 }
@@ -0,0 +1,344 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.remoting.exception.CodecException;
+import com.alipay.remoting.serialization.SerializerManager;
+import com.alipay.sofa.registry.common.model.store.CompactPublisher;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.util.FileUtils;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the on-disk snapshot of the publishers, one segment file per slot. the snapshot is loaded when
+ * the slot is first added after a restart, so the slot could serve the last known publishers before
+ * the diff-sync with the sessions and the leader finished
+ *
+ * <p>segment layout: [magic][format][slotId][timestamp][count][crc32] and then count records of
+ * [dataInfoId length][dataInfoId][publishers length][publishers], the publishers are in the
+ * portable binary form of CompactPublisher
+ */
+public class LocalDatumSnapshot {
+  private static final Logger LOGGER = LoggerFactory.getLogger("DATUM-SNAPSHOT");
+
+  static final int MAGIC = 0x52445353;
+  static final int FORMAT_VERSION = 2;
+  static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 4 + 8;
+
+  private static final byte ENCODING_BINARY = 0;
+  private static final byte ENCODING_HESSIAN = 1;
+
+  private static final String SUFFIX = ".snap";
+  private static final String PREFIX = "slot-";
+
+  // the slots has tried to load the snapshot, only load once after a restart
+  private final Set<Integer> loadedSlots = Sets.newConcurrentHashSet();
+
+  // the reader maps the segment into a single buffer
+  private long maxSegmentSize = Integer.MAX_VALUE;
+
+  @Autowired private DataServerConfig dataServerConfig;
+
+  public boolean isEnabled() {
+    return dataServerConfig.isLocalSnapshotEnable();
+  }
+
+  /**
+   * write the publishers of the slot to the segment file, the file is replaced atomically
+   *
+   * @param slotId
+   * @param publishers
+   * @return the num of dataInfoIds written
+   */
+  public int write(int slotId, Map<String, List<Publisher>> publishers) throws IOException {
+    final File dir = getDir();
+    FileUtils.forceMkdir(dir);
+
+    List<byte[]> records = Lists.newArrayListWithCapacity(publishers.size() * 2);
+    CRC32 crc = new CRC32();
+    long bodySize = 0;
+    for (Map.Entry<String, List<Publisher>> e : publishers.entrySet()) {
+      if (e.getValue().isEmpty()) {
+        continue;
+      }
+      byte[] id = e.getKey().getBytes(StandardCharsets.UTF_8);
+      byte[] pubs = encode(e.getValue());
+      records.add(id);
+      records.add(pubs);
+      updateChecksum(crc, id);
+      updateChecksum(crc, pubs);
+      bodySize += 4 + id.length + 4 + pubs.length;
+    }
+    // the reader maps the whole segment, reject the slot rather than writing a broken file
+    if (HEADER_SIZE + bodySize > maxSegmentSize) {
+      throw new IOException(
+          StringFormatter.format(
+              "snapshot too large, slotId={}, size={}, max={}",
+              slotId,
+              HEADER_SIZE + bodySize,
+              maxSegmentSize));
+    }
+    final int count = records.size() / 2;
+    final File file = segmentFile(dir, slotId);
+    final File tmp = new File(dir, file.getName() + ".tmp");
+    try (FileOutputStream fos = new FileOutputStream(tmp);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 64 * 1024))) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(slotId);
+      out.writeLong(System.currentTimeMillis());
+      out.writeInt(count);
+      out.writeLong(crc.getValue());
+      for (byte[] record : records) {
+        out.writeInt(record.length);
+        out.write(record);
+      }
+      out.flush();
+      fos.getChannel().force(true);
+    }
+    Files.move(
+        tmp.toPath(),
+        file.toPath(),
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    return count;
+  }
+
+  /**
+   * load the publishers of the slot, only the first call of the slot reads the segment file
+   *
+   * @param slotId
+   * @return empty if the snapshot is disabled, absent, expired or broken
+   */
+  public Map<String, List<Publisher>> load(int slotId) {
+    if (!isEnabled() || !loadedSlots.add(slotId)) {
+      return Collections.emptyMap();
+    }
+    final File file = segmentFile(getDir(), slotId);
+    if (!file.isFile()) {
+      return Collections.emptyMap();
+    }
+    try {
+      Map<String, List<Publisher>> ret = read(slotId, file);
+      LOGGER.info("[load]slotId={}, dataInfoIds={}", slotId, ret.size());
+      return ret;
+    } catch (Throwable e) {
+      LOGGER.error("[load]failed to load snapshot, slotId={}, file={}", slotId, file, e);
+      return Collections.emptyMap();
+    }
+  }
+
+  Map<String, List<Publisher>> read(int slotId, File file) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+        FileChannel channel = raf.getChannel()) {
+      final long size = channel.size();
+      if (size < HEADER_SIZE) {
+        LOGGER.warn("[load]truncated snapshot, slotId={}, size={}", slotId, size);
+        return Collections.emptyMap();
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      final int magic = buffer.getInt();
+      final int format = buffer.getInt();
+      final int id = buffer.getInt();
+      final long timestamp = buffer.getLong();
+      final int count = buffer.getInt();
+      final long checksum = buffer.getLong();
+      if (magic != MAGIC || format != FORMAT_VERSION || id != slotId) {
+        LOGGER.warn(
+            "[load]skip incompatible snapshot, slotId={}, magic={}, format={}, id={}",
+            slotId,
+            magic,
+            format,
+            id);
+        return Collections.emptyMap();
+      }
+      final long age = System.currentTimeMillis() - timestamp;
+      if (age > dataServerConfig.getLocalSnapshotMaxAgeSecs() * 1000L) {
+        LOGGER.warn("[load]skip expired snapshot, slotId={}, ageMillis={}", slotId, age);
+        return Collections.emptyMap();
+      }
+      if (checksum(buffer.slice()) != checksum) {
+        LOGGER.warn("[load]skip corrupted snapshot, slotId={}", slotId);
+        return Collections.emptyMap();
+      }
+      Map<String, List<Publisher>> ret = Maps.newHashMapWithExpectedSize(count);
+      for (int i = 0; i < count; i++) {
+        String dataInfoId = new String(readRecord(buffer), StandardCharsets.UTF_8);
+        ret.put(dataInfoId, decode(readRecord(buffer)));
+      }
+      return ret;
+    }
+  }
+
+  /**
+   * delete the segment files of the slots not in the slotIds
+   *
+   * @param slotIds
+   */
+  public void retain(Collection<Integer> slotIds) {
+    File[] files = getDir().listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      final String name = file.getName();
+      if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+        continue;
+      }
+      try {
+        int slotId =
+            Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        if (!slotIds.contains(slotId)) {
+          FileUtils.forceDelete(file);
+          LOGGER.info("[retain]delete snapshot of slotId={}", slotId);
+        }
+      } catch (Throwable e) {
+        LOGGER.error("[retain]failed to delete {}", file, e);
+      }
+    }
+  }
+
+  private static long checksum(ByteBuffer buffer) {
+    CRC32 crc = new CRC32();
+    byte[] chunk = new byte[8192];
+    while (buffer.hasRemaining()) {
+      final int len = Math.min(chunk.length, buffer.remaining());
+      buffer.get(chunk, 0, len);
+      crc.update(chunk, 0, len);
+    }
+    return crc.getValue();
+  }
+
+  private static byte[] readRecord(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static void updateChecksum(CRC32 crc, byte[] record) {
+    final int len = record.length;
+    crc.update(len >>> 24);
+    crc.update(len >>> 16);
+    crc.update(len >>> 8);
+    crc.update(len);
+    crc.update(record);
+  }
+
+  /**
+   * the publishers are written in the portable binary form of CompactPublisher, fallback to hessian
+   * if any of them is not portable, e.g. the subclass or the dataBox not in bytes
+   */
+  private static byte[] encode(List<Publisher> publishers) throws IOException {
+    for (Publisher publisher : publishers) {
+      if (!CompactPublisher.isPortable(publisher)) {
+        try {
+          byte[] bytes =
+              SerializerManager.getSerializer(SerializerManager.Hessian2)
+                  .serialize(new ArrayList<>(publishers));
+          byte[] ret = new byte[bytes.length + 1];
+          ret[0] = ENCODING_HESSIAN;
+          System.arraycopy(bytes, 0, ret, 1, bytes.length);
+          return ret;
+        } catch (CodecException e) {
+          throw new IOException("failed to encode publishers", e);
+        }
+      }
+    }
+    ByteArrayOutputStream bos = new ByteArrayOutputStream(publishers.size() * 256);
+    DataOutputStream out = new DataOutputStream(bos);
+    out.writeByte(ENCODING_BINARY);
+    out.writeInt(publishers.size());
+    for (Publisher publisher : publishers) {
+      CompactPublisher.writeTo(publisher, out);
+    }
+    out.flush();
+    return bos.toByteArray();
+  }
+
+  private static List<Publisher> decode(byte[] bytes) throws IOException {
+    if (bytes.length == 0) {
+      throw new IOException("empty publishers record");
+    }
+    if (bytes[0] == ENCODING_HESSIAN) {
+      try {
+        return SerializerManager.getSerializer(SerializerManager.Hessian2)
+            .deserialize(Arrays.copyOfRange(bytes, 1, bytes.length), ArrayList.class.getName());
+      } catch (CodecException e) {
+        throw new IOException("failed to decode publishers", e);
+      }
+    }
+    if (bytes[0] != ENCODING_BINARY) {
+      throw new IOException("unknown encoding of publishers: " + bytes[0]);
+    }
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+    final int size = in.readInt();
+    List<Publisher> ret = Lists.newArrayListWithCapacity(size);
+    for (int i = 0; i < size; i++) {
+      ret.add(CompactPublisher.readFrom(in));
+    }
+    return ret;
+  }
+
+  private File getDir() {
+    return new File(dataServerConfig.getLocalSnapshotDir());
+  }
+
+  private static File segmentFile(File dir, int slotId) {
+    return new File(dir, PREFIX + slotId + SUFFIX);
+  }
+
+  @VisibleForTesting
+  void setMaxSegmentSize(long maxSegmentSize) {
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  @VisibleForTesting
+  public void setDataServerConfig(DataServerConfig dataServerConfig) {
+    this.dataServerConfig = dataServerConfig;
+  }
+}
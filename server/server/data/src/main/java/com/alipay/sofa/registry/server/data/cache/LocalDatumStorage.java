@@ -22,7 +22,9 @@ import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
 import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
 import com.alipay.sofa.registry.common.model.slot.func.SlotFunction;
 import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
 import com.alipay.sofa.registry.common.model.store.Publisher;
@@ -30,11 +32,14 @@ import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.slot.SlotChangeListener;
+import com.alipay.sofa.registry.server.data.slot.SlotReplicationLogs;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.CollectionUtils;
 
@@ -45,11 +50,22 @@ import org.springframework.util.CollectionUtils;
 public final class LocalDatumStorage implements DatumStorage {
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalDatumStorage.class);
 
-  private final SlotFunction slotFunction = SlotFunctionRegistry.getFunc();
   private final Map<Integer, PublisherGroups> publisherGroupsMap = Maps.newConcurrentMap();
 
+  // the access by dataInfoId holds the read lock, the split of the slots holds the write lock
+  // to switch the slot function and move the groups atomically
+  private final ReadWriteLock splitLock = new ReentrantReadWriteLock();
+  private volatile SlotFunction slotFunction = SlotFunctionRegistry.getFunc();
+
   @Autowired private DataServerConfig dataServerConfig;
 
+  @Autowired(required = false)
+  private LocalDatumSnapshot localDatumSnapshot;
+
+  // append the mutations of the slots which the local is leader
+  @Autowired(required = false)
+  private SlotReplicationLogs slotReplicationLogs;
+
   private PublisherGroups getPublisherGroups(String dataInfoId) {
     final Integer slotId = slotFunction.slotOf(dataInfoId);
     PublisherGroups groups = publisherGroupsMap.get(slotId);
@@ -69,14 +85,24 @@ public final class LocalDatumStorage implements DatumStorage {
 
   @Override
   public Datum get(String dataInfoId) {
-    final PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.getDatum(dataInfoId);
+    splitLock.readLock().lock();
+    try {
+      final PublisherGroups groups = getPublisherGroups(dataInfoId);
+      return groups == null ? null : groups.getDatum(dataInfoId);
+    } finally {
+      splitLock.readLock().unlock();
+    }
   }
 
   @Override
   public DatumVersion getVersion(String dataInfoId) {
-    PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.getVersion(dataInfoId);
+    splitLock.readLock().lock();
+    try {
+      PublisherGroups groups = getPublisherGroups(dataInfoId);
+      return groups == null ? null : groups.getVersion(dataInfoId);
+    } finally {
+      splitLock.readLock().unlock();
+    }
   }
 
   @Override
@@ -85,6 +111,12 @@ public final class LocalDatumStorage implements DatumStorage {
     return groups == null ? Collections.emptyMap() : groups.getVersions(targetDataInfoIds);
   }
 
+  @Override
+  public long getSlotVersion(int slotId) {
+    PublisherGroups groups = getPublisherGroups(slotId);
+    return groups == null ? 0 : groups.getSlotVersion();
+  }
+
   @Override
   public Map<String, Datum> getAll() {
     Map<String, Datum> m = Maps.newHashMapWithExpectedSize(128);
@@ -106,6 +138,13 @@ public final class LocalDatumStorage implements DatumStorage {
     return map;
   }
 
+  @Override
+  public Map<Integer, SlotLoad> getSlotLoads() {
+    Map<Integer, SlotLoad> map = Maps.newHashMapWithExpectedSize(publisherGroupsMap.size());
+    publisherGroupsMap.forEach((k, v) -> map.put(k, v.getLoad()));
+    return map;
+  }
+
   @Override
   public Map<String, Publisher> getByConnectId(ConnectId connectId) {
     Map<String, Publisher> m = Maps.newHashMapWithExpectedSize(64);
@@ -138,8 +177,13 @@ public final class LocalDatumStorage implements DatumStorage {
 
   @Override
   public DatumVersion createEmptyDatumIfAbsent(String dataInfoId, String dataCenter) {
-    PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.createGroupIfAbsent(dataInfoId).getVersion();
+    splitLock.readLock().lock();
+    try {
+      PublisherGroups groups = getPublisherGroups(dataInfoId);
+      return groups == null ? null : groups.createGroupIfAbsent(dataInfoId).getVersion();
+    } finally {
+      splitLock.readLock().unlock();
+    }
   }
 
   @Override
@@ -151,21 +195,35 @@ public final class LocalDatumStorage implements DatumStorage {
     if (groups == null) {
       return Collections.emptyMap();
     }
-    return groups.clean(sessionProcessId, cleanContinues);
+    // the clean is journaled as the removes of the dataInfoIds
+    return groups.clean(sessionProcessId, cleanContinues, journalOf(slotId));
   }
 
   // only for http testapi
   @Override
   public DatumVersion remove(String dataInfoId, ProcessId sessionProcessId) {
     // the sessionProcessId is null when the call from sync leader
-    PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.remove(dataInfoId, sessionProcessId);
+    splitLock.readLock().lock();
+    try {
+      PublisherGroups groups = getPublisherGroups(dataInfoId);
+      return groups == null ? null : groups.remove(dataInfoId, sessionProcessId);
+    } finally {
+      splitLock.readLock().unlock();
+    }
   }
 
   @Override
   public DatumVersion put(String dataInfoId, List<Publisher> publishers) {
-    PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.put(dataInfoId, publishers);
+    splitLock.readLock().lock();
+    try {
+      PublisherGroups groups = getPublisherGroups(dataInfoId);
+      if (groups == null) {
+        return null;
+      }
+      return groups.put(dataInfoId, publishers, journalOf(slotFunction.slotOf(dataInfoId)));
+    } finally {
+      splitLock.readLock().unlock();
+    }
   }
 
   @Override
@@ -179,8 +237,43 @@ public final class LocalDatumStorage implements DatumStorage {
       ProcessId sessionProcessId,
       Map<String, RegisterVersion> removedPublishers) {
     // the sessionProcessId is null when the call from sync leader
-    PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.remove(dataInfoId, sessionProcessId, removedPublishers);
+    splitLock.readLock().lock();
+    try {
+      PublisherGroups groups = getPublisherGroups(dataInfoId);
+      if (groups == null) {
+        return null;
+      }
+      return groups.remove(
+          dataInfoId,
+          sessionProcessId,
+          removedPublishers,
+          journalOf(slotFunction.slotOf(dataInfoId)));
+    } finally {
+      splitLock.readLock().unlock();
+    }
+  }
+
+  private PublisherJournal journalOf(int slotId) {
+    // null means not journal, the writers skip the registerId locks of the journal path
+    if (slotReplicationLogs == null || !slotReplicationLogs.isLogging(slotId)) {
+      return null;
+    }
+    return new PublisherJournal() {
+      @Override
+      public void onPut(String dataInfoId, List<Publisher> publishers, DatumVersion version) {
+        slotReplicationLogs.appendPut(slotId, dataInfoId, publishers, version.getValue());
+      }
+
+      @Override
+      public void onRemove(
+          String dataInfoId,
+          ProcessId sessionProcessId,
+          Map<String, RegisterVersion> removedPublishers,
+          DatumVersion version) {
+        slotReplicationLogs.appendRemove(
+            slotId, dataInfoId, sessionProcessId, removedPublishers, version.getValue());
+      }
+    };
   }
 
   @Override
@@ -208,6 +301,14 @@ public final class LocalDatumStorage implements DatumStorage {
     return groups != null ? groups.getAllSummary() : Collections.emptyMap();
   }
 
+  @Override
+  public DataSlotBucketDigest getBucketDigest(int slotId) {
+    final PublisherGroups groups = publisherGroupsMap.get(slotId);
+    return groups != null
+        ? groups.getBucketDigest()
+        : DataSlotBucketDigest.ofSummary(Collections.emptyMap());
+  }
+
   @Override
   public SlotChangeListener getSlotChangeListener() {
     return new SlotListener();
@@ -247,26 +348,75 @@ public final class LocalDatumStorage implements DatumStorage {
 
   @Override
   public DatumVersion updateVersion(String dataInfoId) {
-    PublisherGroups groups = getPublisherGroups(dataInfoId);
-    return groups == null ? null : groups.updateVersion(dataInfoId);
+    splitLock.readLock().lock();
+    try {
+      PublisherGroups groups = getPublisherGroups(dataInfoId);
+      return groups == null ? null : groups.updateVersion(dataInfoId);
+    } finally {
+      splitLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int writeSnapshot() {
+    if (localDatumSnapshot == null || !localDatumSnapshot.isEnabled()) {
+      return 0;
+    }
+    final Set<Integer> slotIds = Sets.newHashSet(publisherGroupsMap.keySet());
+    int count = 0;
+    for (Integer slotId : slotIds) {
+      PublisherGroups groups = publisherGroupsMap.get(slotId);
+      if (groups == null) {
+        continue;
+      }
+      try {
+        localDatumSnapshot.write(slotId, groups.getAllPublisher());
+        count++;
+      } catch (Throwable e) {
+        LOGGER.error("[writeSnapshot]failed to write slotId={}", slotId, e);
+      }
+    }
+    // keep the files when all slots are released, e.g. graceful shutdown
+    if (!slotIds.isEmpty()) {
+      localDatumSnapshot.retain(slotIds);
+    }
+    return count;
+  }
+
+  private void loadSnapshot(int slotId, PublisherGroups groups) {
+    if (localDatumSnapshot == null) {
+      return;
+    }
+    Map<String, List<Publisher>> publishers = localDatumSnapshot.load(slotId);
+    for (Map.Entry<String, List<Publisher>> e : publishers.entrySet()) {
+      // the snapshot written before the split contains the dataInfoIds of the children
+      if (slotFunction.slotOf(e.getKey()) != slotId) {
+        continue;
+      }
+      groups.put(e.getKey(), e.getValue());
+    }
   }
 
   private final class SlotListener implements SlotChangeListener {
 
     @Override
     public void onSlotAdd(int slotId, Slot.Role role) {
-      publisherGroupsMap.computeIfAbsent(
-          slotId,
-          k -> {
-            PublisherGroups groups = new PublisherGroups(dataServerConfig.getLocalDataCenter());
-            LOGGER.info(
-                "{} add publisherGroup {}, role={}, slotNum={}",
-                dataServerConfig.getLocalDataCenter(),
-                slotId,
-                role,
-                publisherGroupsMap.size());
-            return groups;
-          });
+      if (publisherGroupsMap.containsKey(slotId)) {
+        return;
+      }
+      PublisherGroups groups =
+          new PublisherGroups(
+              dataServerConfig.getLocalDataCenter(), dataServerConfig.isPublisherCompactEnable());
+      // load the snapshot before putting, not do the disk io inside the computing of the map
+      loadSnapshot(slotId, groups);
+      if (publisherGroupsMap.putIfAbsent(slotId, groups) == null) {
+        LOGGER.info(
+            "{} add publisherGroup {}, role={}, slotNum={}",
+            dataServerConfig.getLocalDataCenter(),
+            slotId,
+            role,
+            publisherGroupsMap.size());
+      }
     }
 
     @Override
@@ -280,6 +430,53 @@ public final class LocalDatumStorage implements DatumStorage {
           role,
           publisherGroupsMap.size());
     }
+
+    @Override
+    public void onSlotSplit(int slotNum, Set<Integer> slotIds) {
+      final SlotFunction func = SlotFunctionRegistry.getFunc(slotNum);
+      splitLock.writeLock().lock();
+      try {
+        if (func.maxSlots() <= slotFunction.maxSlots()) {
+          LOGGER.warn(
+              "skip split, slotNum={}, current={}", func.maxSlots(), slotFunction.maxSlots());
+          return;
+        }
+        int moved = 0;
+        // the children merged into the map are not split again
+        final Map<Integer, PublisherGroups> parents = Maps.newHashMap(publisherGroupsMap);
+        for (Map.Entry<Integer, PublisherGroups> e : parents.entrySet()) {
+          final Map<Integer, PublisherGroups> children = e.getValue().split(func, e.getKey());
+          for (Map.Entry<Integer, PublisherGroups> child : children.entrySet()) {
+            if (!slotIds.contains(child.getKey())) {
+              // the child is not owned by the local, the new owner syncs it from the sessions
+              LOGGER.info("drop split publisherGroup {}, from={}", child.getKey(), e.getKey());
+              continue;
+            }
+            publisherGroupsMap.merge(child.getKey(), child.getValue(), PublisherGroups::merge);
+            moved++;
+          }
+        }
+        // the owned child without any publisher need an empty group to accept the puts
+        for (int slotId : slotIds) {
+          publisherGroupsMap.computeIfAbsent(
+              slotId,
+              k ->
+                  new PublisherGroups(
+                      dataServerConfig.getLocalDataCenter(),
+                      dataServerConfig.isPublisherCompactEnable()));
+        }
+        LOGGER.info(
+            "{} split publisherGroups, slotNum={}->{}, moved={}, groups={}",
+            dataServerConfig.getLocalDataCenter(),
+            slotFunction.maxSlots(),
+            func.maxSlots(),
+            moved,
+            publisherGroupsMap.size());
+        slotFunction = func;
+      } finally {
+        splitLock.writeLock().unlock();
+      }
+    }
   }
 
   @VisibleForTesting
@@ -287,6 +484,16 @@ public final class LocalDatumStorage implements DatumStorage {
     this.dataServerConfig = dataServerConfig;
   }
 
+  @VisibleForTesting
+  public void setLocalDatumSnapshot(LocalDatumSnapshot localDatumSnapshot) {
+    this.localDatumSnapshot = localDatumSnapshot;
+  }
+
+  @VisibleForTesting
+  public void setSlotReplicationLogs(SlotReplicationLogs slotReplicationLogs) {
+    this.slotReplicationLogs = slotReplicationLogs;
+  }
+
   @VisibleForTesting
   public DataServerConfig getDataServerConfig() {
     return dataServerConfig;
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * the bucket digest of the pub envelopes in a slot, maintained incrementally when the envelope
+ * replaced/removed. the unpub envelopes are not included, same as the DatumSummary
+ */
+public final class PublisherBucketDigest {
+  // the groups of different dataInfoIds are modified concurrently, use atomic to sum the bucket
+  private final AtomicLongArray buckets = new AtomicLongArray(DataSlotBucketDigest.BUCKET_NUM);
+
+  void onReplace(
+      String dataInfoId, String registerId, PublisherEnvelope prev, PublisherEnvelope now) {
+    final long delta = hash(dataInfoId, registerId, now) - hash(dataInfoId, registerId, prev);
+    if (delta != 0) {
+      buckets.addAndGet(DataSlotBucketDigest.bucketOf(dataInfoId), delta);
+    }
+  }
+
+  void onRemove(String dataInfoId, String registerId, PublisherEnvelope prev) {
+    onReplace(dataInfoId, registerId, prev, null);
+  }
+
+  private static long hash(String dataInfoId, String registerId, PublisherEnvelope envelope) {
+    if (envelope == null || !envelope.isPub()) {
+      return 0;
+    }
+    return PublisherDigestUtil.bucketHash(dataInfoId, registerId, envelope.registerVersion);
+  }
+
+  DataSlotBucketDigest snapshot() {
+    final long[] array = new long[DataSlotBucketDigest.BUCKET_NUM];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = buckets.get(i);
+    }
+    return new DataSlotBucketDigest(array);
+  }
+}
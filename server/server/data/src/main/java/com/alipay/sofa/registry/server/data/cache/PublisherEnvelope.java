@@ -19,60 +19,123 @@ package com.alipay.sofa.registry.server.data.cache;
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.ProcessId;
 import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.store.CompactPublisher;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.StoreData;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
+import java.util.List;
 
 /**
  * @author yuzhi.lyz
  * @version v 0.1 2020-12-02 19:47 yuzhi.lyz Exp $
  */
 public final class PublisherEnvelope {
-  final Publisher publisher;
+  // only one of publisher and compactPublisher is not null if pub
+  private final Publisher publisher;
+  private final CompactPublisher compactPublisher;
   final ProcessId sessionProcessId;
   final RegisterVersion registerVersion;
   final long tombstoneTimestamp;
+  // cache the connectId of pub, it's the key of ConnectIdIndex
+  final ConnectId connectId;
 
   private PublisherEnvelope(
       Publisher publisher,
+      CompactPublisher compactPublisher,
       ProcessId sessionProcessId,
       RegisterVersion registerVersion,
       long tombstoneTimestamp) {
-    this.publisher = publisher;
+    this.publisher = compactPublisher == null ? publisher : null;
+    this.compactPublisher = compactPublisher;
     this.sessionProcessId = sessionProcessId;
     this.registerVersion = registerVersion;
     this.tombstoneTimestamp = tombstoneTimestamp;
+    this.connectId = publisher != null ? publisher.connectId() : null;
   }
 
   static PublisherEnvelope of(Publisher publisher) {
+    return of(publisher, publisher.registerVersion());
+  }
+
+  /** the registerVersion of the publisher is passed in to avoid creating it again */
+  static PublisherEnvelope of(Publisher publisher, RegisterVersion registerVersion) {
+    return of(publisher, registerVersion, false);
+  }
+
+  /**
+   * hold the publisher in the compact form if compact, fallback to the publisher if it could not be
+   * compacted
+   */
+  static PublisherEnvelope of(
+      Publisher publisher, RegisterVersion registerVersion, boolean compact) {
     ParaCheckUtil.checkNotNull(publisher.getSessionProcessId(), "publisher.sessionProcessId");
     switch (publisher.getDataType()) {
       case PUBLISHER:
-        return pubOf(publisher, publisher.getSessionProcessId());
+        return pubOf(publisher, publisher.getSessionProcessId(), registerVersion, compact);
       case UN_PUBLISHER:
-        return unpubOf(publisher.registerVersion(), publisher.getSessionProcessId());
+        return unpubOf(registerVersion, publisher.getSessionProcessId());
       default:
         throw new IllegalArgumentException("not accept Publisher Type:" + publisher.getDataType());
     }
   }
 
   static PublisherEnvelope pubOf(Publisher publisher, ProcessId sessionProcessId) {
+    return pubOf(publisher, sessionProcessId, publisher.registerVersion(), false);
+  }
+
+  private static PublisherEnvelope pubOf(
+      Publisher publisher,
+      ProcessId sessionProcessId,
+      RegisterVersion registerVersion,
+      boolean compact) {
     ParaCheckUtil.checkEquals(
         publisher.getDataType(), StoreData.DataType.PUBLISHER, "Publisher.dataType");
     return new PublisherEnvelope(
         publisher,
+        compact ? CompactPublisher.compact(publisher) : null,
         sessionProcessId,
-        publisher.registerVersion(),
+        registerVersion,
         // Long.max means pub never compact
         Long.MAX_VALUE);
   }
 
   static PublisherEnvelope unpubOf(RegisterVersion version, ProcessId sessionProcessId) {
-    return new PublisherEnvelope(null, sessionProcessId, version, System.currentTimeMillis());
+    return new PublisherEnvelope(null, null, sessionProcessId, version, System.currentTimeMillis());
   }
 
   boolean isPub() {
-    return publisher != null;
+    return publisher != null || compactPublisher != null;
+  }
+
+  boolean isCompact() {
+    return compactPublisher != null;
+  }
+
+  /** @return the publisher, materialized from the compact form if compact, null if unpub */
+  Publisher getPublisher() {
+    return compactPublisher != null ? compactPublisher.toPublisher() : publisher;
+  }
+
+  List<ServerDataBox> getDataList() {
+    return compactPublisher != null ? compactPublisher.getDataList() : publisher.getDataList();
+  }
+
+  /** @return the bytes of the data list, the compact form counts the encoded bytes */
+  long dataBytes() {
+    if (compactPublisher != null) {
+      return compactPublisher.dataBoxesSize();
+    }
+    if (publisher == null || publisher.getDataList() == null) {
+      return 0;
+    }
+    long bytes = 0;
+    for (ServerDataBox box : publisher.getDataList()) {
+      if (box != null) {
+        bytes += box.byteSize();
+      }
+    }
+    return bytes;
   }
 
   RegisterVersion getVersionIfPub() {
@@ -80,7 +143,7 @@ public final class PublisherEnvelope {
   }
 
   boolean isConnectId(ConnectId connectId) {
-    return isPub() && publisher.connectId().equals(connectId);
+    return isPub() && this.connectId.equals(connectId);
   }
 
   @Override
@@ -88,8 +151,10 @@ public final class PublisherEnvelope {
     StringBuilder sb = new StringBuilder(128);
     sb.append("pub=")
         .append(isPub())
+        .append(", compact=")
+        .append(isCompact())
         .append(", connectId=")
-        .append(publisher != null ? publisher.connectId() : "null")
+        .append(connectId)
         .append(", ver=")
         .append(registerVersion)
         .append(", ts=")
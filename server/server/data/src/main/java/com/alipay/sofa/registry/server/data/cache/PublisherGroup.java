@@ -21,6 +21,7 @@ import static com.alipay.sofa.registry.server.data.change.ChangeMetrics.SKIP_SAM
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.ProcessId;
 import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
@@ -33,19 +34,20 @@ import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.util.DatumVersionUtil;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import java.util.ArrayDeque;
+import com.google.common.util.concurrent.Striped;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 import org.apache.commons.collections.MapUtils;
 
 /**
@@ -55,6 +57,11 @@ import org.apache.commons.collections.MapUtils;
 public final class PublisherGroup {
   private static final Logger LOGGER = LoggerFactory.getLogger(PublisherGroup.class);
 
+  // the modifications of one registerId are serialized by the stripe lock, shared by all the groups
+  private static final Striped<Lock> REGISTER_ID_LOCKS = Striped.lock(1024);
+
+  // the writers of different registerIds run concurrently under the read lock
+  // the write lock is held when need a consistent view of the publishers and version
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
   final String dataInfoId;
@@ -74,15 +81,51 @@ public final class PublisherGroup {
 
   private static final int RECENT_VERSIONS_CAP = 10;
 
-  private final ArrayDeque<Long> recentVersions = new ArrayDeque<>(RECENT_VERSIONS_CAP);
+  // ring buffer of the recent versions, modify with the version under the monitor of this
+  private final long[] recentVersions = new long[RECENT_VERSIONS_CAP];
+
+  private int recentVersionsHead;
+
+  private int recentVersionsSize;
+
+  // bump on every modification of the pubMap, some of them not change the version
+  private final AtomicLong modCount = new AtomicLong();
+
+  // the publishers of the version, rebuild after the version or the pubMap changes
+  private volatile Snapshot snapshot;
+
+  // modify the index under the stripe lock of registerId, keep consistent with the pubMap
+  // rebind to the index of another slot under the write lock when the slot splits
+  private volatile ConnectIdIndex connectIdIndex;
+
+  private volatile PublisherBucketDigest bucketDigest;
+
+  // hold the publishers in the compact form, materialize them when read
+  private final boolean compact;
 
   PublisherGroup(String dataInfoId, String dataCenter) {
+    this(dataInfoId, dataCenter, false);
+  }
+
+  PublisherGroup(String dataInfoId, String dataCenter, boolean compact) {
+    this(dataInfoId, dataCenter, new ConnectIdIndex(), new PublisherBucketDigest(), compact);
+  }
+
+  PublisherGroup(
+      String dataInfoId,
+      String dataCenter,
+      ConnectIdIndex connectIdIndex,
+      PublisherBucketDigest bucketDigest,
+      boolean compact) {
     DataInfo dataInfo = DataInfo.valueOf(dataInfoId);
     this.dataInfoId = WordCache.getWordCache(dataInfoId);
     this.dataCenter = WordCache.getWordCache(dataCenter);
     this.dataId = WordCache.getWordCache(dataInfo.getDataId());
     this.instanceId = WordCache.getWordCache(dataInfo.getInstanceId());
     this.group = WordCache.getWordCache(dataInfo.getGroup());
+    this.connectIdIndex = connectIdIndex;
+    this.bucketDigest = bucketDigest;
+    this.compact = compact;
     if (DatumVersionUtil.useConfregVersionGen()) {
       this.version = DatumVersionUtil.confregNextId(0);
     } else {
@@ -95,82 +138,195 @@ public final class PublisherGroup {
   }
 
   Datum toDatum() {
+    final Snapshot s = getSnapshot();
     Datum datum = new Datum();
     datum.setDataCenter(dataCenter);
     datum.setDataId(dataId);
     datum.setDataInfoId(dataInfoId);
     datum.setGroup(group);
     datum.setInstanceId(instanceId);
-    long ver;
-    List<Publisher> list = new ArrayList<>(pubMap.size());
-    lock.readLock().lock();
-    datum.setRecentVersions(
-        recentVersions.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+    datum.setRecentVersions(s.recentVersions);
+    datum.setVersion(s.version);
+    s.publishers().forEach(datum::addPublisher);
+    return datum;
+  }
+
+  List<Publisher> getPublishers() {
+    return getSnapshot().publishers();
+  }
+
+  private Snapshot getSnapshot() {
+    final Snapshot s = snapshot;
+    if (s != null && s.isLatest(modCount.get(), version)) {
+      return s;
+    }
+    // the writers modify the pubMap under the read lock, the write lock excludes them, so the
+    // modCount, version and publishers of the snapshot are consistent
+    lock.writeLock().lock();
     try {
-      ver = this.version;
+      final long mod = modCount.get();
+      final long ver = this.version;
+      final Snapshot latest = snapshot;
+      if (latest != null && latest.isLatest(mod, ver)) {
+        return latest;
+      }
+      List<PublisherEnvelope> list = new ArrayList<>(pubMap.size());
       for (PublisherEnvelope envelope : pubMap.values()) {
         if (envelope.isPub()) {
-          list.add(envelope.publisher);
+          list.add(envelope);
         }
       }
+      final Snapshot update = new Snapshot(mod, ver, list, getRecentVersions());
+      this.snapshot = update;
+      return update;
     } finally {
-      lock.readLock().unlock();
+      lock.writeLock().unlock();
     }
-    datum.setVersion(ver);
-    list.forEach(datum::addPublisher);
-    return datum;
   }
 
-  List<Publisher> getPublishers() {
-    List<Publisher> list = new ArrayList<>(pubMap.size());
-    for (PublisherEnvelope envelope : pubMap.values()) {
-      if (envelope.isPub()) {
-        list.add(envelope.publisher);
-      }
+  private synchronized List<Long> getRecentVersions() {
+    List<Long> list = new ArrayList<>(recentVersionsSize);
+    for (int i = 0; i < recentVersionsSize; i++) {
+      list.add(recentVersions[(recentVersionsHead + i) % RECENT_VERSIONS_CAP]);
     }
     return list;
   }
 
   Map<String, Publisher> getByConnectId(ConnectId connectId) {
-    Map<String, Publisher> map = Maps.newHashMap();
-    for (PublisherEnvelope p : pubMap.values()) {
-      if (p.isConnectId(connectId)) {
-        map.put(p.publisher.getRegisterId(), p.publisher);
+    return getByConnectId(connectId, connectIdIndex.get(connectId, dataInfoId));
+  }
+
+  Map<String, Publisher> getByConnectId(ConnectId connectId, Set<String> registerIds) {
+    Map<String, Publisher> map = Maps.newHashMapWithExpectedSize(registerIds.size());
+    for (String registerId : registerIds) {
+      PublisherEnvelope p = pubMap.get(registerId);
+      // double check, the index maybe modifying
+      if (p != null && p.isConnectId(connectId)) {
+        map.put(registerId, p.getPublisher());
       }
     }
     return map;
   }
 
-  DatumVersion updateVersion() {
-    final boolean useConfreg = DatumVersionUtil.useConfregVersionGen();
+  private void putEnvelope(String registerId, PublisherEnvelope envelope) {
+    PublisherEnvelope prev = pubMap.put(registerId, envelope);
+    modCount.incrementAndGet();
+    connectIdIndex.onReplace(dataInfoId, registerId, prev, envelope);
+    bucketDigest.onReplace(dataInfoId, registerId, prev, envelope);
+  }
+
+  private boolean removeEnvelope(String registerId, PublisherEnvelope envelope) {
+    if (pubMap.remove(registerId, envelope)) {
+      modCount.incrementAndGet();
+      connectIdIndex.onRemove(dataInfoId, registerId, envelope);
+      bucketDigest.onRemove(dataInfoId, registerId, envelope);
+      return true;
+    }
+    return false;
+  }
+
+  private void removeEnvelope(String registerId) {
+    PublisherEnvelope prev = pubMap.remove(registerId);
+    modCount.incrementAndGet();
+    connectIdIndex.onRemove(dataInfoId, registerId, prev);
+    bucketDigest.onRemove(dataInfoId, registerId, prev);
+  }
+
+  private void clearEnvelopes() {
+    for (Map.Entry<String, PublisherEnvelope> e : pubMap.entrySet()) {
+      connectIdIndex.onRemove(dataInfoId, e.getKey(), e.getValue());
+      bucketDigest.onRemove(dataInfoId, e.getKey(), e.getValue());
+    }
+    pubMap.clear();
+    modCount.incrementAndGet();
+  }
+
+  /**
+   * move the publishers from the current index to the index of another slot, the version is not
+   * changed. the writers modify the index under the read lock, so the write lock excludes them
+   */
+  void rebind(ConnectIdIndex connectIdIndex, PublisherBucketDigest bucketDigest) {
     lock.writeLock().lock();
     try {
-      long lastVersion = this.version;
-      if (useConfreg) {
-        this.version = DatumVersionUtil.confregNextId(lastVersion);
-      } else {
-        this.version = DatumVersionUtil.nextId();
+      for (Map.Entry<String, PublisherEnvelope> e : pubMap.entrySet()) {
+        this.connectIdIndex.onRemove(dataInfoId, e.getKey(), e.getValue());
+        this.bucketDigest.onRemove(dataInfoId, e.getKey(), e.getValue());
+        connectIdIndex.onReplace(dataInfoId, e.getKey(), null, e.getValue());
+        bucketDigest.onReplace(dataInfoId, e.getKey(), null, e.getValue());
       }
-      appendRecentVersion(lastVersion);
-      return new DatumVersion(version);
+      this.connectIdIndex = connectIdIndex;
+      this.bucketDigest = bucketDigest;
     } finally {
       lock.writeLock().unlock();
     }
   }
 
+  DatumVersion updateVersion() {
+    lock.readLock().lock();
+    try {
+      return nextVersion();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // the caller must hold the read lock
+  private synchronized DatumVersion nextVersion() {
+    long lastVersion = this.version;
+    if (DatumVersionUtil.useConfregVersionGen()) {
+      this.version = DatumVersionUtil.confregNextId(lastVersion);
+    } else {
+      this.version = DatumVersionUtil.nextId();
+    }
+    appendRecentVersion(lastVersion);
+    return new DatumVersion(version);
+  }
+
   private void appendRecentVersion(long version) {
-    for (int i = 0; recentVersions.size() >= RECENT_VERSIONS_CAP && i < 3; i++) {
-      this.recentVersions.pollFirst();
+    if (recentVersionsSize == RECENT_VERSIONS_CAP) {
+      // drop the oldest
+      recentVersions[recentVersionsHead] = version;
+      recentVersionsHead = (recentVersionsHead + 1) % RECENT_VERSIONS_CAP;
+    } else {
+      recentVersions[(recentVersionsHead + recentVersionsSize) % RECENT_VERSIONS_CAP] = version;
+      recentVersionsSize++;
+    }
+  }
+
+  private boolean tryAddPublisherLocked(Publisher publisher) {
+    final Lock l = REGISTER_ID_LOCKS.get(publisher.getRegisterId());
+    l.lock();
+    try {
+      return tryAddPublisher(publisher);
+    } finally {
+      l.unlock();
+    }
+  }
+
+  /**
+   * hold the locks of the registerIds together, the journal appended under them is in the same
+   * order as the mutations of the registerIds. the stripes are locked in the order of the index
+   */
+  private static List<Lock> lockRegisterIds(Iterable<String> registerIds) {
+    final List<Lock> locks = Lists.newArrayList(REGISTER_ID_LOCKS.bulkGet(registerIds));
+    for (Lock l : locks) {
+      l.lock();
+    }
+    return locks;
+  }
+
+  private static void unlockRegisterIds(List<Lock> locks) {
+    for (int i = locks.size() - 1; i >= 0; i--) {
+      locks.get(i).unlock();
     }
-    this.recentVersions.addLast(version);
   }
 
   private boolean tryAddPublisher(Publisher publisher) {
     PublisherEnvelope exist = pubMap.get(publisher.getRegisterId());
     final RegisterVersion registerVersion = publisher.registerVersion();
     if (exist == null) {
-      PublisherEnvelope envelope = PublisherEnvelope.of(publisher);
-      pubMap.put(publisher.getRegisterId(), envelope);
+      PublisherEnvelope envelope = PublisherEnvelope.of(publisher, registerVersion, compact);
+      putEnvelope(publisher.getRegisterId(), envelope);
       return envelope.isPub();
     }
 
@@ -194,10 +350,10 @@ public final class PublisherGroup {
           publisher.registerVersion());
       return false;
     }
-    PublisherEnvelope envelope = PublisherEnvelope.of(publisher);
-    pubMap.put(publisher.getRegisterId(), envelope);
+    PublisherEnvelope envelope = PublisherEnvelope.of(publisher, registerVersion, compact);
+    putEnvelope(publisher.getRegisterId(), envelope);
 
-    if (exist.publisher == null) {
+    if (!exist.isPub()) {
       // publisher is null after client_off
       LOGGER.info(
           "[ReplaceEmptyPub] {}, {}, exist={}, add={}, regIsPub={}",
@@ -209,10 +365,11 @@ public final class PublisherGroup {
       return envelope.isPub();
     }
     try {
+      final List<ServerDataBox> existDataList = exist.getDataList();
       boolean same =
-          exist.publisher.getDataList() == null
+          existDataList == null
               ? publisher.getDataList() == null
-              : exist.publisher.getDataList().equals(publisher.getDataList());
+              : existDataList.equals(publisher.getDataList());
       if (same) {
         SKIP_SAME_VALUE_COUNTER.inc();
         LOGGER.info(
@@ -239,21 +396,27 @@ public final class PublisherGroup {
 
   DatumVersion addPublisher(Publisher publisher) {
     publisher.setSessionProcessId(ProcessIdCache.cache(publisher.getSessionProcessId()));
-    lock.writeLock().lock();
+    lock.readLock().lock();
     try {
-      if (tryAddPublisher(publisher)) {
-        return updateVersion();
+      if (tryAddPublisherLocked(publisher)) {
+        return nextVersion();
       }
       return null;
     } finally {
-      lock.writeLock().unlock();
+      lock.readLock().unlock();
     }
   }
 
   DatumVersion clean(ProcessId sessionProcessId, CleanContinues cleanContinues) {
+    return clean(sessionProcessId, cleanContinues, null);
+  }
+
+  /** @param journal not support the clean of all publishers */
+  DatumVersion clean(
+      ProcessId sessionProcessId, CleanContinues cleanContinues, PublisherJournal journal) {
     sessionProcessId = ProcessIdCache.cache(sessionProcessId);
     if (sessionProcessId == null) {
-      // not check continues
+      // not check continues, clean all need the exclusive lock
       lock.writeLock().lock();
       try {
         final int size = pubMap.size();
@@ -261,117 +424,222 @@ public final class PublisherGroup {
           return null;
         }
         cleanContinues.onClean(size);
-        pubMap.clear();
-        return updateVersion();
+        clearEnvelopes();
+        return nextVersion();
       } finally {
         lock.writeLock().unlock();
       }
     }
-    // collect the pub of the processId without lock
-    Map<String, PublisherEnvelope> cleans = Maps.newHashMapWithExpectedSize(64);
-    for (Map.Entry<String, PublisherEnvelope> pub : pubMap.entrySet()) {
-      PublisherEnvelope envelope = pub.getValue();
-      if (envelope.isPub() && envelope.sessionProcessId.equals(sessionProcessId)) {
-        cleans.put(pub.getKey(), envelope);
+    // collect the pub of the processId from the index without lock
+    final Set<String> registerIds = connectIdIndex.get(sessionProcessId, dataInfoId);
+    if (registerIds.isEmpty()) {
+      return null;
+    }
+    Map<String, PublisherEnvelope> cleans = Maps.newHashMapWithExpectedSize(registerIds.size());
+    for (String registerId : registerIds) {
+      PublisherEnvelope envelope = pubMap.get(registerId);
+      // double check, the index maybe modifying
+      if (envelope != null
+          && envelope.isPub()
+          && envelope.sessionProcessId.equals(sessionProcessId)) {
+        cleans.put(registerId, envelope);
       }
     }
     // clean modify the version, need to lock
-    lock.writeLock().lock();
+    lock.readLock().lock();
     try {
+      if (journal != null) {
+        final List<Lock> locks = lockRegisterIds(cleans.keySet());
+        try {
+          Map<String, RegisterVersion> removed = Maps.newHashMapWithExpectedSize(cleans.size());
+          for (Map.Entry<String, PublisherEnvelope> clean : cleans.entrySet()) {
+            if (!cleanContinues.continues()) {
+              break;
+            }
+            if (removeEnvelope(clean.getKey(), clean.getValue())) {
+              cleanContinues.onClean(1);
+              removed.put(clean.getKey(), clean.getValue().registerVersion);
+            }
+          }
+          if (removed.isEmpty()) {
+            return null;
+          }
+          // the clean of the leader removes the publishers without the tombstone
+          synchronized (this) {
+            final DatumVersion version = nextVersion();
+            journal.onRemove(dataInfoId, null, removed, version);
+            return version;
+          }
+        } finally {
+          unlockRegisterIds(locks);
+        }
+      }
       boolean modified = false;
       for (Map.Entry<String, PublisherEnvelope> clean : cleans.entrySet()) {
         if (!cleanContinues.continues()) {
           break;
         }
-        if (pubMap.remove(clean.getKey(), clean.getValue())) {
-          cleanContinues.onClean(1);
-          modified = true;
+        final Lock l = REGISTER_ID_LOCKS.get(clean.getKey());
+        l.lock();
+        try {
+          if (removeEnvelope(clean.getKey(), clean.getValue())) {
+            cleanContinues.onClean(1);
+            modified = true;
+          }
+        } finally {
+          l.unlock();
         }
       }
-      return modified ? updateVersion() : null;
+      return modified ? nextVersion() : null;
     } finally {
-      lock.writeLock().unlock();
+      lock.readLock().unlock();
     }
   }
 
   DatumVersion remove(ProcessId sessionProcessId, Map<String, RegisterVersion> removedPublishers) {
+    return remove(sessionProcessId, removedPublishers, null);
+  }
+
+  DatumVersion remove(
+      ProcessId sessionProcessId,
+      Map<String, RegisterVersion> removedPublishers,
+      PublisherJournal journal) {
     sessionProcessId = ProcessIdCache.cache(sessionProcessId);
     if (MapUtils.isEmpty(removedPublishers)) {
       return null;
     }
-    lock.writeLock().lock();
+    lock.readLock().lock();
     try {
+      if (journal != null) {
+        final List<Lock> locks = lockRegisterIds(removedPublishers.keySet());
+        try {
+          boolean modified = false;
+          for (Map.Entry<String, RegisterVersion> e : removedPublishers.entrySet()) {
+            if (tryRemovePublisher(sessionProcessId, e.getKey(), e.getValue())) {
+              modified = true;
+            }
+          }
+          if (!modified) {
+            return null;
+          }
+          synchronized (this) {
+            final DatumVersion version = nextVersion();
+            journal.onRemove(dataInfoId, sessionProcessId, removedPublishers, version);
+            return version;
+          }
+        } finally {
+          unlockRegisterIds(locks);
+        }
+      }
       boolean modified = false;
       for (Map.Entry<String, RegisterVersion> e : removedPublishers.entrySet()) {
-        final String registerId = e.getKey();
-        final RegisterVersion removedVer = e.getValue();
-
-        final PublisherEnvelope existing = pubMap.get(registerId);
-        if (existing == null || !existing.isPub()) {
-          // the removedPublishers is from pubMap, but now notExist/unpub/pubByOtherSession
-          continue;
-        }
-        // remove the existing <= removedVer
-        if (existing.registerVersion.equals(removedVer)
-            || existing.registerVersion.orderThan(removedVer)) {
-          // sync from leader
-          if (sessionProcessId == null) {
-            pubMap.remove(registerId);
+        final Lock l = REGISTER_ID_LOCKS.get(e.getKey());
+        l.lock();
+        try {
+          if (tryRemovePublisher(sessionProcessId, e.getKey(), e.getValue())) {
             modified = true;
-            continue;
           }
-          if (sessionProcessId.equals(existing.sessionProcessId)) {
-            // syn from session, mark unpub with higher registerTimestamp
-            pubMap.put(
-                registerId,
-                PublisherEnvelope.unpubOf(removedVer.incrRegisterTimestamp(), sessionProcessId));
-            modified = true;
-          } else {
-            LOGGER.warn(
-                "[RemovePidModified] {}, {}, exist={}/{}, expect={}/{}",
-                dataInfoId,
-                registerId,
-                existing.registerVersion,
-                existing.sessionProcessId,
-                removedVer,
-                sessionProcessId);
-          }
-        } else {
-          // the item has modified after diff, ignored
-          LOGGER.warn(
-              "[RemoveVerModified] {}, {}, exist={}, expect={}",
-              dataInfoId,
-              registerId,
-              existing.registerVersion,
-              removedVer);
+        } finally {
+          l.unlock();
         }
       }
-      return modified ? updateVersion() : null;
+      return modified ? nextVersion() : null;
     } finally {
-      lock.writeLock().unlock();
+      lock.readLock().unlock();
     }
   }
 
+  private boolean tryRemovePublisher(
+      ProcessId sessionProcessId, String registerId, RegisterVersion removedVer) {
+    final PublisherEnvelope existing = pubMap.get(registerId);
+    if (existing == null || !existing.isPub()) {
+      // the removedPublishers is from pubMap, but now notExist/unpub/pubByOtherSession
+      return false;
+    }
+    // remove the existing <= removedVer
+    if (existing.registerVersion.equals(removedVer)
+        || existing.registerVersion.orderThan(removedVer)) {
+      // sync from leader
+      if (sessionProcessId == null) {
+        removeEnvelope(registerId);
+        return true;
+      }
+      if (sessionProcessId.equals(existing.sessionProcessId)) {
+        // syn from session, mark unpub with higher registerTimestamp
+        putEnvelope(
+            registerId,
+            PublisherEnvelope.unpubOf(removedVer.incrRegisterTimestamp(), sessionProcessId));
+        return true;
+      }
+      LOGGER.warn(
+          "[RemovePidModified] {}, {}, exist={}/{}, expect={}/{}",
+          dataInfoId,
+          registerId,
+          existing.registerVersion,
+          existing.sessionProcessId,
+          removedVer,
+          sessionProcessId);
+    } else {
+      // the item has modified after diff, ignored
+      LOGGER.warn(
+          "[RemoveVerModified] {}, {}, exist={}, expect={}",
+          dataInfoId,
+          registerId,
+          existing.registerVersion,
+          removedVer);
+    }
+    return false;
+  }
+
   DatumVersion put(List<Publisher> puts) {
+    return put(puts, null);
+  }
+
+  DatumVersion put(List<Publisher> puts, PublisherJournal journal) {
     for (Publisher p : puts) {
       ParaCheckUtil.checkNotNull(p.getSessionProcessId(), "publisher.sessionProcessId");
       ParaCheckUtil.checkEquals(p.getDataInfoId(), dataInfoId, "publisher.dataInfoId");
       p.setSessionProcessId(ProcessIdCache.cache(p.getSessionProcessId()));
     }
-    lock.writeLock().lock();
+    lock.readLock().lock();
     try {
+      if (journal != null) {
+        final List<String> registerIds = new ArrayList<>(puts.size());
+        for (Publisher p : puts) {
+          registerIds.add(p.getRegisterId());
+        }
+        final List<Lock> locks = lockRegisterIds(registerIds);
+        try {
+          boolean modified = false;
+          for (Publisher publisher : puts) {
+            if (tryAddPublisher(publisher)) {
+              modified = true;
+            }
+          }
+          if (!modified) {
+            return null;
+          }
+          synchronized (this) {
+            final DatumVersion version = nextVersion();
+            journal.onPut(dataInfoId, puts, version);
+            return version;
+          }
+        } finally {
+          unlockRegisterIds(locks);
+        }
+      }
       boolean modified = false;
       for (Publisher publisher : puts) {
-        if (tryAddPublisher(publisher)) {
+        if (tryAddPublisherLocked(publisher)) {
           modified = true;
         }
       }
       if (modified) {
-        return updateVersion();
+        return nextVersion();
       }
       return null;
     } finally {
-      lock.writeLock().unlock();
+      lock.readLock().unlock();
     }
   }
 
@@ -429,6 +697,7 @@ public final class PublisherGroup {
 
   int compact(long tombstoneTimestamp) {
     // compact not modify the version, no need to lock
+    // the unpub is not indexed by connectIdIndex and bucketDigest, no need to update them
     int count = 0;
     Map<String, PublisherEnvelope> compacts = Maps.newHashMap();
     for (Map.Entry<String, PublisherEnvelope> e : pubMap.entrySet()) {
@@ -440,6 +709,7 @@ public final class PublisherGroup {
 
     for (Map.Entry<String, PublisherEnvelope> compact : compacts.entrySet()) {
       if (pubMap.remove(compact.getKey(), compact.getValue())) {
+        modCount.incrementAndGet();
         count++;
       }
     }
@@ -461,4 +731,32 @@ public final class PublisherGroup {
     return StringFormatter.format(
         "PubGroup{{},size={},ver={}}", dataInfoId, pubMap.size(), version);
   }
+
+  private static final class Snapshot {
+    final long modCount;
+    final long version;
+    // hold the envelopes, the compact publishers are materialized when read
+    final List<PublisherEnvelope> envelopes;
+    final List<Long> recentVersions;
+
+    Snapshot(
+        long modCount, long version, List<PublisherEnvelope> envelopes, List<Long> recentVersions) {
+      this.modCount = modCount;
+      this.version = version;
+      this.envelopes = envelopes;
+      this.recentVersions = recentVersions;
+    }
+
+    boolean isLatest(long modCount, long version) {
+      return this.modCount == modCount && this.version == version;
+    }
+
+    List<Publisher> publishers() {
+      List<Publisher> list = new ArrayList<>(envelopes.size());
+      for (PublisherEnvelope envelope : envelopes) {
+        list.add(envelope.getPublisher());
+      }
+      return list;
+    }
+  }
 }
@@ -22,14 +22,19 @@ import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunction;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.util.StringFormatter;
 import com.google.common.collect.Maps;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import org.glassfish.jersey.internal.guava.Sets;
 import org.springframework.util.CollectionUtils;
 
@@ -40,9 +45,21 @@ import org.springframework.util.CollectionUtils;
 public final class PublisherGroups {
   private final Map<String, PublisherGroup> publisherGroupMap = Maps.newConcurrentMap();
   private final String dataCenter;
+  private final ConnectIdIndex connectIdIndex = new ConnectIdIndex();
+  private final PublisherBucketDigest bucketDigest = new PublisherBucketDigest();
+  private final boolean compact;
+
+  // increases on every change of the groups, not less than the datum versions of the groups, so it
+  // keeps increasing after the groups split or merged
+  private final AtomicLong slotVersion = new AtomicLong();
 
   PublisherGroups(String dataCenter) {
+    this(dataCenter, false);
+  }
+
+  PublisherGroups(String dataCenter, boolean compact) {
     this.dataCenter = dataCenter;
+    this.compact = compact;
   }
 
   Datum getDatum(String dataInfoId) {
@@ -72,6 +89,29 @@ public final class PublisherGroups {
     return ret;
   }
 
+  /** the change counter of the groups, increases if any datum changes */
+  long getSlotVersion() {
+    return slotVersion.get();
+  }
+
+  private DatumVersion onChange(DatumVersion version) {
+    if (version != null) {
+      onChange(version.getValue());
+    }
+    return version;
+  }
+
+  private Map<String, DatumVersion> onChange(Map<String, DatumVersion> versions) {
+    for (DatumVersion version : versions.values()) {
+      onChange(version.getValue());
+    }
+    return versions;
+  }
+
+  private void onChange(long datumVersion) {
+    slotVersion.accumulateAndGet(datumVersion, (cur, v) -> Math.max(cur + 1, v));
+  }
+
   Map<String, Datum> getAllDatum() {
     Map<String, Datum> map = Maps.newHashMapWithExpectedSize(publisherGroupMap.size());
     publisherGroupMap.forEach(
@@ -96,47 +136,111 @@ public final class PublisherGroups {
     return map;
   }
 
+  /** walk the publishers without materializing, the requestRate is not counted here */
+  SlotLoad getLoad() {
+    int pubCount = 0;
+    long bytes = 0;
+    for (PublisherGroup group : publisherGroupMap.values()) {
+      for (PublisherEnvelope envelope : group.pubMap.values()) {
+        if (envelope.isPub()) {
+          pubCount++;
+          bytes += envelope.dataBytes();
+        }
+      }
+    }
+    return new SlotLoad(pubCount, bytes, 0);
+  }
+
   Map<String, Publisher> getByConnectId(ConnectId connectId) {
+    final Map<String, Set<String>> registerIds = connectIdIndex.get(connectId);
+    if (registerIds.isEmpty()) {
+      return Collections.emptyMap();
+    }
     Map<String, Publisher> map = Maps.newHashMapWithExpectedSize(64);
-    publisherGroupMap.values().forEach(v -> map.putAll(v.getByConnectId(connectId)));
+    for (Map.Entry<String, Set<String>> e : registerIds.entrySet()) {
+      PublisherGroup group = publisherGroupMap.get(e.getKey());
+      if (group != null) {
+        map.putAll(group.getByConnectId(connectId, e.getValue()));
+      }
+    }
     return map;
   }
 
   PublisherGroup createGroupIfAbsent(String dataInfoId) {
+    PublisherGroup group = publisherGroupMap.get(dataInfoId);
+    if (group != null) {
+      return group;
+    }
     return publisherGroupMap.computeIfAbsent(
-        dataInfoId, k -> new PublisherGroup(dataInfoId, dataCenter));
+        dataInfoId,
+        k -> {
+          PublisherGroup g =
+              new PublisherGroup(dataInfoId, dataCenter, connectIdIndex, bucketDigest, compact);
+          onChange(g.getVersion());
+          return g;
+        });
   }
 
   Map<String, DatumVersion> clean(ProcessId sessionProcessId, CleanContinues cleanContinues) {
+    return clean(sessionProcessId, cleanContinues, null);
+  }
+
+  Map<String, DatumVersion> clean(
+      ProcessId sessionProcessId, CleanContinues cleanContinues, PublisherJournal journal) {
     Map<String, DatumVersion> versionMap = Maps.newHashMapWithExpectedSize(64);
+    if (sessionProcessId != null) {
+      // only visit the groups which have the pubs of the processId
+      for (String dataInfoId : connectIdIndex.get(sessionProcessId).keySet()) {
+        PublisherGroup g = publisherGroupMap.get(dataInfoId);
+        DatumVersion ver = g == null ? null : g.clean(sessionProcessId, cleanContinues, journal);
+        if (ver != null) {
+          versionMap.put(g.dataInfoId, ver);
+        }
+      }
+      return onChange(versionMap);
+    }
     for (PublisherGroup g : publisherGroupMap.values()) {
       DatumVersion ver = g.clean(sessionProcessId, cleanContinues);
       if (ver != null) {
         versionMap.put(g.dataInfoId, ver);
       }
     }
-    return versionMap;
+    return onChange(versionMap);
   }
 
   DatumVersion remove(String dataInfoId, ProcessId sessionProcessId) {
     PublisherGroup group = publisherGroupMap.get(dataInfoId);
-    return group == null ? null : group.clean(sessionProcessId, CleanContinues.ALWAYS);
+    return group == null ? null : onChange(group.clean(sessionProcessId, CleanContinues.ALWAYS));
   }
 
   DatumVersion put(String dataInfoId, List<Publisher> publishers) {
+    return put(dataInfoId, publishers, null);
+  }
+
+  DatumVersion put(String dataInfoId, List<Publisher> publishers, PublisherJournal journal) {
     if (CollectionUtils.isEmpty(publishers)) {
       return null;
     }
     PublisherGroup group = createGroupIfAbsent(dataInfoId);
-    return group.put(publishers);
+    return onChange(group.put(publishers, journal));
   }
 
   DatumVersion remove(
       String dataInfoId,
       ProcessId sessionProcessId,
       Map<String, RegisterVersion> removedPublishers) {
+    return remove(dataInfoId, sessionProcessId, removedPublishers, null);
+  }
+
+  DatumVersion remove(
+      String dataInfoId,
+      ProcessId sessionProcessId,
+      Map<String, RegisterVersion> removedPublishers,
+      PublisherJournal journal) {
     PublisherGroup group = publisherGroupMap.get(dataInfoId);
-    return group == null ? null : group.remove(sessionProcessId, removedPublishers);
+    return group == null
+        ? null
+        : onChange(group.remove(sessionProcessId, removedPublishers, journal));
   }
 
   Map<String, Map<String, DatumSummary>> getSummary(Set<String> sessions) {
@@ -162,6 +266,10 @@ public final class PublisherGroups {
     return summaries;
   }
 
+  DataSlotBucketDigest getBucketDigest() {
+    return bucketDigest.snapshot();
+  }
+
   Map<String, DatumSummary> getAllSummary() {
     Map<String, DatumSummary> summaries = Maps.newHashMap();
     publisherGroupMap.forEach(
@@ -210,7 +318,7 @@ public final class PublisherGroups {
         ret.put(g.dataInfoId, v);
       }
     }
-    return ret;
+    return onChange(ret);
   }
 
   DatumVersion updateVersion(String dataInfoId) {
@@ -218,7 +326,47 @@ public final class PublisherGroups {
     if (group == null) {
       return null;
     }
-    return group.updateVersion();
+    return onChange(group.updateVersion());
+  }
+
+  /**
+   * move the groups which belong to other slots under the split func out of this, the groups keep
+   * the publishers and versions
+   *
+   * @return slotId -> the groups moved to the slot
+   */
+  Map<Integer, PublisherGroups> split(SlotFunction func, int slotId) {
+    final Map<Integer, PublisherGroups> children = Maps.newHashMap();
+    for (PublisherGroup group : publisherGroupMap.values()) {
+      final int childSlotId = func.slotOf(group.dataInfoId);
+      if (childSlotId == slotId) {
+        continue;
+      }
+      final PublisherGroups child =
+          children.computeIfAbsent(childSlotId, k -> new PublisherGroups(dataCenter, compact));
+      child.adopt(group);
+      publisherGroupMap.remove(group.dataInfoId);
+    }
+    // the child slot starts after the parent, not less than the version before the last merge
+    final long version = slotVersion.get();
+    children.values().forEach(child -> child.onChange(version));
+    if (!children.isEmpty()) {
+      onChange(version);
+    }
+    return children;
+  }
+
+  /** move all the groups of the other into this */
+  PublisherGroups merge(PublisherGroups other) {
+    other.publisherGroupMap.values().forEach(this::adopt);
+    onChange(other.slotVersion.get());
+    return this;
+  }
+
+  private void adopt(PublisherGroup group) {
+    group.rebind(connectIdIndex, bucketDigest);
+    publisherGroupMap.put(group.dataInfoId, group);
+    onChange(group.getVersion());
   }
 
   @Override
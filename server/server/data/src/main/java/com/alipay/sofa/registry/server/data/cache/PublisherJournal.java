@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * the journal of the mutations of the publisherGroups, called under the locks of the mutated
+ * registerIds and with the new version of the dataInfoId, so the mutations of the same registerId
+ * are journaled in the order they applied and the versions of the same dataInfoId are increasing
+ */
+interface PublisherJournal {
+
+  void onPut(String dataInfoId, List<Publisher> publishers, DatumVersion version);
+
+  /** @param sessionProcessId null if the publishers are removed without the tombstone */
+  void onRemove(
+      String dataInfoId,
+      ProcessId sessionProcessId,
+      Map<String, RegisterVersion> removedPublishers,
+      DatumVersion version);
+}
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.server.data.change;
 
 import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
 
 public final class ChangeMetrics {
   private ChangeMetrics() {}
@@ -41,6 +42,28 @@ public final class ChangeMetrics {
 
   static final Counter.Child CHANGE_FAIL_COUNTER = CHANGE_COUNTER_.labels("fail");
   static final Counter.Child CHANGE_SUCCESS_COUNTER = CHANGE_COUNTER_.labels("success");
+  // the pending items of the disconnected session
+  static final Counter.Child CHANGE_DROP_COUNTER = CHANGE_COUNTER_.labels("drop");
+
+  // the num of dataInfoIds in one notify when adaptive batch
+  static final Histogram CHANGE_BATCH_SIZE_HISTOGRAM =
+      Histogram.build()
+          .exponentialBuckets(1, 2, 12)
+          .namespace("data")
+          .subsystem("change")
+          .name("notify_batch_size")
+          .help("notify batch size")
+          .register();
+
+  // from the first pending change to the session acked, in millis
+  static final Histogram CHANGE_NOTIFY_LATENCY_HISTOGRAM =
+      Histogram.build()
+          .exponentialBuckets(10, 2, 12)
+          .namespace("data")
+          .subsystem("change")
+          .name("notify_latency")
+          .help("notify latency millis")
+          .register();
 
   // should not use
   private static final Counter CHANGE_TEMP_COUNTER_ =
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.change;
+
+import com.alipay.sofa.registry.common.model.TraceTimes;
+import com.alipay.sofa.registry.common.model.Tuple;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.util.CollectionUtils;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * merge the pending changes of a session into one request, the request is flushed when the pending
+ * items reach the limit or the pending changes wait too long. the wait is sized by the ack latency
+ * of the session and the pending items, at most one request is in flight for a session
+ */
+final class ChangeNotifyBatcher {
+  // the weight of the newest ack latency in the ewma
+  private static final double ACK_LATENCY_ALPHA = 0.2;
+
+  private final Map<Tuple<String, String>, SessionBatch> batches = Maps.newConcurrentMap();
+
+  /** the changes of a session in the dataCenter */
+  static final class SessionBatch {
+    final String dataCenter;
+    final String sessionAddress;
+    private List<Channel> channels;
+    private Map<String, DatumVersion> pending = Maps.newHashMap();
+    private TraceTimes times;
+    private long firstPendingTs;
+    private boolean inflight;
+    private long flushTs;
+    private volatile long ackLatencyMillis;
+
+    SessionBatch(String dataCenter, String sessionAddress) {
+      this.dataCenter = dataCenter;
+      this.sessionAddress = sessionAddress;
+    }
+
+    synchronized void add(
+        List<Channel> channels, Map<String, DatumVersion> changes, TraceTimes times, long now) {
+      this.channels = channels;
+      for (Map.Entry<String, DatumVersion> e : changes.entrySet()) {
+        DatumVersion exist = pending.get(e.getKey());
+        if (exist == null || exist.getValue() < e.getValue().getValue()) {
+          pending.put(e.getKey(), e.getValue());
+        }
+      }
+      if (this.times == null || times.beforeThan(this.times)) {
+        this.times = times;
+      }
+      if (firstPendingTs == 0) {
+        firstPendingTs = now;
+      }
+    }
+
+    synchronized NotifyBatch take(
+        long now, int maxItems, long minDelayMillis, long maxDelayMillis) {
+      if (inflight || pending.isEmpty()) {
+        return null;
+      }
+      final int size = pending.size();
+      if (size < maxItems
+          && now - firstPendingTs < delayMillis(size, maxItems, minDelayMillis, maxDelayMillis)) {
+        return null;
+      }
+      final Channel channel = CollectionUtils.getRandom(channels);
+      if (channel == null) {
+        return null;
+      }
+      Map<String, DatumVersion> changes;
+      if (size <= maxItems) {
+        changes = pending;
+        pending = Maps.newHashMap();
+      } else {
+        changes = Maps.newHashMapWithExpectedSize(maxItems);
+        Iterator<Map.Entry<String, DatumVersion>> it = pending.entrySet().iterator();
+        while (it.hasNext() && changes.size() < maxItems) {
+          Map.Entry<String, DatumVersion> e = it.next();
+          changes.put(e.getKey(), e.getValue());
+          it.remove();
+        }
+      }
+      final NotifyBatch batch = new NotifyBatch(this, channel, changes, times, firstPendingTs);
+      if (pending.isEmpty()) {
+        times = null;
+        firstPendingTs = 0;
+      }
+      inflight = true;
+      flushTs = now;
+      return batch;
+    }
+
+    /**
+     * the ack latency is the cost to handle one request of the session, waiting about one ack could
+     * merge more changes without adding much latency. the more pending, the less waiting
+     */
+    long delayMillis(int size, int maxItems, long minDelayMillis, long maxDelayMillis) {
+      final long delay = ackLatencyMillis * (maxItems - size) / maxItems;
+      return Math.min(maxDelayMillis, Math.max(minDelayMillis, delay));
+    }
+
+    synchronized void done(long now, boolean acked) {
+      if (acked) {
+        final long latency = now - flushTs;
+        ackLatencyMillis =
+            (long) (ACK_LATENCY_ALPHA * latency + (1 - ACK_LATENCY_ALPHA) * ackLatencyMillis);
+      }
+      inflight = false;
+    }
+
+    synchronized void rollback(NotifyBatch batch) {
+      // the changes not sent, merge them back, the newer version wins
+      add(channels, batch.changes, batch.times, batch.firstPendingTs);
+      if (firstPendingTs > batch.firstPendingTs) {
+        firstPendingTs = batch.firstPendingTs;
+      }
+      inflight = false;
+    }
+
+    synchronized int pendingSize() {
+      return pending.size();
+    }
+
+    long getAckLatencyMillis() {
+      return ackLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format(
+          "SessionBatch{{},{},pending={},ackLatency={}}",
+          dataCenter,
+          sessionAddress,
+          pendingSize(),
+          ackLatencyMillis);
+    }
+  }
+
+  /** the changes flushed from a SessionBatch, send as one request */
+  static final class NotifyBatch {
+    final SessionBatch session;
+    final Channel channel;
+    final Map<String, DatumVersion> changes;
+    final TraceTimes times;
+    final long firstPendingTs;
+
+    NotifyBatch(
+        SessionBatch session,
+        Channel channel,
+        Map<String, DatumVersion> changes,
+        TraceTimes times,
+        long firstPendingTs) {
+      this.session = session;
+      this.channel = channel;
+      this.changes = changes;
+      this.times = times;
+      this.firstPendingTs = firstPendingTs;
+    }
+  }
+
+  void add(
+      String dataCenter,
+      String sessionAddress,
+      List<Channel> channels,
+      Map<String, DatumVersion> changes,
+      TraceTimes times,
+      long now) {
+    SessionBatch batch =
+        batches.computeIfAbsent(
+            Tuple.of(dataCenter, sessionAddress),
+            k -> new SessionBatch(dataCenter, sessionAddress));
+    batch.add(channels, changes, times, now);
+  }
+
+  List<NotifyBatch> takeReady(long now, int maxItems, long minDelayMillis, long maxDelayMillis) {
+    List<NotifyBatch> ready = Lists.newArrayList();
+    for (SessionBatch batch : batches.values()) {
+      NotifyBatch notify = batch.take(now, maxItems, minDelayMillis, maxDelayMillis);
+      if (notify != null) {
+        ready.add(notify);
+      }
+    }
+    return ready;
+  }
+
+  /** remove the sessions which are disconnected, returns the num of the dropped pending items */
+  int retainSessions(Collection<String> sessionAddresses) {
+    int dropped = 0;
+    Iterator<SessionBatch> it = batches.values().iterator();
+    while (it.hasNext()) {
+      SessionBatch batch = it.next();
+      if (!sessionAddresses.contains(batch.sessionAddress)) {
+        dropped += batch.pendingSize();
+        it.remove();
+      }
+    }
+    return dropped;
+  }
+
+  @VisibleForTesting
+  SessionBatch getSessionBatch(String dataCenter, String sessionAddress) {
+    return batches.get(Tuple.of(dataCenter, sessionAddress));
+  }
+}
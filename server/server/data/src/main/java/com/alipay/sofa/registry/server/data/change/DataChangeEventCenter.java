@@ -33,8 +33,11 @@ import com.alipay.sofa.registry.remoting.Server;
 import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.journal.DataAuditJournal;
+import com.alipay.sofa.registry.server.shared.journal.AuditType;
 import com.alipay.sofa.registry.server.shared.util.DatumUtils;
 import com.alipay.sofa.registry.task.FastRejectedExecutionException;
+import com.alipay.sofa.registry.task.HashedTimingWheel;
 import com.alipay.sofa.registry.task.KeyedThreadPoolExecutor;
 import com.alipay.sofa.registry.util.CollectionUtils;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
@@ -63,15 +66,24 @@ public class DataChangeEventCenter {
 
   @Autowired private Exchange boltExchange;
 
+  @Autowired(required = false)
+  private DataAuditJournal dataAuditJournal;
+
   private final Map<String, DataChangeMerger> dataCenter2Changes = Maps.newConcurrentMap();
   private final ReadWriteLock lock = new ReentrantReadWriteLock();
-  private final LinkedList<ChangeNotifierRetry> retryNotifiers = Lists.newLinkedList();
+  // the retries wait on the timing wheel, the expired one is committed to the notifyExecutor
+  private final HashedTimingWheel retryTimer =
+      new HashedTimingWheel("ChangeRetryTimer", 50, TimeUnit.MILLISECONDS, 512);
+  // ordered by the commit, the oldest is evicted when full
+  private final LinkedHashMap<ChangeNotifier, HashedTimingWheel.Timeout> retryNotifiers =
+      new LinkedHashMap<>();
 
   private final Map<String, Map<String, Datum>> dataCenter2TempChanges = Maps.newConcurrentMap();
   private final ReadWriteLock tempLock = new ReentrantReadWriteLock();
 
   private final TempChangeMerger tempChangeMerger = new TempChangeMerger();
   private final ChangeMerger changeMerger = new ChangeMerger();
+  private final ChangeNotifyBatcher notifyBatcher = new ChangeNotifyBatcher();
 
   private KeyedThreadPoolExecutor notifyExecutor;
   private KeyedThreadPoolExecutor notifyTempExecutor;
@@ -150,16 +162,6 @@ public class DataChangeEventCenter {
     }
   }
 
-  private final class ChangeNotifierRetry {
-    final ChangeNotifier notifier;
-    final long expireTimestamp;
-
-    ChangeNotifierRetry(ChangeNotifier notifier, long expireTimestamp) {
-      this.notifier = notifier;
-      this.expireTimestamp = expireTimestamp;
-    }
-  }
-
   final class ChangeNotifier implements Runnable {
     final Channel channel;
     final String dataCenter;
@@ -168,6 +170,9 @@ public class DataChangeEventCenter {
 
     volatile int retryCount;
 
+    // not null if the notifier is flushed by the batcher, the retry is not tracked by the batcher
+    volatile ChangeNotifyBatcher.NotifyBatch batch;
+
     private ChangeNotifier(
         Channel channel,
         String dataCenter,
@@ -182,6 +187,9 @@ public class DataChangeEventCenter {
 
     @Override
     public void run() {
+      final ChangeNotifyBatcher.NotifyBatch b = this.batch;
+      this.batch = null;
+      boolean acked = false;
       try {
         if (!channel.isConnected()) {
           CHANGE_FAIL_COUNTER.inc();
@@ -191,12 +199,17 @@ public class DataChangeEventCenter {
         DataChangeRequest request = new DataChangeRequest(dataCenter, dataInfoIds, times);
         request.getTimes().setDatumNotifySend(System.currentTimeMillis());
         doNotify(request, channel);
+        acked = true;
         LOGGER.info("success to notify {}, {}", channel.getRemoteAddress(), this);
         CHANGE_SUCCESS_COUNTER.inc();
       } catch (Throwable e) {
         CHANGE_FAIL_COUNTER.inc();
         LOGGER.error("failed to notify {}, {}", channel, this, e);
         retry(this);
+      } finally {
+        if (b != null) {
+          onBatchDone(b, acked);
+        }
       }
     }
 
@@ -234,32 +247,40 @@ public class DataChangeEventCenter {
 
   boolean commitRetry(ChangeNotifier retry) {
     final int maxSize = dataServerConfig.getNotifyRetryQueueSize();
-    final long expireTimestamp =
-        System.currentTimeMillis() + dataServerConfig.getNotifyRetryBackoffMillis();
     synchronized (retryNotifiers) {
-      if (retryNotifiers.size() >= maxSize) {
-        // remove first
-        retryNotifiers.removeFirst();
+      final Iterator<Map.Entry<ChangeNotifier, HashedTimingWheel.Timeout>> it =
+          retryNotifiers.entrySet().iterator();
+      while (retryNotifiers.size() >= maxSize && it.hasNext()) {
+        // remove first, the expire of the evicted is skipped as it is not in the map
+        final Map.Entry<ChangeNotifier, HashedTimingWheel.Timeout> oldest = it.next();
+        it.remove();
+        oldest.getValue().cancel();
+        CHANGE_SKIP_COUNTER.inc();
+        LOGGER.warn("evict retry of full, {}", oldest.getKey());
       }
-      retryNotifiers.add(new ChangeNotifierRetry(retry, expireTimestamp));
+      // the expire waits the lock, the timeout is put into the map before it expires
+      retryNotifiers.put(
+          retry,
+          retryTimer.schedule(
+              () -> {
+                synchronized (retryNotifiers) {
+                  if (retryNotifiers.remove(retry) == null) {
+                    return;
+                  }
+                }
+                handleExpire(retry);
+              },
+              dataServerConfig.getNotifyRetryBackoffMillis(),
+              TimeUnit.MILLISECONDS));
     }
     return true;
   }
 
-  List<ChangeNotifier> getExpires() {
-    final List<ChangeNotifier> expires = Lists.newLinkedList();
-    final long now = System.currentTimeMillis();
+  @VisibleForTesting
+  int getRetrySize() {
     synchronized (retryNotifiers) {
-      final Iterator<ChangeNotifierRetry> it = retryNotifiers.iterator();
-      while (it.hasNext()) {
-        ChangeNotifierRetry retry = it.next();
-        if (retry.expireTimestamp <= now) {
-          expires.add(retry.notifier);
-          it.remove();
-        }
-      }
+      return retryNotifiers.size();
     }
-    return expires;
   }
 
   private void notifyTempPub(Channel channel, Datum datum) {
@@ -345,6 +366,27 @@ public class DataChangeEventCenter {
     }
   }
 
+  private Map<String, DatumVersion> getChangeVersions(DataChangeEvent event) {
+    final Map<String, DatumVersion> changes =
+        Maps.newHashMapWithExpectedSize(event.getDataInfoIds().size());
+    final String dataCenter = event.getDataCenter();
+    for (String dataInfoId : event.getDataInfoIds()) {
+      DatumVersion datumVersion = datumCache.getVersion(dataCenter, dataInfoId);
+      if (datumVersion != null) {
+        changes.put(dataInfoId, datumVersion);
+      }
+    }
+    for (Map.Entry<String, DatumVersion> entry : changes.entrySet()) {
+      if (dataAuditJournal != null
+          && dataAuditJournal.append(
+              AuditType.CHANGE, -1, entry.getKey(), null, 0, 0, entry.getValue())) {
+        continue;
+      }
+      LOGGER.info("datum change notify: {},{}", entry.getKey(), entry.getValue());
+    }
+    return changes;
+  }
+
   boolean handleChanges(Map<String, List<Channel>> channelsMap) {
     // first clean the event
     final int maxItems = dataServerConfig.getNotifyMaxItems();
@@ -357,21 +399,10 @@ public class DataChangeEventCenter {
       return false;
     }
     for (DataChangeEvent event : events) {
-      final Map<String, DatumVersion> changes =
-          Maps.newHashMapWithExpectedSize(event.getDataInfoIds().size());
-      final String dataCenter = event.getDataCenter();
-      for (String dataInfoId : event.getDataInfoIds()) {
-        DatumVersion datumVersion = datumCache.getVersion(dataCenter, dataInfoId);
-        if (datumVersion != null) {
-          changes.put(dataInfoId, datumVersion);
-        }
-      }
+      final Map<String, DatumVersion> changes = getChangeVersions(event);
       if (changes.isEmpty()) {
         continue;
       }
-      for (Map.Entry<String, DatumVersion> entry : changes.entrySet()) {
-        LOGGER.info("datum change notify: {},{}", entry.getKey(), entry.getValue());
-      }
       for (Map.Entry<String, List<Channel>> entry : channelsMap.entrySet()) {
         Channel channel = CollectionUtils.getRandom(entry.getValue());
         try {
@@ -391,26 +422,87 @@ public class DataChangeEventCenter {
     return true;
   }
 
-  void handleExpire() {
-    final List<ChangeNotifier> retries = getExpires();
-    // commit retry
-    for (ChangeNotifier retry : retries) {
+  /**
+   * merge the events into the pending batch of every session, and flush the batches which are full
+   * or wait long enough
+   */
+  boolean handleChangesAdaptive(Map<String, List<Channel>> channelsMap) {
+    final int maxItems = dataServerConfig.getNotifyMaxItems();
+    final List<DataChangeEvent> events = transferChangeEvent(maxItems);
+    final int dropped = notifyBatcher.retainSessions(channelsMap.keySet());
+    if (dropped != 0) {
+      CHANGE_DROP_COUNTER.inc(dropped);
+      LOGGER.warn("drop pending changes of closed sessions, {}", dropped);
+    }
+    if (!events.isEmpty() && channelsMap.isEmpty()) {
+      LOGGER.error("session conn is empty when change");
+      return false;
+    }
+    final long now = System.currentTimeMillis();
+    for (DataChangeEvent event : events) {
+      final Map<String, DatumVersion> changes = getChangeVersions(event);
+      if (changes.isEmpty()) {
+        continue;
+      }
+      for (Map.Entry<String, List<Channel>> entry : channelsMap.entrySet()) {
+        notifyBatcher.add(
+            event.getDataCenter(),
+            entry.getKey(),
+            entry.getValue(),
+            changes,
+            event.getTraceTimes(),
+            now);
+      }
+    }
+    final List<ChangeNotifyBatcher.NotifyBatch> batches =
+        notifyBatcher.takeReady(
+            now,
+            maxItems,
+            dataServerConfig.getNotifyAdaptiveMinDelayMillis(),
+            dataServerConfig.getNotifyAdaptiveMaxDelayMillis());
+    for (ChangeNotifyBatcher.NotifyBatch batch : batches) {
+      ChangeNotifier notifier =
+          new ChangeNotifier(batch.channel, batch.session.dataCenter, batch.changes, batch.times);
+      notifier.batch = batch;
       try {
-        notifyExecutor.execute(retry.channel.getRemoteAddress(), retry);
+        notifyExecutor.execute(batch.channel.getRemoteAddress(), notifier);
         CHANGE_COMMIT_COUNTER.inc();
+        CHANGE_BATCH_SIZE_HISTOGRAM.observe(batch.changes.size());
       } catch (FastRejectedExecutionException e) {
-        CHANGE_SKIP_COUNTER.inc();
-        LOGGER.warn(
-            "commit retry notify full, {}, {}, {}",
-            retry.channel,
-            retry.dataInfoIds.size(),
-            e.getMessage());
+        batch.session.rollback(batch);
+        LOGGER.warn("commit notify full, {}, {}", batch.session, e.getMessage());
       } catch (Throwable e) {
-        CHANGE_SKIP_COUNTER.inc();
-        LOGGER.error(
-            "commit retry notify failed, {}, {}", retry.channel, retry.dataInfoIds.size(), e);
+        batch.session.rollback(batch);
+        LOGGER.error("commit notify failed, {}", batch.session, e);
       }
     }
+    return !events.isEmpty();
+  }
+
+  private void onBatchDone(ChangeNotifyBatcher.NotifyBatch batch, boolean acked) {
+    final long now = System.currentTimeMillis();
+    batch.session.done(now, acked);
+    if (acked) {
+      CHANGE_NOTIFY_LATENCY_HISTOGRAM.observe(now - batch.firstPendingTs);
+    }
+  }
+
+  void handleExpire(ChangeNotifier retry) {
+    try {
+      notifyExecutor.execute(retry.channel.getRemoteAddress(), retry);
+      CHANGE_COMMIT_COUNTER.inc();
+    } catch (FastRejectedExecutionException e) {
+      CHANGE_SKIP_COUNTER.inc();
+      LOGGER.warn(
+          "commit retry notify full, {}, {}, {}",
+          retry.channel,
+          retry.dataInfoIds.size(),
+          e.getMessage());
+    } catch (Throwable e) {
+      CHANGE_SKIP_COUNTER.inc();
+      LOGGER.error(
+          "commit retry notify failed, {}, {}", retry.channel, retry.dataInfoIds.size(), e);
+    }
   }
 
   List<DataChangeEvent> transferChangeEvent(int maxItems) {
@@ -441,8 +533,11 @@ public class DataChangeEventCenter {
       try {
         Server server = boltExchange.getServer(dataServerConfig.getNotifyPort());
         Map<String, List<Channel>> channelMap = server.selectAllAvailableChannelsForHostAddress();
-        handleChanges(channelMap);
-        handleExpire();
+        if (dataServerConfig.isNotifyAdaptiveBatchEnable()) {
+          handleChangesAdaptive(channelMap);
+        } else {
+          handleChanges(channelMap);
+        }
       } catch (Throwable e) {
         LOGGER.error("failed to merge change", e);
       }
@@ -450,8 +545,12 @@ public class DataChangeEventCenter {
 
     @Override
     public void waitingUnthrowable() {
-      ConcurrentUtils.sleepUninterruptibly(
-          dataServerConfig.getNotifyIntervalMillis(), TimeUnit.MILLISECONDS);
+      // the batches are flushed by their own delay, check them frequently
+      final int interval =
+          dataServerConfig.isNotifyAdaptiveBatchEnable()
+              ? dataServerConfig.getNotifyAdaptiveMinDelayMillis()
+              : dataServerConfig.getNotifyIntervalMillis();
+      ConcurrentUtils.sleepUninterruptibly(interval, TimeUnit.MILLISECONDS);
     }
   }
 
@@ -467,6 +566,11 @@ public class DataChangeEventCenter {
     return changes == null ? Collections.emptyMap() : Maps.newHashMap(changes);
   }
 
+  @VisibleForTesting
+  ChangeNotifyBatcher getNotifyBatcher() {
+    return notifyBatcher;
+  }
+
   @VisibleForTesting
   void setDataServerConfig(DataServerConfig dataServerConfig) {
     this.dataServerConfig = dataServerConfig;
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.journal;
+
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.shared.journal.AuditJournal;
+import com.alipay.sofa.registry.server.shared.journal.AuditType;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.File;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the audit journal of the data server, replaces the INFO log lines of the pub/unpub/off and the
+ * change notify when enabled. decode it with tools/read_audit_journal.sh
+ */
+public class DataAuditJournal {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataAuditJournal.class);
+
+  static final String NAME = "data";
+
+  @Autowired private DataServerConfig dataServerConfig;
+
+  private volatile AuditJournal journal;
+
+  @PostConstruct
+  public boolean init() {
+    if (!dataServerConfig.isAuditJournalEnable()) {
+      LOGGER.info("audit journal off");
+      return false;
+    }
+    AuditJournal j =
+        new AuditJournal(
+            new File(dataServerConfig.getAuditJournalDir()),
+            NAME,
+            dataServerConfig.getAuditJournalFileSizeMB() * 1024 * 1024,
+            dataServerConfig.getAuditJournalFileCount(),
+            dataServerConfig.getAuditJournalQueueSize());
+    try {
+      j.start();
+    } catch (Throwable e) {
+      // fallback to the log lines
+      LOGGER.error(
+          "failed to start audit journal, dir={}", dataServerConfig.getAuditJournalDir(), e);
+      return false;
+    }
+    this.journal = j;
+    return true;
+  }
+
+  @PreDestroy
+  public void close() {
+    final AuditJournal j = journal;
+    if (j != null) {
+      journal = null;
+      j.close();
+    }
+  }
+
+  public boolean isEnabled() {
+    return journal != null;
+  }
+
+  /**
+   * @return false if the journal is disabled or the record is dropped by the full queue, the caller
+   *     should print the log line
+   */
+  public boolean append(
+      AuditType type,
+      int slotId,
+      String dataInfoId,
+      String registerId,
+      long version,
+      long registerTimestamp,
+      DatumVersion datumVersion) {
+    final AuditJournal j = journal;
+    if (j == null) {
+      return false;
+    }
+    return j.append(
+        type,
+        slotId,
+        dataInfoId,
+        registerId,
+        version,
+        registerTimestamp,
+        datumVersion == null ? -1 : datumVersion.getValue());
+  }
+
+  @VisibleForTesting
+  public void setDataServerConfig(DataServerConfig dataServerConfig) {
+    this.dataServerConfig = dataServerConfig;
+  }
+}
@@ -19,7 +19,6 @@ package com.alipay.sofa.registry.server.data.lease;
 import com.alipay.sofa.registry.common.model.ProcessId;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
-import com.alipay.sofa.registry.common.model.slot.SlotConfig;
 import com.alipay.sofa.registry.common.model.store.ProcessIdCache;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
@@ -137,7 +136,7 @@ public final class SessionLeaseManager {
     // make sure the existing processId be clean
     Set<ProcessId> stores = localDatumStorage.getSessionProcessIds();
     final int deadlineMillis = dataServerConfig.getSessionLeaseCleanDeadlineSecs() * 1000;
-    for (int i = 0; i < SlotConfig.SLOT_NUM; i++) {
+    for (int i = 0; i < slotManager.getSlotNums(); i++) {
       if (slotManager.isFollower(i)) {
         LOGGER.info("skip clean for follower, slotId={}", i);
         continue;
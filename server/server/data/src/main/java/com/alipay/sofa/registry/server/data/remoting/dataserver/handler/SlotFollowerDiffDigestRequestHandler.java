@@ -65,7 +65,7 @@ public class SlotFollowerDiffDigestRequestHandler
           calcDiffResult(
               slotId,
               request.getDatumDigest(),
-              localDatumStorage.getPublishers(request.getSlotId()));
+              request.filterBuckets(localDatumStorage.getPublishers(request.getSlotId())));
       result.setSlotTableEpoch(slotManager.getSlotTableEpoch());
       return new GenericResponse().fillSucceed(result);
     } catch (Throwable e) {
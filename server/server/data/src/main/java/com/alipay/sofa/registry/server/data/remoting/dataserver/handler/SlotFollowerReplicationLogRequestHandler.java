@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.dataserver.handler;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogResult;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.slot.SlotManager;
+import com.alipay.sofa.registry.server.data.slot.SlotReplicationLogs;
+import com.alipay.sofa.registry.server.shared.remoting.AbstractServerHandler;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/** the slot leader serves the replication log to the followers */
+public class SlotFollowerReplicationLogRequestHandler
+    extends AbstractServerHandler<SlotReplicationLogRequest> {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(SlotFollowerReplicationLogRequestHandler.class);
+
+  @Autowired private ThreadPoolExecutor slotSyncRequestProcessorExecutor;
+
+  @Autowired private DataServerConfig dataServerConfig;
+
+  @Autowired private SlotManager slotManager;
+
+  @Autowired private SlotReplicationLogs slotReplicationLogs;
+
+  @Override
+  public void checkParam(SlotReplicationLogRequest request) {
+    ParaCheckUtil.checkNonNegative(request.getSlotId(), "request.slotId");
+  }
+
+  @Override
+  public Object doHandle(Channel channel, SlotReplicationLogRequest request) {
+    try {
+      slotManager.triggerUpdateSlotTable(request.getSlotTableEpoch());
+      final int slotId = request.getSlotId();
+      if (!slotManager.isLeader(slotId)) {
+        LOGGER.warn("not leader of {}", slotId);
+        return new GenericResponse().fillFailed("not leader of " + slotId);
+      }
+      final int maxEntries =
+          Math.min(request.getMaxEntries(), dataServerConfig.getSlotReplicationTailMaxEntries());
+      SlotReplicationLogResult result =
+          slotReplicationLogs.read(
+              slotId, request.getSlotLeaderEpoch(), request.getFromSeq(), maxEntries);
+      return new GenericResponse().fillSucceed(result);
+    } catch (Throwable e) {
+      String msg =
+          StringFormatter.format("ReplicationLog request error for slot {}", request.getSlotId());
+      LOGGER.error(msg, e);
+      return new GenericResponse().fillFailed(msg);
+    }
+  }
+
+  @Override
+  protected Node.NodeType getConnectNodeType() {
+    return Node.NodeType.DATA;
+  }
+
+  @Override
+  public Class interest() {
+    return SlotReplicationLogRequest.class;
+  }
+
+  @Override
+  public Object buildFailedResponse(String msg) {
+    return new GenericResponse().fillFailed(msg);
+  }
+
+  @Override
+  public Executor getExecutor() {
+    return slotSyncRequestProcessorExecutor;
+  }
+
+  @VisibleForTesting
+  void setDataServerConfig(DataServerConfig dataServerConfig) {
+    this.dataServerConfig = dataServerConfig;
+  }
+
+  @VisibleForTesting
+  void setSlotManager(SlotManager slotManager) {
+    this.slotManager = slotManager;
+  }
+
+  @VisibleForTesting
+  void setSlotReplicationLogs(SlotReplicationLogs slotReplicationLogs) {
+    this.slotReplicationLogs = slotReplicationLogs;
+  }
+}
@@ -144,6 +144,7 @@ public class MetaServerServiceImpl extends AbstractMetaServerService<BaseHeartBe
 
   @Override
   public void record(SlotTable slotTable) {
-    currentSlotTable = new SlotTable(slotTable.getEpoch(), slotTable.getSlots());
+    currentSlotTable =
+        new SlotTable(slotTable.getEpoch(), slotTable.getSlots(), slotTable.getSlotNum());
   }
 }
@@ -35,6 +35,7 @@ import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DatumStorage;
 import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
 import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
+import com.alipay.sofa.registry.server.data.slot.SlotLoads;
 import com.alipay.sofa.registry.server.data.slot.SlotManager;
 import com.alipay.sofa.registry.server.shared.remoting.AbstractServerHandler;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
@@ -64,6 +65,9 @@ public abstract class AbstractDataHandler<T> extends AbstractServerHandler<T> {
 
   @Autowired protected SessionLeaseManager sessionLeaseManager;
 
+  @Autowired(required = false)
+  private SlotLoads slotLoads;
+
   protected void checkPublisher(Publisher publisher) {
     ParaCheckUtil.checkNotNull(publisher, "publisher");
     ParaCheckUtil.checkNotBlank(publisher.getDataId(), "publisher.dataId");
@@ -113,6 +117,13 @@ public abstract class AbstractDataHandler<T> extends AbstractServerHandler<T> {
     return slotAccess;
   }
 
+  /** count the accepted requests as the load of the slot */
+  protected void recordSlotRequests(int slotId, int count) {
+    if (slotLoads != null) {
+      slotLoads.record(slotId, count);
+    }
+  }
+
   protected void processSessionProcessId(Channel channel, ProcessId sessionProcessId) {
     // the channel is null when caller is xxx-Resource
     if (channel != null) {
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.HandlerMetrics.GetData.*;
+
+import com.alipay.sofa.registry.common.model.dataserver.BatchGetDataRequest;
+import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.slot.SlotAccess;
+import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * processor to get the data of multi dataInfoIds in the same slot, the response only contains the
+ * not nil datum
+ */
+public class BatchGetDataHandler extends AbstractDataHandler<BatchGetDataRequest> {
+  @Autowired private DatumCache datumCache;
+
+  @Autowired private ThreadPoolExecutor getDataProcessorExecutor;
+
+  @Resource private CompressDatumService compressDatumService;
+
+  @Override
+  public Executor getExecutor() {
+    return getDataProcessorExecutor;
+  }
+
+  @Override
+  public void checkParam(BatchGetDataRequest request) {
+    ParaCheckUtil.checkNotEmpty(request.getDataInfoIds(), "BatchGetDataRequest.dataInfoIds");
+    ParaCheckUtil.checkNotBlank(request.getDataCenter(), "BatchGetDataRequest.dataCenter");
+    for (String dataInfoId : request.getDataInfoIds()) {
+      ParaCheckUtil.checkNotBlank(dataInfoId, "BatchGetDataRequest.dataInfoId");
+      ParaCheckUtil.checkEquals(
+          slotManager.slotOf(dataInfoId), request.getSlotId(), "BatchGetDataRequest.slotId");
+    }
+    checkSessionProcessId(request.getSessionProcessId());
+  }
+
+  @Override
+  public Object doHandle(Channel channel, BatchGetDataRequest request) {
+    processSessionProcessId(channel, request.getSessionProcessId());
+
+    final String dataCenter = request.getDataCenter();
+    final List<String> dataInfoIds = request.getDataInfoIds();
+    final SlotAccess slotAccessBefore =
+        checkAccess(request.getSlotId(), request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (!slotAccessBefore.isAccept()) {
+      GET_DATUM_N_COUNTER.inc(dataInfoIds.size());
+      return SlotAccessGenericResponse.failedResponse(slotAccessBefore);
+    }
+    recordSlotRequests(request.getSlotId(), dataInfoIds.size());
+    final Map<String, Datum> datumMap = Maps.newHashMapWithExpectedSize(dataInfoIds.size());
+    for (String dataInfoId : dataInfoIds) {
+      datumMap.put(dataInfoId, datumCache.get(dataCenter, dataInfoId));
+    }
+    // double check the slot access, see GetDataHandler
+    final SlotAccess slotAccessAfter =
+        checkAccess(request.getSlotId(), request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (slotAccessAfter.getSlotLeaderEpoch() != slotAccessBefore.getSlotLeaderEpoch()) {
+      GET_DATUM_N_COUNTER.inc(dataInfoIds.size());
+      return SlotAccessGenericResponse.failedResponse(
+          slotAccessAfter, "slotLeaderEpoch has change, prev=" + slotAccessBefore);
+    }
+    final Map<String, SubDatum> ret = Maps.newHashMapWithExpectedSize(datumMap.size());
+    for (Map.Entry<String, Datum> e : datumMap.entrySet()) {
+      SubDatum zipDatum =
+          GetDataHandler.compressDatum(
+              compressDatumService,
+              e.getKey(),
+              dataCenter,
+              e.getValue(),
+              request.getAcceptEncodes());
+      if (zipDatum != null) {
+        ret.put(e.getKey(), zipDatum);
+      }
+    }
+    return SlotAccessGenericResponse.successResponse(slotAccessAfter, ret);
+  }
+
+  @Override
+  public Class interest() {
+    return BatchGetDataRequest.class;
+  }
+
+  @VisibleForTesting
+  void setDatumCache(DatumCache datumCache) {
+    this.datumCache = datumCache;
+  }
+
+  @VisibleForTesting
+  void setCompressDatumService(CompressDatumService service) {
+    this.compressDatumService = service;
+  }
+}
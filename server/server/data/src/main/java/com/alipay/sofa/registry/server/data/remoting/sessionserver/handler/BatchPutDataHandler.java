@@ -29,6 +29,8 @@ import com.alipay.sofa.registry.common.model.store.UnPublisher;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.server.data.change.DataChangeType;
+import com.alipay.sofa.registry.server.data.journal.DataAuditJournal;
+import com.alipay.sofa.registry.server.shared.journal.AuditType;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -42,6 +44,9 @@ public class BatchPutDataHandler extends AbstractDataHandler<BatchRequest> {
   private static final Logger LOGGER = DataLog.PUT_LOGGER;
   @Autowired private ThreadPoolExecutor publishProcessorExecutor;
 
+  @Autowired(required = false)
+  private DataAuditJournal dataAuditJournal;
+
   @Override
   public void checkParam(BatchRequest request) {
     checkSessionProcessId(request.getSessionProcessId());
@@ -70,6 +75,7 @@ public class BatchPutDataHandler extends AbstractDataHandler<BatchRequest> {
       // only reject the when moved
       return SlotAccessGenericResponse.failedResponse(slotAccess);
     }
+    recordSlotRequests(request.getSlotId(), request.getRequest().size());
     final String slotIdStr = String.valueOf(request.getSlotId());
     final Set<String> changeDataInfoIds = Sets.newHashSetWithExpectedSize(128);
     try {
@@ -81,7 +87,18 @@ public class BatchPutDataHandler extends AbstractDataHandler<BatchRequest> {
           if (updatedVersion != null) {
             changeDataInfoIds.add(publisher.getDataInfoId());
           }
-          if (publisher instanceof UnPublisher) {
+          final boolean unpub = publisher instanceof UnPublisher;
+          if (journal(
+              unpub ? AuditType.UNPUB : AuditType.PUB,
+              request.getSlotId(),
+              publisher.getDataInfoId(),
+              publisher.getRegisterId(),
+              publisher.getVersion(),
+              publisher.getRegisterTimestamp(),
+              updatedVersion)) {
+            continue;
+          }
+          if (unpub) {
             LOGGER.info(
                 "unpub,{},{},{},{},{},{}",
                 slotIdStr,
@@ -107,8 +124,19 @@ public class BatchPutDataHandler extends AbstractDataHandler<BatchRequest> {
           for (Map.Entry<String, Map<String, RegisterVersion>> e :
               clientOff.getPublisherMap().entrySet()) {
             final String dataInfoId = e.getKey();
+            final DatumVersion datumVersion = updatedVersion.get(dataInfoId);
             for (Map.Entry<String, RegisterVersion> ver : e.getValue().entrySet()) {
               RegisterVersion version = ver.getValue();
+              if (journal(
+                  AuditType.CLIENT_OFF,
+                  request.getSlotId(),
+                  dataInfoId,
+                  ver.getKey(),
+                  version.getVersion(),
+                  version.getRegisterTimestamp(),
+                  datumVersion)) {
+                continue;
+              }
               LOGGER.info(
                   "off,{},{},{},{},{},{}",
                   slotIdStr,
@@ -116,7 +144,7 @@ public class BatchPutDataHandler extends AbstractDataHandler<BatchRequest> {
                   ver.getKey(),
                   version.getVersion(),
                   version.getRegisterTimestamp(),
-                  updatedVersion.get(dataInfoId));
+                  datumVersion);
             }
           }
         } else {
@@ -134,6 +162,20 @@ public class BatchPutDataHandler extends AbstractDataHandler<BatchRequest> {
     return SlotAccessGenericResponse.successResponse(slotAccess, null);
   }
 
+  /** @return true if the record is written to the journal, no need to print the log line */
+  private boolean journal(
+      AuditType type,
+      int slotId,
+      String dataInfoId,
+      String registerId,
+      long version,
+      long registerTimestamp,
+      DatumVersion datumVersion) {
+    return dataAuditJournal != null
+        && dataAuditJournal.append(
+            type, slotId, dataInfoId, registerId, version, registerTimestamp, datumVersion);
+  }
+
   private DatumVersion doHandle(Publisher publisher) {
     publisher = Publisher.internPublisher(publisher);
     if (publisher.getPublishType() == PublishType.TEMPORARY) {
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import com.alipay.sofa.registry.common.model.slot.SlotAccess;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedObject;
+import com.alipay.sofa.registry.util.StringUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the serialized GetData response of the datum. lots of sessions get the same version after the
+ * datum changes, the response only serialize once. every dataInfoId keeps the snapshot of the
+ * newest version, the snapshot of the old version is replaced after the datum version bumps
+ */
+final class DatumSnapshotCache {
+  private final Cache<Key, Snapshot> cache;
+
+  DatumSnapshotCache(long silentMs, long maxWeight) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Key k, Snapshot v) -> k.size() + v.response.size())
+            .expireAfterAccess(silentMs, TimeUnit.MILLISECONDS)
+            .build();
+  }
+
+  /**
+   * get the snapshot which matches the version and the slot access
+   *
+   * @return null if absent
+   */
+  SerializedObject get(
+      String dataCenter,
+      String dataInfoId,
+      String[] acceptEncodes,
+      long version,
+      SlotAccess slotAccess) {
+    final Snapshot snapshot = cache.getIfPresent(new Key(dataCenter, dataInfoId, acceptEncodes));
+    if (snapshot == null || snapshot.version != version || !snapshot.match(slotAccess)) {
+      return null;
+    }
+    return snapshot.response;
+  }
+
+  void put(
+      String dataCenter,
+      String dataInfoId,
+      String[] acceptEncodes,
+      long version,
+      SlotAccess slotAccess,
+      SerializedObject response) {
+    final Snapshot snapshot = new Snapshot(version, slotAccess, response);
+    cache
+        .asMap()
+        .merge(
+            new Key(dataCenter, dataInfoId, acceptEncodes),
+            snapshot,
+            (prev, now) -> prev.version > now.version ? prev : now);
+  }
+
+  long size() {
+    return cache.size();
+  }
+
+  void clean() {
+    cache.invalidateAll();
+  }
+
+  private static final class Key {
+    final String dataCenter;
+    final String dataInfoId;
+    final String acceptEncodes;
+
+    Key(String dataCenter, String dataInfoId, String[] acceptEncodes) {
+      this.dataCenter = dataCenter;
+      this.dataInfoId = dataInfoId;
+      this.acceptEncodes = acceptEncodes == null ? "" : String.join(",", acceptEncodes);
+    }
+
+    int size() {
+      return StringUtils.sizeof(dataCenter)
+          + StringUtils.sizeof(dataInfoId)
+          + StringUtils.sizeof(acceptEncodes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Objects.equals(dataCenter, key.dataCenter)
+          && Objects.equals(dataInfoId, key.dataInfoId)
+          && Objects.equals(acceptEncodes, key.acceptEncodes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dataCenter, dataInfoId, acceptEncodes);
+    }
+  }
+
+  private static final class Snapshot {
+    final long version;
+    final long slotTableEpoch;
+    final long slotLeaderEpoch;
+    final SerializedObject response;
+
+    Snapshot(long version, SlotAccess slotAccess, SerializedObject response) {
+      this.version = version;
+      this.slotTableEpoch = slotAccess.getSlotTableEpoch();
+      this.slotLeaderEpoch = slotAccess.getSlotLeaderEpoch();
+      this.response = response;
+    }
+
+    // the response contains the slot access
+    boolean match(SlotAccess slotAccess) {
+      return slotTableEpoch == slotAccess.getSlotTableEpoch()
+          && slotLeaderEpoch == slotAccess.getSlotLeaderEpoch();
+    }
+  }
+}
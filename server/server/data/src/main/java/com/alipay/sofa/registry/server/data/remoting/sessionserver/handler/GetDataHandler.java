@@ -19,7 +19,9 @@ package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
 import static com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.HandlerMetrics.GetData.*;
 
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
 import com.alipay.sofa.registry.common.model.dataserver.GetDataRequest;
+import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotAccess;
 import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
@@ -27,13 +29,16 @@ import com.alipay.sofa.registry.compress.CompressUtils;
 import com.alipay.sofa.registry.compress.Compressor;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedObject;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
 import com.alipay.sofa.registry.server.shared.util.DatumUtils;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.google.common.annotations.VisibleForTesting;
+import java.util.Collections;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -51,6 +56,16 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
 
   @Resource private CompressDatumService compressDatumService;
 
+  private DatumSnapshotCache snapshotCache;
+
+  @PostConstruct
+  public void init() {
+    this.snapshotCache =
+        new DatumSnapshotCache(
+            dataServerConfig.getGetDataSnapshotSilentMillis(),
+            dataServerConfig.getGetDataSnapshotMaxWeight());
+  }
+
   @Override
   public Executor getExecutor() {
     return getDataProcessorExecutor;
@@ -66,6 +81,9 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
   @Override
   public Object doHandle(Channel channel, GetDataRequest request) {
     processSessionProcessId(channel, request.getSessionProcessId());
+    if (request.isFollowerRead()) {
+      return doFollowerRead(request);
+    }
 
     final String dataInfoId = request.getDataInfoId();
     final String dataCenter = request.getDataCenter();
@@ -75,7 +93,11 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
       GET_DATUM_N_COUNTER.inc();
       return SlotAccessGenericResponse.failedResponse(slotAccessBefore);
     }
-    final Datum datum = datumCache.get(dataCenter, dataInfoId);
+    recordSlotRequests(slotAccessBefore.getSlotId(), 1);
+    final boolean snapshotEnable = dataServerConfig.isGetDataSnapshotEnable();
+    final SerializedObject snapshot =
+        snapshotEnable ? getSnapshot(request, slotAccessBefore) : null;
+    final Datum datum = snapshot == null ? datumCache.get(dataCenter, dataInfoId) : null;
     // important. double check the slot access. avoid the case:
     // 1. the slot is leader, the first check pass
     // 2. slot moved and data cleaned
@@ -92,11 +114,126 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
       return SlotAccessGenericResponse.failedResponse(
           slotAccessAfter, "slotLeaderEpoch has change, prev=" + slotAccessBefore);
     }
+    if (snapshot != null) {
+      GET_DATUM_Y_COUNTER.inc();
+      GET_DATUM_SNAPSHOT_HIT_COUNTER.inc();
+      LOGGER.info("getD,{},{},snapshot,size={}", dataInfoId, dataCenter, snapshot.size());
+      return snapshot;
+    }
+    SubDatum zipDatum =
+        compressDatum(
+            compressDatumService, dataInfoId, dataCenter, datum, request.getAcceptEncodes());
+    final SlotAccessGenericResponse<SubDatum> response =
+        SlotAccessGenericResponse.successResponse(slotAccessAfter, zipDatum);
+    if (snapshotEnable && zipDatum != null) {
+      GET_DATUM_SNAPSHOT_MISS_COUNTER.inc();
+      return putSnapshot(request, zipDatum.getVersion(), slotAccessAfter, response);
+    }
+    return response;
+  }
+
+  private Object doFollowerRead(GetDataRequest request) {
+    final String dataInfoId = request.getDataInfoId();
+    final String dataCenter = request.getDataCenter();
+    final int slotId = slotManager.slotOf(dataInfoId);
+    final SlotAccess slotAccessBefore = checkFollowerAccess(slotId, request);
+    if (slotAccessBefore != null) {
+      GET_DATUM_FOLLOWER_N_COUNTER.inc();
+      return SlotAccessGenericResponse.failedResponse(slotAccessBefore, "not follower");
+    }
+    recordSlotRequests(slotId, 1);
+    // the local datum version is generated by the follower, not comparable with the leader.
+    // get the leader version replayed from the replication log before the datum, the datum
+    // contains all the mutations of the leader before the version
+    final long replicatedVersion =
+        slotManager.getReplicatedVersion(slotId, request.getSlotLeaderEpoch(), dataInfoId);
+    final Datum datum = datumCache.get(dataCenter, dataInfoId);
+    // double check like the leader read, the follower may be released during the getting
+    final SlotAccess slotAccessAfter = checkFollowerAccess(slotId, request);
+    if (slotAccessAfter != null) {
+      GET_DATUM_FOLLOWER_N_COUNTER.inc();
+      return SlotAccessGenericResponse.failedResponse(slotAccessAfter, "not follower");
+    }
+    final SlotAccess slotAccess =
+        slotManager.checkSlotAccess(
+            slotId, request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (datum == null || replicatedVersion < request.getMinDatumVersion()) {
+      // the follower has not replayed the version from the leader
+      GET_DATUM_FOLLOWER_N_COUNTER.inc();
+      return SlotAccessGenericResponse.failedResponse(
+          slotAccess,
+          "follower lagging, replicated="
+              + replicatedVersion
+              + ", min="
+              + request.getMinDatumVersion());
+    }
+    // answer with the version of the leader, the local recent versions are meaningless to session
+    datum.setVersion(replicatedVersion);
+    datum.setRecentVersions(Collections.emptyList());
+    GET_DATUM_FOLLOWER_Y_COUNTER.inc();
+    SubDatum zipDatum =
+        compressDatum(
+            compressDatumService, dataInfoId, dataCenter, datum, request.getAcceptEncodes());
+    return SlotAccessGenericResponse.successResponse(slotAccess, zipDatum);
+  }
+
+  /** @return null if the local is the follower of the slot with the same leader epoch */
+  private SlotAccess checkFollowerAccess(int slotId, GetDataRequest request) {
+    final Slot slot = slotManager.getSlot(slotId);
+    if (slot != null
+        && slotManager.isFollower(slotId)
+        && slot.getLeaderEpoch() == request.getSlotLeaderEpoch()) {
+      return null;
+    }
+    return slotManager.checkSlotAccess(
+        slotId, request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+  }
+
+  private SerializedObject getSnapshot(GetDataRequest request, SlotAccess slotAccess) {
+    final DatumVersion version =
+        datumCache.getVersion(request.getDataCenter(), request.getDataInfoId());
+    if (version == null) {
+      return null;
+    }
+    return snapshotCache.get(
+        request.getDataCenter(),
+        request.getDataInfoId(),
+        request.getAcceptEncodes(),
+        version.getValue(),
+        slotAccess);
+  }
+
+  private Object putSnapshot(
+      GetDataRequest request,
+      long version,
+      SlotAccess slotAccess,
+      SlotAccessGenericResponse<SubDatum> response) {
+    try {
+      final SerializedObject snapshot = SerializedObject.of(response);
+      snapshotCache.put(
+          request.getDataCenter(),
+          request.getDataInfoId(),
+          request.getAcceptEncodes(),
+          version,
+          slotAccess,
+          snapshot);
+      return snapshot;
+    } catch (Throwable e) {
+      LOGGER.error("failed to serialize snapshot, {}", request.getDataInfoId(), e);
+      return response;
+    }
+  }
+
+  static SubDatum compressDatum(
+      CompressDatumService compressDatumService,
+      String dataInfoId,
+      String dataCenter,
+      Datum datum,
+      String[] acceptEncodes) {
     // return SubDatum, it's serdeSize and memoryOverhead much smaller than Datum
     SubDatum subDatum = datum != null ? DatumUtils.of(datum) : null;
     String encode = "";
-    Compressor compressor =
-        compressDatumService.getCompressor(subDatum, request.getAcceptEncodes());
+    Compressor compressor = compressDatumService.getCompressor(subDatum, acceptEncodes);
     if (compressor != null) {
       encode = compressor.getEncoding();
     }
@@ -116,7 +253,7 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
     } else {
       LOGGER.info("getNilD,{},{}", dataInfoId, dataCenter);
     }
-    return SlotAccessGenericResponse.successResponse(slotAccessAfter, zipDatum);
+    return zipDatum;
   }
 
   @Override
@@ -133,4 +270,9 @@ public class GetDataHandler extends AbstractDataHandler<GetDataRequest> {
   void setCompressDatumService(CompressDatumService service) {
     this.compressDatumService = service;
   }
+
+  @VisibleForTesting
+  DatumSnapshotCache getSnapshotCache() {
+    return snapshotCache;
+  }
 }
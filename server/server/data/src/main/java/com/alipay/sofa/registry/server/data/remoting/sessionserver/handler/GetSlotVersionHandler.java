@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static com.alipay.sofa.registry.server.data.remoting.sessionserver.handler.HandlerMetrics.GetVersion.*;
+
+import com.alipay.sofa.registry.common.model.dataserver.GetSlotVersionRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotAccess;
+import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/** processor to get the max datum version of a slot */
+public class GetSlotVersionHandler extends AbstractDataHandler<GetSlotVersionRequest> {
+  private static final Logger LOGGER = DataLog.GET_LOGGER;
+
+  @Autowired private DatumCache datumCache;
+
+  @Autowired private ThreadPoolExecutor getDataProcessorExecutor;
+
+  @Override
+  public Executor getExecutor() {
+    return getDataProcessorExecutor;
+  }
+
+  @Override
+  public void checkParam(GetSlotVersionRequest request) {
+    ParaCheckUtil.checkNonNegative(request.getSlotId(), "GetSlotVersionRequest.slotId");
+    ParaCheckUtil.checkNotBlank(request.getDataCenter(), "GetSlotVersionRequest.dataCenter");
+    checkSessionProcessId(request.getSessionProcessId());
+  }
+
+  @Override
+  public Object doHandle(Channel channel, GetSlotVersionRequest request) {
+    processSessionProcessId(channel, request.getSessionProcessId());
+    final int slotId = request.getSlotId();
+    final String dataCenter = request.getDataCenter();
+    final SlotAccess slotAccessBefore =
+        checkAccess(slotId, request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (!slotAccessBefore.isAccept()) {
+      return SlotAccessGenericResponse.failedResponse(slotAccessBefore);
+    }
+    final long slotVersion = datumCache.getSlotVersion(dataCenter, slotId);
+    // double check slot access, @see GetDataHandler
+    final SlotAccess slotAccessAfter =
+        checkAccess(slotId, request.getSlotTableEpoch(), request.getSlotLeaderEpoch());
+    if (slotAccessAfter.getSlotLeaderEpoch() != slotAccessBefore.getSlotLeaderEpoch()) {
+      return SlotAccessGenericResponse.failedResponse(
+          slotAccessAfter, "slotLeaderEpoch has change, prev=" + slotAccessBefore);
+    }
+    LOGGER.info("getSlotV,{},{},ver={}", slotId, dataCenter, slotVersion);
+    GET_SLOT_VERSION_COUNTER.inc();
+    return SlotAccessGenericResponse.successResponse(slotAccessAfter, slotVersion);
+  }
+
+  @Override
+  public Class interest() {
+    return GetSlotVersionRequest.class;
+  }
+
+  @VisibleForTesting
+  void setDatumCache(DatumCache datumCache) {
+    this.datumCache = datumCache;
+  }
+}
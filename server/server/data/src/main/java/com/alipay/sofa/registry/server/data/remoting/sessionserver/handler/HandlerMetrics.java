@@ -41,6 +41,34 @@ public final class HandlerMetrics {
             .name("getP_total")
             .help("session get publisher")
             .register();
+
+    private static final Counter GET_DATUM_SNAPSHOT_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("remote")
+            .name("getD_snapshot_total")
+            .help("session get datum from the serialized snapshot")
+            .labelNames("type")
+            .register();
+
+    static final Counter.Child GET_DATUM_SNAPSHOT_HIT_COUNTER =
+        GET_DATUM_SNAPSHOT_COUNTER.labels("hit");
+    static final Counter.Child GET_DATUM_SNAPSHOT_MISS_COUNTER =
+        GET_DATUM_SNAPSHOT_COUNTER.labels("miss");
+
+    private static final Counter GET_DATUM_FOLLOWER_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("remote")
+            .name("getD_follower_total")
+            .help("session get datum from the slot follower")
+            .labelNames("type")
+            .register();
+
+    static final Counter.Child GET_DATUM_FOLLOWER_Y_COUNTER =
+        GET_DATUM_FOLLOWER_COUNTER.labels("Y");
+    static final Counter.Child GET_DATUM_FOLLOWER_N_COUNTER =
+        GET_DATUM_FOLLOWER_COUNTER.labels("N");
   }
 
   static final class GetVersion {
@@ -51,5 +79,13 @@ public final class HandlerMetrics {
             .name("getV_total")
             .help("session get versions")
             .register();
+
+    static final Counter GET_SLOT_VERSION_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("remote")
+            .name("getSlotV_total")
+            .help("session get slot versions")
+            .register();
   }
 }
@@ -17,6 +17,7 @@
 package com.alipay.sofa.registry.server.data.slot;
 
 import com.alipay.sofa.registry.common.model.slot.Slot;
+import java.util.Set;
 
 /**
  * @author yuzhi.lyz
@@ -26,4 +27,12 @@ public interface SlotChangeListener {
   void onSlotAdd(int slotId, Slot.Role role);
 
   void onSlotRemove(int slotId, Slot.Role role);
+
+  /**
+   * the slot table is split into a bigger slot num, called before the children are added
+   *
+   * @param slotNum the slot num of the new slot table generation
+   * @param slotIds the slots of the new slot table which the local server owns
+   */
+  void onSlotSplit(int slotNum, Set<Integer> slotIds);
 }
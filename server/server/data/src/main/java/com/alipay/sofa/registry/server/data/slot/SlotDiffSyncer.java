@@ -25,6 +25,9 @@ import com.alipay.sofa.registry.common.model.PublisherDigestUtil;
 import com.alipay.sofa.registry.common.model.RegisterVersion;
 import com.alipay.sofa.registry.common.model.dataserver.DatumDigest;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketRequest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherRequest;
@@ -193,7 +196,8 @@ public final class SlotDiffSyncer {
       String summaryTargetIp,
       int maxPublishers,
       SyncContinues continues,
-      Map<String, DatumSummary> summaryMap) {
+      Map<String, DatumSummary> summaryMap,
+      Set<Integer> buckets) {
     final boolean syncSession = summaryTargetIp != null;
     if (syncSession) {
       SyncSession.observeSyncSessionId(slotId, summaryMap.size());
@@ -202,7 +206,7 @@ public final class SlotDiffSyncer {
     }
     Map<String, DatumDigest> digestMap = PublisherDigestUtil.digest(summaryMap);
     DataSlotDiffDigestRequest request =
-        new DataSlotDiffDigestRequest(slotTableEpoch, slotId, digestMap);
+        new DataSlotDiffDigestRequest(slotTableEpoch, slotId, digestMap, buckets);
     Response exchangeResp = exchanger.requestRaw(targetAddress, request);
     GenericResponse<DataSlotDiffDigestResult> resp =
         (GenericResponse<DataSlotDiffDigestResult>) exchangeResp.getResult();
@@ -227,6 +231,44 @@ public final class SlotDiffSyncer {
         syncSession);
   }
 
+  /**
+   * compare the bucket digest with the target
+   *
+   * @return the buckets need to diff, null means failed
+   */
+  Set<Integer> syncBuckets(
+      int slotId,
+      String targetAddress,
+      ClientSideExchanger exchanger,
+      long slotTableEpoch,
+      DataSlotBucketDigest bucketDigest) {
+    DataSlotDiffBucketRequest request =
+        new DataSlotDiffBucketRequest(slotTableEpoch, slotId, bucketDigest);
+    Response exchangeResp = exchanger.requestRaw(targetAddress, request);
+    GenericResponse<DataSlotDiffBucketResult> resp =
+        (GenericResponse<DataSlotDiffBucketResult>) exchangeResp.getResult();
+    if (resp == null || !resp.isSuccess()) {
+      LOGGER.error("DiffBucketFailed, slotId={} from {}, resp={}", slotId, targetAddress, resp);
+      return null;
+    }
+    DataSlotDiffBucketResult result = resp.getData();
+    // sync from session
+    final ProcessId sessionProcessId = result.getSessionProcessId();
+    if (sessionProcessId != null) {
+      sessionLeaseManager.renewSession(sessionProcessId);
+    }
+    if (result.isEmpty()) {
+      DIFF_LOGGER.info("DiffBucketEmpty, slotId={} from {}", slotId, targetAddress);
+    } else {
+      DIFF_LOGGER.info(
+          "DiffBucket, slotId={} from {}, buckets={}",
+          slotId,
+          targetAddress,
+          result.getDiffBuckets().size());
+    }
+    return result.getDiffBuckets();
+  }
+
   static Map<String, DatumSummary> getSummaryForSyncPublishers(
       DataSlotDiffDigestResult result, Map<String, DatumSummary> digestSummaryMap) {
     final Map<String, DatumSummary> newSummaryMap =
@@ -325,6 +367,23 @@ public final class SlotDiffSyncer {
       summary = datumSummary.get(sessionIp);
     }
 
+    Set<Integer> buckets = null;
+    if (dataServerConfig.isSlotSyncBucketDigestEnable()) {
+      buckets =
+          syncBuckets(
+              slotId,
+              sessionIp,
+              exchanger,
+              slotTableEpoch,
+              DataSlotBucketDigest.ofSummary(summary));
+      if (buckets == null) {
+        return false;
+      }
+      if (buckets.isEmpty()) {
+        return true;
+      }
+      summary = DataSlotBucketDigest.filterBuckets(summary, buckets);
+    }
     return sync(
         slotId,
         sessionIp,
@@ -333,7 +392,8 @@ public final class SlotDiffSyncer {
         sessionIp,
         dataServerConfig.getSlotSyncPublisherDigestMaxNum(),
         continues,
-        summary);
+        summary,
+        buckets);
   }
 
   public boolean syncSlotLeader(
@@ -344,7 +404,27 @@ public final class SlotDiffSyncer {
       SyncContinues continues)
       throws RequestException {
     ParaCheckUtil.checkNotBlank(slotLeaderIp, "slotLeaderIp");
+    Set<Integer> buckets = null;
+    if (dataServerConfig.isSlotSyncBucketDigestEnable()) {
+      // the bucket digest is maintained incrementally, no need to build the summary if no diff
+      buckets =
+          syncBuckets(
+              slotId,
+              slotLeaderIp,
+              exchanger,
+              slotTableEpoch,
+              datumStorage.getBucketDigest(slotId));
+      if (buckets == null) {
+        return false;
+      }
+      if (buckets.isEmpty()) {
+        return true;
+      }
+    }
     Map<String, DatumSummary> summary = datumStorage.getDatumSummary(slotId);
+    if (buckets != null) {
+      summary = DataSlotBucketDigest.filterBuckets(summary, buckets);
+    }
     return sync(
         slotId,
         slotLeaderIp,
@@ -353,7 +433,8 @@ public final class SlotDiffSyncer {
         null,
         dataServerConfig.getSlotSyncPublisherDigestMaxNum(),
         continues,
-        summary);
+        summary,
+        buckets);
   }
 
   static Map<String, DatumSummary> pickSummaries(Map<String, DatumSummary> syncSummaries, int n) {
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.DatumStorage;
+import com.alipay.sofa.registry.util.NamedThreadFactory;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the load of the local slots reported by the heartbeat, the requests are counted when handling,
+ * the publishers are walked periodically, the meta balances the slots by the load
+ */
+public final class SlotLoads {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SlotLoads.class);
+
+  @Autowired private DatumStorage localDatumStorage;
+
+  @Autowired private DataServerConfig dataServerConfig;
+
+  private final Map<Integer, LongAdder> requests = Maps.newConcurrentMap();
+
+  private volatile Map<Integer, SlotLoad> loads = Collections.emptyMap();
+
+  private long lastRefreshTimestamp = System.currentTimeMillis();
+
+  private final ScheduledExecutorService executorService =
+      new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("SlotLoadsRefresher"));
+
+  @PostConstruct
+  public boolean init() {
+    final int intervalSecs = dataServerConfig.getSlotLoadRefreshIntervalSecs();
+    if (intervalSecs <= 0) {
+      LOGGER.info("slot load off, intervalSecs={}", intervalSecs);
+      return false;
+    }
+    executorService.scheduleWithFixedDelay(
+        this::refresh, intervalSecs, intervalSecs, TimeUnit.SECONDS);
+    return true;
+  }
+
+  public void record(int slotId, int count) {
+    requests.computeIfAbsent(slotId, k -> new LongAdder()).add(count);
+  }
+
+  /** @return null if the slot has not been refreshed */
+  public SlotLoad get(int slotId) {
+    return loads.get(slotId);
+  }
+
+  @VisibleForTesting
+  void refresh() {
+    try {
+      final long now = System.currentTimeMillis();
+      final double secs = Math.max(now - lastRefreshTimestamp, 1) / 1000.0;
+      lastRefreshTimestamp = now;
+      final Map<Integer, SlotLoad> stats = localDatumStorage.getSlotLoads();
+      final Map<Integer, SlotLoad> map = Maps.newHashMapWithExpectedSize(stats.size());
+      for (Map.Entry<Integer, SlotLoad> e : stats.entrySet()) {
+        final LongAdder adder = requests.get(e.getKey());
+        final long count = adder == null ? 0 : adder.sumThenReset();
+        final SlotLoad load = e.getValue();
+        map.put(e.getKey(), new SlotLoad(load.getPubCount(), load.getDatumBytes(), count / secs));
+      }
+      // the slots has been removed
+      requests.keySet().retainAll(stats.keySet());
+      loads = map;
+      LOGGER.info("[refresh]slots={}, span={}", map.size(), System.currentTimeMillis() - now);
+    } catch (Throwable e) {
+      LOGGER.error("[refresh]failed to refresh slot loads", e);
+    }
+  }
+
+  @VisibleForTesting
+  void setLocalDatumStorage(DatumStorage localDatumStorage) {
+    this.localDatumStorage = localDatumStorage;
+  }
+
+  @VisibleForTesting
+  void setDataServerConfig(DataServerConfig dataServerConfig) {
+    this.dataServerConfig = dataServerConfig;
+  }
+}
@@ -31,6 +31,8 @@ public interface SlotManager {
 
   int slotOf(String dataInfoId);
 
+  int getSlotNums();
+
   Slot getSlot(int slotId);
 
   SlotAccess checkSlotAccess(int slotId, long srcSlotEpoch, long srcLeaderEpoch);
@@ -43,6 +45,12 @@ public interface SlotManager {
 
   boolean isFollower(int slotId);
 
+  /**
+   * @return the datum version of the leader which the follower has replayed from the replication
+   *     log, the local datum contains all the mutations of the leader before it. -1 if unknown
+   */
+  long getReplicatedVersion(int slotId, long slotLeaderEpoch, String dataInfoId);
+
   boolean updateSlotTable(SlotTable slotTable);
 
   long getSlotTableEpoch();
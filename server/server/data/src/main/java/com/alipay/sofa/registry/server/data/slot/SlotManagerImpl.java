@@ -68,7 +68,8 @@ public final class SlotManagerImpl implements SlotManager {
 
   private static final Logger SYNC_DIGEST_LOGGER = LoggerFactory.getLogger("SYNC-DIGEST");
 
-  private final SlotFunction slotFunction = SlotFunctionRegistry.getFunc();
+  // switched by the slot table which is split online
+  private volatile SlotFunction slotFunction = SlotFunctionRegistry.getFunc();
 
   @Autowired private DataNodeExchanger dataNodeExchanger;
 
@@ -87,6 +88,12 @@ public final class SlotManagerImpl implements SlotManager {
   @Autowired(required = false)
   private List<SlotTableRecorder> recorders;
 
+  @Autowired(required = false)
+  private SlotReplicationLogs slotReplicationLogs;
+
+  @Autowired(required = false)
+  private SlotLoads slotLoads;
+
   private final List<SlotChangeListener> slotChangeListeners = new ArrayList<>();
 
   private KeyedThreadPoolExecutor migrateSessionExecutor;
@@ -142,6 +149,11 @@ public final class SlotManagerImpl implements SlotManager {
     return slotFunction.slotOf(dataInfoId);
   }
 
+  @Override
+  public int getSlotNums() {
+    return slotFunction.maxSlots();
+  }
+
   @Override
   public Slot getSlot(int slotId) {
     final SlotState state = slotTableStates.slotStates.get(slotId);
@@ -225,6 +237,7 @@ public final class SlotManagerImpl implements SlotManager {
                   slotState.migrated
                       ? BaseSlotStatus.LeaderStatus.HEALTHY
                       : BaseSlotStatus.LeaderStatus.UNHEALTHY);
+          setLoad(status);
           slotStatuses.add(status);
         } else {
           final KeyedTask syncLeaderTask = slotState.syncLeaderTask;
@@ -235,6 +248,7 @@ public final class SlotManagerImpl implements SlotManager {
                   ServerEnv.IP,
                   syncLeaderTask != null ? syncLeaderTask.getStartTime() : 0,
                   slotState.lastSuccessLeaderSyncTime);
+          setLoad(status);
           slotStatuses.add(status);
         }
       }
@@ -244,12 +258,24 @@ public final class SlotManagerImpl implements SlotManager {
     }
   }
 
+  private void setLoad(BaseSlotStatus status) {
+    if (slotLoads != null) {
+      status.setLoad(slotLoads.get(status.getSlotId()));
+    }
+  }
+
   @Override
   public boolean isLeader(int slotId) {
     final SlotState state = slotTableStates.slotStates.get(slotId);
     return state != null && localIsLeader(state.slot);
   }
 
+  @Override
+  public long getReplicatedVersion(int slotId, long slotLeaderEpoch, String dataInfoId) {
+    final SlotState state = slotTableStates.slotStates.get(slotId);
+    return state == null ? -1 : state.getReplicatedVersion(slotLeaderEpoch, dataInfoId);
+  }
+
   @Override
   public boolean isFollower(int slotId) {
     final SlotState state = slotTableStates.slotStates.get(slotId);
@@ -296,6 +322,15 @@ public final class SlotManagerImpl implements SlotManager {
   }
 
   private void updateSlotState(SlotTable updating) {
+    final SlotFunction func = SlotFunctionRegistry.getFunc(updating.getSlotNum());
+    if (func.maxSlots() > slotFunction.maxSlots()) {
+      splitSlotState(updating, func);
+    } else if (func.maxSlots() < slotFunction.maxSlots()) {
+      LOGGER.error(
+          "[SlotNumShrink]not support, slotNum={}, current={}",
+          func.maxSlots(),
+          slotFunction.maxSlots());
+    }
     for (Slot s : updating.getSlots()) {
       SlotState state = slotTableStates.slotStates.get(s.getId());
       listenAdd(s);
@@ -305,6 +340,7 @@ public final class SlotManagerImpl implements SlotManager {
         slotTableStates.slotStates.put(s.getId(), new SlotState(s));
         LOGGER.info("add slot, slot={}", s);
       }
+      updateReplicationLog(s);
     }
 
     final Iterator<Map.Entry<Integer, SlotState>> it =
@@ -314,6 +350,9 @@ public final class SlotManagerImpl implements SlotManager {
       if (updating.getSlot(e.getKey()) == null) {
         final Slot slot = e.getValue().slot;
         it.remove();
+        if (slotReplicationLogs != null) {
+          slotReplicationLogs.remove(slot.getId());
+        }
         // important, first remove the slot for GetData Access check, then clean the data
         listenRemove(slot);
         observeLeaderMigratingFinish(slot.getId());
@@ -325,6 +364,48 @@ public final class SlotManagerImpl implements SlotManager {
     observeFollowerAssignGauge(slotTableStates.table.getFollowerNum(ServerEnv.IP));
   }
 
+  /**
+   * the slot s splits into s + n*k, move the data to the children before the children are added,
+   * the child inherits the state of the parent if the leaderEpoch not changes, so the migrated slot
+   * keeps accessible
+   */
+  private void splitSlotState(SlotTable updating, SlotFunction func) {
+    final int prevSlotNums = slotFunction.maxSlots();
+    slotChangeListeners.forEach(
+        listener -> listener.onSlotSplit(func.maxSlots(), updating.getSlotIds()));
+    int inherits = 0;
+    for (Slot s : updating.getSlots()) {
+      if (slotTableStates.slotStates.containsKey(s.getId())) {
+        continue;
+      }
+      final SlotState parent = slotTableStates.slotStates.get(s.getId() % prevSlotNums);
+      if (parent != null
+          && parent.slot.getLeaderEpoch() == s.getLeaderEpoch()
+          && StringUtils.equals(parent.slot.getLeader(), s.getLeader())) {
+        slotTableStates.slotStates.put(s.getId(), new SlotState(s, parent));
+        inherits++;
+      }
+    }
+    this.slotFunction = func;
+    LOGGER.info(
+        "split slot, slotNum={}->{}, inherits={}, epoch={}",
+        prevSlotNums,
+        func.maxSlots(),
+        inherits,
+        updating.getEpoch());
+  }
+
+  private void updateReplicationLog(Slot s) {
+    if (slotReplicationLogs == null) {
+      return;
+    }
+    if (localIsLeader(s)) {
+      slotReplicationLogs.onLeader(s.getId(), s.getLeaderEpoch());
+    } else {
+      slotReplicationLogs.remove(s.getId());
+    }
+  }
+
   private static final class SlotTableStates {
     volatile SlotTable table = SlotTable.INIT;
     final Map<Integer, SlotState> slotStates = Maps.newConcurrentMap();
@@ -640,7 +721,14 @@ public final class SlotManagerImpl implements SlotManager {
     if (syncLeaderTask != null && syncLeaderTask.isFinished()) {
       slotState.completeSyncLeaderTask();
     }
-    if (syncLeaderTask == null || syncLeaderTask.isOverAfter(syncLeaderIntervalMs)) {
+    final boolean replicating = dataServerConfig.isSlotReplicationLogEnable();
+    int intervalMs = syncLeaderIntervalMs;
+    if (replicating && slotState.getReplicationSeq(slot.getLeaderEpoch()) >= 0) {
+      // tailing the replication log of leader, the digest sync runs when the position is lost
+      // or the interval of syncing leader passed
+      intervalMs = dataServerConfig.getSlotReplicationTailIntervalMillis();
+    }
+    if (syncLeaderTask == null || syncLeaderTask.isOverAfter(intervalMs)) {
       // sync leader no need to notify event
       SlotDiffSyncer syncer =
           new SlotDiffSyncer(dataServerConfig, localDatumStorage, null, sessionLeaseManager);
@@ -651,8 +739,12 @@ public final class SlotManagerImpl implements SlotManager {
               return isFollower(slot.getId());
             }
           };
+      SlotReplicationTailer tailer =
+          replicating
+              ? new SlotReplicationTailer(dataServerConfig, localDatumStorage, slotState)
+              : null;
       SyncLeaderTask task =
-          new SyncLeaderTask(slotTableEpoch, slot, syncer, dataNodeExchanger, continues);
+          new SyncLeaderTask(slotTableEpoch, slot, syncer, dataNodeExchanger, continues, tailer);
       slotState.syncLeaderTask = syncLeaderExecutor.execute(slot.getId(), task);
     } else if (!syncLeaderTask.isFinished()) {
       if (System.currentTimeMillis() - syncLeaderTask.getCreateTime() > 5000) {
@@ -707,12 +799,27 @@ public final class SlotManagerImpl implements SlotManager {
     final Map<String, MigratingTask> migratingTasks = Maps.newTreeMap();
     final Map<String, KeyedTask<SyncSessionTask>> syncSessionTasks = Maps.newTreeMap();
     volatile KeyedTask<SyncLeaderTask> syncLeaderTask;
+    // the position of the replication log of the leader, -1 means need digest sync
+    private long replicationLeaderEpoch = -1;
+    private long replicationSeq = -1;
+    // the leader datum versions replayed from the log since the position, cleared with the position
+    private final Map<String, Long> replicatedVersions = Maps.newHashMap();
+    // the last time of the success digest sync with the leader
+    private long lastLeaderDigestTime = -1;
 
     SlotState(Slot slot) {
       this.slotId = slot.getId();
       this.slot = slot;
     }
 
+    /** the child of the split slot, the data is moved from the parent in place */
+    SlotState(Slot slot, SlotState parent) {
+      this(slot);
+      this.migrated = parent.migrated;
+      this.migratingStartTime = parent.migratingStartTime;
+      this.lastSuccessLeaderSyncTime = parent.lastSuccessLeaderSyncTime;
+    }
+
     void update(Slot s) {
       ParaCheckUtil.checkEquals(slotId, s.getId(), "slot.id");
       if (slot.getLeaderEpoch() != s.getLeaderEpoch()) {
@@ -731,6 +838,49 @@ public final class SlotManagerImpl implements SlotManager {
       LOGGER.info("update slot, slot={}", slot);
     }
 
+    synchronized long getReplicationSeq(long leaderEpoch) {
+      return replicationLeaderEpoch == leaderEpoch ? replicationSeq : -1;
+    }
+
+    /** only update the position of the current leaderEpoch, the task maybe out of date */
+    synchronized boolean updateReplicationSeq(long leaderEpoch, long seq) {
+      if (slot.getLeaderEpoch() != leaderEpoch) {
+        return false;
+      }
+      if (seq < 0 || replicationLeaderEpoch != leaderEpoch) {
+        replicatedVersions.clear();
+      }
+      this.replicationLeaderEpoch = leaderEpoch;
+      this.replicationSeq = seq;
+      return true;
+    }
+
+    synchronized long getReplicatedVersion(long leaderEpoch, String dataInfoId) {
+      if (getReplicationSeq(leaderEpoch) < 0) {
+        return -1;
+      }
+      final Long version = replicatedVersions.get(dataInfoId);
+      return version == null ? -1 : version;
+    }
+
+    synchronized void updateReplicatedVersion(long leaderEpoch, String dataInfoId, long version) {
+      if (getReplicationSeq(leaderEpoch) >= 0) {
+        replicatedVersions.merge(dataInfoId, version, Math::max);
+      }
+    }
+
+    synchronized void clearReplicatedVersions() {
+      replicatedVersions.clear();
+    }
+
+    synchronized boolean isLeaderDigestOverAfter(long intervalMs) {
+      return System.currentTimeMillis() - lastLeaderDigestTime >= intervalMs;
+    }
+
+    synchronized void completeLeaderDigest() {
+      this.lastLeaderDigestTime = System.currentTimeMillis();
+    }
+
     void completeSyncLeaderTask() {
       if (syncLeaderTask != null && syncLeaderTask.isSuccess()) {
         this.lastSuccessLeaderSyncTime = syncLeaderTask.getEndTime();
@@ -865,27 +1015,35 @@ public final class SlotManagerImpl implements SlotManager {
     final SlotDiffSyncer syncer;
     final DataNodeExchanger dataNodeExchanger;
     final SyncContinues continues;
+    // null if the replication log is disabled
+    final SlotReplicationTailer tailer;
 
     SyncLeaderTask(
         long slotTableEpoch,
         Slot slot,
         SlotDiffSyncer syncer,
         DataNodeExchanger dataNodeExchanger,
-        SyncContinues continues) {
+        SyncContinues continues,
+        SlotReplicationTailer tailer) {
       this.slotTableEpoch = slotTableEpoch;
       this.slot = slot;
       this.syncer = syncer;
       this.dataNodeExchanger = dataNodeExchanger;
       this.continues = continues;
+      this.tailer = tailer;
     }
 
     @Override
     public void run() {
       boolean success = false;
       try {
-        success =
-            syncer.syncSlotLeader(
-                slot.getId(), slot.getLeader(), dataNodeExchanger, slotTableEpoch, continues);
+        if (tailer != null) {
+          success = tailer.sync(slot, slotTableEpoch, syncer, dataNodeExchanger, continues);
+        } else {
+          success =
+              syncer.syncSlotLeader(
+                  slot.getId(), slot.getLeader(), dataNodeExchanger, slotTableEpoch, continues);
+        }
         if (!success) {
           throw new RuntimeException("sync leader failed");
         }
@@ -973,6 +1131,16 @@ public final class SlotManagerImpl implements SlotManager {
     this.sessionLeaseManager = sessionLeaseManager;
   }
 
+  @VisibleForTesting
+  void setSlotReplicationLogs(SlotReplicationLogs slotReplicationLogs) {
+    this.slotReplicationLogs = slotReplicationLogs;
+  }
+
+  @VisibleForTesting
+  void setSlotLoads(SlotLoads slotLoads) {
+    this.slotLoads = slotLoads;
+  }
+
   @VisibleForTesting
   SlotManagerImpl setRecorders(List<SlotTableRecorder> recorders) {
     this.recorders = recorders;
@@ -205,4 +205,31 @@ public final class SlotMetrics {
       SYNC_LEADER_PUB_NUM_COUNTER.labels(str).inc(pubNum);
     }
   }
+
+  static final class Replication {
+    private static final Counter TAIL_ENTRY_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("replication")
+            .name("tail_entry_total")
+            .help("count the replication log entries applied by follower")
+            .labelNames("type")
+            .register();
+
+    private static final Counter TRUNCATED_COUNTER =
+        Counter.build()
+            .namespace("data")
+            .subsystem("replication")
+            .name("truncated_total")
+            .help("count the follower fallback to digest sync")
+            .register();
+
+    static void observeTailEntry(String type) {
+      TAIL_ENTRY_COUNTER.labels(type).inc();
+    }
+
+    static void observeTruncated() {
+      TRUNCATED_COUNTER.inc();
+    }
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogEntry;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * the in-memory mutation log of a slot on the leader, bounded by the capacity, the oldest entries
+ * are truncated. the entries are appended under the locks of the registerIds which apply the
+ * mutations, so the entries of the same registerId are in the order they applied
+ */
+final class SlotReplicationLog {
+  final int slotId;
+  final long leaderEpoch;
+
+  private final SlotReplicationLogEntry[] entries;
+
+  // the seq of the next entry
+  private long nextSeq;
+
+  SlotReplicationLog(int slotId, long leaderEpoch, int capacity) {
+    this.slotId = slotId;
+    this.leaderEpoch = leaderEpoch;
+    this.entries = new SlotReplicationLogEntry[capacity];
+  }
+
+  synchronized long append(LongFunction<SlotReplicationLogEntry> entryOfSeq) {
+    final long seq = nextSeq++;
+    entries[(int) (seq % entries.length)] = entryOfSeq.apply(seq);
+    return seq;
+  }
+
+  synchronized SlotReplicationLogResult read(long fromSeq, int maxEntries) {
+    if (fromSeq < 0) {
+      return SlotReplicationLogResult.position(leaderEpoch, nextSeq);
+    }
+    if (fromSeq < firstSeq() || fromSeq > nextSeq) {
+      return SlotReplicationLogResult.truncated(leaderEpoch, nextSeq);
+    }
+    final long end = Math.min(nextSeq, fromSeq + Math.max(1, maxEntries));
+    List<SlotReplicationLogEntry> list = new ArrayList<>((int) (end - fromSeq));
+    for (long seq = fromSeq; seq < end; seq++) {
+      list.add(entries[(int) (seq % entries.length)]);
+    }
+    return new SlotReplicationLogResult(leaderEpoch, end, false, end < nextSeq, list);
+  }
+
+  synchronized long firstSeq() {
+    return Math.max(0, nextSeq - entries.length);
+  }
+
+  synchronized long nextSeq() {
+    return nextSeq;
+  }
+
+  @Override
+  public String toString() {
+    return "ReplicationLog{slotId=" + slotId + ", leaderEpoch=" + leaderEpoch + "}";
+  }
+}
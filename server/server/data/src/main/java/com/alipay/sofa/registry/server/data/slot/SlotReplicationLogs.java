@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogEntry;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogResult;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the replication logs of the slots which the local is leader, the followers tail the log to
+ * converge with the leader, fallback to digest sync when the position is truncated
+ */
+public final class SlotReplicationLogs {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SlotReplicationLogs.class);
+
+  @Autowired private DataServerConfig dataServerConfig;
+
+  private final Map<Integer, SlotReplicationLog> logs = Maps.newConcurrentMap();
+
+  /** create the log when the local becomes the leader, a new leaderEpoch starts a new log */
+  void onLeader(int slotId, long leaderEpoch) {
+    if (!dataServerConfig.isSlotReplicationLogEnable()) {
+      logs.clear();
+      return;
+    }
+    logs.compute(
+        slotId,
+        (k, v) -> {
+          if (v != null && v.leaderEpoch == leaderEpoch) {
+            return v;
+          }
+          LOGGER.info("[createLog]slotId={}, leaderEpoch={}, prev={}", slotId, leaderEpoch, v);
+          return new SlotReplicationLog(
+              slotId, leaderEpoch, dataServerConfig.getSlotReplicationLogCapacity());
+        });
+  }
+
+  void remove(int slotId) {
+    SlotReplicationLog log = logs.remove(slotId);
+    if (log != null) {
+      LOGGER.info("[removeLog]{}, nextSeq={}", log, log.nextSeq());
+    }
+  }
+
+  /**
+   * the writers of the slot journal the modifications only when logging, avoid the cost of the
+   * journal when the log is disabled or the local is not the leader. the modification raced with
+   * the creation of the log is repaired by the digest anti-entropy of the followers
+   */
+  public boolean isLogging(int slotId) {
+    return dataServerConfig.isSlotReplicationLogEnable() && logs.containsKey(slotId);
+  }
+
+  public void appendPut(
+      int slotId, String dataInfoId, List<Publisher> publishers, long datumVersion) {
+    append(slotId, seq -> SlotReplicationLogEntry.put(seq, dataInfoId, publishers, datumVersion));
+  }
+
+  public void appendRemove(
+      int slotId,
+      String dataInfoId,
+      ProcessId sessionProcessId,
+      Map<String, RegisterVersion> removedPublishers,
+      long datumVersion) {
+    append(
+        slotId,
+        seq ->
+            SlotReplicationLogEntry.remove(
+                seq, dataInfoId, sessionProcessId, removedPublishers, datumVersion));
+  }
+
+  private void append(int slotId, LongFunction<SlotReplicationLogEntry> entryOfSeq) {
+    // no log if the local is not leader
+    final SlotReplicationLog log = logs.get(slotId);
+    if (log != null) {
+      log.append(entryOfSeq);
+    }
+  }
+
+  /**
+   * @return truncated if the local has no log of the leaderEpoch or the position is not in the log
+   */
+  public SlotReplicationLogResult read(int slotId, long leaderEpoch, long fromSeq, int maxEntries) {
+    final SlotReplicationLog log = logs.get(slotId);
+    if (log == null) {
+      return SlotReplicationLogResult.truncated(-1, 0);
+    }
+    if (log.leaderEpoch != leaderEpoch) {
+      return SlotReplicationLogResult.truncated(log.leaderEpoch, log.nextSeq());
+    }
+    return log.read(fromSeq, maxEntries);
+  }
+
+  @VisibleForTesting
+  SlotReplicationLog getLog(int slotId) {
+    return logs.get(slotId);
+  }
+
+  @VisibleForTesting
+  void setDataServerConfig(DataServerConfig dataServerConfig) {
+    this.dataServerConfig = dataServerConfig;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogEntry;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogResult;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.WordCache;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.remoting.exchange.RequestException;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.CleanContinues;
+import com.alipay.sofa.registry.server.data.cache.DatumStorage;
+import com.alipay.sofa.registry.server.data.remoting.DataNodeExchanger;
+import java.util.List;
+
+/**
+ * the follower tails the replication log of the slot leader. when the follower has no position or
+ * the position is truncated, get the position of the log first and then do the digest sync, the
+ * mutations after the position are replayed by the tailing. the digest sync still runs in the
+ * interval of syncing leader as anti-entropy
+ */
+final class SlotReplicationTailer {
+  private static final Logger LOGGER = LoggerFactory.getLogger("SYNC-DIFF");
+
+  private final DataServerConfig dataServerConfig;
+  private final DatumStorage datumStorage;
+  private final SlotManagerImpl.SlotState slotState;
+
+  SlotReplicationTailer(
+      DataServerConfig dataServerConfig,
+      DatumStorage datumStorage,
+      SlotManagerImpl.SlotState slotState) {
+    this.dataServerConfig = dataServerConfig;
+    this.datumStorage = datumStorage;
+    this.slotState = slotState;
+  }
+
+  boolean sync(
+      Slot slot,
+      long slotTableEpoch,
+      SlotDiffSyncer syncer,
+      DataNodeExchanger exchanger,
+      SyncContinues continues)
+      throws RequestException {
+    final long leaderEpoch = slot.getLeaderEpoch();
+    if (slotState.getReplicationSeq(leaderEpoch) >= 0) {
+      if (!tail(slot, slotTableEpoch, exchanger, continues)) {
+        return false;
+      }
+      if (slotState.getReplicationSeq(leaderEpoch) >= 0) {
+        if (!slotState.isLeaderDigestOverAfter(digestIntervalMillis())) {
+          return true;
+        }
+        // anti-entropy, restart from a new position with the digest sync, it repairs the
+        // divergence which the tailing could not see
+        slotState.updateReplicationSeq(leaderEpoch, -1);
+        LOGGER.info("[ReplicationAntiEntropy]slotId={}", slot.getId());
+      }
+      // the position is truncated or reset, fallback to the digest sync
+    }
+    // the leader maybe not support the replication log, the digest sync still runs
+    SlotReplicationLogResult position = null;
+    try {
+      position =
+          request(slot, slotTableEpoch, exchanger, SlotReplicationLogRequest.POSITION_ONLY, 0);
+    } catch (Throwable e) {
+      LOGGER.error("[ReplicationPosition]failed, slotId={}", slot.getId(), e);
+    }
+    if (!syncer.syncSlotLeader(
+        slot.getId(), slot.getLeader(), exchanger, slotTableEpoch, continues)) {
+      return false;
+    }
+    slotState.completeLeaderDigest();
+    if (position != null && position.getSlotLeaderEpoch() == leaderEpoch) {
+      slotState.updateReplicationSeq(leaderEpoch, position.getNextSeq());
+      LOGGER.info("[ReplicationStart]slotId={}, {}", slot.getId(), position);
+    }
+    return true;
+  }
+
+  private long digestIntervalMillis() {
+    return dataServerConfig.getSlotFollowerSyncLeaderIntervalSecs() * 1000L;
+  }
+
+  boolean tail(Slot slot, long slotTableEpoch, DataNodeExchanger exchanger, SyncContinues continues)
+      throws RequestException {
+    final long leaderEpoch = slot.getLeaderEpoch();
+    final int maxEntries = dataServerConfig.getSlotReplicationTailMaxEntries();
+    SlotReplicationLogResult result;
+    do {
+      final long seq = slotState.getReplicationSeq(leaderEpoch);
+      if (seq < 0) {
+        return true;
+      }
+      result = request(slot, slotTableEpoch, exchanger, seq, maxEntries);
+      if (result == null) {
+        return false;
+      }
+      if (result.isTruncated() || result.getSlotLeaderEpoch() != leaderEpoch) {
+        // lost the position
+        slotState.updateReplicationSeq(leaderEpoch, -1);
+        SlotMetrics.Replication.observeTruncated();
+        LOGGER.info("[ReplicationTruncated]slotId={}, seq={}, {}", slot.getId(), seq, result);
+        return true;
+      }
+      apply(slot.getId(), leaderEpoch, result.getEntries());
+      slotState.updateReplicationSeq(leaderEpoch, result.getNextSeq());
+    } while (result.isHasRemain() && continues.continues());
+    return true;
+  }
+
+  void apply(int slotId, long leaderEpoch, List<SlotReplicationLogEntry> entries) {
+    for (SlotReplicationLogEntry entry : entries) {
+      switch (entry.getType()) {
+        case PUT:
+          final List<Publisher> publishers = entry.getPublishers();
+          Publisher.internPublisher(publishers);
+          datumStorage.put(WordCache.getWordCache(entry.getDataInfoId()), publishers);
+          break;
+        case REMOVE:
+          datumStorage.remove(
+              entry.getDataInfoId(), entry.getSessionProcessId(), entry.getRemovedPublishers());
+          break;
+        case CLEAN:
+          // the clean has no version, drop the replicated versions of the slot
+          datumStorage.clean(slotId, entry.getSessionProcessId(), CleanContinues.ALWAYS);
+          slotState.clearReplicatedVersions();
+          break;
+        default:
+          throw new IllegalArgumentException("unsupported entry type:" + entry);
+      }
+      if (entry.getDatumVersion() > 0) {
+        slotState.updateReplicatedVersion(
+            leaderEpoch, entry.getDataInfoId(), entry.getDatumVersion());
+      }
+      SlotMetrics.Replication.observeTailEntry(entry.getType().name());
+    }
+  }
+
+  private SlotReplicationLogResult request(
+      Slot slot, long slotTableEpoch, DataNodeExchanger exchanger, long fromSeq, int maxEntries)
+      throws RequestException {
+    SlotReplicationLogRequest request =
+        new SlotReplicationLogRequest(
+            slotTableEpoch, slot.getId(), slot.getLeaderEpoch(), fromSeq, maxEntries);
+    GenericResponse<SlotReplicationLogResult> resp =
+        (GenericResponse<SlotReplicationLogResult>)
+            exchanger.requestRaw(slot.getLeader(), request).getResult();
+    if (resp == null || !resp.isSuccess()) {
+      LOGGER.error(
+          "ReplicationLogFailed, slotId={} from {}, resp={}", slot.getId(), slot.getLeader(), resp);
+      return null;
+    }
+    return resp.getData();
+  }
+}
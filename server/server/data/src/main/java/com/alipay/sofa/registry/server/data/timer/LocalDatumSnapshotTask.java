@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.timer;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.DatumStorage;
+import com.alipay.sofa.registry.util.NamedThreadFactory;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/** write the local datum snapshot periodically and on shutdown */
+public class LocalDatumSnapshotTask {
+  private static final Logger LOGGER = LoggerFactory.getLogger("DATUM-SNAPSHOT");
+
+  @Autowired private DatumStorage localDatumStorage;
+
+  @Autowired private DataServerConfig dataServerConfig;
+
+  // create only when the snapshot is enabled
+  private ScheduledExecutorService executorService;
+
+  @PostConstruct
+  public boolean init() {
+    final int intervalSecs = dataServerConfig.getLocalSnapshotIntervalSecs();
+    if (!dataServerConfig.isLocalSnapshotEnable() || intervalSecs <= 0) {
+      LOGGER.info(
+          "local snapshot off, enable={}, intervalSecs={}",
+          dataServerConfig.isLocalSnapshotEnable(),
+          intervalSecs);
+      return false;
+    }
+    executorService =
+        new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("LocalDatumSnapshotTask"));
+    executorService.scheduleWithFixedDelay(
+        this::snapshot, intervalSecs, intervalSecs, TimeUnit.SECONDS);
+    return true;
+  }
+
+  public int snapshot() {
+    try {
+      final long start = System.currentTimeMillis();
+      int count = localDatumStorage.writeSnapshot();
+      LOGGER.info("[snapshot]slots={}, span={}", count, System.currentTimeMillis() - start);
+      return count;
+    } catch (Throwable e) {
+      LOGGER.error("[snapshot]failed to write snapshot", e);
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ConnectId;
+import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConnectIdIndexTest {
+
+  @Test
+  public void testIndex() {
+    PublisherGroups groups = new PublisherGroups("testDc");
+    Publisher p1 = TestBaseUtils.createTestPublisher("testIndex1");
+    Publisher p2 = TestBaseUtils.createTestPublisher("testIndex2");
+    Publisher p3 = TestBaseUtils.createTestPublisher("testIndex2");
+    p3.setSourceAddress(URL.valueOf("192.168.1.1:1000"));
+    final ConnectId connectId = p1.connectId();
+    Assert.assertEquals(connectId, p2.connectId());
+    Assert.assertNotEquals(connectId, p3.connectId());
+
+    groups.put(p1.getDataInfoId(), Collections.singletonList(p1));
+    groups.put(p2.getDataInfoId(), Collections.singletonList(p2));
+    groups.put(p3.getDataInfoId(), Collections.singletonList(p3));
+
+    Map<String, Publisher> map = groups.getByConnectId(connectId);
+    Assert.assertEquals(map.size(), 2);
+    Assert.assertEquals(map.get(p1.getRegisterId()), p1);
+    Assert.assertEquals(map.get(p2.getRegisterId()), p2);
+
+    map = groups.getByConnectId(p3.connectId());
+    Assert.assertEquals(map.size(), 1);
+    Assert.assertEquals(map.get(p3.getRegisterId()), p3);
+
+    // the newer pub moves to another connectId
+    Publisher newer = TestBaseUtils.cloneBase(p1);
+    newer.setVersion(p1.getVersion() + 1);
+    newer.setSourceAddress(p3.getSourceAddress());
+    groups.put(newer.getDataInfoId(), Collections.singletonList(newer));
+    map = groups.getByConnectId(connectId);
+    Assert.assertEquals(map.size(), 1);
+    Assert.assertEquals(map.get(p2.getRegisterId()), p2);
+    map = groups.getByConnectId(p3.connectId());
+    Assert.assertEquals(map.size(), 2);
+    Assert.assertEquals(map.get(newer.getRegisterId()), newer);
+
+    // unpub by session
+    groups.remove(
+        p2.getDataInfoId(),
+        ServerEnv.PROCESS_ID,
+        Collections.singletonMap(p2.getRegisterId(), p2.registerVersion()));
+    Assert.assertTrue(groups.getByConnectId(connectId).isEmpty());
+
+    // clean by sessionProcessId
+    groups.clean(ServerEnv.PROCESS_ID, CleanContinues.ALWAYS);
+    Assert.assertTrue(groups.getByConnectId(p3.connectId()).isEmpty());
+
+    // the clone of p3 is on the default connectId
+    groups.put(p3.getDataInfoId(), Collections.singletonList(TestBaseUtils.cloneBase(p3)));
+    Assert.assertTrue(groups.getByConnectId(p3.connectId()).isEmpty());
+    Assert.assertEquals(groups.getByConnectId(connectId).size(), 1);
+
+    // clean all
+    groups.remove(p3.getDataInfoId(), null);
+    Assert.assertTrue(groups.getByConnectId(connectId).isEmpty());
+  }
+
+  @Test
+  public void testReplace() {
+    ConnectIdIndex index = new ConnectIdIndex();
+    Publisher p = TestBaseUtils.createTestPublisher("testReplace");
+    PublisherEnvelope pub = PublisherEnvelope.pubOf(p, p.getSessionProcessId());
+    PublisherEnvelope unpub =
+        PublisherEnvelope.unpubOf(p.registerVersion(), p.getSessionProcessId());
+    index.onReplace(p.getDataInfoId(), p.getRegisterId(), null, unpub);
+    Assert.assertEquals(index.size(), 0);
+
+    index.onReplace(p.getDataInfoId(), p.getRegisterId(), unpub, pub);
+    Assert.assertEquals(index.size(), 1);
+    Assert.assertTrue(index.get(p.connectId(), p.getDataInfoId()).contains(p.getRegisterId()));
+
+    Assert.assertTrue(
+        index.get(p.getSessionProcessId(), p.getDataInfoId()).contains(p.getRegisterId()));
+
+    index.onReplace(p.getDataInfoId(), p.getRegisterId(), pub, pub);
+    Assert.assertEquals(index.get(p.connectId(), p.getDataInfoId()).size(), 1);
+
+    // the same connectId from another session process
+    ProcessId otherProcessId = new ProcessId("otherSession", System.currentTimeMillis(), 1, 1);
+    PublisherEnvelope other = PublisherEnvelope.pubOf(p, otherProcessId);
+    index.onReplace(p.getDataInfoId(), p.getRegisterId(), pub, other);
+    Assert.assertEquals(index.get(p.connectId(), p.getDataInfoId()).size(), 1);
+    Assert.assertTrue(index.get(p.getSessionProcessId()).isEmpty());
+    Assert.assertTrue(index.get(otherProcessId, p.getDataInfoId()).contains(p.getRegisterId()));
+
+    index.onRemove(p.getDataInfoId(), p.getRegisterId(), other);
+    Assert.assertEquals(index.size(), 0);
+    Assert.assertTrue(index.get(p.connectId()).isEmpty());
+    Assert.assertTrue(index.get(otherProcessId).isEmpty());
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.cache;
+
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.util.FileUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocalDatumSnapshotTest {
+  private static final String testDc = "localDc";
+
+  private File dir;
+  private DataServerConfig dataServerConfig;
+
+  @Before
+  public void before() throws Exception {
+    dir = Files.createTempDirectory("datum-snapshot").toFile();
+    dataServerConfig = TestBaseUtils.newDataConfig(testDc);
+    dataServerConfig.setLocalSnapshotEnable(true);
+    dataServerConfig.setLocalSnapshotDir(dir.getAbsolutePath());
+  }
+
+  @After
+  public void after() throws Exception {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  private LocalDatumSnapshot newSnapshot() {
+    LocalDatumSnapshot snapshot = new LocalDatumSnapshot();
+    snapshot.setDataServerConfig(dataServerConfig);
+    return snapshot;
+  }
+
+  private LocalDatumStorage newStorage(LocalDatumSnapshot snapshot) {
+    LocalDatumStorage storage = new LocalDatumStorage();
+    storage.setDataServerConfig(dataServerConfig);
+    storage.setLocalDatumSnapshot(snapshot);
+    return storage;
+  }
+
+  @Test
+  public void testRestart() {
+    LocalDatumStorage storage = newStorage(newSnapshot());
+    storage.getSlotChangeListener().onSlotAdd(1, Slot.Role.Leader);
+    storage.getSlotChangeListener().onSlotAdd(2, Slot.Role.Follower);
+    List<Publisher> publishers = TestBaseUtils.createTestPublishers(1, 10);
+    final String dataInfoId = publishers.get(0).getDataInfoId();
+    storage.put(dataInfoId, publishers);
+    Assert.assertEquals(2, storage.writeSnapshot());
+    Assert.assertTrue(new File(dir, "slot-1.snap").isFile());
+    Assert.assertTrue(new File(dir, "slot-2.snap").isFile());
+
+    // restart
+    storage = newStorage(newSnapshot());
+    storage.getSlotChangeListener().onSlotAdd(1, Slot.Role.Leader);
+    Map<String, Map<String, Publisher>> loaded = storage.getPublishers(1);
+    Assert.assertEquals(1, loaded.size());
+    Assert.assertEquals(publishers.size(), loaded.get(dataInfoId).size());
+    for (Publisher p : publishers) {
+      Publisher l = loaded.get(dataInfoId).get(p.getRegisterId());
+      Assert.assertEquals(p.registerVersion(), l.registerVersion());
+      Assert.assertEquals(p.getSessionProcessId(), l.getSessionProcessId());
+    }
+
+    // only load once, the slot 2 is not owned anymore
+    storage.getSlotChangeListener().onSlotRemove(1, Slot.Role.Leader);
+    storage.getSlotChangeListener().onSlotAdd(1, Slot.Role.Leader);
+    Assert.assertTrue(storage.getPublishers(1).isEmpty());
+    Assert.assertEquals(1, storage.writeSnapshot());
+    Assert.assertFalse(new File(dir, "slot-2.snap").exists());
+  }
+
+  @Test
+  public void testSkip() throws Exception {
+    LocalDatumSnapshot snapshot = newSnapshot();
+    List<Publisher> publishers = TestBaseUtils.createTestPublishers(3, 2);
+    LocalDatumStorage storage = newStorage(snapshot);
+    storage.getSlotChangeListener().onSlotAdd(3, Slot.Role.Leader);
+    storage.put(publishers.get(0).getDataInfoId(), publishers);
+    storage.writeSnapshot();
+    File file = new File(dir, "slot-3.snap");
+    Assert.assertEquals(1, snapshot.read(3, file).size());
+
+    // slot mismatch
+    Assert.assertTrue(snapshot.read(4, file).isEmpty());
+
+    // expired
+    dataServerConfig.setLocalSnapshotMaxAgeSecs(-1);
+    Assert.assertTrue(snapshot.read(3, file).isEmpty());
+    dataServerConfig.setLocalSnapshotMaxAgeSecs(60);
+
+    // corrupted
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(raf.length() - 1);
+      final int b = raf.read();
+      raf.seek(raf.length() - 1);
+      raf.write(b + 1);
+    }
+    Assert.assertTrue(snapshot.read(3, file).isEmpty());
+
+    // disabled
+    dataServerConfig.setLocalSnapshotEnable(false);
+    Assert.assertTrue(snapshot.load(3).isEmpty());
+    Assert.assertEquals(0, storage.writeSnapshot());
+    Assert.assertTrue(Sets.newHashSet(dir.list()).contains(file.getName()));
+  }
+
+  @Test
+  public void testEncoding() throws Exception {
+    LocalDatumSnapshot snapshot = newSnapshot();
+    List<Publisher> publishers = TestBaseUtils.createTestPublishers(5, 2);
+    publishers.get(0).setDataList(Lists.newArrayList(new ServerDataBox(new byte[] {1, 2})));
+    Publisher obj = TestBaseUtils.createTestPublishers(5, 1).get(0);
+    obj.setDataInfoId("obj");
+    obj.setDataList(Lists.newArrayList(new ServerDataBox("obj")));
+    Map<String, List<Publisher>> map = Maps.newHashMap();
+    map.put(publishers.get(0).getDataInfoId(), publishers);
+    map.put(obj.getDataInfoId(), Lists.newArrayList(obj));
+    Assert.assertEquals(2, snapshot.write(5, map));
+
+    Map<String, List<Publisher>> loaded = snapshot.read(5, new File(dir, "slot-5.snap"));
+    Assert.assertEquals(2, loaded.size());
+    List<Publisher> binary = loaded.get(publishers.get(0).getDataInfoId());
+    Assert.assertEquals(publishers.size(), binary.size());
+    for (int i = 0; i < publishers.size(); i++) {
+      Assert.assertEquals(publishers.get(i).registerVersion(), binary.get(i).registerVersion());
+      Assert.assertEquals(publishers.get(i).getDataList(), binary.get(i).getDataList());
+    }
+    // fallback to hessian
+    Assert.assertEquals("obj", loaded.get("obj").get(0).getDataList().get(0).getObject());
+  }
+
+  @Test
+  public void testTooLarge() throws Exception {
+    LocalDatumSnapshot snapshot = newSnapshot();
+    List<Publisher> publishers = TestBaseUtils.createTestPublishers(6, 2);
+    Map<String, List<Publisher>> map =
+        Collections.singletonMap(publishers.get(0).getDataInfoId(), publishers);
+    snapshot.write(6, map);
+    File file = new File(dir, "slot-6.snap");
+    final long size = file.length();
+
+    snapshot.setMaxSegmentSize(size - 1);
+    publishers.get(0).setVersion(publishers.get(0).getVersion() + 1);
+    try {
+      snapshot.write(6, map);
+      Assert.fail();
+    } catch (IOException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("too large"));
+    }
+    // the previous snapshot is kept
+    Assert.assertEquals(size, file.length());
+    Assert.assertEquals(
+        publishers.get(1).registerVersion(),
+        snapshot.read(6, file).get(publishers.get(0).getDataInfoId()).get(1).registerVersion());
+    Assert.assertFalse(new File(dir, "slot-6.snap.tmp").exists());
+  }
+}
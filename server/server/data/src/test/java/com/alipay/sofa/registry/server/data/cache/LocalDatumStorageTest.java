@@ -23,11 +23,13 @@ import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
 import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotConfig;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunction;
 import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.UnPublisher;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.util.Collections;
 import java.util.List;
@@ -311,4 +313,52 @@ public class LocalDatumStorageTest {
     Assert.assertEquals(map.size(), 1);
     Assert.assertEquals(map.get(publisher.getDataInfoId()).size(), 0);
   }
+
+  @Test
+  public void testSplit() {
+    LocalDatumStorage storage = TestBaseUtils.newLocalStorage(testDc, true);
+    final int slotNum = SlotConfig.SLOT_NUM;
+    List<Publisher> publishers = Lists.newArrayList();
+    Map<String, DatumVersion> versions = Maps.newHashMap();
+    for (int i = 0; i < 100; i++) {
+      Publisher publisher = TestBaseUtils.createTestPublisher(testDataId + "-split-" + i);
+      publishers.add(publisher);
+      versions.put(publisher.getDataInfoId(), storage.put(publisher));
+    }
+    Set<Integer> slotIds = Sets.newHashSet();
+    for (int i = 0; i < slotNum * 2; i++) {
+      slotIds.add(i);
+    }
+    storage.getSlotChangeListener().onSlotSplit(slotNum * 2, slotIds);
+
+    final SlotFunction func = SlotFunctionRegistry.getFunc(slotNum * 2);
+    int moved = 0;
+    for (Publisher publisher : publishers) {
+      final String dataInfoId = publisher.getDataInfoId();
+      final int parent = SlotFunctionRegistry.getFunc().slotOf(dataInfoId);
+      final int child = func.slotOf(dataInfoId);
+      if (child != parent) {
+        moved++;
+        Assert.assertFalse(storage.getPublishers(parent).containsKey(dataInfoId));
+      }
+      // the publishers and version are kept
+      Assert.assertEquals(versions.get(dataInfoId), storage.getVersion(dataInfoId));
+      Assert.assertTrue(storage.getPublishers(child).containsKey(dataInfoId));
+      Assert.assertTrue(storage.getDatumSummary(child).containsKey(dataInfoId));
+      Assert.assertEquals(
+          publisher, storage.getByConnectId(publisher.connectId()).get(publisher.getRegisterId()));
+    }
+    Assert.assertTrue(moved > 0);
+    Assert.assertEquals(publishers.size(), storage.getAllPublisher().size());
+
+    // the new publisher goes to the child
+    Publisher publisher = TestBaseUtils.createTestPublisher(testDataId + "-split-new");
+    Assert.assertNotNull(storage.put(publisher));
+    final int slotId = func.slotOf(publisher.getDataInfoId());
+    Assert.assertTrue(storage.getPublishers(slotId).containsKey(publisher.getDataInfoId()));
+
+    // split to the same slot num again is skipped
+    storage.getSlotChangeListener().onSlotSplit(slotNum * 2, slotIds);
+    Assert.assertEquals(publishers.size() + 1, storage.getAllPublisher().size());
+  }
 }
@@ -18,11 +18,13 @@ package com.alipay.sofa.registry.server.data.cache;
 
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.ProcessId;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.UnPublisher;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.collect.Lists;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -48,7 +50,8 @@ public class PublisherEnvelopeTest {
     Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
     PublisherEnvelope envelope = PublisherEnvelope.of(publisher);
     ParaCheckUtil.checkNotBlank(envelope.toString(), "tostring");
-    Assert.assertTrue(publisher == envelope.publisher);
+    Assert.assertTrue(publisher == envelope.getPublisher());
+    Assert.assertFalse(envelope.isCompact());
     Assert.assertEquals(publisher.registerVersion(), envelope.registerVersion);
     Assert.assertEquals(publisher.registerVersion(), envelope.getVersionIfPub());
     Assert.assertEquals(publisher.getSessionProcessId(), ServerEnv.PROCESS_ID);
@@ -60,7 +63,7 @@ public class PublisherEnvelopeTest {
     UnPublisher unPublisher = UnPublisher.of(publisher);
     envelope = PublisherEnvelope.of(unPublisher);
 
-    Assert.assertNull(envelope.publisher);
+    Assert.assertNull(envelope.getPublisher());
     Assert.assertEquals(unPublisher.registerVersion(), envelope.registerVersion);
     Assert.assertNull(envelope.getVersionIfPub());
     Assert.assertEquals(unPublisher.getSessionProcessId(), ServerEnv.PROCESS_ID);
@@ -69,4 +72,27 @@ public class PublisherEnvelopeTest {
     Assert.assertFalse(envelope.isConnectId(publisher.connectId()));
     Assert.assertFalse(envelope.isConnectId(ConnectId.of("127.0.0.1:9999", "127.0.0.2:9997")));
   }
+
+  @Test
+  public void testCompact() {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox(new byte[] {1, 2})));
+    PublisherEnvelope envelope = PublisherEnvelope.of(publisher, publisher.registerVersion(), true);
+    Assert.assertTrue(envelope.isPub());
+    Assert.assertTrue(envelope.isCompact());
+    Assert.assertTrue(envelope.isConnectId(publisher.connectId()));
+    Assert.assertEquals(publisher.getDataList(), envelope.getDataList());
+
+    Publisher p = envelope.getPublisher();
+    Assert.assertTrue(publisher != p);
+    Assert.assertEquals(publisher.getRegisterId(), p.getRegisterId());
+    Assert.assertEquals(publisher.registerVersion(), p.registerVersion());
+    Assert.assertEquals(publisher.getDataList(), p.getDataList());
+
+    // the dataBox not in bytes could not be compacted
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox("obj")));
+    envelope = PublisherEnvelope.of(publisher, publisher.registerVersion(), true);
+    Assert.assertFalse(envelope.isCompact());
+    Assert.assertTrue(publisher == envelope.getPublisher());
+  }
 }
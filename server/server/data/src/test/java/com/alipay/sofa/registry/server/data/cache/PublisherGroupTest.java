@@ -233,6 +233,36 @@ public class PublisherGroupTest {
     Assert.assertTrue(group.toString().length() != 0);
   }
 
+  @Test
+  public void testCompact() {
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDataInfoId");
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox(new byte[] {1, 2, 3})));
+    PublisherGroup group = new PublisherGroup(publisher.getDataInfoId(), "dc", true);
+    Assert.assertNotNull(group.addPublisher(publisher));
+
+    Datum datum = group.toDatum();
+    Publisher p = datum.getPubMap().get(publisher.getRegisterId());
+    Assert.assertTrue(p != publisher);
+    Assert.assertEquals(p.registerVersion(), publisher.registerVersion());
+    Assert.assertEquals(p.getDataList(), publisher.getDataList());
+    Assert.assertEquals(p.getSessionProcessId(), publisher.getSessionProcessId());
+    Assert.assertEquals(
+        group.getByConnectId(publisher.connectId()).get(publisher.getRegisterId()).getDataList(),
+        publisher.getDataList());
+
+    // same dataList with newer version, not change
+    Publisher same = TestBaseUtils.cloneBase(publisher);
+    same.setVersion(publisher.getVersion() + 1);
+    same.setDataList(Lists.newArrayList(new ServerDataBox(new byte[] {1, 2, 3})));
+    Assert.assertNull(group.addPublisher(same));
+
+    Publisher newer = TestBaseUtils.cloneBase(same);
+    newer.setVersion(same.getVersion() + 1);
+    newer.setDataList(Lists.newArrayList(new ServerDataBox(new byte[] {4})));
+    Assert.assertNotNull(group.addPublisher(newer));
+    Assert.assertEquals(group.getPublishers().get(0).getDataList(), newer.getDataList());
+  }
+
   @Test
   public void testUpdate() {
     final String dataId = "testDataInfoId";
@@ -20,6 +20,7 @@ import com.alipay.sofa.registry.common.model.ProcessId;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.common.model.store.UnPublisher;
@@ -56,6 +57,73 @@ public class PublisherGroupsTest {
     Assert.assertTrue(group != group1);
   }
 
+  @Test
+  public void testSlotVersion() {
+    PublisherGroups groups = new PublisherGroups(testDc);
+    Assert.assertEquals(0, groups.getSlotVersion());
+    Publisher p1 = TestBaseUtils.createTestPublisher("testSlotVersion1");
+    groups.put(p1.getDataInfoId(), Collections.singletonList(p1));
+    long v1 = groups.getSlotVersion();
+    Assert.assertTrue(v1 >= groups.getVersion(p1.getDataInfoId()).getValue());
+
+    // no change
+    groups.remove(p1.getDataInfoId(), p1.getSessionProcessId(), Collections.emptyMap());
+    groups.getVersions(null);
+    Assert.assertEquals(v1, groups.getSlotVersion());
+
+    groups.remove(
+        p1.getDataInfoId(),
+        p1.getSessionProcessId(),
+        Collections.singletonMap(p1.getRegisterId(), p1.registerVersion()));
+    long v2 = groups.getSlotVersion();
+    Assert.assertTrue(v2 > v1);
+    groups.updateVersion(p1.getDataInfoId());
+    Assert.assertTrue(groups.getSlotVersion() > v2);
+
+    // the merged groups is not less than the both
+    PublisherGroups other = new PublisherGroups(testDc);
+    Publisher p2 = TestBaseUtils.createTestPublisher("testSlotVersion2");
+    other.put(p2.getDataInfoId(), Collections.singletonList(p2));
+    final long max = Math.max(groups.getSlotVersion(), other.getSlotVersion());
+    Assert.assertTrue(groups.merge(other).getSlotVersion() > max);
+  }
+
+  @Test
+  public void testBucketDigest() {
+    PublisherGroups groups = new PublisherGroups(testDc);
+    final DataSlotBucketDigest emptyDigest = groups.getBucketDigest();
+    Publisher p1 = TestBaseUtils.createTestPublisher("testBucket1");
+    Publisher p2 = TestBaseUtils.createTestPublisher("testBucket2");
+    Publisher p3 = TestBaseUtils.createTestPublisher("testBucket2");
+    groups.put(p1.getDataInfoId(), Collections.singletonList(p1));
+    groups.put(p2.getDataInfoId(), Lists.newArrayList(p2, p3));
+    assertBucketDigest(groups);
+
+    // update version
+    Publisher newer = TestBaseUtils.cloneBase(p1);
+    newer.setVersion(p1.getVersion() + 1);
+    groups.put(newer.getDataInfoId(), Collections.singletonList(newer));
+    assertBucketDigest(groups);
+
+    // unpub by session, the tombstone is not included
+    groups.remove(
+        p2.getDataInfoId(),
+        p2.getSessionProcessId(),
+        Collections.singletonMap(p2.getRegisterId(), p2.registerVersion()));
+    assertBucketDigest(groups);
+    groups.compact(Long.MAX_VALUE);
+    assertBucketDigest(groups);
+
+    groups.clean(p1.getSessionProcessId(), CleanContinues.ALWAYS);
+    assertBucketDigest(groups);
+    Assert.assertEquals(groups.getBucketDigest(), emptyDigest);
+  }
+
+  private static void assertBucketDigest(PublisherGroups groups) {
+    Assert.assertEquals(
+        groups.getBucketDigest(), DataSlotBucketDigest.ofSummary(groups.getAllSummary()));
+  }
+
   @Test
   public void testPut() {
     PublisherGroups groups = new PublisherGroups(testDc);
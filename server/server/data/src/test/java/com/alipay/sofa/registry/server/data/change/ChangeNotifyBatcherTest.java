@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.change;
+
+import com.alipay.sofa.registry.common.model.TraceTimes;
+import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChangeNotifyBatcherTest {
+  private static final String DC = "testDc";
+  private static final String SESSION = "localhost";
+
+  private final List<Channel> channels =
+      Lists.newArrayList(TestBaseUtils.newChannel(9620, SESSION, 1000));
+
+  private static Map<String, DatumVersion> changes(int from, int to, long version) {
+    Map<String, DatumVersion> map = Maps.newHashMap();
+    for (int i = from; i < to; i++) {
+      map.put(String.valueOf(i), new DatumVersion(version));
+    }
+    return map;
+  }
+
+  @Test
+  public void testMerge() {
+    ChangeNotifyBatcher batcher = new ChangeNotifyBatcher();
+    batcher.add(DC, SESSION, channels, changes(0, 5, 100), new TraceTimes(), 1000);
+    batcher.add(DC, SESSION, channels, changes(3, 8, 200), new TraceTimes(), 1010);
+    batcher.add(DC, SESSION, channels, changes(0, 2, 50), new TraceTimes(), 1020);
+    Assert.assertEquals(8, batcher.getSessionBatch(DC, SESSION).pendingSize());
+
+    // not reach the delay
+    Assert.assertTrue(batcher.takeReady(1010, 100, 50, 1000).isEmpty());
+
+    List<ChangeNotifyBatcher.NotifyBatch> ready = batcher.takeReady(1050, 100, 50, 1000);
+    Assert.assertEquals(1, ready.size());
+    ChangeNotifyBatcher.NotifyBatch batch = ready.get(0);
+    Assert.assertEquals(8, batch.changes.size());
+    Assert.assertEquals(1000, batch.firstPendingTs);
+    // the newer version wins
+    Assert.assertEquals(100, batch.changes.get("0").getValue());
+    Assert.assertEquals(200, batch.changes.get("3").getValue());
+    Assert.assertEquals(0, batcher.getSessionBatch(DC, SESSION).pendingSize());
+  }
+
+  @Test
+  public void testInflight() {
+    ChangeNotifyBatcher batcher = new ChangeNotifyBatcher();
+    batcher.add(DC, SESSION, channels, changes(0, 10, 100), new TraceTimes(), 1000);
+    // reach the size
+    List<ChangeNotifyBatcher.NotifyBatch> ready = batcher.takeReady(1000, 4, 50, 1000);
+    Assert.assertEquals(1, ready.size());
+    Assert.assertEquals(4, ready.get(0).changes.size());
+
+    // in flight, not flush
+    Assert.assertTrue(batcher.takeReady(1000, 4, 50, 1000).isEmpty());
+    ChangeNotifyBatcher.SessionBatch session = batcher.getSessionBatch(DC, SESSION);
+    session.done(1100, true);
+    Assert.assertTrue(session.getAckLatencyMillis() > 0);
+
+    ready = batcher.takeReady(1100, 4, 50, 1000);
+    Assert.assertEquals(1, ready.size());
+    Assert.assertEquals(4, ready.get(0).changes.size());
+
+    // rollback merge the changes back
+    session.rollback(ready.get(0));
+    Assert.assertEquals(6, session.pendingSize());
+    ready = batcher.takeReady(1100, 10, 50, 1000);
+    Assert.assertEquals(6, ready.get(0).changes.size());
+  }
+
+  @Test
+  public void testDelay() {
+    ChangeNotifyBatcher.SessionBatch session = new ChangeNotifyBatcher.SessionBatch(DC, SESSION);
+    Assert.assertEquals(50, session.delayMillis(0, 100, 50, 1000));
+    session.add(channels, changes(0, 1, 100), new TraceTimes(), 0);
+    session.take(0, 1, 50, 1000);
+    session.done(5000, true);
+    // ack latency = 1000
+    Assert.assertEquals(1000, session.getAckLatencyMillis());
+    Assert.assertEquals(1000, session.delayMillis(0, 100, 50, 2000));
+    // the more pending, the less waiting
+    Assert.assertEquals(500, session.delayMillis(50, 100, 50, 2000));
+    Assert.assertEquals(50, session.delayMillis(99, 100, 50, 2000));
+    Assert.assertEquals(800, session.delayMillis(0, 100, 50, 800));
+  }
+
+  @Test
+  public void testRetainSessions() {
+    ChangeNotifyBatcher batcher = new ChangeNotifyBatcher();
+    batcher.add(DC, SESSION, channels, changes(0, 10, 100), new TraceTimes(), 1000);
+    Assert.assertEquals(0, batcher.retainSessions(Collections.singleton(SESSION)));
+    Assert.assertEquals(10, batcher.retainSessions(Collections.emptySet()));
+    Assert.assertNull(batcher.getSessionBatch(DC, SESSION));
+  }
+}
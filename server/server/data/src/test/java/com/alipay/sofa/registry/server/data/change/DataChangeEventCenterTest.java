@@ -28,6 +28,7 @@ import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.task.KeyedThreadPoolExecutor;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -103,6 +104,52 @@ public class DataChangeEventCenterTest {
     Assert.assertTrue(ChangeMetrics.CHANGE_SKIP_COUNTER.get() == (pre + 1));
   }
 
+  @Test
+  public void testHandleChangeAdaptive() {
+    setCenter();
+    dataServerConfig.setNotifyAdaptiveBatchEnable(true);
+    dataServerConfig.setNotifyAdaptiveMinDelayMillis(0);
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 1000);
+    Map<String, List<Channel>> channelsMap = Maps.newHashMap();
+    channelsMap.put("localhost", Lists.newArrayList(channel));
+
+    Publisher pub = TestBaseUtils.createTestPublisher("testDataId");
+    datumCache.getLocalDatumStorage().put(pub);
+    center.setNotifyExecutor(TestBaseUtils.rejectExecutor());
+    center.onChange(Lists.newArrayList(pub.getDataInfoId()), DataChangeType.PUT, DC);
+    Assert.assertTrue(center.handleChangesAdaptive(channelsMap));
+    // rejected, keep pending
+    ChangeNotifyBatcher.SessionBatch session =
+        center.getNotifyBatcher().getSessionBatch(DC, "localhost");
+    Assert.assertEquals(1, session.pendingSize());
+
+    KeyedThreadPoolExecutor executor = Mockito.mock(KeyedThreadPoolExecutor.class);
+    center.setNotifyExecutor(executor);
+    double pre = CHANGE_COMMIT_COUNTER.get();
+    Assert.assertFalse(center.handleChangesAdaptive(channelsMap));
+    Assert.assertTrue(CHANGE_COMMIT_COUNTER.get() == (pre + 1));
+    Assert.assertEquals(0, session.pendingSize());
+
+    // in flight, merged into one pending
+    Publisher pub2 = TestBaseUtils.createTestPublisher("testDataId2");
+    datumCache.getLocalDatumStorage().put(pub2);
+    center.onChange(Lists.newArrayList(pub.getDataInfoId()), DataChangeType.PUT, DC);
+    center.onChange(Lists.newArrayList(pub2.getDataInfoId()), DataChangeType.PUT, DC);
+    Assert.assertTrue(center.handleChangesAdaptive(channelsMap));
+    Assert.assertTrue(CHANGE_COMMIT_COUNTER.get() == (pre + 1));
+    Assert.assertEquals(2, session.pendingSize());
+
+    session.done(System.currentTimeMillis(), true);
+    Assert.assertFalse(center.handleChangesAdaptive(channelsMap));
+    Assert.assertTrue(CHANGE_COMMIT_COUNTER.get() == (pre + 2));
+    Assert.assertEquals(0, session.pendingSize());
+
+    // session closed
+    center.onChange(Lists.newArrayList(pub.getDataInfoId()), DataChangeType.PUT, DC);
+    Assert.assertFalse(center.handleChangesAdaptive(Maps.newHashMap()));
+    Assert.assertNull(center.getNotifyBatcher().getSessionBatch(DC, "localhost"));
+  }
+
   @Test
   public void testNotify() {
     setCenter();
@@ -163,47 +210,61 @@ public class DataChangeEventCenterTest {
 
   @Test
   public void testHandleExpire_npe() {
-    initHandleExpire();
-    center.handleExpire();
+    DataChangeEventCenter.ChangeNotifier notifier = initHandleExpire();
+    center.handleExpire(notifier);
   }
 
   @Test
   public void testHandleExpire_reject() {
-    initHandleExpire();
+    DataChangeEventCenter.ChangeNotifier notifier = initHandleExpire();
     center.setNotifyExecutor(TestBaseUtils.rejectExecutor());
-    center.handleExpire();
+    center.handleExpire(notifier);
   }
 
-  private void initHandleExpire() {
+  private DataChangeEventCenter.ChangeNotifier initHandleExpire() {
     setCenter();
     dataServerConfig.setNotifyRetryQueueSize(10);
     // not expire
     dataServerConfig.setNotifyRetryBackoffMillis(100000);
     TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 1000);
-    List<DataChangeEventCenter.ChangeNotifier> list = Lists.newArrayList();
     for (int i = 0; i < dataServerConfig.getNotifyRetryQueueSize(); i++) {
-      center.commitRetry(
-          center.newChangeNotifier(
-              channel, DC, Collections.singletonMap(String.valueOf(i), new DatumVersion(100))));
-      list.add(
-          center.newChangeNotifier(
-              channel,
-              DC,
-              Collections.singletonMap(String.valueOf(i + 100), new DatumVersion(200))));
+      Assert.assertTrue(
+          center.commitRetry(
+              center.newChangeNotifier(
+                  channel,
+                  DC,
+                  Collections.singletonMap(String.valueOf(i), new DatumVersion(100)))));
     }
-    List<DataChangeEventCenter.ChangeNotifier> expires = center.getExpires();
-    Assert.assertTrue(expires.isEmpty());
-    // is full, make expire now
-    dataServerConfig.setNotifyRetryBackoffMillis(0);
-    for (DataChangeEventCenter.ChangeNotifier n : list) {
-      center.commitRetry(n);
+    Assert.assertEquals(center.getRetrySize(), dataServerConfig.getNotifyRetryQueueSize());
+    DataChangeEventCenter.ChangeNotifier notifier =
+        center.newChangeNotifier(
+            channel, DC, Collections.singletonMap("testFull", new DatumVersion(200)));
+    // is full, evict the oldest
+    double skip = ChangeMetrics.CHANGE_SKIP_COUNTER.get();
+    Assert.assertTrue(center.commitRetry(notifier));
+    Assert.assertEquals(center.getRetrySize(), dataServerConfig.getNotifyRetryQueueSize());
+    Assert.assertTrue(ChangeMetrics.CHANGE_SKIP_COUNTER.get() == skip + 1);
+    return notifier;
+  }
+
+  @Test
+  public void testRetryExpire() throws Exception {
+    setCenter();
+    center.setNotifyExecutor(TestBaseUtils.rejectExecutor());
+    dataServerConfig.setNotifyRetryBackoffMillis(10);
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 1000);
+    for (int i = 0; i < 5; i++) {
+      Assert.assertTrue(
+          center.commitRetry(
+              center.newChangeNotifier(
+                  channel,
+                  DC,
+                  Collections.singletonMap(String.valueOf(i), new DatumVersion(100)))));
     }
-    expires = center.getExpires();
-    Assert.assertEquals(expires.size(), list.size());
-    Assert.assertArrayEquals(expires.toArray(), list.toArray());
-    for (DataChangeEventCenter.ChangeNotifier n : list) {
-      center.commitRetry(n);
+    for (int i = 0; i < 100 && center.getRetrySize() != 0; i++) {
+      Thread.sleep(30);
     }
+    Assert.assertEquals(center.getRetrySize(), 0);
   }
 
   @Test
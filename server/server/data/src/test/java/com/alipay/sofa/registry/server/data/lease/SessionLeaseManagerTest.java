@@ -18,6 +18,7 @@ package com.alipay.sofa.registry.server.data.lease;
 
 import com.alipay.sofa.registry.common.model.ProcessId;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.common.model.slot.SlotConfig;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.remoting.Server;
 import com.alipay.sofa.registry.remoting.bolt.exchange.BoltExchange;
@@ -174,6 +175,7 @@ public class SessionLeaseManagerTest {
   private SlotManager mockSM() {
     SlotManager slotManager = Mockito.mock(SlotManager.class);
     Mockito.when(slotManager.isLeader(Mockito.anyInt())).thenReturn(true);
+    Mockito.when(slotManager.getSlotNums()).thenReturn(SlotConfig.SLOT_NUM);
     return slotManager;
   }
 }
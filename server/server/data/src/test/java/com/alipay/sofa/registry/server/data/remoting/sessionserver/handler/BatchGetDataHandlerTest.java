@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alipay.sofa.registry.common.model.dataserver.BatchGetDataRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
+import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
+import com.alipay.sofa.registry.server.data.slot.SlotManager;
+import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchGetDataHandlerTest {
+
+  @Test
+  public void testCheckParam() {
+    BatchGetDataHandler handler = newHandler();
+    when(handler.slotManager.slotOf(anyString())).thenReturn(10);
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> handler.checkParam(request("xx", Collections.emptyList(), 10)));
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> handler.checkParam(request(null, Lists.newArrayList("xx"), 10)));
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> handler.checkParam(request("xx", Lists.newArrayList("xx"), 11)));
+    handler.checkParam(request("xx", Lists.newArrayList("xx", "yy"), 10));
+  }
+
+  @Test
+  public void testHandle() {
+    BatchGetDataHandler handler = newHandler();
+    Assert.assertEquals(handler.interest(), BatchGetDataRequest.class);
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 8888);
+
+    Publisher pub1 = TestBaseUtils.createTestPublishers(1, 1).get(0);
+    Publisher pub2 = TestBaseUtils.createTestPublishers(1, 2).get(0);
+    handler.localDatumStorage.put(pub1);
+    handler.localDatumStorage.put(pub2);
+    BatchGetDataRequest request =
+        request(
+            "testDc",
+            Lists.newArrayList(pub1.getDataInfoId(), pub2.getDataInfoId(), "notExist"),
+            1);
+
+    // leader change
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept(), TestBaseUtils.migrating(1, 10, 100));
+    SlotAccessGenericResponse resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertFalse(resp.isSuccess());
+    Assert.assertNull(resp.getData());
+
+    // moved
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.moved());
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertFalse(resp.isSuccess());
+    Assert.assertEquals(resp.getSlotAccess().getStatus(), TestBaseUtils.moved().getStatus());
+
+    // success, the nil datum is not contained
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept());
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertTrue(resp.isSuccess());
+    Map<String, SubDatum> datumMap = (Map<String, SubDatum>) resp.getData();
+    Assert.assertEquals(2, datumMap.size());
+    Assert.assertEquals(
+        pub1.getRegisterId(),
+        datumMap.get(pub1.getDataInfoId()).mustGetPublishers().get(0).getRegisterId());
+    Assert.assertEquals(
+        pub2.getRegisterId(),
+        datumMap.get(pub2.getDataInfoId()).mustGetPublishers().get(0).getRegisterId());
+  }
+
+  private BatchGetDataHandler newHandler() {
+    BatchGetDataHandler handler = new BatchGetDataHandler();
+    handler.sessionLeaseManager = new SessionLeaseManager();
+    handler.slotManager = mock(SlotManager.class);
+    DatumCache datumCache = TestBaseUtils.newLocalDatumCache("testDc", true);
+    handler.setDatumCache(datumCache);
+    handler.setCompressDatumService(new CompressDatumService());
+    handler.localDatumStorage = datumCache.getLocalDatumStorage();
+    handler.dataChangeEventCenter = new DataChangeEventCenter();
+    handler.dataServerConfig = TestBaseUtils.newDataConfig("testDc");
+    return handler;
+  }
+
+  private static BatchGetDataRequest request(
+      String dataCenter, List<String> dataInfoIds, int slotId) {
+    return new BatchGetDataRequest(ServerEnv.PROCESS_ID, dataInfoIds, dataCenter, slotId);
+  }
+}
@@ -23,10 +23,12 @@ import static org.mockito.Mockito.when;
 
 import com.alipay.sofa.registry.common.model.Node;
 import com.alipay.sofa.registry.common.model.dataserver.GetDataRequest;
+import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
 import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.remoting.ChannelHandler;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedObject;
 import com.alipay.sofa.registry.server.data.TestBaseUtils;
 import com.alipay.sofa.registry.server.data.cache.DatumCache;
 import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
@@ -34,6 +36,7 @@ import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
 import com.alipay.sofa.registry.server.data.providedata.CompressDatumService;
 import com.alipay.sofa.registry.server.data.slot.SlotManager;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import java.util.Collections;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -77,6 +80,7 @@ public class GetDataHandlerTest {
     handler.localDatumStorage = datumCache.getLocalDatumStorage();
     handler.dataChangeEventCenter = new DataChangeEventCenter();
     handler.dataServerConfig = TestBaseUtils.newDataConfig("testDc");
+    handler.init();
     return handler;
   }
 
@@ -120,6 +124,56 @@ public class GetDataHandlerTest {
     Assert.assertEquals(subDatum.mustGetPublishers().get(0).getVersion(), pub.getVersion());
   }
 
+  @Test
+  public void testHandleSnapshot() throws Exception {
+    GetDataHandler handler = newHandler();
+    handler.dataServerConfig.setGetDataSnapshotEnable(true);
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 8888);
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept());
+
+    // nil datum not cache
+    Object ret = handler.doHandle(channel, request("testDc", "testDataId"));
+    Assert.assertTrue(ret instanceof SlotAccessGenericResponse);
+    Assert.assertEquals(handler.getSnapshotCache().size(), 0);
+
+    Publisher pub = TestBaseUtils.createTestPublishers(1, 1).get(0);
+    GetDataRequest request = request("testDc", pub.getDataInfoId());
+    handler.localDatumStorage.put(pub);
+    SerializedObject snapshot = (SerializedObject) handler.doHandle(channel, request);
+    Assert.assertEquals(handler.getSnapshotCache().size(), 1);
+    SlotAccessGenericResponse resp = (SlotAccessGenericResponse) snapshot.getObject();
+    Assert.assertTrue(resp.isSuccess());
+    SubDatum subDatum = (SubDatum) resp.getData();
+    Assert.assertEquals(subDatum.mustGetPublishers().size(), 1);
+    Assert.assertEquals(subDatum.mustGetPublishers().get(0).getRegisterId(), pub.getRegisterId());
+
+    // same version, hit
+    Assert.assertSame(snapshot, handler.doHandle(channel, request));
+
+    // slot access change
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept(1, 1, 2));
+    SerializedObject snapshot2 = (SerializedObject) handler.doHandle(channel, request);
+    Assert.assertNotSame(snapshot, snapshot2);
+    Assert.assertSame(snapshot2, handler.doHandle(channel, request));
+
+    // version change
+    handler.localDatumStorage.put(TestBaseUtils.createTestPublisher(pub.getDataId()));
+    SerializedObject snapshot3 = (SerializedObject) handler.doHandle(channel, request);
+    Assert.assertNotSame(snapshot2, snapshot3);
+    Assert.assertEquals(handler.getSnapshotCache().size(), 1);
+    resp = (SlotAccessGenericResponse) snapshot3.getObject();
+    subDatum = (SubDatum) resp.getData();
+    Assert.assertEquals(subDatum.mustGetPublishers().size(), 2);
+
+    // the capacity from the config
+    handler.dataServerConfig.setGetDataSnapshotMaxWeight(0);
+    handler.init();
+    Assert.assertTrue(handler.doHandle(channel, request) instanceof SerializedObject);
+    Assert.assertEquals(handler.getSnapshotCache().size(), 0);
+  }
+
   @Test
   public void testHandleErrorSlotAccess() {
     GetDataHandler handler = newHandler();
@@ -146,6 +200,54 @@ public class GetDataHandlerTest {
     Assert.assertEquals(resp.getSlotAccess().getStatus(), TestBaseUtils.migrating().getStatus());
   }
 
+  @Test
+  public void testHandleFollowerRead() {
+    GetDataHandler handler = newHandler();
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 8888);
+    Publisher pub = TestBaseUtils.createTestPublishers(1, 1).get(0);
+    final long version = handler.localDatumStorage.put(pub).getValue();
+    GetDataRequest request = request("testDc", pub.getDataInfoId());
+    request.setSlotLeaderEpoch(5);
+    request.setFollowerRead(version);
+    when(handler.slotManager.slotOf(pub.getDataInfoId())).thenReturn(1);
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.moved());
+    // the leader version replayed by the follower, not the local version
+    final long leaderVersion = version + 100;
+    request.setFollowerRead(leaderVersion);
+    when(handler.slotManager.getReplicatedVersion(1, 5, pub.getDataInfoId()))
+        .thenReturn(leaderVersion);
+
+    // not follower
+    when(handler.slotManager.getSlot(1))
+        .thenReturn(new Slot(1, "leader", 5, Collections.singletonList(ServerEnv.IP)));
+    when(handler.slotManager.isFollower(1)).thenReturn(false);
+    SlotAccessGenericResponse resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertFalse(resp.isSuccess());
+
+    // leader epoch mismatch
+    when(handler.slotManager.isFollower(1)).thenReturn(true);
+    when(handler.slotManager.getSlot(1))
+        .thenReturn(new Slot(1, "leader", 6, Collections.singletonList(ServerEnv.IP)));
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertFalse(resp.isSuccess());
+
+    // success
+    when(handler.slotManager.getSlot(1))
+        .thenReturn(new Slot(1, "leader", 5, Collections.singletonList(ServerEnv.IP)));
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertTrue(resp.isSuccess());
+    SubDatum subDatum = (SubDatum) resp.getData();
+    Assert.assertEquals(subDatum.getVersion(), leaderVersion);
+    Assert.assertEquals(subDatum.mustGetPublishers().get(0).getRegisterId(), pub.getRegisterId());
+
+    // follower lagging
+    request.setFollowerRead(leaderVersion + 1);
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request);
+    Assert.assertFalse(resp.isSuccess());
+    Assert.assertNull(resp.getData());
+  }
+
   private static GetDataRequest request(String dataCenter, String dataInfoId) {
     return new GetDataRequest(ServerEnv.PROCESS_ID, dataInfoId, dataCenter, 10);
   }
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.remoting.sessionserver.handler;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alipay.sofa.registry.common.model.dataserver.GetSlotVersionRequest;
+import com.alipay.sofa.registry.common.model.slot.SlotAccessGenericResponse;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.cache.DatumCache;
+import com.alipay.sofa.registry.server.data.change.DataChangeEventCenter;
+import com.alipay.sofa.registry.server.data.lease.SessionLeaseManager;
+import com.alipay.sofa.registry.server.data.slot.SlotManager;
+import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GetSlotVersionHandlerTest {
+  @Test
+  public void testCheckParam() {
+    GetSlotVersionHandler handler = newHandler();
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> {
+          handler.checkParam(request(-1));
+        });
+    TestBaseUtils.assertException(
+        IllegalArgumentException.class,
+        () -> {
+          handler.checkParam(new GetSlotVersionRequest("", ServerEnv.PROCESS_ID, 10));
+        });
+    handler.checkParam(request(10));
+  }
+
+  private GetSlotVersionHandler newHandler() {
+    GetSlotVersionHandler handler = new GetSlotVersionHandler();
+    Assert.assertEquals(handler.interest(), GetSlotVersionRequest.class);
+    handler.sessionLeaseManager = new SessionLeaseManager();
+    handler.slotManager = mock(SlotManager.class);
+    DatumCache datumCache = TestBaseUtils.newLocalDatumCache("testDc", true);
+    handler.setDatumCache(datumCache);
+    handler.localDatumStorage = datumCache.getLocalDatumStorage();
+    handler.dataChangeEventCenter = new DataChangeEventCenter();
+    handler.dataServerConfig = TestBaseUtils.newDataConfig("testDc");
+    return handler;
+  }
+
+  @Test
+  public void testHandle() {
+    GetSlotVersionHandler handler = newHandler();
+    TestBaseUtils.MockBlotChannel channel = TestBaseUtils.newChannel(9620, "localhost", 8888);
+
+    // get status change
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept(), TestBaseUtils.migrating(1, 10, 10));
+    SlotAccessGenericResponse resp =
+        (SlotAccessGenericResponse) handler.doHandle(channel, request(10));
+    Assert.assertFalse(resp.isSuccess());
+
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.accept());
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request(10));
+    Assert.assertTrue(resp.isSuccess());
+    Assert.assertEquals(resp.getData(), 0L);
+
+    Publisher pub = TestBaseUtils.createTestPublishers(10, 1).get(0);
+    handler.localDatumStorage.put(pub);
+    final long putV = handler.localDatumStorage.get(pub.getDataInfoId()).getVersion();
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request(10));
+    Assert.assertTrue(resp.isSuccess());
+    Assert.assertEquals(resp.getData(), putV);
+
+    // other slot not change
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request(11));
+    Assert.assertEquals(resp.getData(), 0L);
+
+    // the slot version increase after datum change
+    Publisher pub2 = TestBaseUtils.createTestPublisher(pub.getDataId());
+    handler.localDatumStorage.put(pub2);
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request(10));
+    Assert.assertTrue((Long) resp.getData() > putV);
+
+    when(handler.slotManager.checkSlotAccess(anyInt(), anyLong(), anyLong()))
+        .thenReturn(TestBaseUtils.moved());
+    resp = (SlotAccessGenericResponse) handler.doHandle(channel, request(10));
+    Assert.assertFalse(resp.isSuccess());
+    Assert.assertEquals(resp.getSlotAccess().getStatus(), TestBaseUtils.moved().getStatus());
+  }
+
+  private static GetSlotVersionRequest request(int slotId) {
+    return new GetSlotVersionRequest("testDc", ServerEnv.PROCESS_ID, slotId);
+  }
+}
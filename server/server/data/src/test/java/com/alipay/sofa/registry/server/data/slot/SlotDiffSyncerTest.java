@@ -18,11 +18,16 @@ package com.alipay.sofa.registry.server.data.slot;
 
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.dataserver.Datum;
 import com.alipay.sofa.registry.common.model.dataserver.DatumSummary;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketRequest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestRequest;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffDigestResult;
 import com.alipay.sofa.registry.common.model.slot.DataSlotDiffPublisherRequest;
@@ -43,8 +48,10 @@ import com.google.common.collect.Maps;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 
 public class SlotDiffSyncerTest {
@@ -434,6 +441,61 @@ public class SlotDiffSyncerTest {
     Assert.assertEquals(datum4.getPubMap().get(p4.get(1).getRegisterId()), p4.get(1));
   }
 
+  @Test
+  public void testSyncLeaderBucketDigest() {
+    MockSync mockSync = mockSync(10, "testDc");
+    SlotDiffSyncer syncer = mockSync.syncer;
+    syncer.getDataServerConfig().setSlotSyncBucketDigestEnable(true);
+    List<Publisher> p1 = mockSync.p1;
+
+    // bucket failed
+    DataNodeExchanger exchanger =
+        mockExchange(DataNodeExchanger.class, null, DataSlotDiffBucketRequest.class, null, null);
+    Assert.assertFalse(syncer.syncSlotLeader(10, ServerEnv.IP, exchanger, 10, TRUE));
+
+    // no diff bucket, skip the digest
+    exchanger =
+        mockExchange(
+            DataNodeExchanger.class,
+            newBucketResp(Collections.emptySet()),
+            DataSlotDiffBucketRequest.class,
+            null,
+            null);
+    Assert.assertTrue(syncer.syncSlotLeader(10, ServerEnv.IP, exchanger, 10, TRUE));
+    verify(exchanger, times(1)).requestRaw(anyString(), Matchers.any());
+
+    // diff the bucket of p1
+    final int bucket = DataSlotBucketDigest.bucketOf(p1.get(0).getDataInfoId());
+    exchanger =
+        mockExchange(
+            DataNodeExchanger.class,
+            newBucketResp(Collections.singleton(bucket)),
+            DataSlotDiffBucketRequest.class,
+            emptyDigestResp(),
+            DataSlotDiffDigestRequest.class);
+    Assert.assertTrue(syncer.syncSlotLeader(10, ServerEnv.IP, exchanger, 10, TRUE));
+    ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+    verify(exchanger, times(2)).requestRaw(anyString(), captor.capture());
+    DataSlotDiffBucketRequest bucketRequest =
+        (DataSlotDiffBucketRequest) captor.getAllValues().get(0);
+    Assert.assertEquals(
+        bucketRequest.getBucketDigest(),
+        DataSlotBucketDigest.ofSummary(syncer.getDatumStorage().getDatumSummary(10)));
+    DataSlotDiffDigestRequest digestRequest =
+        (DataSlotDiffDigestRequest) captor.getAllValues().get(1);
+    Assert.assertEquals(digestRequest.getBuckets(), Collections.singleton(bucket));
+    Assert.assertTrue(digestRequest.getDatumDigest().containsKey(p1.get(0).getDataInfoId()));
+    for (String dataInfoId : digestRequest.getDatumDigest().keySet()) {
+      Assert.assertEquals(DataSlotBucketDigest.bucketOf(dataInfoId), bucket);
+    }
+  }
+
+  private static GenericResponse newBucketResp(Set<Integer> buckets) {
+    GenericResponse<DataSlotDiffBucketResult> resp = new GenericResponse<>();
+    resp.fillSucceed(new DataSlotDiffBucketResult(buckets));
+    return resp;
+  }
+
   private static <T extends ClientSideExchanger> T mockExchange(
       Class<T> c, Object result1, Class reqClazz1, Object result2, Class reqClazz2) {
     T exchanger = mock(c);
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.alipay.sofa.registry.common.model.ServerDataBox;
+import com.alipay.sofa.registry.common.model.slot.SlotConfig;
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.common.model.store.UnPublisher;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlotLoadsTest {
+
+  @Test
+  public void testRefresh() throws Exception {
+    LocalDatumStorage storage = TestBaseUtils.newLocalStorage("testDc", true);
+    SlotLoads slotLoads = new SlotLoads();
+    slotLoads.setLocalDatumStorage(storage);
+    slotLoads.setDataServerConfig(TestBaseUtils.newDataConfig("testDc"));
+
+    Publisher publisher = TestBaseUtils.createTestPublisher(TestBaseUtils.TEST_DATA_ID);
+    publisher.setDataList(Lists.newArrayList(new ServerDataBox(new byte[100])));
+    storage.put(publisher);
+    Publisher publisher2 = TestBaseUtils.createTestPublisher(TestBaseUtils.TEST_DATA_ID);
+    publisher2.setDataList(Lists.newArrayList(new ServerDataBox(new byte[50])));
+    storage.put(publisher2);
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(publisher.getDataInfoId());
+    Assert.assertNull(slotLoads.get(slotId));
+
+    slotLoads.record(slotId, 10);
+    Thread.sleep(100);
+    slotLoads.refresh();
+    SlotLoad load = slotLoads.get(slotId);
+    Assert.assertEquals(2, load.getPubCount());
+    Assert.assertEquals(150, load.getDatumBytes());
+    Assert.assertTrue(load.toString(), load.getRequestRate() > 0);
+    SlotLoad empty = slotLoads.get((slotId + 1) % SlotConfig.SLOT_NUM);
+    Assert.assertEquals(0, empty.getPubCount());
+    Assert.assertEquals(0, empty.getRequestRate(), 0);
+
+    // the unpub is not counted, the requests are reset after refresh
+    UnPublisher unpub = UnPublisher.of(publisher2);
+    unpub.setVersion(publisher2.getVersion() + 1);
+    storage.put(unpub);
+    slotLoads.refresh();
+    load = slotLoads.get(slotId);
+    Assert.assertEquals(1, load.getPubCount());
+    Assert.assertEquals(100, load.getDatumBytes());
+    Assert.assertEquals(0, load.getRequestRate(), 0);
+  }
+}
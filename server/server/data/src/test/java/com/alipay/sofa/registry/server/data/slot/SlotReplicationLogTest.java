@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.data.slot;
+
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogEntry;
+import com.alipay.sofa.registry.common.model.slot.SlotReplicationLogResult;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.server.data.TestBaseUtils;
+import com.alipay.sofa.registry.server.data.bootstrap.DataServerConfig;
+import com.alipay.sofa.registry.server.data.cache.CleanContinues;
+import com.alipay.sofa.registry.server.data.cache.LocalDatumStorage;
+import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlotReplicationLogTest {
+
+  @Test
+  public void testReadLog() {
+    SlotReplicationLog log = new SlotReplicationLog(1, 10, 4);
+    SlotReplicationLogResult result = log.read(-1, 10);
+    Assert.assertFalse(result.isTruncated());
+    Assert.assertEquals(0, result.getNextSeq());
+    Assert.assertEquals(10, result.getSlotLeaderEpoch());
+
+    for (int i = 0; i < 3; i++) {
+      log.append(seq -> SlotReplicationLogEntry.clean(seq, ServerEnv.PROCESS_ID));
+    }
+    result = log.read(0, 2);
+    Assert.assertFalse(result.isTruncated());
+    Assert.assertTrue(result.isHasRemain());
+    Assert.assertEquals(2, result.getNextSeq());
+    Assert.assertEquals(2, result.getEntries().size());
+    Assert.assertEquals(1, result.getEntries().get(1).getSeq());
+
+    result = log.read(2, 2);
+    Assert.assertFalse(result.isHasRemain());
+    Assert.assertEquals(3, result.getNextSeq());
+    Assert.assertEquals(1, result.getEntries().size());
+
+    // tail at the end
+    result = log.read(3, 2);
+    Assert.assertFalse(result.isTruncated());
+    Assert.assertEquals(3, result.getNextSeq());
+    Assert.assertTrue(result.getEntries().isEmpty());
+
+    // overwrite the oldest entries
+    log.append(seq -> SlotReplicationLogEntry.clean(seq, ServerEnv.PROCESS_ID));
+    log.append(seq -> SlotReplicationLogEntry.clean(seq, ServerEnv.PROCESS_ID));
+    Assert.assertEquals(1, log.firstSeq());
+    Assert.assertEquals(5, log.nextSeq());
+    Assert.assertTrue(log.read(0, 2).isTruncated());
+    Assert.assertTrue(log.read(6, 2).isTruncated());
+    result = log.read(1, 10);
+    Assert.assertEquals(4, result.getEntries().size());
+    Assert.assertEquals(4, result.getEntries().get(3).getSeq());
+  }
+
+  @Test
+  public void testLogs() {
+    DataServerConfig config = TestBaseUtils.newDataConfig("testDc");
+    SlotReplicationLogs logs = new SlotReplicationLogs();
+    logs.setDataServerConfig(config);
+    logs.onLeader(1, 10);
+    Assert.assertNull(logs.getLog(1));
+
+    config.setSlotReplicationLogEnable(true);
+    logs.onLeader(1, 10);
+    SlotReplicationLog log = logs.getLog(1);
+    Assert.assertNotNull(log);
+    logs.appendRemove(1, "testDataInfoId", null, Collections.emptyMap(), 1);
+    // no log of slot 2
+    logs.appendRemove(2, "testDataInfoId", null, Collections.emptyMap(), 1);
+    Assert.assertNull(logs.getLog(2));
+
+    logs.onLeader(1, 10);
+    Assert.assertTrue(log == logs.getLog(1));
+    Assert.assertEquals(1, logs.read(1, 10, 0, 10).getEntries().size());
+    Assert.assertTrue(logs.read(1, 11, 0, 10).isTruncated());
+    Assert.assertTrue(logs.read(2, 10, 0, 10).isTruncated());
+
+    // new leader epoch starts a new log
+    logs.onLeader(1, 11);
+    Assert.assertTrue(log != logs.getLog(1));
+    Assert.assertEquals(0, logs.read(1, 11, -1, 10).getNextSeq());
+
+    logs.remove(1);
+    Assert.assertNull(logs.getLog(1));
+  }
+
+  @Test
+  public void testTailApply() {
+    LocalDatumStorage leader = TestBaseUtils.newLocalStorage("testDc", true);
+    LocalDatumStorage follower = TestBaseUtils.newLocalStorage("testDc", true);
+    leader.getDataServerConfig().setSlotReplicationLogEnable(true);
+    SlotReplicationLogs logs = new SlotReplicationLogs();
+    logs.setDataServerConfig(leader.getDataServerConfig());
+    leader.setSlotReplicationLogs(logs);
+
+    Publisher publisher = TestBaseUtils.createTestPublisher("testReplication");
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(publisher.getDataInfoId());
+    logs.onLeader(slotId, 10);
+    final long putVersion =
+        leader.put(publisher.getDataInfoId(), Lists.newArrayList(publisher)).getValue();
+    RegisterVersion version =
+        RegisterVersion.of(publisher.getVersion(), publisher.getRegisterTimestamp());
+    final long removeVersion =
+        leader
+            .remove(
+                publisher.getDataInfoId(),
+                publisher.getSessionProcessId(),
+                Collections.singletonMap(publisher.getRegisterId(), version))
+            .getValue();
+
+    Slot slot = new Slot(slotId, "leader", 10, Collections.emptyList());
+    SlotManagerImpl.SlotState slotState = new SlotManagerImpl.SlotState(slot);
+    SlotReplicationTailer tailer =
+        new SlotReplicationTailer(follower.getDataServerConfig(), follower, slotState);
+    SlotReplicationLogResult result = logs.read(slotId, 10, 0, 10);
+    Assert.assertEquals(2, result.getEntries().size());
+    Assert.assertEquals(putVersion, result.getEntries().get(0).getDatumVersion());
+    Assert.assertEquals(removeVersion, result.getEntries().get(1).getDatumVersion());
+
+    // not record the versions without the position
+    tailer.apply(slotId, 10, result.getEntries().subList(0, 1));
+    TestBaseUtils.assertEquals(follower.get(publisher.getDataInfoId()), publisher);
+    Assert.assertEquals(-1, slotState.getReplicatedVersion(10, publisher.getDataInfoId()));
+
+    slotState.updateReplicationSeq(10, 1);
+    tailer.apply(slotId, 10, result.getEntries().subList(1, 2));
+    Assert.assertTrue(follower.get(publisher.getDataInfoId()).getPubMap().isEmpty());
+    Assert.assertEquals(
+        removeVersion, slotState.getReplicatedVersion(10, publisher.getDataInfoId()));
+    Assert.assertEquals(-1, slotState.getReplicatedVersion(11, publisher.getDataInfoId()));
+
+    // the clean is appended as the remove of the dataInfoId
+    Publisher cleaned = TestBaseUtils.cloneBase(publisher);
+    cleaned.setVersion(publisher.getVersion() + 1);
+    leader.put(cleaned.getDataInfoId(), Lists.newArrayList(cleaned));
+    leader.clean(slotId, cleaned.getSessionProcessId(), CleanContinues.ALWAYS);
+    result = logs.read(slotId, 10, 2, 10);
+    Assert.assertEquals(2, result.getEntries().size());
+    Assert.assertEquals(SlotReplicationLogEntry.Type.REMOVE, result.getEntries().get(1).getType());
+    tailer.apply(slotId, 10, result.getEntries().subList(0, 1));
+    Assert.assertEquals(1, follower.get(publisher.getDataInfoId()).getPubMap().size());
+    tailer.apply(slotId, 10, result.getEntries().subList(1, 2));
+    Assert.assertTrue(follower.get(publisher.getDataInfoId()).getPubMap().isEmpty());
+    Assert.assertEquals(
+        leader.getVersion(publisher.getDataInfoId()).getValue(),
+        slotState.getReplicatedVersion(10, publisher.getDataInfoId()));
+
+    // lost the position
+    slotState.updateReplicationSeq(10, -1);
+    slotState.updateReplicationSeq(10, 4);
+    Assert.assertEquals(-1, slotState.getReplicatedVersion(10, publisher.getDataInfoId()));
+  }
+
+  @Test
+  public void testDisabledNotJournal() {
+    LocalDatumStorage leader = TestBaseUtils.newLocalStorage("testDc", true);
+    SlotReplicationLogs logs = new SlotReplicationLogs();
+    logs.setDataServerConfig(leader.getDataServerConfig());
+    leader.setSlotReplicationLogs(logs);
+    Publisher publisher = TestBaseUtils.createTestPublisher("testDisabledNotJournal");
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(publisher.getDataInfoId());
+
+    // disabled by default
+    logs.onLeader(slotId, 10);
+    Assert.assertFalse(logs.isLogging(slotId));
+    leader.put(publisher.getDataInfoId(), Lists.newArrayList(publisher));
+
+    leader.getDataServerConfig().setSlotReplicationLogEnable(true);
+    Assert.assertFalse(logs.isLogging(slotId));
+    logs.onLeader(slotId, 10);
+    Assert.assertTrue(logs.isLogging(slotId));
+    Assert.assertFalse(logs.isLogging(slotId + 1));
+
+    // disabled after the log is created
+    leader.getDataServerConfig().setSlotReplicationLogEnable(false);
+    Assert.assertFalse(logs.isLogging(slotId));
+    Publisher updated = TestBaseUtils.cloneBase(publisher);
+    updated.setVersion(publisher.getVersion() + 1);
+    leader.put(updated.getDataInfoId(), Lists.newArrayList(updated));
+    leader.clean(slotId, updated.getSessionProcessId(), CleanContinues.ALWAYS);
+    Assert.assertEquals(0, logs.getLog(slotId).nextSeq());
+    Assert.assertTrue(leader.get(publisher.getDataInfoId()).getPubMap().isEmpty());
+  }
+
+  @Test
+  public void testLeaderDigestInterval() {
+    Slot slot = new Slot(1, "leader", 10, Collections.emptyList());
+    SlotManagerImpl.SlotState slotState = new SlotManagerImpl.SlotState(slot);
+    // the digest sync runs at first
+    Assert.assertTrue(slotState.isLeaderDigestOverAfter(60000));
+    slotState.completeLeaderDigest();
+    Assert.assertFalse(slotState.isLeaderDigestOverAfter(60000));
+    Assert.assertTrue(slotState.isLeaderDigestOverAfter(0));
+  }
+}
@@ -75,7 +75,7 @@ public class DefaultSlotTableStats extends AbstractLifecycle implements SlotTabl
         logger.warn("[isSlotLeadersStable] slot table empty now");
         return false;
       }
-      for (int slotId = 0; slotId < SlotConfig.SLOT_NUM; slotId++) {
+      for (int slotId = 0; slotId < slotManager.getSlotNums(); slotId++) {
         Slot slot = slotManager.getSlotTable().getSlot(slotId);
         if (slot == null) {
           logger.error("[isSlotLeadersStable] slot manager has no slot: [{}]", slotId);
@@ -84,6 +84,7 @@ public class DefaultSlotTableStats extends AbstractLifecycle implements SlotTabl
         String leader = slot.getLeader();
         SlotStats slotStats = slotStatses.get(slotId);
         if (StringUtils.isBlank(leader)
+            || slotStats == null
             || !slotStats.getSlot().getLeader().equals(leader)
             || !slotStatses.get(slotId).isLeaderStable()) {
           logger.warn("[isSlotLeadersStable]slot[{}] leader[{}] not stable", slotId, leader);
@@ -199,7 +200,12 @@ public class DefaultSlotTableStats extends AbstractLifecycle implements SlotTabl
           .forEach(
               (slotId, slot) -> {
                 SlotStats slotStats = slotStatses.get(slotId);
-                if (slotStats.getSlot().getLeaderEpoch() < slot.getLeaderEpoch()) {
+                if (slotStats == null) {
+                  // the child slot of the split
+                  slotStatses.put(
+                      slotId,
+                      new DefaultSlotStats(slot, metaServerConfig.getDataReplicateMaxGapMillis()));
+                } else if (slotStats.getSlot().getLeaderEpoch() < slot.getLeaderEpoch()) {
                   slotStatses.put(
                       slotId,
                       new DefaultSlotStats(slot, metaServerConfig.getDataReplicateMaxGapMillis()));
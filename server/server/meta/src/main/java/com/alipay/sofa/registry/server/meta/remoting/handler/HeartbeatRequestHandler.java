@@ -90,14 +90,31 @@ public class HeartbeatRequestHandler extends BaseMetaServerHandler<HeartbeatRequ
       switch (renewNode.getNodeType()) {
         case SESSION:
         case DATA:
-          response =
-              new BaseHeartBeatResponse(
-                  true,
-                  metaServerInfo,
-                  slotTable,
-                  sessionMetaInfo,
-                  metaLeaderService.getLeader(),
-                  metaLeaderService.getLeaderEpoch());
+          final long leaderEpoch = metaLeaderService.getLeaderEpoch();
+          if (leaderEpoch >= 0 && heartbeat.getKnownMetaLeaderEpoch() == leaderEpoch) {
+            // the node has the same leader, omits the parts which not change
+            response =
+                new BaseHeartBeatResponse(
+                    true,
+                    heartbeat.getKnownMetaNodesEpoch() == metaServerInfo.getEpoch()
+                        ? null
+                        : metaServerInfo,
+                    heartbeat.getKnownSlotTableEpoch() == slotTable.getEpoch() ? null : slotTable,
+                    heartbeat.getKnownSessionNodesEpoch() == sessionMetaInfo.getEpoch()
+                        ? null
+                        : sessionMetaInfo,
+                    metaLeaderService.getLeader(),
+                    leaderEpoch);
+          } else {
+            response =
+                new BaseHeartBeatResponse(
+                    true,
+                    metaServerInfo,
+                    slotTable,
+                    sessionMetaInfo,
+                    metaLeaderService.getLeader(),
+                    leaderEpoch);
+          }
           break;
         case META:
           response =
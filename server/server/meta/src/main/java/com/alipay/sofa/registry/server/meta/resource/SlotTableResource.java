@@ -29,6 +29,8 @@ import com.alipay.sofa.registry.server.meta.slot.SlotManager;
 import com.alipay.sofa.registry.server.meta.slot.arrange.ScheduledSlotArranger;
 import com.alipay.sofa.registry.server.meta.slot.status.SlotTableStatusService;
 import com.alipay.sofa.registry.server.meta.slot.tasks.BalanceTask;
+import com.alipay.sofa.registry.server.shared.slot.SlotTableUtils;
+import com.alipay.sofa.registry.util.DatumVersionUtil;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -83,6 +85,48 @@ public class SlotTableResource {
     }
   }
 
+  /**
+   * split every slot into two children, the slot num of the new slot table generation is doubled,
+   * the children stay on the data servers of the parent, so no data migrates between the servers
+   */
+  @PUT
+  @Path("/split")
+  @Produces(MediaType.APPLICATION_JSON)
+  @LeaderAwareRestController
+  public GenericResponse<SlotTable> splitSlotTable() {
+    logger.info("[splitSlotTable] begin");
+    if (!metaLeaderService.amILeader()) {
+      logger.info("[splitSlotTable] end, not meta-server leader");
+      return new GenericResponse<SlotTable>().fillFailed("not the meta-server leader");
+    }
+    if (!slotArranger.tryLock()) {
+      logger.info("[splitSlotTable] end, fail to get the lock");
+      return new GenericResponse<SlotTable>().fillFailed("scheduled slot arrangement is running");
+    }
+    try {
+      final SlotTable current = slotManager.getSlotTable();
+      final int slotNums = slotManager.getSlotNums();
+      if (current.getSlots().size() != slotNums || !SlotTableUtils.isValidSlotTable(current)) {
+        logger.info("[splitSlotTable] end, slot table not complete, {}", current);
+        return new GenericResponse<SlotTable>().fillFailed("slot table not complete");
+      }
+      if (!slotTableStatusService.getSlotTableStatus().isSlotTableStable()) {
+        logger.info("[splitSlotTable] end, slot table not stable");
+        return new GenericResponse<SlotTable>().fillFailed("slot table not stable");
+      }
+      final SlotTable split = current.split(DatumVersionUtil.nextId());
+      slotManager.refresh(split);
+      logger.info(
+          "[splitSlotTable] end with succeed, slotNum={}->{}, epoch={}",
+          slotNums,
+          split.getSlotNum(),
+          split.getEpoch());
+      return new GenericResponse<SlotTable>().fillSucceed(slotManager.getSlotTable());
+    } finally {
+      slotArranger.unlock();
+    }
+  }
+
   @PUT
   @Path("/reconcile/stop")
   @Produces(MediaType.APPLICATION_JSON)
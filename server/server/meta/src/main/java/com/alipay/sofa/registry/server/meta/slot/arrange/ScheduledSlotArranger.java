@@ -38,6 +38,8 @@ import com.alipay.sofa.registry.server.meta.slot.SlotBalancer;
 import com.alipay.sofa.registry.server.meta.slot.SlotManager;
 import com.alipay.sofa.registry.server.meta.slot.assigner.DefaultSlotAssigner;
 import com.alipay.sofa.registry.server.meta.slot.balance.DefaultSlotBalancer;
+import com.alipay.sofa.registry.server.meta.slot.balance.WeightedBalancePolicy;
+import com.alipay.sofa.registry.server.meta.slot.balance.WeightedSlotBalancer;
 import com.alipay.sofa.registry.server.meta.slot.util.builder.SlotTableBuilder;
 import com.alipay.sofa.registry.server.shared.comparator.NodeComparator;
 import com.alipay.sofa.registry.server.shared.slot.SlotTableUtils;
@@ -189,6 +191,14 @@ public class ScheduledSlotArranger extends AbstractLifecycleObservable
 
   protected SlotBalancer createSlotBalancer(
       SlotTableBuilder slotTableBuilder, Collection<String> currentDataServers) {
+    final WeightedBalancePolicy weightedBalancePolicy = new WeightedBalancePolicy();
+    if (weightedBalancePolicy.isEnable()) {
+      return new WeightedSlotBalancer(
+          slotTableBuilder,
+          currentDataServers,
+          WeightedSlotBalancer.collectSlotLoads(dataServerManager.getDataServersStats()),
+          weightedBalancePolicy);
+    }
     return new DefaultSlotBalancer(slotTableBuilder, currentDataServers);
   }
 
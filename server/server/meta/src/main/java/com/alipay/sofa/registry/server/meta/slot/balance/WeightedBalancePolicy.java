@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.meta.slot.balance;
+
+/** the policy of balancing the leader load of the data servers by the slot weights */
+public class WeightedBalancePolicy {
+
+  public static final String PROP_ENABLE = "registry.slot.balance.weighted.enable";
+  public static final String PROP_LOAD_THRESHOLD = "registry.slot.balance.load.threshold";
+  public static final String PROP_LOAD_MAX_MOVE = "registry.slot.balance.load.max.move";
+  public static final String PROP_WEIGHT_PUB = "registry.slot.balance.weight.pub";
+  public static final String PROP_WEIGHT_BYTES = "registry.slot.balance.weight.bytes";
+  public static final String PROP_WEIGHT_REQUEST = "registry.slot.balance.weight.request";
+
+  private boolean enable = Boolean.getBoolean(PROP_ENABLE);
+
+  // percent over the average load which triggers the balance
+  private int loadThreshold = Integer.getInteger(PROP_LOAD_THRESHOLD, 20);
+
+  private int maxMoveLeaderSlots = Integer.getInteger(PROP_LOAD_MAX_MOVE, 4);
+
+  private int pubWeight = Integer.getInteger(PROP_WEIGHT_PUB, 1);
+
+  private int bytesWeight = Integer.getInteger(PROP_WEIGHT_BYTES, 1);
+
+  private int requestWeight = Integer.getInteger(PROP_WEIGHT_REQUEST, 1);
+
+  public boolean isEnable() {
+    return enable;
+  }
+
+  public double getHighWaterMarkLoad(double average) {
+    return average * (100 + loadThreshold) / 100;
+  }
+
+  /** the move should reduce the peak at least the gain, avoid the moves for tiny improvement */
+  public double getMinGainLoad(double average) {
+    return average / 100;
+  }
+
+  public int getMaxMoveLeaderSlots() {
+    return maxMoveLeaderSlots;
+  }
+
+  public int getPubWeight() {
+    return pubWeight;
+  }
+
+  public int getBytesWeight() {
+    return bytesWeight;
+  }
+
+  public int getRequestWeight() {
+    return requestWeight;
+  }
+
+  public void setEnable(boolean enable) {
+    this.enable = enable;
+  }
+
+  public void setLoadThreshold(int loadThreshold) {
+    this.loadThreshold = loadThreshold;
+  }
+
+  public void setMaxMoveLeaderSlots(int maxMoveLeaderSlots) {
+    this.maxMoveLeaderSlots = maxMoveLeaderSlots;
+  }
+
+  public void setPubWeight(int pubWeight) {
+    this.pubWeight = pubWeight;
+  }
+
+  public void setBytesWeight(int bytesWeight) {
+    this.bytesWeight = bytesWeight;
+  }
+
+  public void setRequestWeight(int requestWeight) {
+    this.requestWeight = requestWeight;
+  }
+}
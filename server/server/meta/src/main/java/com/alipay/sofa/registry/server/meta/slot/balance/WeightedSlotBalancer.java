@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.meta.slot.balance;
+
+import static com.alipay.sofa.registry.server.meta.slot.balance.LeaderOnlyBalancer.TRIGGER_THESHOLD;
+
+import com.alipay.sofa.registry.common.model.slot.BaseSlotStatus;
+import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
+import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.meta.monitor.Metrics;
+import com.alipay.sofa.registry.server.meta.monitor.data.DataServerStats;
+import com.alipay.sofa.registry.server.meta.slot.SlotBalancer;
+import com.alipay.sofa.registry.server.meta.slot.util.builder.SlotTableBuilder;
+import com.alipay.sofa.registry.util.MathUtils;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import java.util.*;
+
+/**
+ * balance the slot nums by the DefaultSlotBalancer first, then balance the leader load of the
+ * data-servers by the slot weights. the weighted moves only upgrade the followers to leaders, no
+ * data migrates, and keep the slot nums in the water marks, so the DefaultSlotBalancer would not
+ * move them back
+ */
+public class WeightedSlotBalancer implements SlotBalancer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WeightedSlotBalancer.class);
+
+  private final Set<String> currentDataServers;
+
+  private final SlotTableBuilder slotTableBuilder;
+
+  private final SlotBalancer slotNumBalancer;
+
+  private final BalancePolicy balancePolicy = new NaiveBalancePolicy();
+
+  private final WeightedBalancePolicy weightedBalancePolicy;
+
+  private final double[] slotWeights;
+
+  public WeightedSlotBalancer(
+      SlotTableBuilder slotTableBuilder,
+      Collection<String> currentDataServers,
+      Map<Integer, SlotLoad> slotLoads,
+      WeightedBalancePolicy weightedBalancePolicy) {
+    this.currentDataServers = Collections.unmodifiableSet(Sets.newTreeSet(currentDataServers));
+    this.slotTableBuilder = slotTableBuilder;
+    this.slotNumBalancer = new DefaultSlotBalancer(slotTableBuilder, currentDataServers);
+    this.weightedBalancePolicy = weightedBalancePolicy;
+    this.slotWeights =
+        slotWeights(slotLoads, slotTableBuilder.getSlotNums(), weightedBalancePolicy);
+  }
+
+  @Override
+  public SlotTable balance() {
+    SlotTable slotTable = slotNumBalancer.balance();
+    if (slotTable != null) {
+      return slotTable;
+    }
+    if (slotTableBuilder.getSlotReplicas() < TRIGGER_THESHOLD) {
+      // no followers to upgrade
+      return null;
+    }
+    if (balanceLeaderLoads()) {
+      LOGGER.info("[balanceLeaderLoads] end");
+      slotTableBuilder.incrEpoch();
+      return slotTableBuilder.build();
+    }
+    LOGGER.info("[balance] do nothing");
+    return null;
+  }
+
+  private boolean balanceLeaderLoads() {
+    final WaterMarks waterMarks = new WaterMarks();
+    final Map<String, Double> loads = getLeaderLoads();
+    double total = 0;
+    for (double load : loads.values()) {
+      total += load;
+    }
+    final double avg = total / currentDataServers.size();
+    final double threshold = weightedBalancePolicy.getHighWaterMarkLoad(avg);
+    final double minGain = weightedBalancePolicy.getMinGainLoad(avg);
+    final int maxMove = weightedBalancePolicy.getMaxMoveLeaderSlots();
+    int balanced = 0;
+    while (balanced < maxMove) {
+      final String highDataServer = findHighestLoad(loads);
+      final double highLoad = loads.get(highDataServer);
+      if (highLoad <= threshold) {
+        break;
+      }
+      Move move = selectUpgrade(highDataServer, loads, highLoad - minGain, waterMarks);
+      if (move == null && balanced + 2 <= maxMove) {
+        move = selectSwap(highDataServer, loads, highLoad - minGain);
+      }
+      if (move == null) {
+        LOGGER.info(
+            "[balanceLeaderLoads] could not find slot to move for {}, load={}, avg={}",
+            highDataServer,
+            highLoad,
+            avg);
+        break;
+      }
+      upgradeFollower(move.slotId, highDataServer, move.dataServer, loads);
+      balanced++;
+      if (move.swapSlotId >= 0) {
+        upgradeFollower(move.swapSlotId, move.dataServer, highDataServer, loads);
+        balanced++;
+      }
+    }
+    return balanced != 0;
+  }
+
+  /** move one leader out of the high data-server, need the nums of slots in the water marks */
+  private Move selectUpgrade(
+      String highDataServer, Map<String, Double> loads, double maxPeak, WaterMarks waterMarks) {
+    if (leaderNum(highDataServer) - 1 < waterMarks.leaderLow
+        || followerNum(highDataServer) + 1 > waterMarks.followerHigh) {
+      return null;
+    }
+    final double highLoad = loads.get(highDataServer);
+    Move selected = null;
+    double selectedPeak = maxPeak;
+    for (int slotId : leaders(highDataServer)) {
+      final double weight = slotWeights[slotId];
+      for (String follower : slotTableBuilder.getOrCreate(slotId).getFollowers()) {
+        if (!currentDataServers.contains(follower)
+            || leaderNum(follower) + 1 > waterMarks.leaderHigh
+            || followerNum(follower) - 1 < waterMarks.followerLow) {
+          continue;
+        }
+        final double peak = Math.max(highLoad - weight, loads.get(follower) + weight);
+        if (peak < selectedPeak) {
+          selectedPeak = peak;
+          selected = new Move(slotId, follower, -1);
+        }
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * exchange a heavy leader of the high data-server with a light leader of its follower, the nums
+   * of slots do not change
+   */
+  private Move selectSwap(String highDataServer, Map<String, Double> loads, double maxPeak) {
+    final double highLoad = loads.get(highDataServer);
+    Move selected = null;
+    double selectedPeak = maxPeak;
+    for (int slotId : leaders(highDataServer)) {
+      final double weight = slotWeights[slotId];
+      for (String follower : slotTableBuilder.getOrCreate(slotId).getFollowers()) {
+        if (!currentDataServers.contains(follower)) {
+          continue;
+        }
+        for (int swapSlotId : leaders(follower)) {
+          final double delta = weight - slotWeights[swapSlotId];
+          if (delta <= 0
+              || !slotTableBuilder.getOrCreate(swapSlotId).containsFollower(highDataServer)) {
+            continue;
+          }
+          final double peak = Math.max(highLoad - delta, loads.get(follower) + delta);
+          if (peak < selectedPeak) {
+            selectedPeak = peak;
+            selected = new Move(slotId, follower, swapSlotId);
+          }
+        }
+      }
+    }
+    return selected;
+  }
+
+  private void upgradeFollower(int slotId, String from, String to, Map<String, Double> loads) {
+    slotTableBuilder.replaceLeader(slotId, to);
+    // the prev leader has the data, keep it as follower
+    slotTableBuilder.addFollower(slotId, from);
+    final double weight = slotWeights[slotId];
+    loads.put(from, loads.get(from) - weight);
+    loads.put(to, loads.get(to) + weight);
+    LOGGER.info(
+        "[upgradeFollower] slotId={}, weight={}, leader balance from {} to {}",
+        slotId,
+        weight,
+        from,
+        to);
+    Metrics.SlotBalance.onLoadLeaderUpgrade(from, to, slotId);
+  }
+
+  private Map<String, Double> getLeaderLoads() {
+    Map<String, Double> loads = Maps.newHashMapWithExpectedSize(currentDataServers.size());
+    for (String dataServer : currentDataServers) {
+      double load = 0;
+      for (int slotId : leaders(dataServer)) {
+        load += slotWeights[slotId];
+      }
+      loads.put(dataServer, load);
+    }
+    return loads;
+  }
+
+  private static String findHighestLoad(Map<String, Double> loads) {
+    String selected = null;
+    double max = -1;
+    // sorted for the stable choice
+    for (String dataServer : new TreeSet<>(loads.keySet())) {
+      final double load = loads.get(dataServer);
+      if (load > max) {
+        max = load;
+        selected = dataServer;
+      }
+    }
+    return selected;
+  }
+
+  private List<Integer> leaders(String dataServer) {
+    return Lists.newArrayList(slotTableBuilder.getDataNodeSlot(dataServer).getLeaders());
+  }
+
+  private int leaderNum(String dataServer) {
+    return slotTableBuilder.getDataNodeSlot(dataServer).getLeaders().size();
+  }
+
+  private int followerNum(String dataServer) {
+    return slotTableBuilder.getDataNodeSlot(dataServer).getFollowers().size();
+  }
+
+  /**
+   * normalize every dimension of the load by the average of the slots, so the average weight is 1,
+   * the slot without load takes the average
+   */
+  @VisibleForTesting
+  static double[] slotWeights(
+      Map<Integer, SlotLoad> slotLoads, int slotNum, WeightedBalancePolicy policy) {
+    final double[] weights = new double[slotNum];
+    Arrays.fill(weights, 1);
+    double pubSum = 0, bytesSum = 0, requestSum = 0;
+    int count = 0;
+    for (int slotId = 0; slotId < slotNum; slotId++) {
+      final SlotLoad load = slotLoads.get(slotId);
+      if (load != null) {
+        pubSum += load.getPubCount();
+        bytesSum += load.getDatumBytes();
+        requestSum += load.getRequestRate();
+        count++;
+      }
+    }
+    if (count == 0) {
+      return weights;
+    }
+    final double pubAvg = pubSum / count;
+    final double bytesAvg = bytesSum / count;
+    final double requestAvg = requestSum / count;
+    final int pubWeight = pubAvg > 0 ? policy.getPubWeight() : 0;
+    final int bytesWeight = bytesAvg > 0 ? policy.getBytesWeight() : 0;
+    final int requestWeight = requestAvg > 0 ? policy.getRequestWeight() : 0;
+    final int totalWeight = pubWeight + bytesWeight + requestWeight;
+    if (totalWeight <= 0) {
+      return weights;
+    }
+    for (int slotId = 0; slotId < slotNum; slotId++) {
+      final SlotLoad load = slotLoads.get(slotId);
+      if (load == null) {
+        continue;
+      }
+      double weight = 0;
+      if (pubWeight > 0) {
+        weight += pubWeight * load.getPubCount() / pubAvg;
+      }
+      if (bytesWeight > 0) {
+        weight += bytesWeight * load.getDatumBytes() / bytesAvg;
+      }
+      if (requestWeight > 0) {
+        weight += requestWeight * load.getRequestRate() / requestAvg;
+      }
+      weights[slotId] = weight / totalWeight;
+    }
+    return weights;
+  }
+
+  /** collect the slot loads in the heartbeats, prefer the load reported by the leader */
+  public static Map<Integer, SlotLoad> collectSlotLoads(Collection<DataServerStats> stats) {
+    Map<Integer, SlotLoad> loads = Maps.newHashMap();
+    if (stats == null) {
+      return loads;
+    }
+    for (DataServerStats stat : stats) {
+      if (stat.getSlotStatus() == null) {
+        continue;
+      }
+      for (BaseSlotStatus status : stat.getSlotStatus()) {
+        if (status.getLoad() == null) {
+          continue;
+        }
+        if (status.getRole() == Slot.Role.Leader) {
+          loads.put(status.getSlotId(), status.getLoad());
+        } else {
+          loads.putIfAbsent(status.getSlotId(), status.getLoad());
+        }
+      }
+    }
+    return loads;
+  }
+
+  private final class WaterMarks {
+    final int leaderHigh;
+    final int leaderLow;
+    final int followerHigh;
+    final int followerLow;
+
+    WaterMarks() {
+      final int slotNum = slotTableBuilder.getSlotNums();
+      final int followerNum = slotNum * (slotTableBuilder.getSlotReplicas() - 1);
+      final int dataServerNum = currentDataServers.size();
+      this.leaderHigh =
+          balancePolicy.getHighWaterMarkSlotLeaderNums(
+              MathUtils.divideCeil(slotNum, dataServerNum));
+      this.leaderLow =
+          balancePolicy.getLowWaterMarkSlotLeaderNums(Math.floorDiv(slotNum, dataServerNum));
+      this.followerHigh =
+          balancePolicy.getHighWaterMarkSlotFollowerNums(
+              MathUtils.divideCeil(followerNum, dataServerNum));
+      this.followerLow =
+          balancePolicy.getLowWaterMarkSlotFollowerNums(Math.floorDiv(followerNum, dataServerNum));
+    }
+  }
+
+  private static final class Move {
+    final int slotId;
+    final String dataServer;
+    // exchange the leader of the slot with the high data-server if not negative
+    final int swapSlotId;
+
+    Move(int slotId, String dataServer, int swapSlotId) {
+      this.slotId = slotId;
+      this.dataServer = dataServer;
+      this.swapSlotId = swapSlotId;
+    }
+  }
+}
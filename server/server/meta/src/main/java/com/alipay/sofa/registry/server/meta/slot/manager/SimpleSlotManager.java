@@ -94,9 +94,11 @@ public class SimpleSlotManager extends AbstractLifecycleObservable implements Sl
     return ImmutableMap.copyOf(newMap);
   }
 
+  /** the slot num of the current slot table generation, it is doubled by the split */
   @Override
   public int getSlotNums() {
-    return slotNums;
+    final int tableSlotNums = localRepo.slotTable.getSlotNum();
+    return tableSlotNums > 0 ? tableSlotNums : slotNums;
   }
 
   @Override
@@ -80,7 +80,7 @@ public class BalanceTask implements RebalanceTask {
 
   private SlotTable createSlotTable() {
     Map<Integer, Slot> slotMap = generateSlotMap();
-    return new SlotTable(DatumVersionUtil.nextId(), slotMap.values());
+    return new SlotTable(DatumVersionUtil.nextId(), slotMap.values(), slotManager.getSlotNums());
   }
 
   private Map<Integer, Slot> generateSlotMap() {
@@ -240,7 +240,7 @@ public class SlotTableBuilder implements Builder<SlotTable> {
           stableSlots.put(slotId, slotBuilder.build());
           epoch = Math.max(epoch, stableSlots.get(slotId).getLeaderEpoch());
         });
-    return new SlotTable(epoch, stableSlots.values());
+    return new SlotTable(epoch, stableSlots.values(), slotNums);
   }
 
   public DataNodeSlot getDataNodeSlot(String dataServer) {
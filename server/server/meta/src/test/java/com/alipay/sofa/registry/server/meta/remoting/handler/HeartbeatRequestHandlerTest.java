@@ -20,9 +20,12 @@ import static org.mockito.Mockito.*;
 
 import com.alipay.sofa.registry.common.model.GenericResponse;
 import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.metaserver.cluster.VersionedList;
+import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.BaseHeartBeatResponse;
 import com.alipay.sofa.registry.common.model.metaserver.inter.heartbeat.HeartbeatRequest;
 import com.alipay.sofa.registry.common.model.metaserver.nodes.DataNode;
 import com.alipay.sofa.registry.common.model.slot.SlotConfig;
+import com.alipay.sofa.registry.common.model.slot.SlotTable;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.server.meta.AbstractMetaServerTestBase;
 import com.alipay.sofa.registry.server.meta.MetaLeaderService;
@@ -31,6 +34,7 @@ import com.alipay.sofa.registry.server.meta.lease.data.DataServerManager;
 import com.alipay.sofa.registry.server.meta.lease.session.SessionServerManager;
 import com.alipay.sofa.registry.server.meta.metaserver.impl.DefaultCurrentDcMetaServer;
 import com.alipay.sofa.registry.server.meta.slot.manager.DefaultSlotManager;
+import java.util.Collections;
 import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
 import org.junit.Before;
@@ -83,6 +87,42 @@ public class HeartbeatRequestHandlerTest extends AbstractMetaServerTestBase {
     Assert.assertTrue(((GenericResponse) handler.doHandle(channel, heartbeat)).isSuccess());
   }
 
+  @Test
+  public void testDoHandleWithKnownEpochs() throws TimeoutException, InterruptedException {
+    makeMetaLeader();
+    slotManager.refresh(randomSlotTable(randomDataNodes(3)));
+    when(metaLeaderService.getLeaderEpoch()).thenReturn(100L);
+    when(currentDcMetaServer.getClusterMeta())
+        .thenReturn(new VersionedList<>(2, Collections.emptyList()));
+    when(sessionServerManager.getSessionServerMetaInfo())
+        .thenReturn(new VersionedList<>(3, Collections.emptyList()));
+    final SlotTable slotTable = currentDcMetaServer.getSlotTable();
+    HeartbeatRequest<Node> heartbeat =
+        new HeartbeatRequest<>(
+            new DataNode(randomURL(randomIp()), getDc()),
+            0,
+            getDc(),
+            System.currentTimeMillis(),
+            new SlotConfig.SlotBasicInfo(
+                SlotConfig.SLOT_NUM, SlotConfig.SLOT_REPLICAS, SlotConfig.FUNC));
+    GenericResponse<BaseHeartBeatResponse> resp =
+        (GenericResponse<BaseHeartBeatResponse>) handler.doHandle(channel, heartbeat);
+    Assert.assertTrue(resp.getData().isComplete());
+
+    // the slot table and meta nodes not change
+    heartbeat.setKnownEpochs(100, slotTable.getEpoch(), 2, 1);
+    resp = (GenericResponse<BaseHeartBeatResponse>) handler.doHandle(channel, heartbeat);
+    Assert.assertTrue(resp.isSuccess());
+    Assert.assertNull(resp.getData().getSlotTable());
+    Assert.assertFalse(resp.getData().isComplete());
+    Assert.assertEquals(3, resp.getData().getSessionServerEpoch());
+
+    // the leader changed
+    heartbeat.setKnownEpochs(99, slotTable.getEpoch(), 2, 3);
+    resp = (GenericResponse<BaseHeartBeatResponse>) handler.doHandle(channel, heartbeat);
+    Assert.assertTrue(resp.getData().isComplete());
+  }
+
   @Test
   public void testDoHandleWithErrDC() throws TimeoutException, InterruptedException {
     makeMetaLeader();
@@ -134,6 +134,43 @@ public class SlotTableResourceTest extends AbstractMetaServerTestBase {
     Assert.assertEquals("not the meta-server leader", current.getMessage());
   }
 
+  @Test
+  public void testSplitSlotTable() throws Exception {
+    makeMetaLeader();
+    when(slotTableMonitor.isStableTableStable()).thenReturn(false);
+    List<DataNode> dataNodes = randomDataNodes(3);
+    when(dataServerManager.getDataServerMetaInfo())
+        .thenReturn(new VersionedList<>(DatumVersionUtil.nextId(), dataNodes));
+    SlotTable slotTable = new SlotTableGenerator(dataNodes).createSlotTable();
+    slotManager.refresh(slotTable);
+
+    GenericResponse<SlotTable> response = resource.splitSlotTable();
+    Assert.assertFalse(response.isSuccess());
+    Assert.assertEquals("slot table not stable", response.getMessage());
+
+    when(slotTableMonitor.isStableTableStable()).thenReturn(true);
+    final int slotNums = slotManager.getSlotNums();
+    response = resource.splitSlotTable();
+    Assert.assertTrue(response.isSuccess());
+    SlotTable split = slotManager.getSlotTable();
+    Assert.assertTrue(split.getEpoch() > slotTable.getEpoch());
+    Assert.assertEquals(slotNums * 2, slotManager.getSlotNums());
+    Assert.assertEquals(slotNums * 2, split.getSlots().size());
+    for (int slotId = 0; slotId < slotNums; slotId++) {
+      Assert.assertEquals(slotTable.getSlot(slotId), split.getSlot(slotId));
+      Assert.assertEquals(
+          slotTable.getSlot(slotId).getLeader(), split.getSlot(slotId + slotNums).getLeader());
+      Assert.assertEquals(
+          slotTable.getSlot(slotId).getFollowers(),
+          split.getSlot(slotId + slotNums).getFollowers());
+    }
+
+    makeMetaNonLeader();
+    response = resource.splitSlotTable();
+    Assert.assertFalse(response.isSuccess());
+    Assert.assertEquals("not the meta-server leader", response.getMessage());
+  }
+
   @Test
   public void testStartReconcile() throws Exception {
     slotArranger.postConstruct();
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.meta.slot.balance;
+
+import com.alipay.sofa.registry.common.model.slot.BaseSlotStatus;
+import com.alipay.sofa.registry.common.model.slot.FollowerSlotStatus;
+import com.alipay.sofa.registry.common.model.slot.LeaderSlotStatus;
+import com.alipay.sofa.registry.common.model.slot.Slot;
+import com.alipay.sofa.registry.common.model.slot.SlotLoad;
+import com.alipay.sofa.registry.common.model.slot.SlotTable;
+import com.alipay.sofa.registry.server.meta.monitor.data.DataServerStats;
+import com.alipay.sofa.registry.server.meta.slot.util.builder.SlotTableBuilder;
+import com.alipay.sofa.registry.util.MathUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** simulate the balance rounds over the synthetic skewed slot loads */
+public class WeightedSlotBalancerTest {
+  private static final int SLOT_NUM = 256;
+  private static final int SLOT_REPLICAS = 2;
+
+  private final WeightedBalancePolicy policy = newPolicy();
+
+  @Test
+  public void testSkewedLoads() {
+    for (long seed = 0; seed < 5; seed++) {
+      final List<String> dataServers = dataServers(8);
+      final Map<Integer, SlotLoad> loads = zipfLoads(new Random(seed), 0.8);
+      final SimulateResult result = simulate(dataServers, loads);
+      Assert.assertTrue(result.toString(), result.rounds > 0);
+      Assert.assertTrue(result.toString(), result.maxAfter < result.maxBefore);
+      // the peak is bounded by the high water mark, or the heaviest slot on the data-server
+      Assert.assertTrue(
+          result.toString(),
+          result.maxAfter <= policy.getHighWaterMarkLoad(result.avg)
+              || result.maxAfter <= result.heaviestSlot + result.avg * 0.5);
+    }
+  }
+
+  @Test
+  public void testGiantSlots() {
+    final List<String> dataServers = dataServers(6);
+    final Map<Integer, SlotLoad> loads = Maps.newHashMap();
+    for (int slotId = 0; slotId < SLOT_NUM; slotId++) {
+      loads.put(slotId, new SlotLoad(100, 100 * 256, 10));
+    }
+    // the giant slots are gathered on the first data-server
+    for (int slotId = 0; slotId < 48; slotId += 6) {
+      loads.put(slotId, new SlotLoad(5000, 5000 * 256, 500));
+    }
+    final SimulateResult result = simulate(dataServers, loads);
+    Assert.assertTrue(result.toString(), result.maxAfter < result.maxBefore / 2);
+    // the giant slots are spread out
+    Map<String, Integer> giants = Maps.newHashMap();
+    for (int slotId = 0; slotId < 48; slotId += 6) {
+      giants.merge(result.slotTable.getSlot(slotId).getLeader(), 1, Integer::sum);
+    }
+    for (int num : giants.values()) {
+      Assert.assertTrue(giants.toString(), num <= 2);
+    }
+  }
+
+  @Test
+  public void testUniformLoads() {
+    final List<String> dataServers = dataServers(8);
+    final Map<Integer, SlotLoad> loads = Maps.newHashMap();
+    for (int slotId = 0; slotId < SLOT_NUM; slotId++) {
+      loads.put(slotId, new SlotLoad(100, 1024, 10));
+    }
+    SimulateResult result = simulate(dataServers, loads);
+    Assert.assertEquals(result.toString(), 0, result.rounds);
+    // no loads reported
+    result = simulate(dataServers, Collections.emptyMap());
+    Assert.assertEquals(result.toString(), 0, result.rounds);
+  }
+
+  @Test
+  public void testSlotWeights() {
+    Map<Integer, SlotLoad> loads = Maps.newHashMap();
+    loads.put(0, new SlotLoad(300, 0, 0));
+    loads.put(1, new SlotLoad(100, 0, 0));
+    double[] weights = WeightedSlotBalancer.slotWeights(loads, 3, policy);
+    Assert.assertEquals(1.5, weights[0], 0.0001);
+    Assert.assertEquals(0.5, weights[1], 0.0001);
+    // not reported, take the average
+    Assert.assertEquals(1, weights[2], 0.0001);
+
+    loads.put(0, new SlotLoad(300, 100, 30));
+    loads.put(1, new SlotLoad(100, 300, 10));
+    weights = WeightedSlotBalancer.slotWeights(loads, 2, policy);
+    Assert.assertEquals((1.5 + 0.5 + 1.5) / 3, weights[0], 0.0001);
+    Assert.assertEquals((0.5 + 1.5 + 0.5) / 3, weights[1], 0.0001);
+
+    WeightedBalancePolicy pubOnly = newPolicy();
+    pubOnly.setBytesWeight(0);
+    pubOnly.setRequestWeight(0);
+    weights = WeightedSlotBalancer.slotWeights(loads, 2, pubOnly);
+    Assert.assertEquals(1.5, weights[0], 0.0001);
+  }
+
+  @Test
+  public void testCollectSlotLoads() {
+    LeaderSlotStatus leader =
+        new LeaderSlotStatus(1, 1, "10.0.0.1", BaseSlotStatus.LeaderStatus.HEALTHY);
+    leader.setLoad(new SlotLoad(10, 10, 10));
+    FollowerSlotStatus follower = new FollowerSlotStatus(1, 1, "10.0.0.2", 0, 0);
+    follower.setLoad(new SlotLoad(10, 10, 1));
+    FollowerSlotStatus follower2 = new FollowerSlotStatus(2, 1, "10.0.0.2", 0, 0);
+    follower2.setLoad(new SlotLoad(20, 20, 2));
+    List<DataServerStats> stats =
+        Lists.newArrayList(
+            new DataServerStats("10.0.0.2", 1, Lists.newArrayList(follower, follower2)),
+            new DataServerStats("10.0.0.1", 1, Lists.newArrayList(leader)),
+            new DataServerStats("10.0.0.3", 1, null));
+    Map<Integer, SlotLoad> loads = WeightedSlotBalancer.collectSlotLoads(stats);
+    Assert.assertEquals(2, loads.size());
+    Assert.assertSame(leader.getLoad(), loads.get(1));
+    Assert.assertSame(follower2.getLoad(), loads.get(2));
+    Assert.assertTrue(WeightedSlotBalancer.collectSlotLoads(null).isEmpty());
+  }
+
+  private SimulateResult simulate(List<String> dataServers, Map<Integer, SlotLoad> loads) {
+    final double[] weights = WeightedSlotBalancer.slotWeights(loads, SLOT_NUM, policy);
+    SlotTable slotTable = initSlotTable(dataServers);
+    final SimulateResult result = new SimulateResult();
+    result.maxBefore = maxLoad(slotTable, weights, dataServers);
+    result.avg = Arrays.stream(weights).sum() / dataServers.size();
+    for (int round = 0; round < 100; round++) {
+      SlotTableBuilder slotTableBuilder = new SlotTableBuilder(slotTable, SLOT_NUM, SLOT_REPLICAS);
+      slotTableBuilder.init(dataServers);
+      SlotTable balanced =
+          new WeightedSlotBalancer(slotTableBuilder, dataServers, loads, policy).balance();
+      if (balanced == null) {
+        break;
+      }
+      assertValid(balanced, dataServers);
+      Assert.assertTrue(balanced.getEpoch() > slotTable.getEpoch());
+      // the moves of every round is bounded
+      Assert.assertTrue(leaderChanges(slotTable, balanced) <= policy.getMaxMoveLeaderSlots());
+      slotTable = balanced;
+      result.rounds++;
+    }
+    Assert.assertTrue("not converge, " + result, result.rounds < 100);
+    result.slotTable = slotTable;
+    result.maxAfter = maxLoad(slotTable, weights, dataServers);
+    for (Slot slot : slotTable.getSlots()) {
+      if (slot.getLeader().equals(maxLoadServer(slotTable, weights, dataServers))) {
+        result.heaviestSlot = Math.max(result.heaviestSlot, weights[slot.getId()]);
+      }
+    }
+    return result;
+  }
+
+  private static void assertValid(SlotTable slotTable, List<String> dataServers) {
+    Assert.assertEquals(SLOT_NUM, slotTable.getSlots().size());
+    Map<String, Integer> leaderNums = Maps.newHashMap();
+    for (Slot slot : slotTable.getSlots()) {
+      Assert.assertEquals(slot.toString(), SLOT_REPLICAS - 1, slot.getFollowers().size());
+      Assert.assertFalse(slot.toString(), slot.getFollowers().contains(slot.getLeader()));
+      leaderNums.merge(slot.getLeader(), 1, Integer::sum);
+    }
+    // the weighted moves keep the leader nums in the water marks
+    NaiveBalancePolicy naive = new NaiveBalancePolicy();
+    final int ceilAvg = MathUtils.divideCeil(SLOT_NUM, dataServers.size());
+    for (String dataServer : dataServers) {
+      final int num = leaderNums.getOrDefault(dataServer, 0);
+      Assert.assertTrue(
+          dataServer + "=" + num,
+          num <= naive.getHighWaterMarkSlotLeaderNums(ceilAvg)
+              && num >= naive.getLowWaterMarkSlotLeaderNums(SLOT_NUM / dataServers.size()));
+    }
+  }
+
+  private static int leaderChanges(SlotTable prev, SlotTable next) {
+    int changes = 0;
+    for (Slot slot : next.getSlots()) {
+      if (!slot.getLeader().equals(prev.getSlot(slot.getId()).getLeader())) {
+        changes++;
+      }
+    }
+    return changes;
+  }
+
+  private static Map<String, Double> leaderLoads(
+      SlotTable slotTable, double[] weights, List<String> dataServers) {
+    Map<String, Double> loads = Maps.newTreeMap();
+    dataServers.forEach(d -> loads.put(d, 0d));
+    for (Slot slot : slotTable.getSlots()) {
+      loads.merge(slot.getLeader(), weights[slot.getId()], Double::sum);
+    }
+    return loads;
+  }
+
+  private static double maxLoad(SlotTable slotTable, double[] weights, List<String> dataServers) {
+    return Collections.max(leaderLoads(slotTable, weights, dataServers).values());
+  }
+
+  private static String maxLoadServer(
+      SlotTable slotTable, double[] weights, List<String> dataServers) {
+    return Collections.max(
+            leaderLoads(slotTable, weights, dataServers).entrySet(), Map.Entry.comparingByValue())
+        .getKey();
+  }
+
+  /** the leaders and followers are balanced by nums, the slot loads are not */
+  private static SlotTable initSlotTable(List<String> dataServers) {
+    final int n = dataServers.size();
+    List<Slot> slots = Lists.newArrayListWithCapacity(SLOT_NUM);
+    for (int slotId = 0; slotId < SLOT_NUM; slotId++) {
+      final String leader = dataServers.get(slotId % n);
+      final String follower = dataServers.get((slotId + 1 + (slotId / n) % (n - 1)) % n);
+      slots.add(new Slot(slotId, leader, 1, Collections.singletonList(follower)));
+    }
+    return new SlotTable(1, slots);
+  }
+
+  /** the pubs of the slots follow the zipf distribution, the bytes and requests follow the pubs */
+  private static Map<Integer, SlotLoad> zipfLoads(Random random, double exponent) {
+    List<Integer> ranks = Lists.newArrayListWithCapacity(SLOT_NUM);
+    for (int i = 0; i < SLOT_NUM; i++) {
+      ranks.add(i + 1);
+    }
+    Collections.shuffle(ranks, random);
+    Map<Integer, SlotLoad> loads = Maps.newHashMap();
+    for (int slotId = 0; slotId < SLOT_NUM; slotId++) {
+      final int pubs = (int) (50000 / Math.pow(ranks.get(slotId), exponent));
+      final long bytes = pubs * (long) (128 + random.nextInt(512));
+      loads.put(slotId, new SlotLoad(pubs, bytes, pubs * random.nextDouble()));
+    }
+    return loads;
+  }
+
+  private static List<String> dataServers(int num) {
+    List<String> dataServers = Lists.newArrayList();
+    for (int i = 1; i <= num; i++) {
+      dataServers.add("10.0.0." + i);
+    }
+    return dataServers;
+  }
+
+  private static WeightedBalancePolicy newPolicy() {
+    WeightedBalancePolicy policy = new WeightedBalancePolicy();
+    policy.setEnable(true);
+    policy.setLoadThreshold(20);
+    policy.setMaxMoveLeaderSlots(4);
+    policy.setPubWeight(1);
+    policy.setBytesWeight(1);
+    policy.setRequestWeight(1);
+    return policy;
+  }
+
+  private static final class SimulateResult {
+    int rounds;
+    double avg;
+    double maxBefore;
+    double maxAfter;
+    double heaviestSlot;
+    SlotTable slotTable;
+
+    @Override
+    public String toString() {
+      return String.format(
+          "rounds=%d, avg=%.2f, max=%.2f->%.2f, heaviestSlot=%.2f",
+          rounds, avg, maxBefore, maxAfter, heaviestSlot);
+    }
+  }
+}
@@ -30,6 +30,7 @@ import com.alipay.sofa.registry.remoting.ChannelHandler;
 import com.alipay.sofa.registry.remoting.Server;
 import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufCustomSerializer;
 import com.alipay.sofa.registry.remoting.bolt.serializer.ProtobufSerializer;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedObjectCustomSerializer;
 import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.remoting.exchange.NodeExchanger;
 import com.alipay.sofa.registry.server.session.metadata.MetadataCacheRegistry;
@@ -398,6 +399,9 @@ public class SessionServerBootstrap {
         PublisherRegisterPb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(
         SubscriberRegisterPb.class.getName(), serializer);
+    CustomSerializerManager.registerCustomSerializer(BatchRegisterPb.class.getName(), serializer);
+    CustomSerializerManager.registerCustomSerializer(
+        BatchRegisterResponsePb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(
         SyncConfigRequestPb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(
@@ -408,9 +412,21 @@ public class SessionServerBootstrap {
     CustomSerializerManager.registerCustomSerializer(ReceivedDataPb.class.getName(), serializer);
     CustomSerializerManager.registerCustomSerializer(
         ReceivedConfigDataPb.class.getName(), serializer);
-
-    SerializerManager.addSerializer(
-        ProtobufSerializer.PROTOCOL_PROTOBUF, ProtobufSerializer.getInstance());
+    // the push payload encoded by PushPayloadCache
+    SerializedObjectCustomSerializer.register();
+
+    ProtobufSerializer protobufSerializer = ProtobufSerializer.getInstance();
+    protobufSerializer.registerParser(PublisherRegisterPb.getDefaultInstance());
+    protobufSerializer.registerParser(SubscriberRegisterPb.getDefaultInstance());
+    protobufSerializer.registerParser(BatchRegisterPb.getDefaultInstance());
+    protobufSerializer.registerParser(BatchRegisterResponsePb.getDefaultInstance());
+    protobufSerializer.registerParser(SyncConfigRequestPb.getDefaultInstance());
+    protobufSerializer.registerParser(SyncConfigResponsePb.getDefaultInstance());
+    protobufSerializer.registerParser(RegisterResponsePb.getDefaultInstance());
+    protobufSerializer.registerParser(ResultPb.getDefaultInstance());
+    protobufSerializer.registerParser(ReceivedDataPb.getDefaultInstance());
+    protobufSerializer.registerParser(ReceivedConfigDataPb.getDefaultInstance());
+    SerializerManager.addSerializer(ProtobufSerializer.PROTOCOL_PROTOBUF, protobufSerializer);
   }
 
   private void stopServer() {
@@ -53,6 +53,10 @@ public interface SessionServerConfig extends ServerShareConfig {
 
   int getScanSubscriberIntervalMillis();
 
+  boolean isScanSubscriberIncrementalEnable();
+
+  int getScanSubscriberFullIntervalRounds();
+
   int getClientNodeExchangeTimeoutMillis();
 
   int getClientNodePushConcurrencyLevel();
@@ -95,8 +99,24 @@ public interface SessionServerConfig extends ServerShareConfig {
 
   int getPushTaskBufferBucketSize();
 
+  boolean isPushOutboundEnable();
+
+  int getPushOutboundMaxInflight();
+
+  int getPushOutboundMaxPending();
+
+  int getPushOutboundWritableCheckMillis();
+
   int getPushTaskRetryTimes();
 
+  boolean isPushDeltaEnable();
+
+  int getPushDeltaHistorySize();
+
+  int getPushPayloadCacheSilentMillis();
+
+  int getPushPayloadCacheMaxWeight();
+
   int getPushDataTaskRetryFirstDelayMillis();
 
   int getPushDataTaskRetryIncrementDelayMillis();
@@ -115,6 +135,12 @@ public interface SessionServerConfig extends ServerShareConfig {
 
   boolean isInvalidIgnored(String dataId);
 
+  /**
+   * the epoch of the invalidForeverZones and invalidIgnoreDataidRegex, changes when any of them
+   * changes
+   */
+  int getInvalidZoneConfigEpoch();
+
   int getDataNodeRetryQueueSize();
 
   int getDataNodeRetryTimes();
@@ -127,6 +153,12 @@ public interface SessionServerConfig extends ServerShareConfig {
 
   int getDataNodeMaxBatchSize();
 
+  boolean isDataNodeBatchFetchEnable();
+
+  int getDataNodeBatchFetchMaxSize();
+
+  boolean isDataNodeFollowerReadEnable();
+
   double getAccessLimitRate();
 
   int getDataClientConnNum();
@@ -123,6 +123,14 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
   private int pushTaskRetryTimes = 3;
 
+  private boolean pushDeltaEnable = false;
+
+  private int pushDeltaHistorySize = 4;
+
+  private int pushPayloadCacheSilentMillis = 30 * 1000;
+
+  private int pushPayloadCacheMaxWeight = 1024 * 1024 * 256;
+
   private int dataNodeExecutorWorkerSize = OsUtils.getCpuCount() * 8;
 
   private int dataNodeExecutorQueueSize = 20000;
@@ -135,8 +143,20 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
   private int dataNodeMaxBatchSize = 100;
 
+  private boolean dataNodeBatchFetchEnable = false;
+
+  private int dataNodeBatchFetchMaxSize = 200;
+
+  // the followers serve the reads only when the slot replication log of data server is enabled
+  private boolean dataNodeFollowerReadEnable = false;
+
   private int scanSubscriberIntervalMillis = 1000 * 5;
 
+  private boolean scanSubscriberIncrementalEnable = false;
+
+  // when incremental scan enable, run a full scan every N rounds
+  private int scanSubscriberFullIntervalRounds = 12;
+
   private double accessLimitRate = 30000.0;
 
   private String sessionServerRegion;
@@ -154,6 +174,8 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
   private volatile Optional<Pattern> invalidIgnoreDataIdPattern = null;
 
+  private volatile int invalidZoneConfigEpoch;
+
   private int dataClientConnNum = 10;
   private int dataNotifyClientConnNum = 5;
   private int sessionSchedulerPoolSize = OsUtils.getCpuCount();
@@ -196,6 +218,16 @@ public class SessionServerConfigBean implements SessionServerConfig {
 
   private int pushTaskBufferBucketSize = 4;
 
+  private boolean pushOutboundEnable = false;
+
+  // max unanswered pushes of a connection
+  private int pushOutboundMaxInflight = 64;
+
+  // max queued pushes of a connection when the channel is unwritable
+  private int pushOutboundMaxPending = 1000;
+
+  private int pushOutboundWritableCheckMillis = 20;
+
   private int pushCircuitBreakerThreshold = 10;
 
   private int pushCircuitBreakerSilenceMillis = 60 * 1000;
@@ -285,6 +317,42 @@ public class SessionServerConfigBean implements SessionServerConfig {
     this.pushTaskRetryTimes = pushTaskRetryTimes;
   }
 
+  @Override
+  public boolean isPushDeltaEnable() {
+    return pushDeltaEnable;
+  }
+
+  public void setPushDeltaEnable(boolean pushDeltaEnable) {
+    this.pushDeltaEnable = pushDeltaEnable;
+  }
+
+  @Override
+  public int getPushDeltaHistorySize() {
+    return pushDeltaHistorySize;
+  }
+
+  public void setPushDeltaHistorySize(int pushDeltaHistorySize) {
+    this.pushDeltaHistorySize = pushDeltaHistorySize;
+  }
+
+  @Override
+  public int getPushPayloadCacheSilentMillis() {
+    return pushPayloadCacheSilentMillis;
+  }
+
+  public void setPushPayloadCacheSilentMillis(int pushPayloadCacheSilentMillis) {
+    this.pushPayloadCacheSilentMillis = pushPayloadCacheSilentMillis;
+  }
+
+  @Override
+  public int getPushPayloadCacheMaxWeight() {
+    return pushPayloadCacheMaxWeight;
+  }
+
+  public void setPushPayloadCacheMaxWeight(int pushPayloadCacheMaxWeight) {
+    this.pushPayloadCacheMaxWeight = pushPayloadCacheMaxWeight;
+  }
+
   /**
    * Getter method for property <tt>clientNodeExchangeTimeOut</tt>.
    *
@@ -471,8 +539,10 @@ public class SessionServerConfigBean implements SessionServerConfig {
    *
    * @param invalidForeverZones value to be assigned to property invalidForeverZones
    */
-  public void setInvalidForeverZones(String invalidForeverZones) {
+  public synchronized void setInvalidForeverZones(String invalidForeverZones) {
     this.invalidForeverZones = invalidForeverZones;
+    this.invalidForeverZonesSet = null;
+    this.invalidZoneConfigEpoch++;
   }
 
   public String getInvalidIgnoreDataidRegex() {
@@ -484,8 +554,10 @@ public class SessionServerConfigBean implements SessionServerConfig {
    *
    * @param invalidIgnoreDataidRegex value to be assigned to property invalidIgnoreDataidRegex
    */
-  public void setInvalidIgnoreDataidRegex(String invalidIgnoreDataidRegex) {
+  public synchronized void setInvalidIgnoreDataidRegex(String invalidIgnoreDataidRegex) {
     this.invalidIgnoreDataidRegex = invalidIgnoreDataidRegex;
+    this.invalidIgnoreDataIdPattern = null;
+    this.invalidZoneConfigEpoch++;
   }
 
   @Override
@@ -754,6 +826,11 @@ public class SessionServerConfigBean implements SessionServerConfig {
     return invalidForeverZonesSet.contains(zoneId);
   }
 
+  @Override
+  public int getInvalidZoneConfigEpoch() {
+    return invalidZoneConfigEpoch;
+  }
+
   @Override
   public boolean isInvalidIgnored(String dataId) {
     if (invalidIgnoreDataIdPattern == null) {
@@ -857,6 +934,24 @@ public class SessionServerConfigBean implements SessionServerConfig {
     this.scanSubscriberIntervalMillis = scanSubscriberIntervalMillis;
   }
 
+  @Override
+  public boolean isScanSubscriberIncrementalEnable() {
+    return scanSubscriberIncrementalEnable;
+  }
+
+  public void setScanSubscriberIncrementalEnable(boolean scanSubscriberIncrementalEnable) {
+    this.scanSubscriberIncrementalEnable = scanSubscriberIncrementalEnable;
+  }
+
+  @Override
+  public int getScanSubscriberFullIntervalRounds() {
+    return scanSubscriberFullIntervalRounds;
+  }
+
+  public void setScanSubscriberFullIntervalRounds(int scanSubscriberFullIntervalRounds) {
+    this.scanSubscriberFullIntervalRounds = scanSubscriberFullIntervalRounds;
+  }
+
   public int getSlotSyncMaxBufferSize() {
     return slotSyncMaxBufferSize;
   }
@@ -941,6 +1036,33 @@ public class SessionServerConfigBean implements SessionServerConfig {
     this.dataNodeMaxBatchSize = dataNodeMaxBatchSize;
   }
 
+  @Override
+  public boolean isDataNodeBatchFetchEnable() {
+    return dataNodeBatchFetchEnable;
+  }
+
+  public void setDataNodeBatchFetchEnable(boolean dataNodeBatchFetchEnable) {
+    this.dataNodeBatchFetchEnable = dataNodeBatchFetchEnable;
+  }
+
+  @Override
+  public int getDataNodeBatchFetchMaxSize() {
+    return dataNodeBatchFetchMaxSize;
+  }
+
+  public void setDataNodeBatchFetchMaxSize(int dataNodeBatchFetchMaxSize) {
+    this.dataNodeBatchFetchMaxSize = dataNodeBatchFetchMaxSize;
+  }
+
+  @Override
+  public boolean isDataNodeFollowerReadEnable() {
+    return dataNodeFollowerReadEnable;
+  }
+
+  public void setDataNodeFollowerReadEnable(boolean dataNodeFollowerReadEnable) {
+    this.dataNodeFollowerReadEnable = dataNodeFollowerReadEnable;
+  }
+
   @Override
   public int getCacheCountIntervalSecs() {
     return cacheCountIntervalSecs;
@@ -1199,6 +1321,42 @@ public class SessionServerConfigBean implements SessionServerConfig {
     this.pushTaskBufferBucketSize = pushTaskBufferBucketSize;
   }
 
+  @Override
+  public boolean isPushOutboundEnable() {
+    return pushOutboundEnable;
+  }
+
+  public void setPushOutboundEnable(boolean pushOutboundEnable) {
+    this.pushOutboundEnable = pushOutboundEnable;
+  }
+
+  @Override
+  public int getPushOutboundMaxInflight() {
+    return pushOutboundMaxInflight;
+  }
+
+  public void setPushOutboundMaxInflight(int pushOutboundMaxInflight) {
+    this.pushOutboundMaxInflight = pushOutboundMaxInflight;
+  }
+
+  @Override
+  public int getPushOutboundMaxPending() {
+    return pushOutboundMaxPending;
+  }
+
+  public void setPushOutboundMaxPending(int pushOutboundMaxPending) {
+    this.pushOutboundMaxPending = pushOutboundMaxPending;
+  }
+
+  @Override
+  public int getPushOutboundWritableCheckMillis() {
+    return pushOutboundWritableCheckMillis;
+  }
+
+  public void setPushOutboundWritableCheckMillis(int pushOutboundWritableCheckMillis) {
+    this.pushOutboundWritableCheckMillis = pushOutboundWritableCheckMillis;
+  }
+
   /**
    * Getter method for property <tt>pushCircuitBreakerThreshold</tt>.
    *
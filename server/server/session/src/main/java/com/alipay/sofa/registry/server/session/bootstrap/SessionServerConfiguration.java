@@ -187,6 +187,7 @@ public class SessionServerConfiguration {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(publisherHandler());
       list.add(subscriberHandler());
+      list.add(batchRegisterHandler());
       list.add(watcherHandler());
       list.add(clientNodeConnectionHandler());
       list.add(syncConfigHandler());
@@ -205,6 +206,7 @@ public class SessionServerConfiguration {
     public Collection<AbstractServerHandler> serverSyncHandlers() {
       Collection<AbstractServerHandler> list = new ArrayList<>();
       list.add(dataSlotDiffDigestRequestHandler());
+      list.add(dataSlotDiffBucketRequestHandler());
       list.add(dataSlotDiffPublisherRequestHandler());
       return list;
     }
@@ -243,6 +245,11 @@ public class SessionServerConfiguration {
       return new WatcherHandler();
     }
 
+    @Bean
+    public AbstractServerHandler batchRegisterHandler() {
+      return new BatchRegisterHandler();
+    }
+
     @Bean
     public AbstractServerHandler clientNodeConnectionHandler() {
       return new ClientNodeConnectionHandler();
@@ -293,6 +300,11 @@ public class SessionServerConfiguration {
       return new DataSlotDiffDigestRequestHandler();
     }
 
+    @Bean
+    public AbstractServerHandler dataSlotDiffBucketRequestHandler() {
+      return new DataSlotDiffBucketRequestHandler();
+    }
+
     @Bean
     public AbstractServerHandler dataSlotDiffPublisherRequestHandler() {
       return new DataSlotDiffPublisherRequestHandler();
@@ -328,6 +340,11 @@ public class SessionServerConfiguration {
       return new SubscriberPbHandler();
     }
 
+    @Bean
+    public AbstractServerHandler batchRegisterPbHandler() {
+      return new BatchRegisterPbHandler();
+    }
+
     @Bean
     public AbstractServerHandler syncConfigPbHandler() {
       return new SyncConfigPbHandler();
@@ -414,6 +431,11 @@ public class SessionServerConfiguration {
       return new CompressResource();
     }
 
+    @Bean
+    public PushLatencyResource pushLatencyResource() {
+      return new PushLatencyResource();
+    }
+
     @Bean
     public ClientsOpenResource clientsOpenResource() {
       return new ClientsOpenResource();
@@ -544,6 +566,11 @@ public class SessionServerConfiguration {
       return new PushDataGenerator();
     }
 
+    @Bean
+    public PushPayloadCache pushPayloadCache() {
+      return new PushPayloadCache();
+    }
+
     @Bean
     public PushSwitchService pushSwitchService() {
       return new PushSwitchService();
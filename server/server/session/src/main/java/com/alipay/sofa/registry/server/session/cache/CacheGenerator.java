@@ -16,6 +16,9 @@
  */
 package com.alipay.sofa.registry.server.session.cache;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author shangyu.wh
  * @version $Id: CacheGenerator.java, v 0.1 2017-12-06 17:29 shangyu.wh Exp $
@@ -29,4 +32,12 @@ public interface CacheGenerator {
    * @return
    */
   Value generatePayload(Key key);
+
+  /**
+   * generator caches of the keys in batch
+   *
+   * @param keys
+   * @return the values of the keys, the key failed to generate is absent
+   */
+  Map<Key, Value> generatePayloads(Collection<Key> keys);
 }
@@ -16,6 +16,9 @@
  */
 package com.alipay.sofa.registry.server.session.cache;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author shangyu.wh
  * @version $Id: CacheService.java, v 0.1 2017-12-06 20:19 shangyu.wh Exp $
@@ -32,6 +35,14 @@ public interface CacheService {
 
   Value getValueIfPresent(Key key);
 
+  /**
+   * get caches by keys, the misses are generated in batch
+   *
+   * @param keys
+   * @return the values of the keys, the key failed to generate is absent
+   */
+  Map<Key, Value> getValues(Collection<Key> keys);
+
   /**
    * invalidate cache by key
    *
@@ -19,8 +19,14 @@ package com.alipay.sofa.registry.server.session.cache;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -32,6 +38,8 @@ public class DatumCacheGenerator implements CacheGenerator {
   /** DataNode service */
   @Autowired DataNodeService dataNodeService;
 
+  @Autowired SessionServerConfig sessionServerConfig;
+
   @Override
   public Value generatePayload(Key key) {
     EntityType entityType = key.getEntityType();
@@ -43,7 +51,7 @@ public class DatumCacheGenerator implements CacheGenerator {
       ParaCheckUtil.checkNotBlank(dataCenter, "dataCenter");
       ParaCheckUtil.checkNotBlank(dataInfoId, "dataInfoId");
       final long now = System.currentTimeMillis();
-      SubDatum datum = dataNodeService.fetch(dataInfoId, dataCenter);
+      SubDatum datum = dataNodeService.fetch(dataInfoId, dataCenter, datumKey.getMinVersion());
       final long span = System.currentTimeMillis() - now;
       if (datum == null) {
         LOGGER.info("loadNil,{},{},span={}", dataInfoId, dataCenter, span);
@@ -61,4 +69,53 @@ public class DatumCacheGenerator implements CacheGenerator {
     }
     throw new IllegalArgumentException("unsupported key type:" + entityType);
   }
+
+  @Override
+  public Map<Key, Value> generatePayloads(Collection<Key> keys) {
+    Map<Key, Value> ret = Maps.newHashMapWithExpectedSize(keys.size());
+    if (!sessionServerConfig.isDataNodeBatchFetchEnable()) {
+      for (Key key : keys) {
+        try {
+          ret.put(key, generatePayload(key));
+        } catch (Throwable e) {
+          LOGGER.error("loadFail,{}", key, e);
+        }
+      }
+      return ret;
+    }
+    final long now = System.currentTimeMillis();
+    // the fetches of the same slot are sent in one request by the batcher
+    Map<Key, CompletableFuture<SubDatum>> futures = Maps.newHashMapWithExpectedSize(keys.size());
+    for (Key key : keys) {
+      EntityType entityType = key.getEntityType();
+      if (!(entityType instanceof DatumKey)) {
+        throw new IllegalArgumentException("unsupported key type:" + entityType);
+      }
+      DatumKey datumKey = (DatumKey) entityType;
+      futures.put(
+          key,
+          dataNodeService.fetchAsync(
+              datumKey.getDataInfoId(), datumKey.getDataCenter(), datumKey.getMinVersion()));
+    }
+    try {
+      CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+          .get(
+              sessionServerConfig.getDataNodeExchangeForFetchDatumTimeoutMillis(),
+              TimeUnit.MILLISECONDS);
+    } catch (Throwable e) {
+      LOGGER.error("loadBatch fail,keys={}", keys.size(), e);
+    }
+    for (Map.Entry<Key, CompletableFuture<SubDatum>> e : futures.entrySet()) {
+      final CompletableFuture<SubDatum> future = e.getValue();
+      if (future.isDone() && !future.isCompletedExceptionally()) {
+        ret.put(e.getKey(), new Value(future.join()));
+      }
+    }
+    LOGGER.info(
+        "loadBatch,keys={},loaded={},span={}",
+        keys.size(),
+        ret.size(),
+        System.currentTimeMillis() - now);
+    return ret;
+  }
 }
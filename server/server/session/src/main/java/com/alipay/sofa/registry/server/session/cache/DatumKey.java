@@ -31,10 +31,18 @@ public class DatumKey implements EntityType {
 
   private final String uniqueKey;
 
+  // the min datum version expected by the loader, not a part of the key
+  private final long minVersion;
+
   public DatumKey(String dataInfoId, String dataCenter) {
+    this(dataInfoId, dataCenter, Long.MIN_VALUE);
+  }
+
+  public DatumKey(String dataInfoId, String dataCenter, long minVersion) {
     this.dataInfoId = WordCache.getWordCache(dataInfoId);
     this.dataCenter = WordCache.getWordCache(dataCenter);
     this.uniqueKey = WordCache.getWordCache(createUniqueKey());
+    this.minVersion = minVersion;
   }
 
   @Override
@@ -80,6 +88,15 @@ public class DatumKey implements EntityType {
     return dataCenter;
   }
 
+  /**
+   * Getter method for property <tt>minVersion</tt>.
+   *
+   * @return property value of minVersion
+   */
+  public long getMinVersion() {
+    return minVersion;
+  }
+
   @Override
   public String toString() {
     return StringFormatter.format("DatumKey{{}}", uniqueKey);
@@ -22,6 +22,10 @@ import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
 import com.google.common.cache.*;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
@@ -98,6 +102,29 @@ public class SessionCacheService implements CacheService {
     return readWriteCacheMap.getIfPresent(key);
   }
 
+  @Override
+  public Map<Key, Value> getValues(Collection<Key> keys) {
+    Map<Key, Value> ret = Maps.newHashMap(readWriteCacheMap.getAllPresent(keys));
+    Map<String, List<Key>> misses = Maps.newHashMap();
+    for (Key key : keys) {
+      if (!ret.containsKey(key)) {
+        ParaCheckUtil.checkNotNull(key.getEntityType(), "getValues.key.entityType");
+        misses
+            .computeIfAbsent(key.getEntityType().getClass().getName(), k -> Lists.newArrayList())
+            .add(key);
+      }
+    }
+    for (Map.Entry<String, List<Key>> e : misses.entrySet()) {
+      CacheGenerator cacheGenerator = cacheGenerators.get(e.getKey());
+      for (Map.Entry<Key, Value> v : cacheGenerator.generatePayloads(e.getValue()).entrySet()) {
+        // keep the value loaded concurrently
+        Value prev = readWriteCacheMap.asMap().putIfAbsent(v.getKey(), v.getValue());
+        ret.put(v.getKey(), prev != null ? prev : v.getValue());
+      }
+    }
+    return ret;
+  }
+
   @Override
   public void invalidate(Key key) {
     readWriteCacheMap.invalidate(key);
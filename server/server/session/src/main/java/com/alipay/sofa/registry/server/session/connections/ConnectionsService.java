@@ -18,6 +18,7 @@ package com.alipay.sofa.registry.server.session.connections;
 
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
+import com.alipay.sofa.registry.net.IPPrefixMatcher;
 import com.alipay.sofa.registry.net.NetUtil;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.remoting.Server;
@@ -29,7 +30,6 @@ import com.alipay.sofa.registry.server.session.store.DataStore;
 import com.alipay.sofa.registry.server.session.store.Interests;
 import com.alipay.sofa.registry.server.session.store.Watchers;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
@@ -83,9 +83,11 @@ public class ConnectionsService {
     }
     List<ConnectId> connections = Lists.newArrayList();
     Collection<Channel> channels = sessionServer.getChannels();
+    // the ipSet maybe contains cidr ranges
+    final IPPrefixMatcher<Boolean> matcher = IPPrefixMatcher.of(ipSet);
     for (Channel channel : channels) {
       String ip = channel.getRemoteAddress().getAddress().getHostAddress();
-      if (ipSet.contains(ip)) {
+      if (matcher.contains(ip)) {
         if (StringUtils.isNotBlank(key)) {
           BoltChannel boltChannel = (BoltChannel) channel;
           boltChannel.setConnAttribute(key, value);
@@ -119,11 +121,12 @@ public class ConnectionsService {
     }
     List<String> connections = new ArrayList<>();
     Collection<Channel> channels = sessionServer.getChannels();
-    Set<String> ipSet = Sets.newHashSet(ipList);
+    // the ipList maybe contains cidr ranges
+    final IPPrefixMatcher<Boolean> matcher = IPPrefixMatcher.of(ipList);
     for (Channel channel : channels) {
       String key = NetUtil.toAddressString(channel.getRemoteAddress());
       String ip = getIpFromConnectId(key);
-      if (ipSet.contains(ip)) {
+      if (matcher.contains(ip)) {
         sessionServer.close(channel);
         connections.add(
             key
@@ -19,6 +19,7 @@ package com.alipay.sofa.registry.server.session.converter.pb;
 import com.alipay.sofa.registry.common.model.client.pb.DataBoxPb;
 import com.alipay.sofa.registry.common.model.client.pb.DataBoxesPb;
 import com.alipay.sofa.registry.core.model.DataBox;
+import com.google.protobuf.ByteString;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -50,7 +51,8 @@ public class DataBoxConvertor {
       DataBoxPb.Builder builder = DataBoxPb.newBuilder();
 
       if (dataBoxJava.getData() != null) {
-        builder.setData(dataBoxJava.getData());
+        // set as utf8 bytes, avoid encoding the string every time when the pb is serialized
+        builder.setDataBytes(ByteString.copyFromUtf8(dataBoxJava.getData()));
       }
       return builder.build();
     }
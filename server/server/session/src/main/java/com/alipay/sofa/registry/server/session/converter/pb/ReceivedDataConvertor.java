@@ -56,6 +56,11 @@ public final class ReceivedDataConvertor {
     receivedData.setSubscriberRegistIds(
         ListStringConvertor.convert2Java(receivedDataPb.getSubscriberRegistIdsList()));
     receivedData.setVersion(receivedDataPb.getVersion());
+    if (receivedDataPb.getBaseVersion() != 0) {
+      receivedData.setBaseVersion(receivedDataPb.getBaseVersion());
+      receivedData.setRemovedData(
+          DataBoxConvertor.convert2JavaMaps(receivedDataPb.getRemovedDataMap()));
+    }
 
     return receivedData;
   }
@@ -121,6 +126,13 @@ public final class ReceivedDataConvertor {
       Map<String, DataBoxesPb> dataBoxesPbMap =
           DataBoxConvertor.convert2PbMaps(receivedDataJava.getData());
       builder.putAllData(dataBoxesPbMap);
+      if (receivedDataJava.getBaseVersion() != null) {
+        builder.setBaseVersion(receivedDataJava.getBaseVersion());
+        if (receivedDataJava.getRemovedData() != null) {
+          builder.putAllRemovedData(
+              DataBoxConvertor.convert2PbMaps(receivedDataJava.getRemovedData()));
+        }
+      }
       return builder.build();
     } catch (Throwable e) {
       throw new IllegalStateException(e);
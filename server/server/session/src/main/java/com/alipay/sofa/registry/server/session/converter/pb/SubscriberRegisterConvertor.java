@@ -53,6 +53,7 @@ public final class SubscriberRegisterConvertor {
     subscriberRegister.setAttributes(subscriberRegisterPb.getBaseRegister().getAttributesMap());
     subscriberRegister.setAcceptEncoding(subscriberRegisterPb.getAcceptEncoding());
     subscriberRegister.setScope(subscriberRegisterPb.getScope());
+    subscriberRegister.setAcceptDelta(subscriberRegisterPb.getAcceptDelta());
     return subscriberRegister;
   }
 
@@ -89,7 +90,8 @@ public final class SubscriberRegisterConvertor {
         .setAcceptEncoding(
             subscriberRegisterJava.getAcceptEncoding() == null
                 ? ""
-                : subscriberRegisterJava.getAcceptEncoding());
+                : subscriberRegisterJava.getAcceptEncoding())
+        .setAcceptDelta(subscriberRegisterJava.isAcceptDelta());
     return builder.build();
   }
 }
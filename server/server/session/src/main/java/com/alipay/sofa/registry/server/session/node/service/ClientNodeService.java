@@ -26,4 +26,12 @@ import com.alipay.sofa.registry.remoting.CallbackHandler;
 public interface ClientNodeService {
 
   void pushWithCallback(Object object, URL url, CallbackHandler callbackHandler);
+
+  /**
+   * the channel of the client is writable, true if the channel is absent, let the push fail fast
+   *
+   * @param url
+   * @return
+   */
+  boolean isWritable(URL url);
 }
@@ -18,8 +18,12 @@ package com.alipay.sofa.registry.server.session.node.service;
 
 import com.alipay.sofa.registry.common.model.store.URL;
 import com.alipay.sofa.registry.remoting.CallbackHandler;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.remoting.Server;
+import com.alipay.sofa.registry.remoting.exchange.Exchange;
 import com.alipay.sofa.registry.remoting.exchange.NodeExchanger;
 import com.alipay.sofa.registry.remoting.exchange.message.Request;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -29,6 +33,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class ClientNodeServiceImpl implements ClientNodeService {
   @Autowired private NodeExchanger clientNodeExchanger;
 
+  @Autowired private Exchange boltExchange;
+
+  @Autowired private SessionServerConfig sessionServerConfig;
+
   @Override
   public void pushWithCallback(Object object, URL url, CallbackHandler callbackHandler) {
     Request<Object> request =
@@ -50,4 +58,14 @@ public class ClientNodeServiceImpl implements ClientNodeService {
         };
     clientNodeExchanger.request(request);
   }
+
+  @Override
+  public boolean isWritable(URL url) {
+    final Server server = boltExchange.getServer(sessionServerConfig.getServerPort());
+    if (server == null) {
+      return true;
+    }
+    final Channel channel = server.getChannel(url);
+    return channel == null || !channel.isConnected() || channel.isWritable();
+  }
 }
@@ -22,6 +22,7 @@ import com.alipay.sofa.registry.common.model.store.Publisher;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.remoting.exchange.ExchangeCallback;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author shangyu.wh
@@ -56,6 +57,15 @@ public interface DataNodeService {
       int slotId,
       Map<String, DatumVersion> interests,
       ExchangeCallback<Map<String /*datainfoid*/, DatumVersion>> callback);
+
+  /**
+   * fetch the max datum version of the slot from the slot leader
+   *
+   * @param dataCenter
+   * @param slotId
+   * @param callback
+   */
+  void fetchSlotVersion(String dataCenter, int slotId, ExchangeCallback<Long> callback);
   /**
    * fetch one dataCenter publisher data from data server
    *
@@ -64,4 +74,27 @@ public interface DataNodeService {
    * @return
    */
   SubDatum fetch(String dataInfoId, String dataCenterId);
+
+  /**
+   * fetch one dataCenter publisher data from data server, if follower read is enabled, fetch from
+   * the slot follower which has the datum version >= minVersion, fallback to the leader
+   *
+   * @param dataInfoId
+   * @param dataCenterId
+   * @param minVersion
+   * @return
+   */
+  SubDatum fetch(String dataInfoId, String dataCenterId, long minVersion);
+
+  /**
+   * fetch one dataCenter publisher data from data server asynchronously, the concurrent fetches of
+   * the same dataInfoId are coalesced and the fetches of the same slot are sent in one request,
+   * requires dataNodeBatchFetchEnable
+   *
+   * @param dataInfoId
+   * @param dataCenterId
+   * @param minVersion the fetch joins the in-flight one only if minVersion is not bigger than it
+   * @return
+   */
+  CompletableFuture<SubDatum> fetchAsync(String dataInfoId, String dataCenterId, long minVersion);
 }
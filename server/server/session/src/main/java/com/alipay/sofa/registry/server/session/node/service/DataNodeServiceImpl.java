@@ -44,6 +44,7 @@ import com.alipay.sofa.registry.task.BlockingQueues;
 import com.alipay.sofa.registry.task.FastRejectedExecutionException;
 import com.alipay.sofa.registry.task.MetricsableThreadPoolExecutor;
 import com.alipay.sofa.registry.task.RejectedDiscardHandler;
+import com.alipay.sofa.registry.task.RejectedLogErrorHandler;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
 import com.alipay.sofa.registry.util.OsUtils;
 import com.alipay.sofa.registry.util.StringFormatter;
@@ -51,9 +52,13 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.annotation.PostConstruct;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -74,12 +79,21 @@ public class DataNodeServiceImpl implements DataNodeService {
 
   private Worker[] workers;
   private BlockingQueues<Req> blockingQueues;
+  private DatumFetchBatcher fetchBatcher;
 
   final RejectedDiscardHandler discardHandler = new RejectedDiscardHandler();
   private final ThreadPoolExecutor callbackExecutor =
       MetricsableThreadPoolExecutor.newExecutor(
           "DataNodeCallback", OsUtils.getCpuCount() * 2, 4096, discardHandler);
 
+  // throw when rejected, the callback of the batch fetch completes the fetches when rejected
+  private final ThreadPoolExecutor fetchCallbackExecutor =
+      MetricsableThreadPoolExecutor.newExecutor(
+          "DataNodeFetchCallback",
+          OsUtils.getCpuCount(),
+          4096,
+          new RejectedLogErrorHandler(LOGGER, true));
+
   @PostConstruct
   public void init() {
     this.workers = new Worker[sessionServerConfig.getDataNodeExecutorWorkerSize()];
@@ -92,6 +106,14 @@ public class DataNodeServiceImpl implements DataNodeService {
       workers[i] = new Worker(blockingQueues.getQueue(i));
       ConcurrentUtils.createDaemonThread("req-data-worker-" + i, workers[i]).start();
     }
+    if (sessionServerConfig.isDataNodeBatchFetchEnable()) {
+      this.fetchBatcher =
+          new DatumFetchBatcher(
+              sessionServerConfig.getDataNodeExecutorQueueSize(),
+              slotTableCache::slotOf,
+              this::batchFetch);
+      ConcurrentUtils.createDaemonThread("fetch-data-worker", new FetchWorker()).start();
+    }
   }
 
   private void commitReq(int slotId, Req req) {
@@ -202,8 +224,82 @@ public class DataNodeServiceImpl implements DataNodeService {
     }
   }
 
+  @Override
+  public void fetchSlotVersion(String dataCenter, int slotId, ExchangeCallback<Long> callback) {
+    final Slot slot = getSlot(slotId);
+    final String dataNodeIp = slot.getLeader();
+    try {
+      final GetSlotVersionRequest request =
+          new GetSlotVersionRequest(dataCenter, ServerEnv.PROCESS_ID, slotId);
+      request.setSlotTableEpoch(slotTableCache.getEpoch());
+      request.setSlotLeaderEpoch(slot.getLeaderEpoch());
+      final CallbackHandler handler =
+          new CallbackHandler() {
+            @Override
+            public void onCallback(Channel channel, Object message) {
+              SlotAccessGenericResponse<Long> genericResponse =
+                  (SlotAccessGenericResponse<Long>) message;
+              if (genericResponse.isSuccess()) {
+                callback.onCallback(channel, genericResponse.getData());
+              } else {
+                callback.onException(
+                    channel,
+                    new RuntimeException(
+                        StringFormatter.format(
+                            "GetSlotVersion failed, {}@{}, slotId={}, access={}, msg:{}",
+                            dataNodeIp,
+                            dataCenter,
+                            slotId,
+                            genericResponse.getSlotAccess(),
+                            genericResponse.getMessage())));
+              }
+            }
+
+            @Override
+            public void onException(Channel channel, Throwable exception) {
+              callback.onException(channel, exception);
+            }
+
+            @Override
+            public Executor getExecutor() {
+              return callbackExecutor;
+            }
+          };
+      Response response =
+          dataNodeExchanger.request(new SimpleRequest<>(request, getUrl(slot), handler));
+      Response.ResultStatus result = (Response.ResultStatus) response.getResult();
+      if (result != Response.ResultStatus.SUCCESSFUL) {
+        throw new RequestException("response not success, status=" + result);
+      }
+    } catch (RequestException e) {
+      throw new RuntimeException(
+          StringFormatter.format(
+              "GetSlotVersion fail {}@{}, slotId={}", dataNodeIp, dataCenter, slotId, e));
+    }
+  }
+
   @Override
   public SubDatum fetch(String dataInfoId, String dataCenter) {
+    return fetchLeader(dataInfoId, dataCenter, 0);
+  }
+
+  private SubDatum fetchLeader(String dataInfoId, String dataCenter, long minVersion) {
+    if (fetchBatcher != null) {
+      final long start = System.currentTimeMillis();
+      final int timeoutMillis = sessionServerConfig.getDataNodeExchangeForFetchDatumTimeoutMillis();
+      try {
+        return fetchAsync(dataInfoId, dataCenter, minVersion)
+            .get(timeoutMillis, TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        // the fetching created before the wait is timeout too
+        fetchBatcher.expire(dataInfoId, dataCenter, start, e);
+        throw new RuntimeException(
+            StringFormatter.format("GetData timeout {}, {}", dataInfoId, dataCenter), e);
+      } catch (Throwable e) {
+        throw new RuntimeException(
+            StringFormatter.format("GetData fail {}, {}", dataInfoId, dataCenter), e);
+      }
+    }
     String dataNodeIp = null;
     int slotId = -1;
     try {
@@ -262,6 +358,195 @@ public class DataNodeServiceImpl implements DataNodeService {
     }
   }
 
+  @Override
+  public SubDatum fetch(String dataInfoId, String dataCenter, long minVersion) {
+    if (minVersion > 0 && sessionServerConfig.isDataNodeFollowerReadEnable()) {
+      final SubDatum datum = fetchFromFollower(dataInfoId, dataCenter, minVersion);
+      if (datum != null) {
+        return datum;
+      }
+    }
+    return fetchLeader(dataInfoId, dataCenter, minVersion);
+  }
+
+  /** @return null if no follower has the datum with version >= minVersion */
+  SubDatum fetchFromFollower(String dataInfoId, String dataCenter, long minVersion) {
+    final Slot slot = getSlot(dataInfoId);
+    final List<String> followers = Lists.newArrayList(slot.getFollowers());
+    if (followers.isEmpty()) {
+      return null;
+    }
+    // spread the reads over the followers
+    final String dataNodeIp = followers.get(ThreadLocalRandom.current().nextInt(followers.size()));
+    try {
+      GetDataRequest getDataRequest =
+          new GetDataRequest(ServerEnv.PROCESS_ID, dataInfoId, dataCenter, slot.getId());
+      getDataRequest.setAcceptEncodes(CompressConstants.defaultCompressEncodes);
+      getDataRequest.setSlotTableEpoch(slotTableCache.getEpoch());
+      getDataRequest.setSlotLeaderEpoch(slot.getLeaderEpoch());
+      getDataRequest.setFollowerRead(minVersion);
+      final URL url = new URL(dataNodeIp, sessionServerConfig.getDataServerPort());
+      Response response =
+          dataNodeExchanger.request(
+              new Request<GetDataRequest>() {
+                @Override
+                public GetDataRequest getRequestBody() {
+                  return getDataRequest;
+                }
+
+                @Override
+                public URL getRequestUrl() {
+                  return url;
+                }
+
+                @Override
+                public Integer getTimeout() {
+                  return sessionServerConfig.getDataNodeExchangeForFetchDatumTimeoutMillis();
+                }
+              });
+      SlotAccessGenericResponse<SubDatum> genericResponse =
+          (SlotAccessGenericResponse<SubDatum>) response.getResult();
+      final SubDatum datum = genericResponse.getData();
+      if (!genericResponse.isSuccess() || datum == null || datum.getVersion() < minVersion) {
+        LOGGER.info(
+            "[followerRead]miss {}, {}, {}, slotId={}, minVersion={}, msg:{}",
+            dataNodeIp,
+            dataInfoId,
+            dataCenter,
+            slot.getId(),
+            minVersion,
+            genericResponse.getMessage());
+        return null;
+      }
+      return SubDatum.intern(datum);
+    } catch (Throwable e) {
+      LOGGER.error(
+          "[followerRead]fail {}, {}, {}, slotId={}",
+          dataNodeIp,
+          dataInfoId,
+          dataCenter,
+          slot.getId(),
+          e);
+      return null;
+    }
+  }
+
+  @Override
+  public CompletableFuture<SubDatum> fetchAsync(
+      String dataInfoId, String dataCenter, long minVersion) {
+    if (fetchBatcher == null) {
+      CompletableFuture<SubDatum> f = new CompletableFuture<>();
+      f.completeExceptionally(new IllegalStateException("dataNodeBatchFetch is disabled"));
+      return f;
+    }
+    return fetchBatcher.fetch(dataInfoId, dataCenter, minVersion);
+  }
+
+  private void batchFetch(int slotId, String dataCenter, List<String> dataInfoIds) {
+    final Slot slot = getSlot(slotId);
+    final BatchGetDataRequest request =
+        new BatchGetDataRequest(ServerEnv.PROCESS_ID, dataInfoIds, dataCenter, slotId);
+    request.setAcceptEncodes(CompressConstants.defaultCompressEncodes);
+    request.setSlotTableEpoch(slotTableCache.getEpoch());
+    request.setSlotLeaderEpoch(slot.getLeaderEpoch());
+    final long start = System.currentTimeMillis();
+    final CallbackHandler handler =
+        new CallbackHandler() {
+          @Override
+          public void onCallback(Channel channel, Object message) {
+            SlotAccessGenericResponse<Map<String, SubDatum>> genericResponse =
+                (SlotAccessGenericResponse<Map<String, SubDatum>>) message;
+            if (!genericResponse.isSuccess()) {
+              onException(
+                  channel,
+                  new RuntimeException(
+                      StringFormatter.format(
+                          "BatchGetData got fail response {}, {}, slotId={}, access={}, msg:{}",
+                          slot.getLeader(),
+                          dataCenter,
+                          slotId,
+                          genericResponse.getSlotAccess(),
+                          genericResponse.getMessage())));
+              return;
+            }
+            final Map<String, SubDatum> datums = Maps.newHashMapWithExpectedSize(64);
+            if (genericResponse.getData() != null) {
+              for (Map.Entry<String, SubDatum> e : genericResponse.getData().entrySet()) {
+                datums.put(e.getKey(), SubDatum.intern(e.getValue()));
+              }
+            }
+            LOGGER.info(
+                "[batchFetch]{},{},slotId={},num={},found={},span={}",
+                slot.getLeader(),
+                dataCenter,
+                slotId,
+                dataInfoIds.size(),
+                datums.size(),
+                System.currentTimeMillis() - start);
+            fetchBatcher.complete(dataCenter, dataInfoIds, datums);
+          }
+
+          @Override
+          public void onException(Channel channel, Throwable exception) {
+            LOGGER.error(
+                "[batchFetch]failed {},{},slotId={},num={}",
+                slot.getLeader(),
+                dataCenter,
+                slotId,
+                dataInfoIds.size(),
+                exception);
+            fetchBatcher.completeExceptionally(dataCenter, dataInfoIds, exception);
+          }
+
+          @Override
+          public Executor getExecutor() {
+            return command -> {
+              try {
+                fetchCallbackExecutor.execute(command);
+              } catch (RejectedExecutionException e) {
+                // not discard the callback, the fetches must be completed
+                fetchBatcher.completeExceptionally(dataCenter, dataInfoIds, e);
+              }
+            };
+          }
+        };
+    dataNodeExchanger.request(
+        new Request<BatchGetDataRequest>() {
+          @Override
+          public BatchGetDataRequest getRequestBody() {
+            return request;
+          }
+
+          @Override
+          public URL getRequestUrl() {
+            return getUrl(slot);
+          }
+
+          @Override
+          public Integer getTimeout() {
+            return sessionServerConfig.getDataNodeExchangeForFetchDatumTimeoutMillis();
+          }
+
+          @Override
+          public CallbackHandler getCallBackHandler() {
+            return handler;
+          }
+        });
+  }
+
+  private final class FetchWorker implements Runnable {
+    @Override
+    public void run() {
+      for (; ; ) {
+        try {
+          fetchBatcher.sendBatches(200, sessionServerConfig.getDataNodeBatchFetchMaxSize());
+        } catch (Throwable e) {
+          LOGGER.safeError("failed to batch fetch", e);
+        }
+      }
+    }
+  }
+
   private CommonResponse sendRequest(Request request) throws RequestException {
     Response response = dataNodeExchanger.request(request);
     Object result = response.getResult();
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.node.service;
+
+import com.alipay.sofa.registry.common.model.Tuple;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.task.FastRejectedExecutionException;
+import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * the concurrent fetches of the same dataInfoId share one future, and the pending fetches are
+ * drained and grouped by slot/dataCenter, every group is sent as one batch request. a fetch joins
+ * the in-flight one only if its minVersion is not bigger, the in-flight one may be sent before the
+ * newer version is generated
+ */
+final class DatumFetchBatcher {
+
+  interface BatchSender {
+    /**
+     * send the batch request, the fetches must be completed by {@link #complete} or {@link
+     * #completeExceptionally}
+     */
+    void send(int slotId, String dataCenter, List<String> dataInfoIds);
+  }
+
+  private final Map<FetchKey, Fetching> fetchings = Maps.newConcurrentMap();
+  private final BlockingQueue<FetchKey> queue;
+  private final ToIntFunction<String> slotFunction;
+  private final BatchSender sender;
+
+  DatumFetchBatcher(int queueSize, ToIntFunction<String> slotFunction, BatchSender sender) {
+    this.queue = new LinkedBlockingQueue<>(queueSize);
+    this.slotFunction = slotFunction;
+    this.sender = sender;
+  }
+
+  CompletableFuture<SubDatum> fetch(String dataInfoId, String dataCenter, long minVersion) {
+    final FetchKey key = new FetchKey(dataInfoId, dataCenter);
+    Fetching fetching = fetchings.get(key);
+    if (fetching == null) {
+      final Fetching f = new Fetching(minVersion);
+      fetching = fetchings.putIfAbsent(key, f);
+      if (fetching == null) {
+        if (!queue.offer(key)) {
+          fetchings.remove(key, f);
+          f.future.completeExceptionally(
+              new FastRejectedExecutionException("fetch queue overflow, size=" + queue.size()));
+        }
+        return f.future;
+      }
+    }
+    if (minVersion <= fetching.minVersion) {
+      return fetching.future;
+    }
+    // wait the in-flight one, fetch again if its datum is older than the minVersion
+    return fetching.future.thenCompose(
+        datum ->
+            datum != null && datum.getVersion() >= minVersion
+                ? CompletableFuture.completedFuture(datum)
+                : fetch(dataInfoId, dataCenter, minVersion));
+  }
+
+  /**
+   * drain the pending fetches and send them
+   *
+   * @return the num of sent fetches
+   */
+  int sendBatches(long waitMillis, int maxBatchSize) {
+    final FetchKey first =
+        ConcurrentUtils.pollUninterruptibly(queue, waitMillis, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return 0;
+    }
+    final List<FetchKey> keys = Lists.newArrayListWithCapacity(maxBatchSize);
+    keys.add(first);
+    queue.drainTo(keys, maxBatchSize - 1);
+
+    final Map<Tuple<Integer, String>, List<String>> batches = Maps.newLinkedHashMap();
+    for (FetchKey key : keys) {
+      final int slotId;
+      try {
+        slotId = slotFunction.applyAsInt(key.dataInfoId);
+      } catch (Throwable e) {
+        completeExceptionally(key.dataCenter, Lists.newArrayList(key.dataInfoId), e);
+        continue;
+      }
+      batches
+          .computeIfAbsent(new Tuple<>(slotId, key.dataCenter), k -> Lists.newArrayList())
+          .add(key.dataInfoId);
+    }
+    for (Map.Entry<Tuple<Integer, String>, List<String>> batch : batches.entrySet()) {
+      final int slotId = batch.getKey().o1;
+      final String dataCenter = batch.getKey().o2;
+      try {
+        sender.send(slotId, dataCenter, batch.getValue());
+      } catch (Throwable e) {
+        completeExceptionally(dataCenter, batch.getValue(), e);
+      }
+    }
+    return keys.size();
+  }
+
+  void complete(String dataCenter, List<String> dataInfoIds, Map<String, SubDatum> datums) {
+    for (String dataInfoId : dataInfoIds) {
+      // remove before complete, the fetch after the response need a new request
+      Fetching f = fetchings.remove(new FetchKey(dataInfoId, dataCenter));
+      if (f != null) {
+        f.future.complete(datums.get(dataInfoId));
+      }
+    }
+  }
+
+  /**
+   * remove the fetching of the dataInfoId if it is created before the deadline, the response of it
+   * maybe lost, the later fetches need a new request instead of joining it
+   */
+  void expire(String dataInfoId, String dataCenter, long createdBefore, Throwable e) {
+    final FetchKey key = new FetchKey(dataInfoId, dataCenter);
+    final Fetching f = fetchings.get(key);
+    if (f != null && f.createTimestamp <= createdBefore && fetchings.remove(key, f)) {
+      f.future.completeExceptionally(e);
+    }
+  }
+
+  void completeExceptionally(String dataCenter, List<String> dataInfoIds, Throwable e) {
+    for (String dataInfoId : dataInfoIds) {
+      Fetching f = fetchings.remove(new FetchKey(dataInfoId, dataCenter));
+      if (f != null) {
+        f.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  int fetchingSize() {
+    return fetchings.size();
+  }
+
+  private static final class Fetching {
+    final CompletableFuture<SubDatum> future = new CompletableFuture<>();
+    final long createTimestamp = System.currentTimeMillis();
+    final long minVersion;
+
+    Fetching(long minVersion) {
+      this.minVersion = minVersion;
+    }
+  }
+
+  private static final class FetchKey {
+    final String dataInfoId;
+    final String dataCenter;
+
+    FetchKey(String dataInfoId, String dataCenter) {
+      this.dataInfoId = dataInfoId;
+      this.dataCenter = dataCenter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      FetchKey that = (FetchKey) o;
+      return Objects.equals(dataInfoId, that.dataInfoId)
+          && Objects.equals(dataCenter, that.dataCenter);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dataInfoId, dataCenter);
+    }
+  }
+}
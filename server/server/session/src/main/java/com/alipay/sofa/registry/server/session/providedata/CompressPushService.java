@@ -84,11 +84,15 @@ public class CompressPushService
 
   public Compressor getCompressor(
       ReceivedData receivedData, String[] acceptEncodes, String clientIp) {
+    return getCompressor(dataBoxesMapSize(receivedData.getData()), acceptEncodes, clientIp);
+  }
+
+  public Compressor getCompressor(int dataBoxesSize, String[] acceptEncodes, String clientIp) {
     CompressPushSwitch compressPushSwitch = getCompressSwitch();
     if (!compressEnabled(compressPushSwitch, clientIp)) {
       return null;
     }
-    if (dataBoxesMapSize(receivedData.getData()) < compressPushSwitch.getCompressMinSize()) {
+    if (dataBoxesSize < compressPushSwitch.getCompressMinSize()) {
       return null;
     }
     return CompressUtils.find(acceptEncodes, compressPushSwitch.getForbidEncodes());
@@ -109,7 +113,7 @@ public class CompressPushService
     return false;
   }
 
-  private static int dataBoxesMapSize(Map<String, List<DataBox>> dataBoxesMap) {
+  public static int dataBoxesMapSize(Map<String, List<DataBox>> dataBoxesMap) {
     int size = 0;
     for (Map.Entry<String, List<DataBox>> boxesEntry : dataBoxesMap.entrySet()) {
       size += boxesEntry.getKey().length();
@@ -21,6 +21,7 @@ import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.metaserver.ProvideData;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.net.IPPrefixMatcher;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.connections.ConnectionsService;
 import com.alipay.sofa.registry.server.session.filter.blacklist.BlacklistConfig;
@@ -35,6 +36,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -119,7 +121,8 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
           Map<String, Set<String>> typeMap = configEntry.getValue();
           if (typeMap != null) {
             for (Map.Entry<String, Set<String>> typeEntry : typeMap.entrySet()) {
-              if (BlacklistConstants.IP_FULL.equals(typeEntry.getKey())) {
+              if (BlacklistConstants.IP_FULL.equals(typeEntry.getKey())
+                  || BlacklistConstants.IP_CIDR.equals(typeEntry.getKey())) {
                 if (typeEntry.getValue() != null) {
                   ipSet.addAll(typeEntry.getValue());
                 }
@@ -152,7 +155,8 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
     LOGGER.info("Fetch session blacklist {}", data);
 
     List<BlacklistConfig> blacklistConfigs = new ArrayList();
-    // {"FORBIDDEN_PUB":{"IP_FULL":["1.1.1.1"]},"FORBIDDEN_SUB_BY_PREFIX":{"IP_FULL":["1.1.1.1"]}}
+    // {"FORBIDDEN_PUB":{"IP_FULL":["1.1.1.1"],"IP_CIDR":["10.0.0.0/8"]},
+    // "FORBIDDEN_SUB_BY_PREFIX":{"IP_FULL":["1.1.1.1"]}}
     Map<String, Map<String, Set<String>>> blacklistConfigMap =
         convertBlacklistConfig(data, blacklistConfigs);
     clientOffBlackIp(blacklistConfigMap);
@@ -173,10 +177,42 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
   protected static class BlacklistStorage extends SystemDataStorage {
     final List<BlacklistConfig> blacklistConfigList;
 
+    // the ip rules of every blacklist type, compiled once when the config changes
+    final Map<String, IPPrefixMatcher<Boolean>> matchers;
+
     public BlacklistStorage(long version, List<BlacklistConfig> blacklistConfigList) {
       super(version);
       this.blacklistConfigList = blacklistConfigList;
+      this.matchers = compile(blacklistConfigList);
+    }
+  }
+
+  static Map<String, IPPrefixMatcher<Boolean>> compile(List<BlacklistConfig> configs) {
+    final Map<String, IPPrefixMatcher.Builder<Boolean>> builders = Maps.newHashMap();
+    for (BlacklistConfig config : configs) {
+      if (config.getType() == null || config.getMatchTypes() == null) {
+        continue;
+      }
+      for (MatchType matchType : config.getMatchTypes()) {
+        if (matchType == null
+            || matchType.getPatternSet() == null
+            || !(BlacklistConstants.IP_FULL.equals(matchType.getType())
+                || BlacklistConstants.IP_CIDR.equals(matchType.getType()))) {
+          continue;
+        }
+        final IPPrefixMatcher.Builder<Boolean> builder =
+            builders.computeIfAbsent(config.getType(), k -> IPPrefixMatcher.builder());
+        for (Object pattern : matchType.getPatternSet()) {
+          if (!builder.tryAdd(String.valueOf(pattern), Boolean.TRUE)) {
+            LOGGER.warn("invalid blacklist ip pattern: {}, type={}", pattern, config.getType());
+          }
+        }
+      }
     }
+    final Map<String, IPPrefixMatcher<Boolean>> matchers =
+        Maps.newHashMapWithExpectedSize(builders.size());
+    builders.forEach((k, v) -> matchers.put(k, v.build()));
+    return matchers;
   }
 
   /**
@@ -188,6 +224,22 @@ public class FetchBlackListService extends AbstractFetchSystemPropertyService<Bl
     return storage.get().blacklistConfigList;
   }
 
+  /**
+   * the compiled ip rules of the blacklist type
+   *
+   * @param type blacklist type
+   * @return empty matcher if the type has no rules
+   */
+  public IPPrefixMatcher<Boolean> getBlacklistMatcher(String type) {
+    final IPPrefixMatcher<Boolean> matcher = storage.get().matchers.get(type);
+    return matcher == null ? IPPrefixMatcher.empty() : matcher;
+  }
+
+  @VisibleForTesting
+  public void updateBlacklistConfigList(List<BlacklistConfig> blacklistConfigList) {
+    storage.set(new BlacklistStorage(storage.get().getVersion() + 1, blacklistConfigList));
+  }
+
   /**
    * Setter method for property <tt>sessionRegistry</tt>.
    *
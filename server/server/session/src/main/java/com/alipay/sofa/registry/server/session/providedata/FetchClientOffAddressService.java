@@ -25,6 +25,7 @@ import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.metaserver.ClientManagerAddress;
 import com.alipay.sofa.registry.common.model.metaserver.ClientManagerAddress.AddressVersion;
 import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.net.IPPrefixMatcher;
 import com.alipay.sofa.registry.net.NetUtil;
 import com.alipay.sofa.registry.remoting.Channel;
 import com.alipay.sofa.registry.remoting.bolt.BoltChannel;
@@ -113,7 +114,10 @@ public class FetchClientOffAddressService
     long oldVersion = expect.getVersion();
 
     Set<String> toBeRemove = Sets.difference(olds, news);
-    Set<String> toBeClientOpen = Sets.difference(toBeRemove, data.reduces);
+    // the reduces maybe contains cidr ranges, the reduced address need not client open
+    final IPPrefixMatcher<Boolean> reduceMatcher = IPPrefixMatcher.of(data.reduces);
+    Set<String> toBeClientOpen =
+        Sets.filter(toBeRemove, address -> !isReduced(data.reduces, reduceMatcher, address));
     Set<String> toBeAdd = Sets.difference(news, olds);
 
     Map<String, AddressVersion> adds = Maps.newHashMapWithExpectedSize(toBeAdd.size());
@@ -176,6 +180,11 @@ public class FetchClientOffAddressService
 
     final AtomicReference<ClientOffTable> updating;
 
+    // the address is an exact ip or a cidr range, compiled once when the address changes
+    final IPPrefixMatcher<AddressVersion> matcher;
+
+    final IPPrefixMatcher<Boolean> reduceMatcher;
+
     public ClientOffAddressStorage(
         long version,
         Map<String, AddressVersion> clientOffAddress,
@@ -185,7 +194,27 @@ public class FetchClientOffAddressService
       this.clientOffAddress = clientOffAddress;
       this.reduces = reduces;
       this.updating = new AtomicReference<>(updating);
+      this.matcher = compile(clientOffAddress);
+      this.reduceMatcher = IPPrefixMatcher.of(reduces);
+    }
+  }
+
+  static boolean isReduced(
+      Set<String> reduces, IPPrefixMatcher<Boolean> reduceMatcher, String address) {
+    return reduces.contains(address) || reduceMatcher.contains(address);
+  }
+
+  static IPPrefixMatcher<AddressVersion> compile(Map<String, AddressVersion> clientOffAddress) {
+    if (clientOffAddress.isEmpty()) {
+      return IPPrefixMatcher.empty();
+    }
+    IPPrefixMatcher.Builder<AddressVersion> builder = IPPrefixMatcher.builder();
+    for (Map.Entry<String, AddressVersion> e : clientOffAddress.entrySet()) {
+      if (!builder.tryAdd(e.getKey(), e.getValue())) {
+        LOGGER.warn("invalid clientOff address: {}", e.getKey());
+      }
     }
+    return builder.build();
   }
 
   protected static class ClientOffAddressResp extends SystemDataStorage {
@@ -299,8 +328,8 @@ public class FetchClientOffAddressService
   protected void processClientOpen() {
     List<Channel> channels = connectionsService.getAllChannel();
     ClientOffAddressStorage storage = this.storage.get();
-    Map<String, AddressVersion> clientOffAddress = storage.clientOffAddress;
-    Set<String> reduces = storage.reduces;
+    IPPrefixMatcher<AddressVersion> clientOffAddress = storage.matcher;
+    IPPrefixMatcher<Boolean> reduces = storage.reduceMatcher;
 
     Set<String> retryClientOpen = Sets.newHashSetWithExpectedSize(8);
     for (Channel channel : channels) {
@@ -309,7 +338,7 @@ public class FetchClientOffAddressService
 
       BoltChannel boltChannel = (BoltChannel) channel;
       Object value = boltChannel.getConnAttribute(CLIENT_OFF);
-      if (Boolean.TRUE.equals(value) && !clientOffAddress.containsKey(ip)) {
+      if (Boolean.TRUE.equals(value) && !clientOffAddress.contains(ip)) {
 
         if (reduces.contains(ip)) {
           unMarkChannel(Collections.singleton(ip));
@@ -335,8 +364,14 @@ public class FetchClientOffAddressService
     return storage.get().clientOffAddress.keySet();
   }
 
+  /**
+   * match the ip with the clientOff addresses
+   *
+   * @param address ip of the client
+   * @return the longest matched address, null if not matched
+   */
   public AddressVersion getAddress(String address) {
-    return storage.get().clientOffAddress.get(address);
+    return storage.get().matcher.match(address);
   }
 
   public long lastLoadVersion() {
@@ -237,6 +237,8 @@ public class FirePushService {
     CACHE_MISS_COUNTER.inc();
     // the cache is too old
     sessionCacheService.invalidate(key);
+    // the loader could read from the follower which has the expect version
+    key = new Key(DatumKey.class.getName(), new DatumKey(dataInfoId, dataCenter, expectVersion));
     value = sessionCacheService.getValue(key);
     return value == null ? null : (SubDatum) value.getPayload();
   }
@@ -282,6 +284,27 @@ public class FirePushService {
     public boolean onReg(String dataInfoId, List<Subscriber> subscribers) {
       return doExecuteOnReg(dataInfoId, subscribers);
     }
+
+    @Override
+    public void prefetch(List<String> dataInfoIds) {
+      prefetchDatums(sessionServerConfig.getSessionServerDataCenter(), dataInfoIds);
+    }
+  }
+
+  void prefetchDatums(String dataCenter, Collection<String> dataInfoIds) {
+    if (dataInfoIds.size() <= 1) {
+      return;
+    }
+    List<Key> keys = Lists.newArrayListWithCapacity(dataInfoIds.size());
+    for (String dataInfoId : dataInfoIds) {
+      keys.add(new Key(DatumKey.class.getName(), new DatumKey(dataInfoId, dataCenter)));
+    }
+    try {
+      // the misses are fetched in batch, the datum failed to prefetch is fetched by getDatum
+      sessionCacheService.getValues(keys);
+    } catch (Throwable e) {
+      LOGGER.error("failed to prefetch datums, {}, num={}", dataCenter, dataInfoIds.size(), e);
+    }
   }
 
   boolean doExecuteOnReg(String dataInfoId, List<Subscriber> subscribers) {
@@ -20,6 +20,7 @@ import com.alipay.sofa.registry.common.model.SubscriberUtils;
 import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
 import com.alipay.sofa.registry.common.model.store.*;
 import com.alipay.sofa.registry.compress.Compressor;
+import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
@@ -27,10 +28,15 @@ import com.alipay.sofa.registry.server.session.converter.ReceivedDataConverter;
 import com.alipay.sofa.registry.server.session.converter.pb.ReceivedDataConvertor;
 import com.alipay.sofa.registry.server.session.predicate.ZonePredicate;
 import com.alipay.sofa.registry.server.session.providedata.CompressPushService;
+import com.alipay.sofa.registry.server.shared.util.DatumUtils;
+import com.alipay.sofa.registry.util.StringFormatter;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.function.Predicate;
 import javax.annotation.Resource;
+import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class PushDataGenerator {
@@ -39,8 +45,21 @@ public class PushDataGenerator {
 
   @Resource protected CompressPushService compressPushService;
 
-  public PushData createPushData(SubDatum unzipDatum, Map<String, Subscriber> subscriberMap) {
-    unzipDatum.mustUnzipped();
+  @Autowired protected PushPayloadCache pushPayloadCache;
+
+  final PushDatumHistory datumHistory = new PushDatumHistory();
+
+  public PushData createPushData(SubDatum datum, Map<String, Subscriber> subscriberMap) {
+    return createPushData(datum, subscriberMap, PushType.Sub, true);
+  }
+
+  /**
+   * create the push data, the datum maybe zipped, the payload of the same datum version is cached
+   * and shared by all the subscribers with the same scope/cell/encoding. if the subscribers have
+   * received a recent version, only the delta dataBoxes are pushed
+   */
+  public PushData createPushData(
+      SubDatum datum, Map<String, Subscriber> subscriberMap, PushType pushType, boolean fullPush) {
     if (subscriberMap.size() > 1) {
       SubscriberUtils.getAndAssertHasSameScope(subscriberMap.values());
       SubscriberUtils.getAndAssertAcceptedEncodes(subscriberMap.values());
@@ -49,41 +68,223 @@ public class PushDataGenerator {
     SubscriberUtils.assertClientVersion(subscriberMap.values(), BaseInfo.ClientVersion.StoreData);
 
     final Subscriber subscriber = subscriberMap.values().iterator().next();
-    String dataId = subscriber.getDataId();
-    String clientCell = sessionServerConfig.getClientCell(subscriber.getCell());
+    final String clientCell = sessionServerConfig.getClientCell(subscriber.getCell());
+    final List<String> subscriberRegisterIds = Lists.newArrayList(subscriberMap.keySet());
 
-    Predicate<String> zonePredicate =
-        ZonePredicate.zonePredicate(dataId, clientCell, subscriber.getScope(), sessionServerConfig);
-
-    PushData<ReceivedData> pushData =
-        ReceivedDataConverter.getReceivedDataMulti(
-            unzipDatum,
+    // the temp/empty push has the same version with the datum but different content, the payload
+    // key could not distinguish them, not cached
+    final boolean valid = pushType != PushType.Temp && pushType != PushType.Empty;
+    final PushPayloadCache.PayloadKey key =
+        PushPayloadCache.PayloadKey.of(
+            datum,
             subscriber.getScope(),
-            Lists.newArrayList(subscriberMap.keySet()),
             clientCell,
-            zonePredicate);
-    pushData.getPayload().setVersion(unzipDatum.getVersion());
+            sessionServerConfig.getInvalidZoneConfigEpoch());
+    final PushPayloadCache.Payload received =
+        getPayload(valid, key, () -> createReceivedDataPayload(datum, subscriber, clientCell));
     final Byte serializerIndex = subscriber.getSourceAddress().getSerializerIndex();
-    if (serializerIndex == null || URL.PROTOBUF != serializerIndex) {
-      return pushData;
+    final boolean protobuf = serializerIndex != null && URL.PROTOBUF == serializerIndex;
+    if (sessionServerConfig.isPushDeltaEnable()) {
+      datumHistory.record(datum, valid, sessionServerConfig.getPushDeltaHistorySize());
+      if (valid && !fullPush) {
+        PushData<ReceivedData> delta =
+            createDeltaPushData(datum, subscriberMap, clientCell, received, subscriberRegisterIds);
+        if (delta != null) {
+          if (!protobuf) {
+            return delta;
+          }
+          // the delta is small and not shared, not compressed
+          return new PushData<>(
+              ReceivedDataConvertor.convert2Pb(delta.getPayload()), delta.getDataCount());
+        }
+      }
     }
+    if (!protobuf) {
+      return received.toPushData(subscriberRegisterIds);
+    }
+    final ReceivedData template = ((PushPayloadCache.ReceivedDataPayload) received).template;
     Compressor compressor =
         compressPushService.getCompressor(
-            pushData.getPayload(),
+            received.dataBoxesSize,
             subscriber.getAcceptEncodes(),
             subscriber.getSourceAddress().getIpAddress());
+    final String encoding = compressor == null ? StringUtils.EMPTY : compressor.getEncoding();
+    final PushPayloadCache.Payload pb =
+        getPayload(
+            valid,
+            key.protobufOf(encoding),
+            () -> createReceivedDataPbPayload(template, received, compressor));
+    return pb.toPushData(subscriberRegisterIds);
+  }
+
+  private PushPayloadCache.Payload getPayload(
+      boolean cacheable,
+      PushPayloadCache.PayloadKey key,
+      Callable<PushPayloadCache.Payload> loader) {
+    if (cacheable) {
+      return pushPayloadCache.get(key, loader);
+    }
+    try {
+      return loader.call();
+    } catch (Throwable e) {
+      throw new IllegalStateException(
+          StringFormatter.format("failed to create push payload: {}", key), e);
+    }
+  }
+
+  private PushData<ReceivedData> createDeltaPushData(
+      SubDatum datum,
+      Map<String, Subscriber> subscriberMap,
+      String clientCell,
+      PushPayloadCache.Payload received,
+      List<String> subscriberRegisterIds) {
+    final long baseVersion = getDeltaBaseVersion(datum, subscriberMap.values());
+    if (baseVersion <= 0 || !datumHistory.contains(datum)) {
+      return null;
+    }
+    final SubDatum baseDatum =
+        datumHistory.get(datum.getDataCenter(), datum.getDataInfoId(), baseVersion);
+    if (baseDatum == null) {
+      return null;
+    }
+    final Subscriber subscriber = subscriberMap.values().iterator().next();
+    final PushPayloadCache.Payload base =
+        pushPayloadCache.get(
+            PushPayloadCache.PayloadKey.of(
+                baseDatum,
+                subscriber.getScope(),
+                clientCell,
+                sessionServerConfig.getInvalidZoneConfigEpoch()),
+            () -> createReceivedDataPayload(baseDatum, subscriber, clientCell));
+    final ReceivedData template = ((PushPayloadCache.ReceivedDataPayload) received).template;
+    final Map<String, List<DataBox>> added = Maps.newHashMap();
+    final Map<String, List<DataBox>> removed = Maps.newHashMap();
+    final int deltaCount =
+        diffDataBoxes(
+            ((PushPayloadCache.ReceivedDataPayload) base).template.getData(),
+            template.getData(),
+            added,
+            removed);
+    if (deltaCount >= received.dataCount) {
+      // the delta is not smaller than the full data
+      return null;
+    }
+    ReceivedData receivedData =
+        new ReceivedData(
+            template.getDataId(),
+            template.getGroup(),
+            template.getInstanceId(),
+            template.getSegment(),
+            subscriberRegisterIds,
+            added,
+            template.getVersion());
+    receivedData.setScope(template.getScope());
+    receivedData.setLocalZone(template.getLocalZone());
+    receivedData.setBaseVersion(baseVersion);
+    receivedData.setRemovedData(removed);
+    // the dataCount is the full data count, the pushed ctx depends on it
+    return new PushData<>(receivedData, received.dataCount);
+  }
+
+  /**
+   * the subscribers must accept delta and have received the same version
+   *
+   * @return the base version of the delta, 0 means not support delta
+   */
+  static long getDeltaBaseVersion(SubDatum datum, Collection<Subscriber> subscribers) {
+    long baseVersion = -1;
+    for (Subscriber subscriber : subscribers) {
+      if (!subscriber.isAcceptDelta()) {
+        return 0;
+      }
+      final long pushedVersion = subscriber.getPushedVersion(datum.getDataCenter());
+      if (baseVersion == -1) {
+        baseVersion = pushedVersion;
+      } else if (baseVersion != pushedVersion) {
+        return 0;
+      }
+    }
+    return baseVersion > 0 && baseVersion < datum.getVersion() ? baseVersion : 0;
+  }
+
+  /**
+   * diff the dataBoxes of every zone as multiset
+   *
+   * @return the count of added and removed dataBoxes
+   */
+  static int diffDataBoxes(
+      Map<String, List<DataBox>> base,
+      Map<String, List<DataBox>> current,
+      Map<String, List<DataBox>> added,
+      Map<String, List<DataBox>> removed) {
+    int count = 0;
+    for (Map.Entry<String, List<DataBox>> e : current.entrySet()) {
+      final Map<String, Integer> baseCounts = Maps.newHashMap();
+      for (DataBox box : base.getOrDefault(e.getKey(), Collections.emptyList())) {
+        baseCounts.merge(box.getData(), 1, Integer::sum);
+      }
+      for (DataBox box : e.getValue()) {
+        Integer c = baseCounts.get(box.getData());
+        if (c == null) {
+          added.computeIfAbsent(e.getKey(), k -> Lists.newArrayList()).add(box);
+          count++;
+        } else if (c == 1) {
+          baseCounts.remove(box.getData());
+        } else {
+          baseCounts.put(box.getData(), c - 1);
+        }
+      }
+      for (Map.Entry<String, Integer> r : baseCounts.entrySet()) {
+        List<DataBox> boxes = removed.computeIfAbsent(e.getKey(), k -> Lists.newArrayList());
+        for (int i = 0; i < r.getValue(); i++) {
+          boxes.add(new DataBox(r.getKey()));
+        }
+        count += r.getValue();
+      }
+    }
+    for (Map.Entry<String, List<DataBox>> e : base.entrySet()) {
+      if (!current.containsKey(e.getKey()) && !e.getValue().isEmpty()) {
+        removed.put(e.getKey(), e.getValue());
+        count += e.getValue().size();
+      }
+    }
+    return count;
+  }
+
+  private PushPayloadCache.Payload createReceivedDataPayload(
+      SubDatum datum, Subscriber subscriber, String clientCell) {
+    SubDatum unzipDatum = DatumUtils.decompressSubDatum(datum);
+    unzipDatum.mustUnzipped();
+    Predicate<String> zonePredicate =
+        ZonePredicate.zonePredicate(
+            unzipDatum.getDataId(), clientCell, subscriber.getScope(), sessionServerConfig);
+
+    PushData<ReceivedData> pushData =
+        ReceivedDataConverter.getReceivedDataMulti(
+            unzipDatum, subscriber.getScope(), Collections.emptyList(), clientCell, zonePredicate);
+    pushData.getPayload().setVersion(unzipDatum.getVersion());
+    ReceivedData template = pushData.getPayload();
+    return new PushPayloadCache.ReceivedDataPayload(
+        template,
+        pushData.getDataCount(),
+        CompressPushService.dataBoxesMapSize(template.getData()));
+  }
+
+  private static PushPayloadCache.Payload createReceivedDataPbPayload(
+      ReceivedData template, PushPayloadCache.Payload received, Compressor compressor) {
     if (compressor == null) {
-      ReceivedDataPb receivedDataPb = ReceivedDataConvertor.convert2Pb(pushData.getPayload());
-      return new PushData<>(receivedDataPb, pushData.getDataCount());
-    } else {
-      ReceivedDataPb receivedDataPb =
-          ReceivedDataConvertor.convert2CompressedPb(pushData.getPayload(), compressor);
-      return new PushData<>(
-          receivedDataPb,
-          pushData.getDataCount(),
-          compressor.getEncoding(),
-          receivedDataPb.getBody().size());
+      ReceivedDataPb receivedDataPb = ReceivedDataConvertor.convert2Pb(template);
+      return new PushPayloadCache.ReceivedDataPbPayload(
+          receivedDataPb, received.dataCount, received.dataBoxesSize, StringUtils.EMPTY, 0);
     }
+    ReceivedDataPb receivedDataPb =
+        ReceivedDataConvertor.convert2CompressedPb(template, compressor);
+    return new PushPayloadCache.ReceivedDataPbPayload(
+        receivedDataPb,
+        received.dataCount,
+        received.dataBoxesSize,
+        compressor.getEncoding(),
+        receivedDataPb.getBody().size());
   }
 
   public PushData createPushData(Watcher watcher, ReceivedConfigData data) {
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import com.alipay.sofa.registry.common.model.RegisterVersion;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.common.model.store.SubPublisher;
+import com.alipay.sofa.registry.util.SystemUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the recent pushed datum versions of every dataInfoId, used to compute the delta between the
+ * version which the subscriber has received and the pushing version. the temp/empty push has the
+ * same version with a real datum but different content, the version is marked as invalid
+ */
+public final class PushDatumHistory {
+  private static final String KEY_PUSH_DATUM_HISTORY_CAPACITY = "registry.push.history.capacity";
+  private static final String KEY_PUSH_DATUM_HISTORY_SILENT_MS = "registry.push.history.silentMs";
+
+  private final Cache<Key, Versions> cache;
+
+  public PushDatumHistory() {
+    this(
+        SystemUtils.getSystemInteger(KEY_PUSH_DATUM_HISTORY_SILENT_MS, 1000 * 60 * 3),
+        SystemUtils.getSystemInteger(KEY_PUSH_DATUM_HISTORY_CAPACITY, 1024 * 100));
+  }
+
+  PushDatumHistory(long silentMs, long capacity) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(capacity)
+            .expireAfterAccess(silentMs, TimeUnit.MILLISECONDS)
+            .build();
+  }
+
+  /**
+   * record the datum which is going to push
+   *
+   * @param datum the pushing datum
+   * @param valid false if the datum could not be the base of a delta, e.g. temp/empty push
+   * @param historySize max versions to keep of the dataInfoId
+   */
+  void record(SubDatum datum, boolean valid, int historySize) {
+    final Key key = new Key(datum.getDataCenter(), datum.getDataInfoId());
+    Versions versions = cache.getIfPresent(key);
+    if (versions == null) {
+      versions = new Versions();
+      Versions exist = cache.asMap().putIfAbsent(key, versions);
+      if (exist != null) {
+        versions = exist;
+      }
+    }
+    versions.record(datum, valid, historySize);
+  }
+
+  /**
+   * get the recorded datum of the version
+   *
+   * @return null if the version not exist or invalid
+   */
+  SubDatum get(String dataCenter, String dataInfoId, long version) {
+    Versions versions = cache.getIfPresent(new Key(dataCenter, dataInfoId));
+    return versions == null ? null : versions.get(version);
+  }
+
+  /**
+   * check the datum is recorded and valid
+   *
+   * @param datum the pushing datum
+   * @return true if the datum could be used as the target of a delta
+   */
+  boolean contains(SubDatum datum) {
+    SubDatum exist = get(datum.getDataCenter(), datum.getDataInfoId(), datum.getVersion());
+    return exist != null && Versions.sameContent(exist, datum);
+  }
+
+  void clean() {
+    cache.invalidateAll();
+  }
+
+  private static final class Versions {
+    // version -> datum, null value means the version is invalid
+    private final TreeMap<Long, SubDatum> datums = new TreeMap<>();
+
+    synchronized void record(SubDatum datum, boolean valid, int historySize) {
+      final Long version = datum.getVersion();
+      if (!valid) {
+        datums.put(version, null);
+      } else if (!datums.containsKey(version)) {
+        datums.put(version, datum);
+      } else {
+        SubDatum exist = datums.get(version);
+        if (exist != null && !sameContent(exist, datum)) {
+          datums.put(version, null);
+        }
+      }
+      while (datums.size() > historySize) {
+        datums.pollFirstEntry();
+      }
+    }
+
+    synchronized SubDatum get(long version) {
+      return datums.get(version);
+    }
+
+    /** compare the registerId and version of every publisher */
+    static boolean sameContent(SubDatum exist, SubDatum datum) {
+      if (exist == datum) {
+        return true;
+      }
+      if (exist.getPubNum() != datum.getPubNum()
+          || exist.getDataBoxBytes() != datum.getDataBoxBytes()) {
+        return false;
+      }
+      if (exist.getZipPublishers() != null || datum.getZipPublishers() != null) {
+        // could not compare the zipped publishers
+        return false;
+      }
+      final List<SubPublisher> existPublishers = exist.mustGetPublishers();
+      final Map<String, RegisterVersion> versions =
+          Maps.newHashMapWithExpectedSize(existPublishers.size());
+      for (SubPublisher p : existPublishers) {
+        versions.put(p.getRegisterId(), p.registerVersion());
+      }
+      for (SubPublisher p : datum.mustGetPublishers()) {
+        if (!p.registerVersion().equals(versions.get(p.getRegisterId()))) {
+          return false;
+        }
+      }
+      return versions.size() == datum.getPubNum();
+    }
+  }
+
+  private static final class Key {
+    final String dataCenter;
+    final String dataInfoId;
+
+    Key(String dataCenter, String dataInfoId) {
+      this.dataCenter = dataCenter;
+      this.dataInfoId = dataInfoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key that = (Key) o;
+      return Objects.equals(dataCenter, that.dataCenter)
+          && Objects.equals(dataInfoId, that.dataInfoId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dataCenter, dataInfoId);
+    }
+  }
+}
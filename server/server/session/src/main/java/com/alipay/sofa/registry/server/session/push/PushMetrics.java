@@ -16,12 +16,42 @@
  */
 package com.alipay.sofa.registry.server.session.push;
 
+import com.alipay.sofa.registry.metrics.LatencyHistogram;
+import com.alipay.sofa.registry.metrics.LatencySummary;
+import com.google.common.collect.Maps;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Histogram;
+import java.util.Map;
 
 public final class PushMetrics {
   private PushMetrics() {}
 
+  /** the stages of the pipeline from the datum change to the client ack */
+  public enum PushStage {
+    // data: first change -> notify created
+    ChangeMerge,
+    // data: notify created -> notify sent
+    DataNotify,
+    // data notify sent -> session triggered, crosses the hosts
+    NotifyTransfer,
+    // session triggered -> push task created, includes the datum fetch
+    SessionFetch,
+    // push task created -> push started, includes the debouncing
+    Buffer,
+    // push started -> client ack
+    ClientIO,
+    // datum change -> client ack
+    Total,
+  }
+
+  public static Map<PushStage, LatencyHistogram.Snapshot> getPushStageLatencies() {
+    final Map<PushStage, LatencyHistogram.Snapshot> ret = Maps.newLinkedHashMap();
+    for (PushStage stage : PushStage.values()) {
+      ret.put(stage, Push.PUSH_STAGE_HISTOGRAMS[stage.ordinal()].snapshot());
+    }
+    return ret;
+  }
+
   static final class Fetch {
     static final Counter CHANGE_TASK_COUNTER =
         Counter.build()
@@ -117,6 +147,35 @@ public final class PushMetrics {
             .help("retry count")
             .labelNames("reason")
             .register();
+
+    private static final Counter PUSH_DELTA_COUNTER =
+        Counter.build()
+            .namespace("session")
+            .subsystem("push")
+            .name("delta_total")
+            .help("delta push count")
+            .labelNames("type")
+            .register();
+    static final Counter.Child PUSH_DELTA_PUSH_COUNTER = PUSH_DELTA_COUNTER.labels("push");
+    static final Counter.Child PUSH_DELTA_REJECTED_COUNTER = PUSH_DELTA_COUNTER.labels("rejected");
+
+    private static final Counter PUSH_OUTBOUND_COUNTER =
+        Counter.build()
+            .namespace("session")
+            .subsystem("push")
+            .name("outbound_total")
+            .help("push outbound count")
+            .labelNames("type")
+            .register();
+    static final Counter.Child PUSH_OUTBOUND_SEND_COUNTER = PUSH_OUTBOUND_COUNTER.labels("send");
+    static final Counter.Child PUSH_OUTBOUND_QUEUE_COUNTER = PUSH_OUTBOUND_COUNTER.labels("queue");
+    static final Counter.Child PUSH_OUTBOUND_SUPERSEDE_COUNTER =
+        PUSH_OUTBOUND_COUNTER.labels("supersede");
+    static final Counter.Child PUSH_OUTBOUND_UNWRITABLE_COUNTER =
+        PUSH_OUTBOUND_COUNTER.labels("unwritable");
+    static final Counter.Child PUSH_OUTBOUND_OVERFLOW_COUNTER =
+        PUSH_OUTBOUND_COUNTER.labels("overflow");
+
     private static final Histogram PUSH_DELAY_HISTOGRAM =
         Histogram.build()
             .linearBuckets(0, 1000, 30)
@@ -148,6 +207,28 @@ public final class PushMetrics {
       PUSH_DELAY_HISTOGRAM.labels(pushType.name(), status.name()).observe(millis);
     }
 
+    private static final LatencySummary PUSH_STAGE_LATENCY =
+        LatencySummary.build()
+            .namespace("session")
+            .subsystem("push")
+            .name("stage_latency_millis")
+            .help("push latency of the stages")
+            .labelNames("stage")
+            .register();
+
+    private static final LatencyHistogram[] PUSH_STAGE_HISTOGRAMS =
+        new LatencyHistogram[PushStage.values().length];
+
+    static {
+      for (PushStage stage : PushStage.values()) {
+        PUSH_STAGE_HISTOGRAMS[stage.ordinal()] = PUSH_STAGE_LATENCY.labels(stage.name());
+      }
+    }
+
+    static void observePushStage(PushStage stage, long millis) {
+      PUSH_STAGE_HISTOGRAMS[stage.ordinal()].record(millis);
+    }
+
     static final Counter PUSH_EMPTY_SKIP_COUNTER =
         Counter.build()
             .namespace("session")
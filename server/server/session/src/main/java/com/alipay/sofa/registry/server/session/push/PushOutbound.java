@@ -0,0 +1,323 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import static com.alipay.sofa.registry.server.session.push.PushMetrics.Push.*;
+
+import com.alipay.sofa.registry.common.model.store.URL;
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.remoting.CallbackHandler;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.remoting.ChannelOverflowException;
+import com.alipay.sofa.registry.task.HashedTimingWheel;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.google.common.collect.Lists;
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the outbound queue of the pushes per client connection. the pushes are queued when the channel is
+ * unwritable or too many pushes are waiting for the response, the queued push of the same
+ * subscribers is superseded by the newer one
+ */
+final class PushOutbound {
+  private static final Logger LOGGER = PushLog.LOGGER;
+
+  private final PushProcessor processor;
+  final Map<InetSocketAddress, ConnectionQueue> queues = new ConcurrentHashMap<>(1024);
+  final HashedTimingWheel writableTimer =
+      new HashedTimingWheel("PushOutboundTimer", 10, TimeUnit.MILLISECONDS, 256);
+
+  PushOutbound(PushProcessor processor) {
+    this.processor = processor;
+  }
+
+  boolean isEnabled() {
+    return processor.sessionServerConfig.isPushOutboundEnable();
+  }
+
+  void push(PushTask task, URL url, Object payload, CallbackHandler callback) {
+    final Pending pending = new Pending(task, url, payload, callback);
+    final InetSocketAddress addr = task.pushingTaskKey.addr;
+    for (; ; ) {
+      final ConnectionQueue queue = queues.computeIfAbsent(addr, k -> new ConnectionQueue(k));
+      Pending prev = null;
+      boolean overflow = false;
+      int pendingSize = 0;
+      synchronized (queue) {
+        if (queue.removed) {
+          // the idle queue is removed, use the new one
+          continue;
+        }
+        if (queue.pendings.size() >= processor.sessionServerConfig.getPushOutboundMaxPending()
+            && !queue.pendings.containsKey(task.pushingTaskKey)) {
+          queue.overflows++;
+          overflow = true;
+          pendingSize = queue.pendings.size();
+        } else {
+          // put to the same key keeps the order of the prev
+          prev = queue.pendings.put(task.pushingTaskKey, pending);
+          if (prev != null) {
+            queue.supersedes++;
+          }
+        }
+      }
+      if (overflow) {
+        PUSH_OUTBOUND_OVERFLOW_COUNTER.inc();
+        processor.handleDoPushException(
+            task,
+            new ChannelOverflowException(
+                StringFormatter.format("outbound overflow, {}, pending={}", addr, pendingSize),
+                null));
+        return;
+      }
+      if (prev != null) {
+        PUSH_OUTBOUND_SUPERSEDE_COUNTER.inc();
+        prev.task.trace.finishPush(
+            PushTrace.PushStatus.Superseded,
+            prev.task.taskID,
+            prev.task.getMaxPushedVersion(),
+            prev.task.getPushDataCount(),
+            prev.task.retryCount,
+            prev.task.getPushEncode(),
+            prev.task.getEncodeSize());
+        LOGGER.info(
+            "[PushSuperseded]taskId={},by={},{}",
+            prev.task.taskID,
+            task.taskID,
+            task.pushingTaskKey);
+      }
+      flush(queue);
+      return;
+    }
+  }
+
+  /** the push of the key is queued and not sent */
+  boolean isPending(PushTask.PushingTaskKey key) {
+    final ConnectionQueue queue = queues.get(key.addr);
+    if (queue == null) {
+      return false;
+    }
+    synchronized (queue) {
+      return queue.pendings.containsKey(key);
+    }
+  }
+
+  boolean cancel(PushTask.PushingTaskKey key) {
+    final ConnectionQueue queue = queues.get(key.addr);
+    if (queue == null) {
+      return false;
+    }
+    synchronized (queue) {
+      return queue.pendings.remove(key) != null;
+    }
+  }
+
+  void flush(ConnectionQueue queue) {
+    final List<Pending> sends;
+    synchronized (queue) {
+      if (queue.pendings.isEmpty()) {
+        removeIfIdle(queue);
+        return;
+      }
+      final int permits =
+          processor.sessionServerConfig.getPushOutboundMaxInflight() - queue.inflight;
+      if (permits <= 0) {
+        // flush by the callback of the inflight push
+        return;
+      }
+      final Pending first = queue.pendings.values().iterator().next();
+      if (!processor.clientNodeService.isWritable(first.url)) {
+        queue.unwritables++;
+        PUSH_OUTBOUND_UNWRITABLE_COUNTER.inc();
+        waitWritable(queue);
+        return;
+      }
+      sends = Lists.newArrayListWithCapacity(Math.min(permits, queue.pendings.size()));
+      final Iterator<Pending> it = queue.pendings.values().iterator();
+      while (it.hasNext() && sends.size() < permits) {
+        sends.add(it.next());
+        it.remove();
+      }
+      queue.inflight += sends.size();
+      queue.sends += sends.size();
+    }
+    for (Pending pending : sends) {
+      send(queue, pending);
+    }
+  }
+
+  private void send(ConnectionQueue queue, Pending pending) {
+    try {
+      processor.clientNodeService.pushWithCallback(
+          pending.payload, pending.url, new OutboundCallback(queue, pending.callback));
+      PUSH_OUTBOUND_SEND_COUNTER.inc();
+    } catch (Throwable e) {
+      release(queue);
+      processor.handleDoPushException(pending.task, e);
+    }
+  }
+
+  private void waitWritable(ConnectionQueue queue) {
+    if (queue.waitingWritable) {
+      return;
+    }
+    queue.waitingWritable = true;
+    writableTimer.schedule(
+        () -> {
+          synchronized (queue) {
+            queue.waitingWritable = false;
+          }
+          flush(queue);
+        },
+        processor.sessionServerConfig.getPushOutboundWritableCheckMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void release(ConnectionQueue queue) {
+    synchronized (queue) {
+      queue.inflight--;
+      removeIfIdle(queue);
+    }
+  }
+
+  private void removeIfIdle(ConnectionQueue queue) {
+    if (queue.inflight <= 0 && queue.pendings.isEmpty() && !queue.waitingWritable) {
+      queue.removed = true;
+      queues.remove(queue.addr, queue);
+    }
+  }
+
+  /** log the stats of the connections which are busy since the last call, then reset */
+  void logStats() {
+    for (ConnectionQueue queue : queues.values()) {
+      final String stats;
+      synchronized (queue) {
+        if (queue.pendings.isEmpty() && queue.unwritables == 0 && queue.overflows == 0) {
+          queue.resetStats();
+          continue;
+        }
+        stats = queue.toString();
+        queue.resetStats();
+      }
+      LOGGER.info("[PushOutbound]{}", stats);
+    }
+  }
+
+  int pendingSize() {
+    int size = 0;
+    for (ConnectionQueue queue : queues.values()) {
+      synchronized (queue) {
+        size += queue.pendings.size();
+      }
+    }
+    return size;
+  }
+
+  static final class Pending {
+    final PushTask task;
+    final URL url;
+    final Object payload;
+    final CallbackHandler callback;
+
+    Pending(PushTask task, URL url, Object payload, CallbackHandler callback) {
+      this.task = task;
+      this.url = url;
+      this.payload = payload;
+      this.callback = callback;
+    }
+  }
+
+  static final class ConnectionQueue {
+    final InetSocketAddress addr;
+    // guarded by this
+    final LinkedHashMap<PushTask.PushingTaskKey, Pending> pendings = new LinkedHashMap<>();
+    int inflight;
+    boolean waitingWritable;
+    boolean removed;
+    // the stats since the last log
+    long sends;
+    long supersedes;
+    long unwritables;
+    long overflows;
+
+    ConnectionQueue(InetSocketAddress addr) {
+      this.addr = addr;
+    }
+
+    void resetStats() {
+      this.sends = 0;
+      this.supersedes = 0;
+      this.unwritables = 0;
+      this.overflows = 0;
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format(
+          "{},pending={},inflight={},send={},supersede={},unwritable={},overflow={}",
+          addr,
+          pendings.size(),
+          inflight,
+          sends,
+          supersedes,
+          unwritables,
+          overflows);
+    }
+  }
+
+  final class OutboundCallback implements CallbackHandler {
+    final ConnectionQueue queue;
+    final CallbackHandler callback;
+
+    OutboundCallback(ConnectionQueue queue, CallbackHandler callback) {
+      this.queue = queue;
+      this.callback = callback;
+    }
+
+    @Override
+    public void onCallback(Channel channel, Object message) {
+      release(queue);
+      try {
+        callback.onCallback(channel, message);
+      } finally {
+        flush(queue);
+      }
+    }
+
+    @Override
+    public void onException(Channel channel, Throwable exception) {
+      release(queue);
+      try {
+        callback.onException(channel, exception);
+      } finally {
+        flush(queue);
+      }
+    }
+
+    @Override
+    public Executor getExecutor() {
+      return callback.getExecutor();
+    }
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.common.model.store.PushData;
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.concurrent.CachedExecutor;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.metrics.CounterFunc;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedRequest;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
+import com.alipay.sofa.registry.util.StringFormatter;
+import com.alipay.sofa.registry.util.StringUtils;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the push payload of the same datum version is same for all the subscribers with the same
+ * scope/cell/encoding, except the subscriberRegistIds. cache the payload without the
+ * subscriberRegistIds, and patch the registerIds for every push task. the protobuf payload is
+ * cached as the encoded bytes
+ */
+public class PushPayloadCache {
+  private static final CounterFunc CACHE_COUNTER =
+      CounterFunc.build()
+          .namespace("session")
+          .subsystem("push")
+          .name("payload_cache_total")
+          .labelNames("type")
+          .help("push payload cache hit or missing")
+          .create()
+          .register();
+
+  @Autowired SessionServerConfig sessionServerConfig;
+
+  private CachedExecutor<PayloadKey, Payload> cachedExecutor;
+
+  public PushPayloadCache() {}
+
+  PushPayloadCache(SessionServerConfig sessionServerConfig) {
+    this.sessionServerConfig = sessionServerConfig;
+    init();
+  }
+
+  @PostConstruct
+  public void init() {
+    this.cachedExecutor =
+        new CachedExecutor<>(
+            sessionServerConfig.getPushPayloadCacheSilentMillis(),
+            sessionServerConfig.getPushPayloadCacheMaxWeight(),
+            (k, v) -> k.size() + v.size(),
+            true);
+    CACHE_COUNTER.labels("hit").func(cachedExecutor::getHitCount);
+    CACHE_COUNTER.labels("missing").func(cachedExecutor::getMissingCount);
+  }
+
+  Payload get(PayloadKey key, Callable<Payload> loader) {
+    try {
+      return cachedExecutor.execute(key, loader);
+    } catch (Throwable e) {
+      throw new IllegalStateException(
+          StringFormatter.format("failed to create push payload: {}", key), e);
+    }
+  }
+
+  void clean() {
+    cachedExecutor.clean();
+  }
+
+  long getHitCount() {
+    return cachedExecutor.getHitCount();
+  }
+
+  long getMissingCount() {
+    return cachedExecutor.getMissingCount();
+  }
+
+  static final class PayloadKey {
+    final String dataInfoId;
+    final String dataCenter;
+    final long version;
+    // the temp/empty push has the same version with the datum and is not cached, the
+    // pubNum/dataBoxBytes only guard the payload against the datum of a stale version
+    final int pubNum;
+    final int dataBoxBytes;
+    // the inputs of the zone predicate, the epoch changes when the invalid zones config changes
+    final ScopeEnum scope;
+    final String clientCell;
+    final int zoneConfigEpoch;
+    // the compress encoding of ReceivedDataPb, empty means not compressed
+    final String encoding;
+    final boolean protobuf;
+
+    private PayloadKey(
+        String dataInfoId,
+        String dataCenter,
+        long version,
+        int pubNum,
+        int dataBoxBytes,
+        ScopeEnum scope,
+        String clientCell,
+        int zoneConfigEpoch,
+        String encoding,
+        boolean protobuf) {
+      this.dataInfoId = dataInfoId;
+      this.dataCenter = dataCenter;
+      this.version = version;
+      this.pubNum = pubNum;
+      this.dataBoxBytes = dataBoxBytes;
+      this.scope = scope;
+      this.clientCell = clientCell;
+      this.zoneConfigEpoch = zoneConfigEpoch;
+      this.encoding = encoding;
+      this.protobuf = protobuf;
+    }
+
+    static PayloadKey of(SubDatum datum, ScopeEnum scope, String clientCell, int zoneConfigEpoch) {
+      return new PayloadKey(
+          datum.getDataInfoId(),
+          datum.getDataCenter(),
+          datum.getVersion(),
+          datum.getPubNum(),
+          datum.getDataBoxBytes(),
+          scope,
+          clientCell,
+          zoneConfigEpoch,
+          "",
+          false);
+    }
+
+    PayloadKey protobufOf(String encoding) {
+      return new PayloadKey(
+          dataInfoId,
+          dataCenter,
+          version,
+          pubNum,
+          dataBoxBytes,
+          scope,
+          clientCell,
+          zoneConfigEpoch,
+          encoding,
+          true);
+    }
+
+    int size() {
+      return StringUtils.sizeof(dataInfoId)
+          + StringUtils.sizeof(dataCenter)
+          + StringUtils.sizeof(clientCell)
+          + StringUtils.sizeof(encoding)
+          + 40;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PayloadKey that = (PayloadKey) o;
+      return version == that.version
+          && pubNum == that.pubNum
+          && dataBoxBytes == that.dataBoxBytes
+          && zoneConfigEpoch == that.zoneConfigEpoch
+          && protobuf == that.protobuf
+          && scope == that.scope
+          && Objects.equals(dataInfoId, that.dataInfoId)
+          && Objects.equals(dataCenter, that.dataCenter)
+          && Objects.equals(clientCell, that.clientCell)
+          && Objects.equals(encoding, that.encoding);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          dataInfoId,
+          dataCenter,
+          version,
+          pubNum,
+          dataBoxBytes,
+          scope,
+          clientCell,
+          zoneConfigEpoch,
+          encoding,
+          protobuf);
+    }
+
+    @Override
+    public String toString() {
+      return StringFormatter.format(
+          "PayloadKey{{},{},ver={},num={},scope={},cell={},zoneEpoch={},encode={},pb={}}",
+          dataInfoId,
+          dataCenter,
+          version,
+          pubNum,
+          scope,
+          clientCell,
+          zoneConfigEpoch,
+          encoding,
+          protobuf);
+    }
+  }
+
+  abstract static class Payload {
+    final int dataCount;
+    final int dataBoxesSize;
+
+    Payload(int dataCount, int dataBoxesSize) {
+      this.dataCount = dataCount;
+      this.dataBoxesSize = dataBoxesSize;
+    }
+
+    abstract PushData toPushData(List<String> subscriberRegisterIds);
+
+    int size() {
+      return dataBoxesSize + 64;
+    }
+  }
+
+  static final class ReceivedDataPayload extends Payload {
+    // the template has no subscriberRegistIds, the data map is shared and read only
+    final ReceivedData template;
+
+    ReceivedDataPayload(ReceivedData template, int dataCount, int dataBoxesSize) {
+      super(dataCount, dataBoxesSize);
+      this.template = template;
+    }
+
+    @Override
+    PushData<ReceivedData> toPushData(List<String> subscriberRegisterIds) {
+      ReceivedData receivedData =
+          new ReceivedData(
+              template.getDataId(),
+              template.getGroup(),
+              template.getInstanceId(),
+              template.getSegment(),
+              subscriberRegisterIds,
+              template.getData(),
+              template.getVersion());
+      receivedData.setScope(template.getScope());
+      receivedData.setLocalZone(template.getLocalZone());
+      return new PushData<>(receivedData, dataCount);
+    }
+  }
+
+  static final class ReceivedDataPbPayload extends Payload {
+    // the encoded ReceivedDataPb without subscriberRegistIds
+    final byte[] template;
+    final String encoding;
+    final int encodeSize;
+
+    ReceivedDataPbPayload(
+        ReceivedDataPb template,
+        int dataCount,
+        int dataBoxesSize,
+        String encoding,
+        int encodeSize) {
+      super(dataCount, dataBoxesSize);
+      this.template = template.toByteArray();
+      this.encoding = encoding;
+      this.encodeSize = encodeSize;
+    }
+
+    @Override
+    PushData<SerializedRequest> toPushData(List<String> subscriberRegisterIds) {
+      // the parser appends the repeated field of the concatenated bytes to the message
+      final byte[] registerIds =
+          ReceivedDataPb.newBuilder()
+              .addAllSubscriberRegistIds(subscriberRegisterIds)
+              .build()
+              .toByteArray();
+      final byte[] content = Arrays.copyOf(template, template.length + registerIds.length);
+      System.arraycopy(registerIds, 0, content, template.length, registerIds.length);
+      final SerializedRequest request =
+          new SerializedRequest(ReceivedDataPb.class.getName(), content);
+      if (encodeSize == 0) {
+        return new PushData<>(request, dataCount);
+      }
+      return new PushData<>(request, dataCount, encoding, encodeSize);
+    }
+
+    @Override
+    int size() {
+      return template.length + 64;
+    }
+  }
+}
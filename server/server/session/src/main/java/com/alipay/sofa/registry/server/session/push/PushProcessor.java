@@ -21,9 +21,13 @@ import static com.alipay.sofa.registry.server.session.push.PushMetrics.Push.*;
 import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
 import com.alipay.sofa.registry.common.model.SubscriberUtils;
 import com.alipay.sofa.registry.common.model.Tuple;
+import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
+import com.alipay.sofa.registry.common.model.client.pb.ResultPb;
 import com.alipay.sofa.registry.common.model.store.PushData;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.core.model.ReceivedData;
+import com.alipay.sofa.registry.core.model.Result;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.remoting.CallbackHandler;
 import com.alipay.sofa.registry.remoting.Channel;
@@ -32,7 +36,8 @@ import com.alipay.sofa.registry.remoting.exchange.RequestChannelClosedException;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfig;
 import com.alipay.sofa.registry.server.session.circuit.breaker.CircuitBreakerService;
 import com.alipay.sofa.registry.server.session.node.service.ClientNodeService;
-import com.alipay.sofa.registry.server.shared.util.DatumUtils;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.task.HashedTimingWheel;
 import com.alipay.sofa.registry.task.KeyedThreadPoolExecutor;
 import com.alipay.sofa.registry.task.MetricsableThreadPoolExecutor;
 import com.alipay.sofa.registry.task.RejectedDiscardHandler;
@@ -47,6 +52,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -69,8 +75,17 @@ public class PushProcessor {
 
   @Autowired protected CircuitBreakerService circuitBreakerService;;
 
+  @Autowired protected Interests sessionInterests;
+
   final Cleaner cleaner = new Cleaner();
 
+  // the pushing record is cleaned by its timeout if the callback is missing
+  final HashedTimingWheel pushingTimer =
+      new HashedTimingWheel("PushingTimer", 100, TimeUnit.MILLISECONDS, 512);
+  private final AtomicInteger pushTooLongCount = new AtomicInteger();
+
+  final PushOutbound outbound = new PushOutbound(this);
+
   final RejectedDiscardHandler discardHandler = new RejectedDiscardHandler();
   private final ThreadPoolExecutor pushCallbackExecutor =
       MetricsableThreadPoolExecutor.newExecutor(
@@ -123,13 +138,15 @@ public class PushProcessor {
   final class Cleaner extends LoopRunnable {
     @Override
     public void runUnthrowable() {
-      int cleans = cleanPushingTaskRunTooLong();
+      int cleans = pushTooLongCount.getAndSet(0);
       LOGGER.info(
-          "cleans={}, callbackDiscardCounter={}, buffer={}, pushing={}",
+          "cleans={}, callbackDiscardCounter={}, buffer={}, pushing={}, outbound={}",
           cleans,
           discardHandler.getDiscardCountThenReset(),
           taskBuffer.size(),
-          pushingRecords.size());
+          pushingRecords.size(),
+          outbound.pendingSize());
+      outbound.logStats();
     }
 
     @Override
@@ -142,22 +159,6 @@ public class PushProcessor {
     return sessionServerConfig.getClientNodeExchangeTimeoutMillis() * 3;
   }
 
-  int cleanPushingTaskRunTooLong() {
-    final long now = System.currentTimeMillis();
-    final int maxSpanMillis = getPushingMaxSpanMillis();
-    int count = 0;
-    for (Map.Entry<PushTask.PushingTaskKey, PushRecord> e : pushingRecords.entrySet()) {
-      final PushTask.PushingTaskKey key = e.getKey();
-      final PushRecord record = e.getValue();
-      long span = cleanPushingTaskIfRunTooLong(now, key, record, maxSpanMillis);
-      if (span > 0) {
-        count++;
-        LOGGER.warn("[pushTooLong]{},span={},{}", record.taskID, span, key);
-      }
-    }
-    return count;
-  }
-
   long cleanPushingTaskIfRunTooLong(
       long now, PushTask.PushingTaskKey pushingTaskKey, PushRecord task, int maxSpanMillis) {
     final long span = now - task.trace.getPushStartTimestamp();
@@ -166,6 +167,8 @@ public class PushProcessor {
       // force to remove the prev task
       final boolean cleaned = pushingRecords.remove(pushingTaskKey, task);
       if (cleaned) {
+        task.cancelTimeout();
+        outbound.cancel(pushingTaskKey);
         task.trace.finishPush(
             PushTrace.PushStatus.Busy,
             task.taskID,
@@ -180,6 +183,37 @@ public class PushProcessor {
     return 0;
   }
 
+  void schedulePushingTimeout(
+      PushTask.PushingTaskKey pushingTaskKey, PushRecord record, long delayMillis) {
+    record.timeout =
+        pushingTimer.schedule(
+            () -> onPushingTimeout(pushingTaskKey, record), delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  void onPushingTimeout(PushTask.PushingTaskKey pushingTaskKey, PushRecord record) {
+    if (pushingRecords.get(pushingTaskKey) != record) {
+      return;
+    }
+    final long now = System.currentTimeMillis();
+    final int maxSpanMillis = getPushingMaxSpanMillis();
+    final long span = cleanPushingTaskIfRunTooLong(now, pushingTaskKey, record, maxSpanMillis);
+    if (span > 0) {
+      pushTooLongCount.incrementAndGet();
+      LOGGER.warn("[pushTooLong]{},span={},{}", record.taskID, span, pushingTaskKey);
+      return;
+    }
+    // the maxSpan maybe changed, wait for the remains
+    final long remains = maxSpanMillis - (now - record.trace.getPushStartTimestamp()) + 1;
+    schedulePushingTimeout(pushingTaskKey, record, remains);
+  }
+
+  void removePushingRecord(PushTask.PushingTaskKey pushingTaskKey) {
+    final PushRecord record = pushingRecords.remove(pushingTaskKey);
+    if (record != null) {
+      record.cancelTimeout();
+    }
+  }
+
   boolean interestOfDatum(PushTask task) {
     if (task.subscriberMap.size() == 1) {
       return task.subscriber.checkVersion(task.datum.getDataCenter(), task.datum.getVersion());
@@ -199,6 +233,10 @@ public class PushProcessor {
     if (prev == null) {
       return true;
     }
+    if (outbound.isEnabled() && outbound.isPending(pushingTaskKey)) {
+      // the prev is not sent yet, supersede it
+      return true;
+    }
     final long now = System.currentTimeMillis();
     final int maxSpanMillis = getPushingMaxSpanMillis();
     final long span = cleanPushingTaskIfRunTooLong(now, pushingTaskKey, prev, maxSpanMillis);
@@ -240,9 +278,13 @@ public class PushProcessor {
     if (subs.size() > skipCount) {
       return false;
     }
+    final String dataCenter = task.datum.getDataCenter();
     for (Subscriber subscriber : subs) {
-      subscriber.checkAndUpdateCtx(
-          task.datum.getDataCenter(), task.datum.getVersion(), task.getPushDataCount());
+      final long lastPushedVersion = subscriber.getPushedVersion(dataCenter);
+      if (subscriber.checkAndUpdateCtx(
+          dataCenter, task.datum.getVersion(), task.getPushDataCount())) {
+        sessionInterests.onPushed(dataCenter, lastPushedVersion, subscriber);
+      }
     }
     PUSH_EMPTY_SKIP_COUNTER.inc();
     LOGGER.info(
@@ -256,6 +298,21 @@ public class PushProcessor {
     Overflow,
   }
 
+  static boolean isDeltaPush(PushData pushData) {
+    final Object payload = pushData.getPayload();
+    if (payload instanceof ReceivedDataPb) {
+      return ((ReceivedDataPb) payload).getBaseVersion() != 0;
+    }
+    return payload instanceof ReceivedData && ((ReceivedData) payload).getBaseVersion() != null;
+  }
+
+  static boolean isPushFailed(Object message) {
+    if (message instanceof ResultPb) {
+      return !((ResultPb) message).getSuccess();
+    }
+    return message instanceof Result && !((Result) message).isSuccess();
+  }
+
   // some groupId not need to retry
   protected boolean needRetry(PushTask task, RetryReason reason) {
     return true;
@@ -313,6 +370,7 @@ public class PushProcessor {
       task.setPushDataCount(pushData.getDataCount());
       task.setPushEncode(pushData.getEncode());
       task.setEncodeSize(pushData.getEncodeSize());
+      task.setDeltaPush(isDeltaPush(pushData));
 
       if (interruptOnPushEmpty(
           task.datum, pushData, task.trace.pushCause, task.subscriber, task.pushingTaskKey.addr)) {
@@ -328,18 +386,35 @@ public class PushProcessor {
         return false;
       }
 
-      pushingRecords.put(
-          task.pushingTaskKey,
+      final PushRecord record =
           new PushRecord(
               task.trace,
               task.taskID,
               task.retryCount,
               pushData.getEncode(),
               pushData.getDataCount(),
-              pushData.getEncodeSize()));
-      clientNodeService.pushWithCallback(
-          pushData.getPayload(), task.subscriber.getSourceAddress(), new PushClientCallback(task));
+              pushData.getEncodeSize());
+      final PushRecord prev = pushingRecords.put(task.pushingTaskKey, record);
+      if (prev != null) {
+        prev.cancelTimeout();
+      }
+      schedulePushingTimeout(task.pushingTaskKey, record, getPushingMaxSpanMillis() + 1);
+      if (outbound.isEnabled()) {
+        outbound.push(
+            task,
+            task.subscriber.getSourceAddress(),
+            pushData.getPayload(),
+            new PushClientCallback(task));
+      } else {
+        clientNodeService.pushWithCallback(
+            pushData.getPayload(),
+            task.subscriber.getSourceAddress(),
+            new PushClientCallback(task));
+      }
       PUSH_CLIENT_ING_COUNTER.inc();
+      if (task.isDeltaPush()) {
+        PUSH_DELTA_PUSH_COUNTER.inc();
+      }
       LOGGER.info(
           "[pushing]{},{},{},{}",
           task.taskID,
@@ -355,7 +430,7 @@ public class PushProcessor {
 
   void handleDoPushException(PushTask task, Throwable e) {
     // try to delete self
-    pushingRecords.remove(task.pushingTaskKey);
+    removePushingRecord(task.pushingTaskKey);
     if (e instanceof RequestChannelClosedException) {
       task.trace.finishPush(
           PushTrace.PushStatus.ChanClosed,
@@ -420,7 +495,9 @@ public class PushProcessor {
     }
 
     protected PushData createPushData() {
-      return pushDataGenerator.createPushData(DatumUtils.decompressSubDatum(datum), subscriberMap);
+      // the generator decompress the datum only when the payload cache miss
+      return pushDataGenerator.createPushData(
+          datum, subscriberMap, trace.pushCause.pushType, fullPush);
     }
 
     @Override
@@ -457,22 +534,46 @@ public class PushProcessor {
 
     @Override
     public void onCallback(Channel channel, Object message) {
-      pushingRecords.remove(pushTask.pushingTaskKey);
+      removePushingRecord(pushTask.pushingTaskKey);
+      if (pushTask.isDeltaPush() && isPushFailed(message)) {
+        // the client could not apply the delta, push the full data immediately
+        // it is not a failure of the push, not counted as a retry
+        pushTask.fullPush = true;
+        PUSH_DELTA_REJECTED_COUNTER.inc();
+        final boolean committed = pushTask.commit();
+        LOGGER.info(
+            "[PushDeltaRejected]taskId={}, {}, committed={}",
+            pushTask.taskID,
+            pushTask.pushingTaskKey,
+            committed);
+        if (!committed) {
+          pushTask.trace.finishPush(
+              PushTrace.PushStatus.Fail,
+              pushTask.taskID,
+              pushTask.getMaxPushedVersion(),
+              pushTask.getPushDataCount(),
+              pushTask.retryCount,
+              pushTask.getPushEncode(),
+              pushTask.getEncodeSize());
+        }
+        return;
+      }
       // get max pushedVersion before checkAndUpdate
       final long subscriberPushedVersion =
           SubscriberUtils.getMaxPushedVersion(
               pushTask.datum.getDataCenter(), pushTask.subscriberMap.values());
+      final String dataCenter = pushTask.datum.getDataCenter();
       for (Subscriber subscriber : pushTask.subscriberMap.values()) {
+        final long lastPushedVersion = subscriber.getPushedVersion(dataCenter);
         if (!circuitBreakerService.onPushSuccess(
-            pushTask.datum.getDataCenter(),
-            pushTask.datum.getVersion(),
-            pushTask.getPushDataCount(),
-            subscriber)) {
+            dataCenter, pushTask.datum.getVersion(), pushTask.getPushDataCount(), subscriber)) {
           LOGGER.info(
               "PushY, but failed to updateVersion, {}, {}",
               pushTask.taskID,
               pushTask.pushingTaskKey);
+          continue;
         }
+        sessionInterests.onPushed(dataCenter, lastPushedVersion, subscriber);
       }
       this.pushTask.trace.finishPush(
           PushTrace.PushStatus.OK,
@@ -486,7 +587,7 @@ public class PushProcessor {
 
     @Override
     public void onException(Channel channel, Throwable exception) {
-      pushingRecords.remove(pushTask.pushingTaskKey);
+      removePushingRecord(pushTask.pushingTaskKey);
 
       boolean needRecord = true;
       final boolean channelConnected = channel.isConnected();
@@ -556,13 +657,14 @@ public class PushProcessor {
         sessionServerConfig.getPushDataTaskRetryIncrementDelayMillis());
   }
 
-  private static final class PushRecord {
+  static final class PushRecord {
     final PushTrace trace;
     final TraceID taskID;
     final int retryCount;
     final int pushDataCount;
     final String pushEncode;
     final int encodeSize;
+    volatile HashedTimingWheel.Timeout timeout;
 
     PushRecord(
         PushTrace pushTrace,
@@ -578,5 +680,12 @@ public class PushProcessor {
       this.pushEncode = pushEncode;
       this.encodeSize = encodeSize;
     }
+
+    void cancelTimeout() {
+      final HashedTimingWheel.Timeout t = timeout;
+      if (t != null) {
+        t.cancel();
+      }
+    }
   }
 }
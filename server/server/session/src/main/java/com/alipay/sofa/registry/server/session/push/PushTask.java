@@ -44,6 +44,10 @@ public abstract class PushTask {
   private int pushDataCount = -1;
   private String pushEncode = StringUtils.EMPTY;
   private int encodeSize = 0;
+  // the pushing data is a delta against the version which the subscribers have received
+  private volatile boolean deltaPush;
+  // the client rejected the delta push, push the full data when retry
+  protected volatile boolean fullPush;
 
   protected PushTask(
       PushCause pushCause,
@@ -146,6 +150,14 @@ public abstract class PushTask {
     this.encodeSize = encodeSize;
   }
 
+  public boolean isDeltaPush() {
+    return deltaPush;
+  }
+
+  public void setDeltaPush(boolean deltaPush) {
+    this.deltaPush = deltaPush;
+  }
+
   public String getPushEncode() {
     return pushEncode;
   }
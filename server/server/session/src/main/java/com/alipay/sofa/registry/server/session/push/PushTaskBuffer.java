@@ -20,6 +20,7 @@ import static com.alipay.sofa.registry.server.session.push.PushMetrics.Push.*;
 
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.task.HashedTimingWheel;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
 import com.alipay.sofa.registry.util.StringFormatter;
 import com.alipay.sofa.registry.util.SystemUtils;
@@ -30,6 +31,8 @@ import com.google.common.collect.Sets;
 import java.net.InetSocketAddress;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 public final class PushTaskBuffer {
   private static final Logger LOGGER = LoggerFactory.getLogger(PushTaskBuffer.class);
@@ -38,6 +41,9 @@ public final class PushTaskBuffer {
       SystemUtils.getSystemInteger(KEY_MAX_BUFFERED_SIZE, 10000);
 
   final BufferWorker[] workers;
+  // notify the worker when the debouncing of the task is expired
+  HashedTimingWheel debouncingTimer =
+      new HashedTimingWheel("PushTaskBufferTimer", 10, TimeUnit.MILLISECONDS, 1024);
 
   PushTaskBuffer(int workerSize) {
     this.workers = new BufferWorker[workerSize];
@@ -56,7 +62,7 @@ public final class PushTaskBuffer {
     }
     if (worker.bufferMap.putIfAbsent(key, pushTask) == null) {
       // fast path
-      wakeup(worker, pushTask);
+      watchExpire(worker, key, pushTask);
       BUFFER_NEW_COUNTER.inc();
       return true;
     }
@@ -66,7 +72,7 @@ public final class PushTaskBuffer {
       if (prev == null) {
         if (worker.bufferMap.putIfAbsent(key, pushTask) == null) {
           // prev has remove at this time
-          wakeup(worker, pushTask);
+          watchExpire(worker, key, pushTask);
           BUFFER_NEW_COUNTER.inc();
           return true;
         }
@@ -76,7 +82,10 @@ public final class PushTaskBuffer {
           // update the expireTimestamp as prev's, avoid the push block by the continues fire
           pushTask.expireTimestamp = prev.expireTimestamp;
           if (worker.bufferMap.replace(key, prev, pushTask)) {
-            wakeup(worker, pushTask);
+            // the prev's expire has been watched
+            if (pushTask.trace.pushCause.pushType.noDelay) {
+              worker.due(key);
+            }
             BUFFER_REPLACE_COUNTER.inc();
             return true;
           } else {
@@ -101,14 +110,19 @@ public final class PushTaskBuffer {
     }
   }
 
-  private void wakeup(BufferWorker worker, PushTask pushTask) {
-    if (pushTask.trace.pushCause.pushType.noDelay) {
-      worker.wakeup();
+  private void watchExpire(BufferWorker worker, BufferTaskKey key, PushTask pushTask) {
+    final long delay = pushTask.expireTimestamp - System.currentTimeMillis();
+    if (pushTask.trace.pushCause.pushType.noDelay || delay <= 0) {
+      worker.due(key);
+      return;
     }
+    debouncingTimer.schedule(() -> worker.due(key), delay, TimeUnit.MILLISECONDS);
   }
 
   final class BufferWorker extends WakeUpLoopRunnable {
     final Map<BufferTaskKey, PushTask> bufferMap = new ConcurrentHashMap<>(4096);
+    // the keys maybe due, only check them instead of scanning the bufferMap
+    final Queue<BufferTaskKey> dueKeys = new ConcurrentLinkedQueue<>();
 
     @Override
     public void runUnthrowable() {
@@ -120,19 +134,36 @@ public final class PushTaskBuffer {
       return 200;
     }
 
+    void due(BufferTaskKey key) {
+      dueKeys.add(key);
+      wakeup();
+    }
+
     private List<PushTask> transferAndMerge() {
-      if (bufferMap.isEmpty()) {
+      if (dueKeys.isEmpty()) {
         return Collections.emptyList();
       }
       List<PushTask> pending = Lists.newArrayListWithCapacity(1024);
       final long now = System.currentTimeMillis();
-      for (Map.Entry<BufferTaskKey, PushTask> e : bufferMap.entrySet()) {
-        final PushTask task = e.getValue();
+      BufferTaskKey key;
+      while ((key = dueKeys.poll()) != null) {
+        final PushTask task = bufferMap.get(key);
+        if (task == null) {
+          // has been transferred by other due
+          continue;
+        }
         // no delay or expire, push immediately
         if (task.trace.pushCause.pushType.noDelay || task.expireTimestamp <= now) {
-          pending.add(task);
           // the task maybe update
-          bufferMap.remove(e.getKey(), task);
+          if (bufferMap.remove(key, task)) {
+            pending.add(task);
+          } else {
+            // the task is replaced, check the new one
+            dueKeys.add(key);
+          }
+        } else {
+          // the due is from the prev task of the key
+          watchExpire(this, key, task);
         }
       }
       return pending;
@@ -16,6 +16,7 @@
  */
 package com.alipay.sofa.registry.server.session.push;
 
+import com.alipay.sofa.registry.common.model.TraceTimes;
 import com.alipay.sofa.registry.common.model.Tuple;
 import com.alipay.sofa.registry.common.model.constants.ValueConstants;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
@@ -102,6 +103,13 @@ public final class PushTrace {
     return new Tuple<>(timestamps, builder.toString());
   }
 
+  private static void observeStage(PushMetrics.PushStage stage, long fromTs, long toTs) {
+    // the trace times maybe absent
+    if (fromTs > 0 && toTs > 0) {
+      PushMetrics.Push.observePushStage(stage, toTs - fromTs);
+    }
+  }
+
   public void startPush() {
     this.pushStartTimestamp = System.currentTimeMillis();
   }
@@ -196,6 +204,26 @@ public final class PushTrace {
 
     PushMetrics.Push.observePushDelayHistogram(
         pushCause.pushType, datumModifyPushSpanMillis, status);
+    if (status == PushStatus.OK) {
+      final TraceTimes lastTimes = pushCause.triggerPushCtx.getLastTimes();
+      observeStage(
+          PushMetrics.PushStage.ChangeMerge,
+          lastTimes.getFirstDataChange(),
+          lastTimes.getDatumNotifyCreate());
+      observeStage(
+          PushMetrics.PushStage.DataNotify,
+          lastTimes.getDatumNotifyCreate(),
+          lastTimes.getDatumNotifySend());
+      observeStage(
+          PushMetrics.PushStage.NotifyTransfer,
+          lastTimes.getDatumNotifySend(),
+          lastTimes.getTriggerSession());
+      PushMetrics.Push.observePushStage(
+          PushMetrics.PushStage.SessionFetch, pushTaskPrepareSpanMillis);
+      PushMetrics.Push.observePushStage(PushMetrics.PushStage.Buffer, pushTaskQueueSpanMillis);
+      PushMetrics.Push.observePushStage(PushMetrics.PushStage.ClientIO, pushTaskClientIOSpanMillis);
+      PushMetrics.Push.observePushStage(PushMetrics.PushStage.Total, datumModifyPushSpanMillis);
+    }
     if (LOGGER.isInfoEnabled() || SLOW_LOGGER.isInfoEnabled()) {
       final String msg =
           StringFormatter.format(
@@ -245,6 +273,7 @@ public final class PushTrace {
     Busy,
     ChanClosed,
     ChanOverflow,
+    Superseded,
   }
 
   static List<SubPublisher> findNewPublishers(
@@ -49,6 +49,9 @@ public final class RegProcessor {
 
   interface RegHandler {
     boolean onReg(String dataInfoId, List<Subscriber> subscribers);
+
+    /** warm up the datums of the buffer in batch, avoid the serial fetches of onReg */
+    void prefetch(List<String> dataInfoIds);
   }
 
   boolean fireOnReg(Subscriber subscriber) {
@@ -174,6 +177,11 @@ public final class RegProcessor {
       if (refs.isEmpty()) {
         return 0;
       }
+      List<String> dataInfoIds = Lists.newArrayListWithCapacity(refs.size());
+      for (Ref ref : refs) {
+        dataInfoIds.add(ref.dataInfoId);
+      }
+      regHandler.prefetch(dataInfoIds);
       int firstCount = 0;
       int secondCount = 0;
       int subSize = 0;
@@ -19,6 +19,7 @@ package com.alipay.sofa.registry.server.session.registry;
 import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.Tuple;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.Slot;
 import com.alipay.sofa.registry.common.model.store.*;
 import com.alipay.sofa.registry.common.model.wrapper.Wrapper;
 import com.alipay.sofa.registry.common.model.wrapper.WrapperInvocation;
@@ -57,8 +58,12 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -376,13 +381,16 @@ public class SessionRegistry implements Registry {
   }
 
   private Tuple<Map<String, DatumVersion>, List<Subscriber>> selectSubscribers(
-      long round, String dataCenter) {
+      long round, String dataCenter, Collection<Integer> slotIds) {
     final long start = System.currentTimeMillis();
     Tuple<Map<String, DatumVersion>, List<Subscriber>> tuple =
-        sessionInterests.selectSubscribers(dataCenter);
+        slotIds == null
+            ? sessionInterests.selectSubscribers(dataCenter)
+            : sessionInterests.selectSubscribers(dataCenter, slotIds);
     SCAN_VER_LOGGER.info(
-        "[select]round={}, interestSize={}, pushEmptySize={}, span={}",
+        "[select]round={}, slots={}, interestSize={}, pushEmptySize={}, span={}",
         round,
+        slotIds == null ? "all" : slotIds.size(),
         tuple.o1.size(),
         tuple.o2.size(),
         System.currentTimeMillis() - start);
@@ -391,8 +399,17 @@ public class SessionRegistry implements Registry {
 
   private void scanSubscribers(long round) {
     final String dataCenter = sessionServerConfig.getSessionServerDataCenter();
+    final int fullIntervalRounds =
+        Math.max(1, sessionServerConfig.getScanSubscriberFullIntervalRounds());
+    if (sessionServerConfig.isScanSubscriberIncrementalEnable()
+        && round % fullIntervalRounds != 0) {
+      scanSubscribersIncrementally(round, dataCenter);
+      return;
+    }
+    // the full scan contains the dirty slots
+    sessionInterests.takeDirtySlots();
     final Tuple<Map<String, DatumVersion>, List<Subscriber>> tuple =
-        selectSubscribers(round, dataCenter);
+        selectSubscribers(round, dataCenter, null);
     final Map<String, DatumVersion> interestVersions = tuple.o1;
     final List<Subscriber> toPushEmptySubscribers = tuple.o2;
     try {
@@ -403,12 +420,138 @@ public class SessionRegistry implements Registry {
     handlePushEmptySubscribers(toPushEmptySubscribers);
   }
 
-  private void scanVersions(
+  /**
+   * only scan the slots which have new subscribers or the slot version reported by the leader is
+   * newer than the scanned one. the push empty subscribers of other slots are handled by the
+   * periodic full scan
+   */
+  private void scanSubscribersIncrementally(long round, String dataCenter) {
+    final Set<Integer> slotIds = sessionInterests.takeDirtySlots();
+    final int dirtySize = slotIds.size();
+    final Map<Integer, Tuple<Long, Long>> changedSlotVersions =
+        fetchChangedSlotVersions(round, dataCenter);
+    slotIds.addAll(changedSlotVersions.keySet());
+    SCAN_VER_LOGGER.info(
+        "[scanIncr]round={},dirtySlots={},changedSlots={}",
+        round,
+        dirtySize,
+        changedSlotVersions.size());
+    if (slotIds.isEmpty()) {
+      return;
+    }
+    final Tuple<Map<String, DatumVersion>, List<Subscriber>> tuple =
+        selectSubscribers(round, dataCenter, slotIds);
+    Set<Integer> failedSlots = slotIds;
+    try {
+      failedSlots = scanVersions(round, dataCenter, tuple.o1);
+    } catch (Throwable e) {
+      SCAN_VER_LOGGER.error("failed to scan version", e);
+    }
+    for (Map.Entry<Integer, Tuple<Long, Long>> e : changedSlotVersions.entrySet()) {
+      final int slotId = e.getKey();
+      // the slot version is unknown if failed to fetch it
+      if (e.getValue().o2 >= 0 && !failedSlots.contains(slotId)) {
+        sessionInterests.updateSlotVersion(slotId, e.getValue().o1, e.getValue().o2);
+      }
+    }
+    // rescan the failed slots at next round
+    sessionInterests.markDirtySlots(failedSlots);
+    handlePushEmptySubscribers(tuple.o2);
+  }
+
+  /**
+   * fetch the slot versions from the leaders
+   *
+   * @return slotId -> [leaderEpoch, slotVersion], the slots whose version is newer than the
+   *     scanned. if failed to fetch the slot version, the slotVersion is -1
+   */
+  Map<Integer, Tuple<Long, Long>> fetchChangedSlotVersions(long round, String dataCenter) {
+    final Map<Integer, Tuple<Long, CompletableFuture<Long>>> futures = Maps.newTreeMap();
+    for (Slot slot : slotTableCache.getCurrentSlotTable().getSlots()) {
+      final int slotId = slot.getId();
+      if (StringUtils.isBlank(slot.getLeader())) {
+        SCAN_VER_LOGGER.error("[NoLeader]slotId={}, round={}", slotId, round);
+        continue;
+      }
+      final CompletableFuture<Long> future = new CompletableFuture<>();
+      try {
+        dataNodeService.fetchSlotVersion(
+            dataCenter,
+            slotId,
+            new ExchangeCallback<Long>() {
+              @Override
+              public void onCallback(Channel channel, Long message) {
+                future.complete(message);
+              }
+
+              @Override
+              public void onException(Channel channel, Throwable e) {
+                future.completeExceptionally(e);
+              }
+            });
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+      futures.put(slotId, Tuple.of(slot.getLeaderEpoch(), future));
+    }
+    waitFutures(
+        round,
+        futures.values().stream().map(t -> t.o2).collect(Collectors.toList()),
+        sessionServerConfig.getDataNodeExchangeTimeoutMillis());
+
+    final Map<Integer, Tuple<Long, Long>> ret = Maps.newTreeMap();
+    for (Map.Entry<Integer, Tuple<Long, CompletableFuture<Long>>> e : futures.entrySet()) {
+      final int slotId = e.getKey();
+      final long leaderEpoch = e.getValue().o1;
+      final CompletableFuture<Long> future = e.getValue().o2;
+      if (!future.isDone() || future.isCompletedExceptionally()) {
+        // not sure the slot is changed or not, scan it
+        ret.put(slotId, Tuple.of(leaderEpoch, -1L));
+        SCAN_VER_LOGGER.error(
+            "round={},failed to fetch slot version,slotId={},done={}",
+            round,
+            slotId,
+            future.isDone());
+        continue;
+      }
+      final long slotVersion = future.join();
+      if (sessionInterests.checkSlotVersion(slotId, leaderEpoch, slotVersion)) {
+        ret.put(slotId, Tuple.of(leaderEpoch, slotVersion));
+      }
+    }
+    return ret;
+  }
+
+  private static void waitFutures(
+      long round, Collection<? extends CompletableFuture<?>> futures, int timeoutMillis) {
+    if (futures.isEmpty()) {
+      return;
+    }
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+          .get(timeoutMillis + 2000, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      // the caller handles the unfinished futures
+    } catch (ExecutionException e) {
+      // the caller handles the failed futures
+    } catch (InterruptedException e) {
+      SCAN_VER_LOGGER.error("round={}, interrupted when waiting futures", round);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * scan the versions of interests
+   *
+   * @return the slots failed to fetch the versions
+   */
+  private Set<Integer> scanVersions(
       long round, String dataCenter, Map<String, DatumVersion> interestVersions) {
     Map<Integer, Map<String, DatumVersion>> interestVersionsGroup = groupBySlot(interestVersions);
 
+    final Set<Integer> failedSlots = Sets.newTreeSet();
     Map<Integer, FetchVersionResult> resultMap =
-        Maps.newHashMapWithExpectedSize(interestVersions.size());
+        Maps.newHashMapWithExpectedSize(interestVersionsGroup.size());
     for (Map.Entry<Integer, Map<String, DatumVersion>> group : interestVersionsGroup.entrySet()) {
       final Integer slotId = group.getKey();
       try {
@@ -416,8 +559,11 @@ public class SessionRegistry implements Registry {
             fetchDataVersionAsync(dataCenter, slotId, group.getValue(), round);
         if (result != null) {
           resultMap.put(slotId, result);
+        } else {
+          failedSlots.add(slotId);
         }
       } catch (Throwable e) {
+        failedSlots.add(slotId);
         SCAN_VER_LOGGER.info(
             "[fetchSlotVer]round={},{},{},leader={},interests={},gets={},success={}",
             round,
@@ -436,41 +582,41 @@ public class SessionRegistry implements Registry {
             e);
       }
     }
-    final int timeoutMillis = sessionServerConfig.getDataNodeExchangeTimeoutMillis();
-    final long waitDeadline = System.currentTimeMillis() + timeoutMillis + 2000;
     // wait async finish
-    ConcurrentUtils.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
-    // check callback result, use for.count to avoid the clock skew
-    for (int i = 0; i < (timeoutMillis * 2) / 50; i++) {
-      handleFetchResult(round, dataCenter, resultMap);
-      if (resultMap.isEmpty() || System.currentTimeMillis() > waitDeadline) {
-        break;
-      }
-      ConcurrentUtils.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
-    }
-    handleFetchResult(round, dataCenter, resultMap);
+    waitFutures(
+        round,
+        resultMap.values().stream().map(r -> r.callback).collect(Collectors.toList()),
+        sessionServerConfig.getDataNodeExchangeTimeoutMillis());
+    handleFetchResult(round, dataCenter, resultMap, failedSlots);
     if (!resultMap.isEmpty()) {
+      failedSlots.addAll(resultMap.keySet());
       SCAN_VER_LOGGER.error(
           "[fetchSlotVerTimeout]round={},callbacks={},{}", round, resultMap.size(), resultMap);
     }
+    return failedSlots;
   }
 
-  int handleFetchResult(long round, String dataCenter, Map<Integer, FetchVersionResult> resultMap) {
+  int handleFetchResult(
+      long round,
+      String dataCenter,
+      Map<Integer, FetchVersionResult> resultMap,
+      Set<Integer> failedSlots) {
     int count = 0;
     final Iterator<Map.Entry<Integer, FetchVersionResult>> it = resultMap.entrySet().iterator();
     while (it.hasNext()) {
       final Map.Entry<Integer, FetchVersionResult> e = it.next();
       FetchVersionResult result = e.getValue();
-      if (result.callback == null) {
+      if (!result.callback.isDone()) {
         // not finish
         continue;
       }
       it.remove();
       count++;
+      final FetchVersionCallback callback = result.callback.join();
       // success
-      if (result.callback.versions != null) {
+      if (callback.versions != null) {
         final long now = System.currentTimeMillis();
-        for (Map.Entry<String, DatumVersion> version : result.callback.versions.entrySet()) {
+        for (Map.Entry<String, DatumVersion> version : callback.versions.entrySet()) {
           final String dataInfoId = version.getKey();
           final long verVal = version.getValue().getValue();
           if (sessionInterests.checkInterestVersion(dataCenter, dataInfoId, verVal).interested) {
@@ -485,6 +631,8 @@ public class SessionRegistry implements Registry {
                 verVal);
           }
         }
+      } else {
+        failedSlots.add(e.getKey());
       }
     }
     return count;
@@ -527,7 +675,7 @@ public class SessionRegistry implements Registry {
   private static final class FetchVersionResult {
     final String leader;
     final int slotId;
-    volatile FetchVersionCallback callback;
+    final CompletableFuture<FetchVersionCallback> callback = new CompletableFuture<>();
 
     FetchVersionResult(int slotId, String leader) {
       this.leader = leader;
@@ -537,7 +685,7 @@ public class SessionRegistry implements Registry {
     @Override
     public String toString() {
       return StringFormatter.format(
-          "FetchResult{slotId={},{},finish={}}", slotId, leader, callback != null);
+          "FetchResult{slotId={},{},finish={}}", slotId, leader, callback.isDone());
     }
   }
 
@@ -567,7 +715,7 @@ public class SessionRegistry implements Registry {
             // merge the version
             Map<String, DatumVersion> mergedVersions = new HashMap<>(interestVersions);
             mergedVersions.putAll(message);
-            result.callback = new FetchVersionCallback(mergedVersions);
+            result.callback.complete(new FetchVersionCallback(mergedVersions));
             SCAN_VER_LOGGER.info(
                 "[fetchSlotVer]round={},{},{},leader={},interests={},gets={},success={}",
                 round,
@@ -581,7 +729,7 @@ public class SessionRegistry implements Registry {
 
           @Override
           public void onException(Channel channel, Throwable e) {
-            result.callback = new FetchVersionCallback(null);
+            result.callback.complete(new FetchVersionCallback(null));
             SCAN_VER_LOGGER.info(
                 "[fetchSlotVer]round={},{},{},leader={},interests={},gets={},success={}",
                 round,
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
+import com.alipay.sofa.registry.core.model.ConfiguratorRegister;
+import com.alipay.sofa.registry.core.model.PublisherRegister;
+import com.alipay.sofa.registry.core.model.RegisterResponse;
+import com.alipay.sofa.registry.core.model.SubscriberRegister;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.google.common.collect.Lists;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * handle the registers sent in one request by the client, each register is handled as the single
+ * request and the responses are replied in the same order
+ */
+public class BatchRegisterHandler extends AbstractClientDataRequestHandler<BatchRegister> {
+
+  @Autowired PublisherHandler publisherHandler;
+
+  @Autowired SubscriberHandler subscriberHandler;
+
+  @Autowired WatcherHandler watcherHandler;
+
+  @Override
+  public Object doHandle(Channel channel, BatchRegister batchRegister) {
+    final List<BaseRegister> registers = batchRegister.getRegisters();
+    BatchRegisterResponse batchResponse = new BatchRegisterResponse();
+    if (registers == null || registers.isEmpty()) {
+      batchResponse.setResponses(Collections.emptyList());
+      return batchResponse;
+    }
+    List<RegisterResponse> responses = Lists.newArrayListWithCapacity(registers.size());
+    for (BaseRegister register : registers) {
+      responses.add(handleRegister(channel, register));
+    }
+    batchResponse.setResponses(responses);
+    return batchResponse;
+  }
+
+  RegisterResponse handleRegister(Channel channel, BaseRegister register) {
+    Object response;
+    if (register instanceof PublisherRegister) {
+      response = publisherHandler.doHandle(channel, (PublisherRegister) register);
+    } else if (register instanceof SubscriberRegister) {
+      response = subscriberHandler.doHandle(channel, (SubscriberRegister) register);
+    } else if (register instanceof ConfiguratorRegister) {
+      response = watcherHandler.doHandle(channel, (ConfiguratorRegister) register);
+    } else {
+      response = null;
+    }
+    if (response instanceof RegisterResponse) {
+      return (RegisterResponse) response;
+    }
+    RegisterResponse failed = new RegisterResponse();
+    failed.setSuccess(false);
+    failed.setRegistId(register == null ? null : register.getRegistId());
+    failed.setMessage("unsupported register type: " + register);
+    return failed;
+  }
+
+  @Override
+  public Class interest() {
+    return BatchRegister.class;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb;
+import com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb;
+import com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb;
+import com.alipay.sofa.registry.common.model.client.pb.RegisterResponsePb;
+import com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb;
+import com.alipay.sofa.registry.core.model.RegisterResponse;
+import com.alipay.sofa.registry.remoting.Channel;
+import com.alipay.sofa.registry.server.session.converter.pb.PublisherRegisterConvertor;
+import com.alipay.sofa.registry.server.session.converter.pb.RegisterResponseConvertor;
+import com.alipay.sofa.registry.server.session.converter.pb.SubscriberRegisterConvertor;
+import com.alipay.sofa.registry.server.shared.remoting.RemotingHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * the protobuf form of BatchRegisterHandler, the responses are replied in the order of the
+ * publishers and then the subscribers
+ */
+public class BatchRegisterPbHandler extends AbstractClientDataRequestHandler<BatchRegisterPb> {
+
+  @Autowired PublisherHandler publisherHandler;
+
+  @Autowired SubscriberHandler subscriberHandler;
+
+  @Override
+  public Object doHandle(Channel channel, BatchRegisterPb message) {
+    RemotingHelper.markProtobuf(channel);
+    RemotingHelper.setPbSerializer(channel);
+    BatchRegisterResponsePb.Builder builder = BatchRegisterResponsePb.newBuilder();
+    for (PublisherRegisterPb publisher : message.getPublishersList()) {
+      builder.addResponses(
+          convert(
+              publisherHandler.doHandle(
+                  channel, PublisherRegisterConvertor.convert2Java(publisher))));
+    }
+    for (SubscriberRegisterPb subscriber : message.getSubscribersList()) {
+      builder.addResponses(
+          convert(
+              subscriberHandler.doHandle(
+                  channel, SubscriberRegisterConvertor.convert2Java(subscriber))));
+    }
+    return builder.build();
+  }
+
+  private static RegisterResponsePb convert(Object response) {
+    if (!(response instanceof RegisterResponse)) {
+      return RegisterResponsePb.newBuilder()
+          .setSuccess(false)
+          .setMessage("Unknown response type")
+          .build();
+    }
+    return RegisterResponseConvertor.convert2Pb((RegisterResponse) response);
+  }
+
+  @Override
+  public Class interest() {
+    return BatchRegisterPb.class;
+  }
+}
@@ -65,7 +65,7 @@ public class DataSlotDiffDigestRequestHandler
           calcDiffResult(
               request.getSlotId(),
               request.getDatumDigest(),
-              sessionDataStore.getDataInfoIdPublishers(request.getSlotId()));
+              request.filterBuckets(sessionDataStore.getDataInfoIdPublishers(request.getSlotId())));
       result.setSlotTableEpoch(slotTableCache.getEpoch());
       result.setSessionProcessId(ServerEnv.PROCESS_ID);
       return new GenericResponse().fillSucceed(result);
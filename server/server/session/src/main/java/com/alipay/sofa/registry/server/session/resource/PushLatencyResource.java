@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.resource;
+
+import com.alipay.sofa.registry.metrics.LatencyHistogram;
+import com.alipay.sofa.registry.server.session.push.PushMetrics;
+import com.google.common.collect.Maps;
+import java.util.Map;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/** the latency distribution in millis of the push stages since the session started */
+@Path("push")
+public class PushLatencyResource {
+
+  @GET
+  @Path("latency")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Map<String, Map<String, Object>> getLatency() {
+    final Map<String, Map<String, Object>> ret = Maps.newLinkedHashMap();
+    for (Map.Entry<PushMetrics.PushStage, LatencyHistogram.Snapshot> e :
+        PushMetrics.getPushStageLatencies().entrySet()) {
+      final LatencyHistogram.Snapshot snapshot = e.getValue();
+      final Map<String, Object> m = Maps.newLinkedHashMap();
+      m.put("count", snapshot.getCount());
+      m.put("mean", snapshot.getMean());
+      m.put("max", snapshot.getMax());
+      m.put("p50", snapshot.getValueAtPercentile(50));
+      m.put("p90", snapshot.getValueAtPercentile(90));
+      m.put("p99", snapshot.getValueAtPercentile(99));
+      m.put("p999", snapshot.getValueAtPercentile(99.9));
+      ret.put(e.getKey().name(), m);
+    }
+    return ret;
+  }
+}
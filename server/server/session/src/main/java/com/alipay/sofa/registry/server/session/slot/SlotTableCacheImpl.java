@@ -37,9 +37,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 public final class SlotTableCacheImpl implements SlotTableCache {
   private static final Logger LOGGER = LoggerFactory.getLogger(SlotTableCacheImpl.class);
 
-  private final SlotFunction slotFunction = SlotFunctionRegistry.getFunc();
-
-  private volatile SlotTable slotTable = SlotTable.INIT;
+  // the slot function switches with the slot table, the table is split online
+  private volatile SlotTableView view = new SlotTableView(SlotTable.INIT);
   private final Lock lock = new ReentrantLock();
 
   @Autowired(required = false)
@@ -47,29 +46,31 @@ public final class SlotTableCacheImpl implements SlotTableCache {
 
   @Override
   public int slotOf(String dataInfoId) {
-    return slotFunction.slotOf(dataInfoId);
+    return view.slotFunction.slotOf(dataInfoId);
   }
 
   @Override
   public Slot getSlot(String dataInfoId) {
-    int slotId = slotOf(dataInfoId);
-    return slotTable.getSlot(slotId);
+    // the slotId and the slot come from the same generation
+    final SlotTableView v = this.view;
+    int slotId = v.slotFunction.slotOf(dataInfoId);
+    return v.slotTable.getSlot(slotId);
   }
 
   @Override
   public Slot getSlot(int slotId) {
-    return slotTable.getSlot(slotId);
+    return view.slotTable.getSlot(slotId);
   }
 
   @Override
   public String getLeader(int slotId) {
-    final Slot slot = slotTable.getSlot(slotId);
+    final Slot slot = view.slotTable.getSlot(slotId);
     return slot == null ? null : slot.getLeader();
   }
 
   @Override
   public long getEpoch() {
-    return slotTable.getEpoch();
+    return view.slotTable.getEpoch();
   }
 
   @Override
@@ -77,13 +78,22 @@ public final class SlotTableCacheImpl implements SlotTableCache {
     lock.lock();
     final long curEpoch;
     try {
-      curEpoch = this.slotTable.getEpoch();
+      final SlotTableView current = this.view;
+      curEpoch = current.slotTable.getEpoch();
       if (curEpoch >= slotTable.getEpoch()) {
         LOGGER.info("skip update, current={}, update={}", curEpoch, slotTable.getEpoch());
         return false;
       }
       recordSlotTable(slotTable);
-      this.slotTable = slotTable;
+      final SlotTableView update = new SlotTableView(slotTable);
+      if (update.slotFunction.maxSlots() != current.slotFunction.maxSlots()) {
+        LOGGER.info(
+            "switch slot function, epoch={}, slotNum={}, prev={}",
+            slotTable.getEpoch(),
+            update.slotFunction.maxSlots(),
+            current.slotFunction.maxSlots());
+      }
+      this.view = update;
     } finally {
       lock.unlock();
     }
@@ -114,8 +124,18 @@ public final class SlotTableCacheImpl implements SlotTableCache {
 
   @Override
   public SlotTable getCurrentSlotTable() {
-    final SlotTable now = this.slotTable;
-    return new SlotTable(now.getEpoch(), now.getSlots());
+    final SlotTable now = this.view.slotTable;
+    return new SlotTable(now.getEpoch(), now.getSlots(), now.getSlotNum());
+  }
+
+  private static final class SlotTableView {
+    final SlotTable slotTable;
+    final SlotFunction slotFunction;
+
+    SlotTableView(SlotTable slotTable) {
+      this.slotTable = slotTable;
+      this.slotFunction = SlotFunctionRegistry.getFunc(slotTable.getSlotNum());
+    }
   }
 
   @VisibleForTesting
@@ -26,6 +26,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import org.apache.commons.collections.MapUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.CollectionUtils;
@@ -141,6 +142,14 @@ public abstract class AbstractDataManager<T extends BaseInfo>
             });
   }
 
+  @Override
+  public void forEachData(String dataInfoId, Consumer<T> consumer) {
+    Map<String, T> dataMap = getStore().get(dataInfoId);
+    if (!CollectionUtils.isEmpty(dataMap)) {
+      dataMap.values().forEach(consumer);
+    }
+  }
+
   @Override
   public Collection<T> getDatas(String dataInfoId) {
     ParaCheckUtil.checkNotBlank(dataInfoId, "dataInfoId");
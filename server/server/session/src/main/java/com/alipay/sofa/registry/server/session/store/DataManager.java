@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Session Data store manager,according base data function
@@ -98,4 +99,12 @@ public interface DataManager<DATA, ID, DATAINFOID> {
   Collection<DATAINFOID> getDataInfoIds();
 
   void forEach(BiConsumer<DATAINFOID, Map<ID, DATA>> consumer);
+
+  /**
+   * visit the datas of the dataInfoId without copying
+   *
+   * @param dataInfoId
+   * @param consumer
+   */
+  void forEachData(DATAINFOID dataInfoId, Consumer<DATA> consumer);
 }
@@ -22,6 +22,7 @@ import com.alipay.sofa.registry.common.model.store.Subscriber;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author shangyu.wh
@@ -41,10 +42,50 @@ public interface Interests extends DataManager<Subscriber, String, String> {
   InterestVersionCheck checkInterestVersion(
       String dataCenter, String datumDataInfoId, long version);
 
+  /**
+   * the subscriber has been pushed, keep the pushed version bound of the dataInfoId up to date
+   *
+   * @param dataCenter
+   * @param lastPushedVersion the pushed version before the push
+   * @param subscriber
+   */
+  void onPushed(String dataCenter, long lastPushedVersion, Subscriber subscriber);
+
   Collection<Subscriber> getInterests(String datumDataInfoId);
 
   Tuple<Map<String, DatumVersion>, List<Subscriber>> selectSubscribers(String dataCenter);
 
+  /**
+   * select the subscribers whose dataInfoId belongs to the slots
+   *
+   * @param dataCenter
+   * @param slotIds
+   * @return
+   */
+  Tuple<Map<String, DatumVersion>, List<Subscriber>> selectSubscribers(
+      String dataCenter, Collection<Integer> slotIds);
+
+  /**
+   * take and reset the slots which have new subscribers since last take
+   *
+   * @return
+   */
+  Set<Integer> takeDirtySlots();
+
+  void markDirtySlots(Collection<Integer> slotIds);
+
+  /**
+   * check the slotVersion is newer than the max version which has been scanned
+   *
+   * @param slotId
+   * @param leaderEpoch the leader changes would reset the max version
+   * @param slotVersion
+   * @return
+   */
+  boolean checkSlotVersion(int slotId, long leaderEpoch, long slotVersion);
+
+  void updateSlotVersion(int slotId, long leaderEpoch, long slotVersion);
+
   Map<String, List<String>> filterIPs(String group, int limit);
 
   enum InterestVersionCheck {
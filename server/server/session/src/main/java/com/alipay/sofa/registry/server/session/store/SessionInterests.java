@@ -16,18 +16,23 @@
  */
 package com.alipay.sofa.registry.server.session.store;
 
+import com.alipay.sofa.registry.common.model.ConnectId;
 import com.alipay.sofa.registry.common.model.Tuple;
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
 import com.alipay.sofa.registry.log.Logger;
 import com.alipay.sofa.registry.log.LoggerFactory;
 import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.util.CollectionUtils;
@@ -46,6 +51,19 @@ public class SessionInterests extends AbstractDataManager<Subscriber> implements
 
   private final Store<Subscriber> store = new SimpleStore<>(1024 * 16, 256);
 
+  // the dataInfoIds of the slot, the dataInfoId is pruned after its last subscriber removed
+  // the index is built by the slot function of SlotConfig.SLOT_NUM, keep valid after the split
+  private final Map<Integer, Set<String>> slotDataInfoIds = Maps.newConcurrentMap();
+
+  // the slots which have new subscribers since the last scan
+  private final Set<Integer> dirtySlots = Sets.newConcurrentHashSet();
+
+  // slotId -> [leaderEpoch, max datum version of the slot which has been scanned]
+  private final Map<Integer, Tuple<Long, Long>> slotVersions = Maps.newConcurrentMap();
+
+  // dataInfoId -> the min pushed version of the subscribers, avoid scanning all the subscribers
+  private final Map<String, PushedVersionBound> pushedVersionBounds = Maps.newConcurrentMap();
+
   @Override
   public boolean add(Subscriber subscriber) {
     ParaCheckUtil.checkNotNull(subscriber.getScope(), "subscriber.scope");
@@ -53,24 +71,151 @@ public class SessionInterests extends AbstractDataManager<Subscriber> implements
 
     Subscriber.internSubscriber(subscriber);
     Tuple<Subscriber, Boolean> ret = addData(subscriber);
+    final String dataInfoId = subscriber.getDataInfoId();
+    if (ret.o2) {
+      // the new subscriber has not been pushed, reset the bound after it is visible in the store
+      pushedVersionBounds.computeIfAbsent(dataInfoId, k -> new PushedVersionBound()).reset();
+    }
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(dataInfoId);
+    indexSlot(slotId, dataInfoId);
+    // mark dirty after the subscriber is added, the next scan could see it
+    dirtySlots.add(slotId);
     return ret.o2;
   }
 
   @Override
   public InterestVersionCheck checkInterestVersion(
       String dataCenter, String datumDataInfoId, long version) {
-    Collection<Subscriber> subscribers = getInterests(datumDataInfoId);
+    final Map<String, Subscriber> subscribers = getStore().get(datumDataInfoId);
     if (CollectionUtils.isEmpty(subscribers)) {
       return InterestVersionCheck.NoSub;
     }
-    for (Subscriber subscriber : subscribers) {
+    final PushedVersionBound bound = pushedVersionBounds.get(datumDataInfoId);
+    if (bound != null && version <= bound.get(dataCenter)) {
+      // all the subscribers have pushed the version, skip scanning
+      return InterestVersionCheck.Obsolete;
+    }
+    final long stamp = bound == null ? 0 : bound.stamp();
+    long minPushedVersion = Long.MAX_VALUE;
+    int minCount = 0;
+    for (Subscriber subscriber : subscribers.values()) {
       if (subscriber.checkVersion(dataCenter, version)) {
         return InterestVersionCheck.Interested;
       }
+      // the subscriber marked push empty is not interested in any version
+      if (!subscriber.isMarkedPushEmpty(dataCenter)) {
+        final long pushedVersion = subscriber.getPushedVersion(dataCenter);
+        if (pushedVersion < minPushedVersion) {
+          minPushedVersion = pushedVersion;
+          minCount = 1;
+        } else if (pushedVersion == minPushedVersion) {
+          minCount++;
+        }
+      }
+    }
+    if (bound != null) {
+      bound.update(stamp, dataCenter, minPushedVersion, minCount);
     }
     return InterestVersionCheck.Obsolete;
   }
 
+  @Override
+  public void onPushed(String dataCenter, long lastPushedVersion, Subscriber subscriber) {
+    final String dataInfoId = subscriber.getDataInfoId();
+    final PushedVersionBound bound = pushedVersionBounds.get(dataInfoId);
+    if (bound != null && bound.leave(dataCenter, lastPushedVersion)) {
+      refreshBound(dataCenter, dataInfoId, bound);
+    }
+  }
+
+  @Override
+  public Subscriber deleteById(String registerId, String dataInfoId) {
+    final Subscriber subscriber = super.deleteById(registerId, dataInfoId);
+    if (subscriber != null) {
+      onRemoved(subscriber);
+    }
+    return subscriber;
+  }
+
+  @Override
+  public Map<String, Subscriber> deleteByConnectId(ConnectId connectId) {
+    final Map<String, Subscriber> ret = super.deleteByConnectId(connectId);
+    for (Subscriber subscriber : ret.values()) {
+      onRemoved(subscriber);
+    }
+    return ret;
+  }
+
+  private void indexSlot(int slotId, String dataInfoId) {
+    // compute is atomic with the pruning, the set would not be dropped after the add
+    slotDataInfoIds.compute(
+        slotId,
+        (k, v) -> {
+          if (v == null) {
+            v = Sets.newConcurrentHashSet();
+          }
+          v.add(dataInfoId);
+          return v;
+        });
+  }
+
+  private void onRemoved(Subscriber subscriber) {
+    final String dataInfoId = subscriber.getDataInfoId();
+    if (CollectionUtils.isEmpty(getStore().get(dataInfoId))) {
+      onEmpty(dataInfoId);
+      return;
+    }
+    final PushedVersionBound bound = pushedVersionBounds.get(dataInfoId);
+    if (bound == null) {
+      return;
+    }
+    for (String dataCenter : bound.dataCenters()) {
+      if (bound.leave(dataCenter, subscriber.getPushedVersion(dataCenter))) {
+        refreshBound(dataCenter, dataInfoId, bound);
+      }
+    }
+  }
+
+  private void onEmpty(String dataInfoId) {
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(dataInfoId);
+    slotDataInfoIds.computeIfPresent(
+        slotId,
+        (k, v) -> {
+          v.remove(dataInfoId);
+          return v.isEmpty() ? null : v;
+        });
+    pushedVersionBounds.remove(dataInfoId);
+    // a subscriber added concurrently, restore the index, the new bound without version is valid
+    if (!CollectionUtils.isEmpty(getStore().get(dataInfoId))) {
+      indexSlot(slotId, dataInfoId);
+      pushedVersionBounds.computeIfAbsent(dataInfoId, k -> new PushedVersionBound());
+    }
+  }
+
+  /** the last subscriber at the bound has left, rescan the min pushed version */
+  private void refreshBound(String dataCenter, String dataInfoId, PushedVersionBound bound) {
+    final long stamp = bound.stamp();
+    final Map<String, Subscriber> subscribers = getStore().get(dataInfoId);
+    if (CollectionUtils.isEmpty(subscribers)) {
+      return;
+    }
+    long minPushedVersion = Long.MAX_VALUE;
+    int minCount = 0;
+    for (Subscriber subscriber : subscribers.values()) {
+      if (subscriber.isMarkedPushEmpty(dataCenter)) {
+        continue;
+      }
+      final long pushedVersion = subscriber.getPushedVersion(dataCenter);
+      if (pushedVersion < minPushedVersion) {
+        minPushedVersion = pushedVersion;
+        minCount = 1;
+      } else if (pushedVersion == minPushedVersion) {
+        minCount++;
+      }
+    }
+    bound.update(stamp, dataCenter, minPushedVersion, minCount);
+  }
+
   @Override
   public Collection<Subscriber> getInterests(String datumDataInfoId) {
     return getDatas(datumDataInfoId);
@@ -78,38 +223,125 @@ public class SessionInterests extends AbstractDataManager<Subscriber> implements
 
   @Override
   public Tuple<Map<String, DatumVersion>, List<Subscriber>> selectSubscribers(String dataCenter) {
-    final String localDataCenter = sessionServerConfig.getSessionServerDataCenter();
-    final boolean isLocalDataCenter = localDataCenter.equals(dataCenter);
+    final boolean isLocalDataCenter = isLocalDataCenter(dataCenter);
     Store<Subscriber> store = getStore();
     final Map<String, DatumVersion> versions =
         Maps.newHashMapWithExpectedSize(store.getDataInfoIds().size());
     final List<Subscriber> toPushEmptySubscribers = Lists.newArrayListWithCapacity(256);
 
     store.forEach(
-        (String dataInfoId, Map<String, Subscriber> subs) -> {
-          if (CollectionUtils.isEmpty(subs)) {
-            return;
-          }
-          long maxVersion = 0;
-          for (Subscriber sub : subs.values()) {
-            // not global sub and not local dataCenter, not interest the other dataCenter's pub
-            if (sub.getScope() != ScopeEnum.global && !isLocalDataCenter) {
-              continue;
-            }
-            if (sub.isMarkedPushEmpty(dataCenter)) {
-              if (sub.needPushEmpty(dataCenter)) {
-                toPushEmptySubscribers.add(sub);
-              }
-              continue;
-            }
-            final long pushVersion = sub.getPushedVersion(dataCenter);
-            if (maxVersion < pushVersion) {
-              maxVersion = pushVersion;
-            }
+        (String dataInfoId, Map<String, Subscriber> subs) ->
+            selectSubscribers(
+                dataCenter, isLocalDataCenter, dataInfoId, subs, versions, toPushEmptySubscribers));
+    return Tuple.of(versions, toPushEmptySubscribers);
+  }
+
+  @Override
+  public Tuple<Map<String, DatumVersion>, List<Subscriber>> selectSubscribers(
+      String dataCenter, Collection<Integer> slotIds) {
+    final boolean isLocalDataCenter = isLocalDataCenter(dataCenter);
+    Store<Subscriber> store = getStore();
+    final Map<String, DatumVersion> versions = Maps.newHashMapWithExpectedSize(256);
+    final List<Subscriber> toPushEmptySubscribers = Lists.newArrayListWithCapacity(16);
+    for (Integer slotId : toBaseSlotIds(slotIds)) {
+      final Set<String> dataInfoIds = slotDataInfoIds.get(slotId);
+      if (dataInfoIds == null) {
+        continue;
+      }
+      for (String dataInfoId : dataInfoIds) {
+        selectSubscribers(
+            dataCenter,
+            isLocalDataCenter,
+            dataInfoId,
+            store.get(dataInfoId),
+            versions,
+            toPushEmptySubscribers);
+      }
+    }
+    return Tuple.of(versions, toPushEmptySubscribers);
+  }
+
+  /**
+   * the split slot s + n*k selects the dataInfoIds of the base slot s, contains the dataInfoIds of
+   * the sibling slots, the redundant ones are harmless for scanning
+   */
+  private static Set<Integer> toBaseSlotIds(Collection<Integer> slotIds) {
+    final int baseSlotNum = SlotFunctionRegistry.getFunc().maxSlots();
+    final Set<Integer> ret = Sets.newTreeSet();
+    for (Integer slotId : slotIds) {
+      ret.add(slotId % baseSlotNum);
+    }
+    return ret;
+  }
+
+  private boolean isLocalDataCenter(String dataCenter) {
+    final String localDataCenter = sessionServerConfig.getSessionServerDataCenter();
+    return localDataCenter.equals(dataCenter);
+  }
+
+  private static void selectSubscribers(
+      String dataCenter,
+      boolean isLocalDataCenter,
+      String dataInfoId,
+      Map<String, Subscriber> subs,
+      Map<String, DatumVersion> versions,
+      List<Subscriber> toPushEmptySubscribers) {
+    if (CollectionUtils.isEmpty(subs)) {
+      return;
+    }
+    long maxVersion = 0;
+    for (Subscriber sub : subs.values()) {
+      // not global sub and not local dataCenter, not interest the other dataCenter's pub
+      if (sub.getScope() != ScopeEnum.global && !isLocalDataCenter) {
+        continue;
+      }
+      if (sub.isMarkedPushEmpty(dataCenter)) {
+        if (sub.needPushEmpty(dataCenter)) {
+          toPushEmptySubscribers.add(sub);
+        }
+        continue;
+      }
+      final long pushVersion = sub.getPushedVersion(dataCenter);
+      if (maxVersion < pushVersion) {
+        maxVersion = pushVersion;
+      }
+    }
+    versions.put(dataInfoId, new DatumVersion(maxVersion));
+  }
+
+  @Override
+  public Set<Integer> takeDirtySlots() {
+    Set<Integer> ret = Sets.newTreeSet();
+    for (Integer slotId : dirtySlots) {
+      // remove one by one, avoid losing the slot marked during the iteration
+      if (dirtySlots.remove(slotId)) {
+        ret.add(slotId);
+      }
+    }
+    return ret;
+  }
+
+  @Override
+  public void markDirtySlots(Collection<Integer> slotIds) {
+    dirtySlots.addAll(slotIds);
+  }
+
+  @Override
+  public boolean checkSlotVersion(int slotId, long leaderEpoch, long slotVersion) {
+    final Tuple<Long, Long> scanned = slotVersions.get(slotId);
+    return scanned == null || scanned.o1 != leaderEpoch || scanned.o2 < slotVersion;
+  }
+
+  @Override
+  public void updateSlotVersion(int slotId, long leaderEpoch, long slotVersion) {
+    slotVersions.compute(
+        slotId,
+        (k, v) -> {
+          if (v == null || v.o1 != leaderEpoch || v.o2 < slotVersion) {
+            return Tuple.of(leaderEpoch, slotVersion);
           }
-          versions.put(dataInfoId, new DatumVersion(maxVersion));
+          return v;
         });
-    return Tuple.of(versions, toPushEmptySubscribers);
   }
 
   @Override
@@ -117,6 +349,70 @@ public class SessionInterests extends AbstractDataManager<Subscriber> implements
     return store;
   }
 
+  @VisibleForTesting
+  Set<String> getSlotDataInfoIds(int slotId) {
+    return slotDataInfoIds.get(slotId);
+  }
+
+  @VisibleForTesting
+  PushedVersionBound getPushedVersionBound(String dataInfoId) {
+    return pushedVersionBounds.get(dataInfoId);
+  }
+
+  /**
+   * the lower bound of the pushed version of the subscribers with the same dataInfoId, the pushed
+   * version of a subscriber only increases, so the bound keeps valid until new subscriber added.
+   * the bound counts the subscribers at the min version, it is rescanned after all of them have
+   * been pushed or removed
+   */
+  static final class PushedVersionBound {
+    // dataCenter -> [min pushed version, count of the subscribers at the min version]
+    private final Map<String, long[]> bounds = Maps.newConcurrentMap();
+    // increased when new subscriber added, the scan started before could not update the bound
+    private long stamp;
+
+    long get(String dataCenter) {
+      long[] v = bounds.get(dataCenter);
+      return v == null ? -1 : v[0];
+    }
+
+    Set<String> dataCenters() {
+      return bounds.keySet();
+    }
+
+    synchronized long stamp() {
+      return stamp;
+    }
+
+    synchronized void reset() {
+      stamp++;
+      bounds.clear();
+    }
+
+    synchronized void update(long expectStamp, String dataCenter, long version, int count) {
+      if (stamp == expectStamp) {
+        bounds.put(dataCenter, new long[] {version, count});
+      }
+    }
+
+    /**
+     * a subscriber leaves the version by push or remove
+     *
+     * @return true if no subscriber is at the bound, the bound is cleared and needs rescanning
+     */
+    synchronized boolean leave(String dataCenter, long version) {
+      final long[] v = bounds.get(dataCenter);
+      if (v == null || v[0] != version) {
+        return false;
+      }
+      if (--v[1] > 0) {
+        return false;
+      }
+      bounds.remove(dataCenter);
+      return true;
+    }
+  }
+
   @Override
   public Map<String, List<String>> filterIPs(String group, int limit) {
     Map<String, List<String>> ret = Maps.newHashMapWithExpectedSize(1024);
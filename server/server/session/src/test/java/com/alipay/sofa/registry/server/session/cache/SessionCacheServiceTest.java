@@ -18,8 +18,11 @@ package com.alipay.sofa.registry.server.session.cache;
 
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
 import com.alipay.sofa.registry.server.session.node.service.DataNodeService;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.assertj.core.util.Lists;
 import org.junit.Assert;
 import org.junit.Test;
@@ -64,7 +67,9 @@ public class SessionCacheServiceTest {
             "testGroup",
             Lists.newArrayList(System.currentTimeMillis()));
 
-    Mockito.when(generator.dataNodeService.fetch(Mockito.anyString(), Mockito.anyString()))
+    Mockito.when(
+            generator.dataNodeService.fetch(
+                Mockito.anyString(), Mockito.anyString(), Mockito.anyLong()))
         .thenReturn(subDatum);
     // invalidate the null value
     cacheService.invalidate(key);
@@ -84,4 +89,60 @@ public class SessionCacheServiceTest {
       cacheService.getValue(key);
     }
   }
+
+  @Test
+  public void testGetValues() {
+    SessionServerConfigBean config = TestUtils.newSessionConfig(dataCenter);
+    config.setDataNodeBatchFetchEnable(true);
+    SessionCacheService cacheService = new SessionCacheService();
+    cacheService.sessionServerConfig = config;
+    DatumCacheGenerator generator = new DatumCacheGenerator();
+    generator.sessionServerConfig = config;
+    generator.dataNodeService = Mockito.mock(DataNodeService.class);
+    cacheService.setCacheGenerators(Collections.singletonMap(DatumKey.class.getName(), generator));
+    cacheService.init();
+
+    Key hit = new Key(DatumKey.class.getName(), new DatumKey("hit", dataCenter));
+    Key found = new Key(DatumKey.class.getName(), new DatumKey("found", dataCenter));
+    Key failed = new Key(DatumKey.class.getName(), new DatumKey("failed", dataCenter));
+    cacheService.getValue(hit);
+    SubDatum subDatum =
+        SubDatum.normalOf(
+            "found",
+            dataCenter,
+            100,
+            Collections.emptyList(),
+            "testDataId",
+            "testInstanceId",
+            "testGroup",
+            Lists.newArrayList(System.currentTimeMillis()));
+    CompletableFuture<SubDatum> fail = new CompletableFuture<>();
+    fail.completeExceptionally(new RuntimeException());
+    Mockito.when(
+            generator.dataNodeService.fetchAsync(
+                Mockito.eq("found"), Mockito.anyString(), Mockito.anyLong()))
+        .thenReturn(CompletableFuture.completedFuture(subDatum));
+    Mockito.when(
+            generator.dataNodeService.fetchAsync(
+                Mockito.eq("failed"), Mockito.anyString(), Mockito.anyLong()))
+        .thenReturn(fail);
+
+    Map<Key, Value> values = cacheService.getValues(Lists.newArrayList(hit, found, failed));
+    Assert.assertEquals(2, values.size());
+    Assert.assertNull(values.get(hit).getPayload());
+    Assert.assertEquals(subDatum, values.get(found).getPayload());
+    Assert.assertEquals(subDatum, cacheService.getValueIfPresent(found).getPayload());
+    Assert.assertNull(cacheService.getValueIfPresent(failed));
+    Mockito.verify(generator.dataNodeService, Mockito.times(2))
+        .fetchAsync(Mockito.anyString(), Mockito.anyString(), Mockito.anyLong());
+
+    // fetch one by one without the batcher
+    config.setDataNodeBatchFetchEnable(false);
+    Mockito.when(
+            generator.dataNodeService.fetch(
+                Mockito.eq("failed"), Mockito.anyString(), Mockito.anyLong()))
+        .thenReturn(subDatum);
+    values = cacheService.getValues(Lists.newArrayList(failed));
+    Assert.assertEquals(subDatum, values.get(failed).getPayload());
+  }
 }
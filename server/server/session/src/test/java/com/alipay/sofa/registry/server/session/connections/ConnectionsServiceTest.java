@@ -67,5 +67,17 @@ public class ConnectionsServiceTest {
     connectIds = connectionsService.getIpConnects(Sets.newHashSet(remoteIp));
     Assert.assertEquals(connectIds.size(), 1);
     Assert.assertEquals(connectIds.get(0), connectId);
+
+    // match the cidr range
+    connectIds = connectionsService.getIpConnects(Sets.newHashSet("192.168.9.0/24"));
+    Assert.assertEquals(connectIds.size(), 0);
+    connectIds = connectionsService.getIpConnects(Sets.newHashSet("192.168.0.0/16"));
+    Assert.assertEquals(connectIds, Lists.newArrayList(connectId));
+
+    Assert.assertEquals(
+        connectionsService.closeIpConnects(Lists.newArrayList("192.168.9.0/24")).size(), 0);
+    Assert.assertEquals(
+        connectionsService.closeIpConnects(Lists.newArrayList("192.168.8.0/24")).size(), 1);
+    Mockito.verify(server, Mockito.times(1)).close(channel);
   }
 }
@@ -52,6 +52,19 @@ public class ReceivedDataConvertorTest {
 
     Assert.assertTrue(
         registerJava.toString(), registerJava.toString().contains(registerJava.getDataId()));
+    Assert.assertEquals(0, pb.getBaseVersion());
+    Assert.assertNull(convertJava.getBaseVersion());
+
+    // delta
+    registerJava.setBaseVersion(registerJava.getVersion() - 1);
+    registerJava.setRemovedData(
+        Collections.singletonMap("testZone", Lists.newArrayList(new DataBox("testRemoved"))));
+    pb = ReceivedDataConvertor.convert2Pb(registerJava);
+    convertJava = ReceivedDataConvertor.convert2Java(pb);
+    assertReceivedData(registerJava, convertJava);
+    Assert.assertEquals(registerJava.getBaseVersion(), convertJava.getBaseVersion());
+    Assert.assertEquals(
+        "testRemoved", convertJava.getRemovedData().get("testZone").get(0).getData());
   }
 
   @Test
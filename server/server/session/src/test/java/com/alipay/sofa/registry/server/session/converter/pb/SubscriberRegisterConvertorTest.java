@@ -30,10 +30,12 @@ public class SubscriberRegisterConvertorTest {
     SubscriberRegister registerJava = new SubscriberRegister();
     TestUtils.setField(registerJava);
     registerJava.setScope("testScope");
+    registerJava.setAcceptDelta(true);
     SubscriberRegisterPb pb = SubscriberRegisterConvertor.convert2Pb(registerJava);
     SubscriberRegister convertJava = SubscriberRegisterConvertor.convert2Java(pb);
     TestUtils.assertEquals(registerJava, convertJava);
     Assert.assertEquals(registerJava.getScope(), convertJava.getScope());
+    Assert.assertTrue(convertJava.isAcceptDelta());
     Assert.assertEquals(registerJava.toString(), convertJava.toString());
   }
 }
@@ -32,11 +32,12 @@ public class DefaultIPMatchStrategyTest {
     strategy.setFetchBlackListService(mgr);
     mgr.getBlacklistConfigList()
         .add(getIpConfig(BlacklistConstants.FORBIDDEN_PUB + "1", Collections.emptyList()));
-
+    mgr.updateBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     mgr.getBlacklistConfigList()
         .add(getIpConfig(BlacklistConstants.FORBIDDEN_PUB, Collections.emptyList()));
+    mgr.updateBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     List<MatchType> types = Lists.newArrayList();
@@ -44,9 +45,11 @@ public class DefaultIPMatchStrategyTest {
     m.setType(BlacklistConstants.IP_FULL);
     types.add(m);
     mgr.getBlacklistConfigList().add(getIpConfig(BlacklistConstants.FORBIDDEN_PUB, types));
+    mgr.updateBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     m.setPatternSet(Sets.newSet("192.168.1.2"));
+    mgr.updateBlacklistConfigList(mgr.getBlacklistConfigList());
     Assert.assertFalse(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
 
     m.setPatternSet(Sets.newSet("192.168.1.2", "192.168.1.1"));
@@ -55,7 +58,35 @@ public class DefaultIPMatchStrategyTest {
         mgr.getBlacklistConfigList().toString(),
         mgr.getBlacklistConfigList().toString().contains("192.168.1.1"));
 
+    mgr.updateBlacklistConfigList(mgr.getBlacklistConfigList());
+    Assert.assertTrue(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
+    Assert.assertFalse(
+        strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
+  }
+
+  @Test
+  public void testCidr() {
+    DefaultIPMatchStrategy strategy = new DefaultIPMatchStrategy();
+    FetchBlackListService mgr = new FetchBlackListService();
+    strategy.setFetchBlackListService(mgr);
+
+    MatchType cidr = new MatchType();
+    cidr.setType(BlacklistConstants.IP_CIDR);
+    cidr.setPatternSet(Sets.newSet("10.0.0.0/8", "fe80::/10", "invalid"));
+    MatchType full = new MatchType();
+    full.setType(BlacklistConstants.IP_FULL);
+    full.setPatternSet(Sets.newSet("192.168.1.1"));
+    mgr.updateBlacklistConfigList(
+        Lists.newArrayList(
+            getIpConfig(BlacklistConstants.FORBIDDEN_PUB, Lists.newArrayList(cidr, full))));
+
+    Assert.assertTrue(strategy.match("10.1.2.3", () -> BlacklistConstants.FORBIDDEN_PUB));
+    Assert.assertTrue(strategy.match("fe80::1", () -> BlacklistConstants.FORBIDDEN_PUB));
     Assert.assertTrue(strategy.match("192.168.1.1", () -> BlacklistConstants.FORBIDDEN_PUB));
+    Assert.assertFalse(strategy.match("192.168.1.2", () -> BlacklistConstants.FORBIDDEN_PUB));
+    Assert.assertFalse(strategy.match("11.1.2.3", () -> BlacklistConstants.FORBIDDEN_PUB));
+    Assert.assertFalse(
+        strategy.match("10.1.2.3", () -> BlacklistConstants.FORBIDDEN_SUB_BY_PREFIX));
   }
 
   private BlacklistConfig getIpConfig(String type, List<MatchType> matchTypes) {
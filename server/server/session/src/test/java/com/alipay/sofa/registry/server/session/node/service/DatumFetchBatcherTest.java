@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.node.service;
+
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.server.session.TestUtils;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DatumFetchBatcherTest {
+
+  @Test
+  public void testBatch() throws Exception {
+    List<Object[]> sent = Lists.newArrayList();
+    DatumFetchBatcher batcher =
+        new DatumFetchBatcher(
+            100,
+            dataInfoId -> dataInfoId.startsWith("a") ? 1 : 2,
+            (slotId, dataCenter, dataInfoIds) ->
+                sent.add(new Object[] {slotId, dataCenter, dataInfoIds}));
+    Assert.assertEquals(0, batcher.sendBatches(1, 10));
+
+    CompletableFuture<SubDatum> a1 = batcher.fetch("a1", "dc1", 0);
+    // coalesced
+    Assert.assertTrue(a1 == batcher.fetch("a1", "dc1", 0));
+    CompletableFuture<SubDatum> a2 = batcher.fetch("a2", "dc1", 0);
+    CompletableFuture<SubDatum> b1 = batcher.fetch("b1", "dc1", 0);
+    CompletableFuture<SubDatum> a1Dc2 = batcher.fetch("a1", "dc2", 0);
+    Assert.assertFalse(a1 == a1Dc2);
+    Assert.assertEquals(4, batcher.fetchingSize());
+
+    Assert.assertEquals(4, batcher.sendBatches(1, 10));
+    Assert.assertEquals(3, sent.size());
+    Assert.assertEquals(1, sent.get(0)[0]);
+    Assert.assertEquals("dc1", sent.get(0)[1]);
+    Assert.assertEquals(Lists.newArrayList("a1", "a2"), sent.get(0)[2]);
+    Assert.assertEquals(2, sent.get(1)[0]);
+    Assert.assertEquals(Lists.newArrayList("b1"), sent.get(1)[2]);
+    Assert.assertEquals("dc2", sent.get(2)[1]);
+
+    // the fetch before response still coalesced, not queued again
+    Assert.assertTrue(a1 == batcher.fetch("a1", "dc1", 0));
+    Assert.assertEquals(0, batcher.sendBatches(1, 10));
+
+    SubDatum datum = TestUtils.newSubDatum("a1", 100, Collections.emptyList());
+    Map<String, SubDatum> datums = Maps.newHashMap();
+    datums.put("a1", datum);
+    batcher.complete("dc1", Lists.newArrayList("a1", "a2"), datums);
+    Assert.assertTrue(datum == a1.get());
+    Assert.assertNull(a2.get());
+
+    RuntimeException exception = new RuntimeException("test");
+    batcher.completeExceptionally("dc1", Lists.newArrayList("b1"), exception);
+    Assert.assertTrue(b1.isCompletedExceptionally());
+    Assert.assertFalse(a1Dc2.isDone());
+    Assert.assertEquals(1, batcher.fetchingSize());
+
+    // new fetch after response
+    Assert.assertFalse(a1 == batcher.fetch("a1", "dc1", 0));
+  }
+
+  @Test
+  public void testMinVersion() throws Exception {
+    List<List<String>> sent = Lists.newArrayList();
+    DatumFetchBatcher batcher =
+        new DatumFetchBatcher(
+            100, dataInfoId -> 1, (slotId, dataCenter, dataInfoIds) -> sent.add(dataInfoIds));
+    CompletableFuture<SubDatum> f1 = batcher.fetch("a1", "dc1", 100);
+    // not bigger than the in-flight one, coalesced
+    Assert.assertTrue(f1 == batcher.fetch("a1", "dc1", 100));
+    Assert.assertTrue(f1 == batcher.fetch("a1", "dc1", 0));
+    CompletableFuture<SubDatum> f2 = batcher.fetch("a1", "dc1", 200);
+    CompletableFuture<SubDatum> f3 = batcher.fetch("a1", "dc1", 300);
+    Assert.assertFalse(f1 == f2);
+    Assert.assertEquals(1, batcher.sendBatches(1, 10));
+
+    // the in-flight datum satisfies f2, but f3 needs a new fetch
+    SubDatum datum = TestUtils.newSubDatum("a1", 200, Collections.emptyList());
+    batcher.complete("dc1", Lists.newArrayList("a1"), Collections.singletonMap("a1", datum));
+    Assert.assertTrue(datum == f1.get());
+    Assert.assertTrue(datum == f2.get());
+    Assert.assertFalse(f3.isDone());
+    Assert.assertEquals(1, batcher.fetchingSize());
+    Assert.assertEquals(1, batcher.sendBatches(1, 10));
+    Assert.assertEquals(2, sent.size());
+
+    SubDatum newer = TestUtils.newSubDatum("a1", 300, Collections.emptyList());
+    batcher.complete("dc1", Lists.newArrayList("a1"), Collections.singletonMap("a1", newer));
+    Assert.assertTrue(newer == f3.get());
+    Assert.assertEquals(0, batcher.fetchingSize());
+  }
+
+  @Test
+  public void testSendException() {
+    DatumFetchBatcher batcher =
+        new DatumFetchBatcher(
+            1,
+            dataInfoId -> 1,
+            (slotId, dataCenter, dataInfoIds) -> {
+              throw new IllegalStateException("test");
+            });
+    CompletableFuture<SubDatum> f1 = batcher.fetch("a1", "dc1", 0);
+    // queue overflow
+    CompletableFuture<SubDatum> f2 = batcher.fetch("a2", "dc1", 0);
+    Assert.assertTrue(f2.isCompletedExceptionally());
+
+    Assert.assertEquals(1, batcher.sendBatches(1, 10));
+    Assert.assertTrue(f1.isCompletedExceptionally());
+    Assert.assertEquals(0, batcher.fetchingSize());
+  }
+
+  @Test
+  public void testExpire() throws Exception {
+    DatumFetchBatcher batcher =
+        new DatumFetchBatcher(100, dataInfoId -> 1, (slotId, dataCenter, dataInfoIds) -> {});
+    CompletableFuture<SubDatum> f1 = batcher.fetch("a1", "dc1", 0);
+    Assert.assertEquals(1, batcher.sendBatches(1, 10));
+
+    // the fetching created after the deadline is kept
+    RuntimeException exception = new RuntimeException("test");
+    batcher.expire("a1", "dc1", System.currentTimeMillis() - 60000, exception);
+    Assert.assertFalse(f1.isDone());
+    Assert.assertTrue(f1 == batcher.fetch("a1", "dc1", 0));
+
+    // the response is lost, the timeout removes the fetching
+    batcher.expire("a1", "dc1", System.currentTimeMillis(), exception);
+    Assert.assertTrue(f1.isCompletedExceptionally());
+    Assert.assertEquals(0, batcher.fetchingSize());
+    CompletableFuture<SubDatum> f2 = batcher.fetch("a1", "dc1", 0);
+    Assert.assertFalse(f1 == f2);
+    Assert.assertEquals(1, batcher.sendBatches(1, 10));
+
+    // not expire the fetching of other dataInfoId
+    batcher.expire("a2", "dc1", System.currentTimeMillis(), exception);
+    Assert.assertFalse(f2.isDone());
+  }
+}
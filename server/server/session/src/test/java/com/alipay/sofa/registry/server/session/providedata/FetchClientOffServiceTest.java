@@ -144,4 +144,51 @@ public class FetchClientOffServiceTest {
 
     Mockito.verify(connectionsService, Mockito.times(1)).closeIpConnects(anyList());
   }
+
+  @Test
+  public void testReduceCidr() {
+    FetchClientOffAddressService service = new FetchClientOffAddressService();
+    ConnectionsService connections = mock(ConnectionsService.class);
+    service
+        .setSessionServerConfig(sessionServerConfig)
+        .setSessionRegistry(sessionRegistry)
+        .setConnectionsService(connections);
+
+    Set<String> offIps = CollectionSdks.toIpSet("10.0.0.1;10.0.0.2;3.3.3.3");
+    Map<String, AddressVersion> addressVersionMap = Maps.newHashMapWithExpectedSize(offIps.size());
+    for (String offIp : offIps) {
+      addressVersionMap.put(offIp, new AddressVersion(System.currentTimeMillis(), offIp, true));
+    }
+    Assert.assertTrue(
+        service.doProcess(
+            service.getStorage(),
+            new ClientOffAddressResp(1L, addressVersionMap, Collections.EMPTY_SET)));
+    service.getStorage().updating.set(null);
+
+    // the reduced cidr range is not client open
+    Assert.assertTrue(
+        service.doProcess(
+            service.getStorage(),
+            new ClientOffAddressResp(
+                2L, Collections.emptyMap(), Collections.singleton("10.0.0.0/24"))));
+    Assert.assertEquals(0, service.getClientOffAddress().size());
+    Assert.assertEquals(
+        Collections.singleton("3.3.3.3"), service.getStorage().updating.get().clientOpens);
+
+    // the channel of the reduced ip is unmarked, not reopen
+    BoltChannel boltChannel = (BoltChannel) channel;
+    boltChannel.setConnAttribute(CLIENT_OFF, Boolean.TRUE);
+    when(connections.getAllChannel()).thenReturn(Collections.singletonList(channel));
+    when(connections.getIpFromConnectId(anyString())).thenReturn("10.0.0.1");
+    service.processClientOpen();
+    Mockito.verify(connections, Mockito.times(1))
+        .markChannelAndGetIpConnects(Collections.singleton("10.0.0.1"), CLIENT_OFF, null);
+    Mockito.verify(connections, Mockito.times(0)).closeIpConnects(anyList());
+
+    // the ip out of the reduced range is reopen
+    when(connections.getIpFromConnectId(anyString())).thenReturn("10.0.1.1");
+    service.processClientOpen();
+    Mockito.verify(connections, Mockito.times(1)).closeIpConnects(anyList());
+    boltChannel.setConnAttribute(CLIENT_OFF, null);
+  }
 }
@@ -26,6 +26,8 @@ import com.alipay.sofa.registry.common.model.store.Watcher;
 import com.alipay.sofa.registry.server.session.TestUtils;
 import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
 import com.alipay.sofa.registry.server.session.cache.CacheService;
+import com.alipay.sofa.registry.server.session.cache.DatumKey;
+import com.alipay.sofa.registry.server.session.cache.Key;
 import com.alipay.sofa.registry.server.session.cache.Value;
 import com.alipay.sofa.registry.server.session.circuit.breaker.CircuitBreakerService;
 import com.alipay.sofa.registry.server.session.providedata.FetchGrayPushSwitchService;
@@ -188,4 +190,18 @@ public class FirePushServiceTest {
     subscriber.checkAndUpdateCtx("testDc", 100, 10);
     Assert.assertTrue(svc.doExecuteOnReg("testDc", Lists.newArrayList(subscriber)));
   }
+
+  @Test
+  public void testPrefetch() {
+    FirePushService svc = mockFirePushService();
+    svc.prefetchDatums("testDc", Collections.singletonList("a"));
+    Mockito.verify(svc.sessionCacheService, Mockito.times(0)).getValues(Mockito.anyObject());
+    when(svc.sessionCacheService.getValues(Mockito.anyObject())).thenThrow(new RuntimeException());
+    svc.prefetchDatums("testDc", Lists.newArrayList("a", "b"));
+    Mockito.verify(svc.sessionCacheService, Mockito.times(1))
+        .getValues(
+            Lists.newArrayList(
+                new Key(DatumKey.class.getName(), new DatumKey("a", "testDc")),
+                new Key(DatumKey.class.getName(), new DatumKey("b", "testDc"))));
+  }
 }
@@ -18,6 +18,8 @@ package com.alipay.sofa.registry.server.session.push;
 
 import static org.mockito.Mockito.*;
 
+import com.alipay.sofa.registry.common.model.PublishSource;
+import com.alipay.sofa.registry.common.model.ServerDataBox;
 import com.alipay.sofa.registry.common.model.client.pb.ReceivedConfigDataPb;
 import com.alipay.sofa.registry.common.model.client.pb.ReceivedDataPb;
 import com.alipay.sofa.registry.common.model.metaserver.CompressPushSwitch;
@@ -27,13 +29,16 @@ import com.alipay.sofa.registry.core.model.DataBox;
 import com.alipay.sofa.registry.core.model.ReceivedConfigData;
 import com.alipay.sofa.registry.core.model.ReceivedData;
 import com.alipay.sofa.registry.core.model.ScopeEnum;
+import com.alipay.sofa.registry.remoting.bolt.serializer.SerializedRequest;
 import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
 import com.alipay.sofa.registry.server.session.converter.ReceivedDataConverter;
 import com.alipay.sofa.registry.server.session.providedata.CompressPushService;
 import com.alipay.sofa.registry.server.shared.util.DatumUtils;
 import com.alipay.sofa.registry.util.DatumVersionUtil;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.assertj.core.util.Sets;
@@ -45,8 +50,7 @@ public class PushDataGeneratorTest {
 
   @Test
   public void testException() {
-    PushDataGenerator generator = new PushDataGenerator();
-    generator.sessionServerConfig = TestUtils.newSessionConfig("testDc", zone);
+    PushDataGenerator generator = newGenerator(TestUtils.newSessionConfig("testDc", zone));
     Map<String, Subscriber> subscriberMap = Maps.newHashMap();
     Subscriber sub1 = TestUtils.newZoneSubscriber(zone);
     Subscriber sub2 = TestUtils.newZoneSubscriber(zone);
@@ -70,8 +74,7 @@ public class PushDataGeneratorTest {
 
   @Test
   public void test() {
-    PushDataGenerator generator = new PushDataGenerator();
-    generator.sessionServerConfig = TestUtils.newSessionConfig("testDc", zone);
+    PushDataGenerator generator = newGenerator(TestUtils.newSessionConfig("testDc", zone));
     Map<String, Subscriber> subscriberMap = Maps.newHashMap();
     Subscriber sub1 = TestUtils.newZoneSubscriber(zone);
     Subscriber sub2 = TestUtils.newZoneSubscriber(zone);
@@ -90,10 +93,241 @@ public class PushDataGeneratorTest {
     Assert.assertEquals(2, receivedData.getData().values().stream().mapToInt(List::size).sum());
   }
 
+  @Test
+  public void testPayloadCache() throws Exception {
+    SessionServerConfigBean configBean = TestUtils.newSessionConfig("testDc", zone);
+    PushDataGenerator generator = newGenerator(configBean);
+    generator.compressPushService = new CompressPushService();
+    PushPayloadCache cache = generator.pushPayloadCache;
+    Subscriber sub1 = TestUtils.newZoneSubscriber(zone);
+    Subscriber sub2 = TestUtils.newZoneSubscriber(zone);
+    List<SubPublisher> list =
+        Lists.newArrayList(
+            TestUtils.newSubPublisher(10, 20, "TESTZONE"),
+            TestUtils.newSubPublisher(10, 20, "TESTZONE"));
+    SubDatum subDatum = TestUtils.newSubDatum("testPayloadCache", 300, list);
+
+    long hit = cache.getHitCount();
+    PushData<ReceivedData> pushData1 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub1.getRegisterId(), sub1));
+    PushData<ReceivedData> pushData2 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub2.getRegisterId(), sub2));
+    Assert.assertEquals(hit + 1, cache.getHitCount());
+    Assert.assertEquals(
+        Lists.newArrayList(sub1.getRegisterId()), pushData1.getPayload().getSubscriberRegistIds());
+    Assert.assertEquals(
+        Lists.newArrayList(sub2.getRegisterId()), pushData2.getPayload().getSubscriberRegistIds());
+    Assert.assertTrue(pushData1.getPayload().getData() == pushData2.getPayload().getData());
+    Assert.assertEquals(pushData1.getDataCount(), pushData2.getDataCount());
+    Assert.assertEquals(pushData1.getPayload().getVersion().longValue(), subDatum.getVersion());
+
+    // pb subscriber of the same datum, the payload is the encoded bytes
+    Subscriber sub3 = TestUtils.newZonePbSubscriber(zone);
+    Subscriber sub4 = TestUtils.newZonePbSubscriber(zone);
+    PushData<SerializedRequest> pbData3 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub3.getRegisterId(), sub3));
+    PushData<SerializedRequest> pbData4 =
+        generator.createPushData(subDatum, Collections.singletonMap(sub4.getRegisterId(), sub4));
+    Assert.assertEquals(ReceivedDataPb.class.getName(), pbData3.getPayload().getClassName());
+    ReceivedDataPb pb3 = decodePb(pbData3);
+    ReceivedDataPb pb4 = decodePb(pbData4);
+    Assert.assertEquals(Lists.newArrayList(sub3.getRegisterId()), pb3.getSubscriberRegistIdsList());
+    Assert.assertEquals(Lists.newArrayList(sub4.getRegisterId()), pb4.getSubscriberRegistIdsList());
+    Assert.assertEquals(pb3.getDataMap(), pb4.getDataMap());
+    Assert.assertEquals(pushData1.getDataCount(), pbData3.getDataCount());
+    Assert.assertEquals(subDatum.getVersion(), pb3.getVersion());
+
+    // new version, cache miss
+    long miss = cache.getMissingCount();
+    SubDatum newer = TestUtils.newSubDatum("testPayloadCache", 301, list);
+    generator.createPushData(newer, Collections.singletonMap(sub1.getRegisterId(), sub1));
+    Assert.assertEquals(miss + 1, cache.getMissingCount());
+
+    // the zone config changes, cache miss
+    miss = cache.getMissingCount();
+    configBean.setInvalidForeverZones("TESTZONE");
+    generator.createPushData(newer, Collections.singletonMap(sub1.getRegisterId(), sub1));
+    Assert.assertEquals(miss + 1, cache.getMissingCount());
+  }
+
+  @Test
+  public void testTempNotCached() throws Exception {
+    SessionServerConfigBean configBean = TestUtils.newSessionConfig("testDc", zone);
+    PushDataGenerator generator = newGenerator(configBean);
+    generator.compressPushService = new CompressPushService();
+    PushPayloadCache cache = generator.pushPayloadCache;
+    Subscriber sub1 = TestUtils.newZoneSubscriber(zone);
+    Subscriber sub2 = TestUtils.newZoneSubscriber(zone);
+    // same version, pubNum and dataBox bytes, but different publishers
+    SubDatum temp1 =
+        TestUtils.newSubDatum("testTempPush", 300, Lists.newArrayList(newSubPublisher("a")));
+    SubDatum temp2 =
+        TestUtils.newSubDatum("testTempPush", 300, Lists.newArrayList(newSubPublisher("b")));
+    Assert.assertEquals(temp1.getDataBoxBytes(), temp2.getDataBoxBytes());
+
+    long hit = cache.getHitCount();
+    long miss = cache.getMissingCount();
+    PushData<ReceivedData> pushData1 =
+        generator.createPushData(
+            temp1, Collections.singletonMap(sub1.getRegisterId(), sub1), PushType.Temp, true);
+    PushData<ReceivedData> pushData2 =
+        generator.createPushData(
+            temp2, Collections.singletonMap(sub2.getRegisterId(), sub2), PushType.Temp, true);
+    Assert.assertEquals("a", pushData1.getPayload().getData().get("TESTZONE").get(0).getData());
+    Assert.assertEquals("b", pushData2.getPayload().getData().get("TESTZONE").get(0).getData());
+
+    Subscriber sub3 = TestUtils.newZonePbSubscriber(zone);
+    Subscriber sub4 = TestUtils.newZonePbSubscriber(zone);
+    PushData<SerializedRequest> pbData3 =
+        generator.createPushData(
+            temp1, Collections.singletonMap(sub3.getRegisterId(), sub3), PushType.Temp, true);
+    PushData<SerializedRequest> pbData4 =
+        generator.createPushData(
+            temp2, Collections.singletonMap(sub4.getRegisterId(), sub4), PushType.Temp, true);
+    Assert.assertNotEquals(decodePb(pbData3).getDataMap(), decodePb(pbData4).getDataMap());
+    Assert.assertEquals(hit, cache.getHitCount());
+    Assert.assertEquals(miss, cache.getMissingCount());
+  }
+
+  @Test
+  public void testDelta() {
+    SessionServerConfigBean configBean = TestUtils.newSessionConfig("testDc", zone);
+    configBean.setPushDeltaEnable(true);
+    PushDataGenerator generator = newGenerator(configBean);
+    Subscriber sub1 = TestUtils.newZoneSubscriber(zone);
+    Subscriber sub2 = TestUtils.newZoneSubscriber(zone);
+    sub1.setAcceptDelta(true);
+    sub2.setAcceptDelta(true);
+    Map<String, Subscriber> subscriberMap = Maps.newHashMap();
+    subscriberMap.put(sub1.getRegisterId(), sub1);
+    subscriberMap.put(sub2.getRegisterId(), sub2);
+
+    SubPublisher a = newSubPublisher("a");
+    SubPublisher b = newSubPublisher("b");
+    SubPublisher c = newSubPublisher("c");
+    SubPublisher d = newSubPublisher("d");
+    SubDatum datum1 = TestUtils.newSubDatum("testDelta", 100, Lists.newArrayList(a, b, c));
+    // not pushed before, full push
+    PushData<ReceivedData> pushData =
+        generator.createPushData(datum1, subscriberMap, PushType.Sub, false);
+    Assert.assertNull(pushData.getPayload().getBaseVersion());
+    Assert.assertFalse(PushProcessor.isDeltaPush(pushData));
+    sub1.checkAndUpdateCtx(datum1.getDataCenter(), datum1.getVersion(), pushData.getDataCount());
+    sub2.checkAndUpdateCtx(datum1.getDataCenter(), datum1.getVersion(), pushData.getDataCount());
+
+    SubDatum datum2 = TestUtils.newSubDatum("testDelta", 200, Lists.newArrayList(a, b, d));
+    pushData = generator.createPushData(datum2, subscriberMap, PushType.Sub, false);
+    ReceivedData delta = pushData.getPayload();
+    Assert.assertTrue(PushProcessor.isDeltaPush(pushData));
+    Assert.assertEquals(100, delta.getBaseVersion().longValue());
+    Assert.assertEquals(200, delta.getVersion().longValue());
+    Assert.assertEquals(3, pushData.getDataCount());
+    Assert.assertEquals(Sets.newHashSet(delta.getSubscriberRegistIds()), subscriberMap.keySet());
+    Assert.assertEquals(1, delta.getData().values().stream().mapToInt(List::size).sum());
+    Assert.assertEquals(1, delta.getRemovedData().values().stream().mapToInt(List::size).sum());
+
+    // the client rejected the delta
+    pushData = generator.createPushData(datum2, subscriberMap, PushType.Sub, true);
+    Assert.assertNull(pushData.getPayload().getBaseVersion());
+    Assert.assertEquals(
+        3, pushData.getPayload().getData().values().stream().mapToInt(List::size).sum());
+
+    // not accept delta
+    sub2.setAcceptDelta(false);
+    pushData = generator.createPushData(datum2, subscriberMap, PushType.Sub, false);
+    Assert.assertNull(pushData.getPayload().getBaseVersion());
+    sub2.setAcceptDelta(true);
+
+    // different pushed version
+    sub2.checkAndUpdateCtx(datum1.getDataCenter(), 150, 3);
+    pushData = generator.createPushData(datum2, subscriberMap, PushType.Sub, false);
+    Assert.assertNull(pushData.getPayload().getBaseVersion());
+
+    // temp push has the same version but different content
+    SubDatum temp = TestUtils.newSubDatum("testDelta", 200, Lists.newArrayList(a, b));
+    pushData =
+        generator.createPushData(
+            temp, Collections.singletonMap(sub1.getRegisterId(), sub1), PushType.Temp, false);
+    Assert.assertNull(pushData.getPayload().getBaseVersion());
+    pushData =
+        generator.createPushData(
+            datum2, Collections.singletonMap(sub1.getRegisterId(), sub1), PushType.Sub, false);
+    Assert.assertNull(pushData.getPayload().getBaseVersion());
+  }
+
+  @Test
+  public void testDeltaPb() throws Exception {
+    SessionServerConfigBean configBean = TestUtils.newSessionConfig("testDc", zone);
+    configBean.setPushDeltaEnable(true);
+    PushDataGenerator generator = newGenerator(configBean);
+    generator.compressPushService = new CompressPushService();
+    Subscriber sub = TestUtils.newZonePbSubscriber(zone);
+    sub.setAcceptDelta(true);
+    Map<String, Subscriber> subscriberMap = Collections.singletonMap(sub.getRegisterId(), sub);
+
+    SubPublisher a = newSubPublisher("a");
+    SubPublisher b = newSubPublisher("b");
+    SubPublisher c = newSubPublisher("c");
+    SubPublisher d = newSubPublisher("d");
+    SubDatum datum1 = TestUtils.newSubDatum("testDeltaPb", 100, Lists.newArrayList(a, b, c));
+    PushData<SerializedRequest> full =
+        generator.createPushData(datum1, subscriberMap, PushType.Sub, false);
+    Assert.assertFalse(PushProcessor.isDeltaPush(full));
+    Assert.assertEquals(0, decodePb(full).getBaseVersion());
+    sub.checkAndUpdateCtx(datum1.getDataCenter(), datum1.getVersion(), full.getDataCount());
+
+    SubDatum datum2 = TestUtils.newSubDatum("testDeltaPb", 200, Lists.newArrayList(a, b, d));
+    PushData<ReceivedDataPb> delta =
+        generator.createPushData(datum2, subscriberMap, PushType.Sub, false);
+    Assert.assertTrue(PushProcessor.isDeltaPush(delta));
+    ReceivedDataPb pb = delta.getPayload();
+    Assert.assertEquals(100, pb.getBaseVersion());
+    Assert.assertEquals(200, pb.getVersion());
+    Assert.assertEquals(3, delta.getDataCount());
+    Assert.assertEquals(Lists.newArrayList(sub.getRegisterId()), pb.getSubscriberRegistIdsList());
+    Assert.assertEquals(1, pb.getDataMap().values().stream().mapToInt(v -> v.getDataCount()).sum());
+    Assert.assertEquals(
+        1, pb.getRemovedDataMap().values().stream().mapToInt(v -> v.getDataCount()).sum());
+
+    // the client rejected the delta
+    full = generator.createPushData(datum2, subscriberMap, PushType.Sub, true);
+    Assert.assertFalse(PushProcessor.isDeltaPush(full));
+  }
+
+  @Test
+  public void testDiffDataBoxes() {
+    Map<String, List<DataBox>> base = Maps.newHashMap();
+    base.put("z1", Lists.newArrayList(new DataBox("a"), new DataBox("a"), new DataBox("b")));
+    base.put("z2", Lists.newArrayList(new DataBox("c")));
+    Map<String, List<DataBox>> current = Maps.newHashMap();
+    current.put("z1", Lists.newArrayList(new DataBox("a"), new DataBox("b"), new DataBox("d")));
+    current.put("z3", Lists.newArrayList(new DataBox("e")));
+    Map<String, List<DataBox>> added = Maps.newHashMap();
+    Map<String, List<DataBox>> removed = Maps.newHashMap();
+    Assert.assertEquals(4, PushDataGenerator.diffDataBoxes(base, current, added, removed));
+    Assert.assertEquals("d", added.get("z1").get(0).getData());
+    Assert.assertEquals("e", added.get("z3").get(0).getData());
+    Assert.assertEquals(1, added.get("z1").size());
+    Assert.assertEquals("a", removed.get("z1").get(0).getData());
+    Assert.assertEquals(1, removed.get("z1").size());
+    Assert.assertEquals("c", removed.get("z2").get(0).getData());
+  }
+
+  private static SubPublisher newSubPublisher(String data) {
+    return new SubPublisher(
+        "testRegisterId-" + data + "-" + System.nanoTime(),
+        "TESTZONE",
+        Lists.newArrayList(new ServerDataBox(data)),
+        "testClient",
+        10,
+        "192.168.0.1:8888",
+        20,
+        PublishSource.CLIENT);
+  }
+
   @Test
   public void testWatch() {
-    PushDataGenerator generator = new PushDataGenerator();
-    generator.sessionServerConfig = TestUtils.newSessionConfig("testDc", zone);
+    PushDataGenerator generator = newGenerator(TestUtils.newSessionConfig("testDc", zone));
     Watcher w = TestUtils.newWatcher("test-watch");
     long start = DatumVersionUtil.nextId();
     ReceivedConfigData data =
@@ -129,9 +363,8 @@ public class PushDataGeneratorTest {
   }
 
   @Test
-  public void testCompress() {
-    PushDataGenerator generator = new PushDataGenerator();
-    generator.sessionServerConfig = TestUtils.newSessionConfig("testDc", zone);
+  public void testCompress() throws Exception {
+    PushDataGenerator generator = newGenerator(TestUtils.newSessionConfig("testDc", zone));
     Map<String, Subscriber> subscriberMap = Maps.newHashMap();
     generator.compressPushService = spy(new CompressPushService());
     CompressPushSwitch compressPushSwitch = new CompressPushSwitch();
@@ -149,9 +382,22 @@ public class PushDataGeneratorTest {
       list.add(pub);
     }
     SubDatum subDatum = TestUtils.newSubDatum("testDataId", 200, list);
-    PushData<ReceivedDataPb> pushData = generator.createPushData(subDatum, subscriberMap);
-    Assert.assertEquals(0, pushData.getPayload().getDataMap().size());
-    Assert.assertNotEquals(0, pushData.getPayload().getBody().size());
-    Assert.assertNotEquals(0, pushData.getPayload().getOriginBodySize());
+    PushData<SerializedRequest> pushData = generator.createPushData(subDatum, subscriberMap);
+    ReceivedDataPb pb = decodePb(pushData);
+    Assert.assertEquals(0, pb.getDataMap().size());
+    Assert.assertNotEquals(0, pb.getBody().size());
+    Assert.assertNotEquals(0, pb.getOriginBodySize());
+    Assert.assertEquals(subscriberMap.keySet(), Sets.newHashSet(pb.getSubscriberRegistIdsList()));
+  }
+
+  static PushDataGenerator newGenerator(SessionServerConfigBean config) {
+    PushDataGenerator generator = new PushDataGenerator();
+    generator.sessionServerConfig = config;
+    generator.pushPayloadCache = new PushPayloadCache(config);
+    return generator;
+  }
+
+  private static ReceivedDataPb decodePb(PushData<SerializedRequest> pushData) throws Exception {
+    return ReceivedDataPb.parseFrom(pushData.getPayload().getContent());
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.common.model.store.SubPublisher;
+import com.alipay.sofa.registry.server.session.TestUtils;
+import com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PushDatumHistoryTest {
+
+  @Test
+  public void testContains() {
+    PushDatumHistory history = new PushDatumHistory(60000, 100);
+    SubPublisher p1 = TestUtils.newSubPublisher(1, 100);
+    SubPublisher p2 = TestUtils.newSubPublisher(1, 100);
+    SubDatum datum = TestUtils.newSubDatum("testDataId", 100, Lists.newArrayList(p1, p2));
+    Assert.assertFalse(history.contains(datum));
+    history.record(datum, true, 10);
+    Assert.assertTrue(history.contains(datum));
+    Assert.assertTrue(
+        history.contains(TestUtils.newSubDatum("testDataId", 100, Lists.newArrayList(p2, p1))));
+
+    // same pubNum and dataBox bytes, but different publishers
+    SubPublisher p3 = TestUtils.newSubPublisher(1, 100);
+    SubDatum other = TestUtils.newSubDatum("testDataId", 100, Lists.newArrayList(p1, p3));
+    Assert.assertEquals(datum.getDataBoxBytes(), other.getDataBoxBytes());
+    Assert.assertFalse(history.contains(other));
+    other =
+        TestUtils.newSubDatum(
+            "testDataId",
+            100,
+            Lists.newArrayList(
+                p1,
+                new SubPublisher(
+                    p2.getRegisterId(),
+                    p2.getCell(),
+                    p2.getDataList(),
+                    p2.getClientId(),
+                    p2.getVersion() + 1,
+                    p2.getSrcAddressString(),
+                    p2.getRegisterTimestamp(),
+                    p2.getPublishSource())));
+    Assert.assertFalse(history.contains(other));
+
+    // the conflict content invalidates the version
+    history.record(other, true, 10);
+    Assert.assertNull(history.get(datum.getDataCenter(), datum.getDataInfoId(), 100));
+    Assert.assertFalse(history.contains(datum));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.push;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import com.alipay.sofa.registry.common.model.store.SubDatum;
+import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.net.NetUtil;
+import com.alipay.sofa.registry.remoting.CallbackHandler;
+import com.alipay.sofa.registry.server.session.AbstractSessionServerTestBase.InMemoryCircuitBreakerService;
+import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.SessionServerConfigBean;
+import com.alipay.sofa.registry.server.session.node.service.ClientNodeService;
+import com.alipay.sofa.registry.server.session.providedata.FetchGrayPushSwitchService;
+import com.alipay.sofa.registry.server.session.providedata.FetchStopPushService;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class PushOutboundTest {
+  private final String dataId = "testDataId";
+  private final String zone = "testZone";
+
+  @Test
+  public void testQueue() throws Exception {
+    PushProcessor processor = newProcessor();
+    PushOutbound outbound = processor.outbound;
+    Assert.assertTrue(outbound.isEnabled());
+    AtomicBoolean writable = new AtomicBoolean(true);
+    Mockito.when(processor.clientNodeService.isWritable(Mockito.anyObject()))
+        .thenAnswer(invocation -> writable.get());
+
+    Subscriber subscriber1 = TestUtils.newZoneSubscriber(dataId, zone);
+    // the pushingTaskKey is per dataInfoId
+    Subscriber subscriber2 = TestUtils.newZoneSubscriber(dataId + "-2", zone);
+    Subscriber subscriber3 = TestUtils.newZoneSubscriber(dataId + "-3", zone);
+    PushTask task1 = newTask(processor, subscriber1, 100);
+    CallbackHandler callback = mock(CallbackHandler.class);
+    outbound.push(task1, subscriber1.getSourceAddress(), "task1", callback);
+    CallbackHandler inflight = verifySends(processor, 1);
+
+    // max inflight is 1, queued
+    PushTask task2 = newTask(processor, subscriber1, 200);
+    outbound.push(task2, subscriber1.getSourceAddress(), "task2", callback);
+    Assert.assertTrue(outbound.isPending(task2.pushingTaskKey));
+    Assert.assertEquals(1, outbound.pendingSize());
+
+    // supersede the queued one
+    PushTask task3 = newTask(processor, subscriber1, 300);
+    outbound.push(task3, subscriber1.getSourceAddress(), "task3", callback);
+    Assert.assertEquals(1, outbound.pendingSize());
+
+    outbound.push(
+        newTask(processor, subscriber2, 100), subscriber2.getSourceAddress(), "task4", callback);
+    Assert.assertEquals(2, outbound.pendingSize());
+    // max pending is 2, overflow
+    outbound.push(
+        newTask(processor, subscriber3, 100), subscriber3.getSourceAddress(), "task5", callback);
+    Assert.assertEquals(2, outbound.pendingSize());
+    verifySends(processor, 1);
+
+    // callback, send the next
+    inflight.onCallback(null, null);
+    Mockito.verify(callback, Mockito.times(1)).onCallback(null, null);
+    inflight = verifySends(processor, 2);
+    Assert.assertFalse(outbound.isPending(task3.pushingTaskKey));
+    Assert.assertEquals(1, outbound.pendingSize());
+
+    // unwritable, wait
+    writable.set(false);
+    inflight.onException(null, new RuntimeException());
+    verifySends(processor, 2);
+    Assert.assertEquals(1, outbound.pendingSize());
+
+    writable.set(true);
+    for (int i = 0; i < 100 && outbound.pendingSize() != 0; i++) {
+      Thread.sleep(20);
+    }
+    Assert.assertEquals(0, outbound.pendingSize());
+    inflight = verifySends(processor, 3);
+    inflight.onCallback(null, null);
+    Assert.assertTrue(outbound.queues.isEmpty());
+    outbound.logStats();
+  }
+
+  @Test
+  public void testSendException() {
+    PushProcessor processor = newProcessor();
+    PushOutbound outbound = processor.outbound;
+    Mockito.when(processor.clientNodeService.isWritable(Mockito.anyObject())).thenReturn(true);
+    Mockito.doThrow(new RuntimeException("expected"))
+        .when(processor.clientNodeService)
+        .pushWithCallback(Mockito.anyObject(), Mockito.anyObject(), Mockito.anyObject());
+    Subscriber subscriber = TestUtils.newZoneSubscriber(dataId, zone);
+    PushTask task = newTask(processor, subscriber, 100);
+    outbound.push(task, subscriber.getSourceAddress(), "task", mock(CallbackHandler.class));
+    Assert.assertEquals(0, outbound.pendingSize());
+    Assert.assertTrue(outbound.queues.isEmpty());
+  }
+
+  private CallbackHandler verifySends(PushProcessor processor, int times) {
+    ArgumentCaptor<CallbackHandler> captor = ArgumentCaptor.forClass(CallbackHandler.class);
+    Mockito.verify(processor.clientNodeService, Mockito.times(times))
+        .pushWithCallback(Mockito.anyObject(), Mockito.anyObject(), captor.capture());
+    return captor.getValue();
+  }
+
+  private PushTask newTask(PushProcessor processor, Subscriber subscriber, long version) {
+    final long now = System.currentTimeMillis();
+    TriggerPushContext ctx = new TriggerPushContext("testDc", version, null, now);
+    SubDatum datum =
+        TestUtils.newSubDatum(subscriber.getDataId(), version, Collections.emptyList());
+    return processor
+        .createPushTask(
+            new PushCause(ctx, PushType.Sub, now),
+            NetUtil.getLocalSocketAddress(),
+            Collections.singletonMap(subscriber.getRegisterId(), subscriber),
+            datum)
+        .get(0);
+  }
+
+  private PushProcessor newProcessor() {
+    PushProcessor processor = new PushProcessor();
+    SessionServerConfigBean config = TestUtils.newSessionConfig("testDc");
+    config.setPushTaskBufferBucketSize(1);
+    config.setPushOutboundEnable(true);
+    config.setPushOutboundMaxInflight(1);
+    config.setPushOutboundMaxPending(2);
+    config.setPushOutboundWritableCheckMillis(10);
+    processor.sessionServerConfig = config;
+    processor.clientNodeService = mock(ClientNodeService.class);
+    processor.pushSwitchService = new PushSwitchService();
+    processor.pushSwitchService.setFetchStopPushService(new FetchStopPushService());
+    processor.pushSwitchService.setFetchGrayPushSwitchService(new FetchGrayPushSwitchService());
+    processor.pushSwitchService.fetchStopPushService.setStopPushSwitch(
+        System.currentTimeMillis(), false);
+    processor.circuitBreakerService = spy(InMemoryCircuitBreakerService.class);
+    processor.sessionInterests = mock(Interests.class);
+    processor.intTaskBuffer();
+    processor.taskBuffer.suspend();
+    return processor;
+  }
+}
@@ -22,9 +22,11 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
 import com.alipay.remoting.rpc.exception.InvokeTimeoutException;
+import com.alipay.sofa.registry.common.model.client.pb.ResultPb;
 import com.alipay.sofa.registry.common.model.store.BaseInfo;
 import com.alipay.sofa.registry.common.model.store.SubDatum;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
+import com.alipay.sofa.registry.core.model.Result;
 import com.alipay.sofa.registry.net.NetUtil;
 import com.alipay.sofa.registry.remoting.ChannelOverflowException;
 import com.alipay.sofa.registry.remoting.exchange.RequestChannelClosedException;
@@ -35,11 +37,15 @@ import com.alipay.sofa.registry.server.session.circuit.breaker.CircuitBreakerSer
 import com.alipay.sofa.registry.server.session.node.service.ClientNodeService;
 import com.alipay.sofa.registry.server.session.providedata.FetchGrayPushSwitchService;
 import com.alipay.sofa.registry.server.session.providedata.FetchStopPushService;
+import com.alipay.sofa.registry.server.session.store.Interests;
+import com.alipay.sofa.registry.task.HashedTimingWheel;
 import com.alipay.sofa.registry.task.RejectedDiscardHandler;
 import com.alipay.sofa.registry.util.BackOffTimes;
 import java.util.Collections;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Assert;
 import org.junit.Test;
@@ -124,6 +130,10 @@ public class PushProcessorTest {
     worker.bufferMap.clear();
     // first suspend, avoid run watchdog
     processor.taskBuffer.suspend();
+    // drive the debouncing timer by the test
+    final AtomicLong clock = new AtomicLong(System.nanoTime());
+    processor.taskBuffer.debouncingTimer =
+        HashedTimingWheel.manual("TestDebouncingTimer", 10, TimeUnit.MILLISECONDS, 64, clock::get);
     // pushExecutor init
     processor.init();
     // push again
@@ -148,8 +158,12 @@ public class PushProcessorTest {
 
     task = worker.bufferMap.values().iterator().next();
     Assert.assertEquals(task.trace.pushCause.pushType, PushType.Sub);
-    // make task expire
+    // make the task expire
     task.expireTimestamp = System.currentTimeMillis();
+    clock.addAndGet(
+        TimeUnit.MILLISECONDS.toNanos(
+            processor.sessionServerConfig.getPushDataTaskDebouncingMillis() + 20));
+    processor.taskBuffer.debouncingTimer.advance();
 
     Assert.assertEquals(processor.taskBuffer.watchBuffer(worker), 1);
     Assert.assertEquals(processor.taskBuffer.watchBuffer(worker), 0);
@@ -382,6 +396,39 @@ public class PushProcessorTest {
     Assert.assertEquals(100, subscriber.getPushedVersion(datum.getDataCenter()));
   }
 
+  @Test
+  public void testDeltaRejected() throws Exception {
+    PushProcessor processor = newProcessor();
+    final PushTaskBuffer.BufferWorker worker = processor.taskBuffer.workers[0];
+    TriggerPushContext ctx =
+        new TriggerPushContext("testDc", 100, null, System.currentTimeMillis());
+    PushCause pushCause = new PushCause(ctx, PushType.Sub, System.currentTimeMillis());
+    Subscriber subscriber = TestUtils.newZoneSubscriber(dataId, zone);
+    SubDatum datum = TestUtils.newSubDatum(subscriber.getDataId(), 100, Collections.emptyList());
+
+    processor.firePush(
+        pushCause,
+        NetUtil.getLocalSocketAddress(),
+        Collections.singletonMap(subscriber.getRegisterId(), subscriber),
+        datum);
+    PushTask task = worker.bufferMap.values().iterator().next();
+    worker.bufferMap.clear();
+    task.setDeltaPush(true);
+    PushProcessor.PushClientCallback callback = processor.new PushClientCallback(task);
+    Result result = new Result();
+    result.setSuccess(false);
+    callback.onCallback(null, result);
+    // the full push is committed immediately, not buffered as a retry
+    Assert.assertTrue(task.fullPush);
+    Assert.assertEquals(0, task.retryCount);
+    Assert.assertEquals(0, worker.bufferMap.size());
+    Assert.assertEquals(0, subscriber.getPushedVersion(datum.getDataCenter()));
+
+    Assert.assertTrue(PushProcessor.isPushFailed(result));
+    Assert.assertTrue(PushProcessor.isPushFailed(ResultPb.newBuilder().setSuccess(false).build()));
+    Assert.assertFalse(PushProcessor.isPushFailed(ResultPb.newBuilder().setSuccess(true).build()));
+  }
+
   private PushProcessor newProcessor() {
     PushProcessor processor = new PushProcessor();
     SessionServerConfigBean config = TestUtils.newSessionConfig("testDc");
@@ -395,8 +442,10 @@ public class PushProcessorTest {
         System.currentTimeMillis(), false);
     CircuitBreakerService circuitBreakerService = spy(InMemoryCircuitBreakerService.class);
     processor.circuitBreakerService = circuitBreakerService;
+    processor.sessionInterests = mock(Interests.class);
     processor.pushDataGenerator = new PushDataGenerator();
     processor.pushDataGenerator.sessionServerConfig = config;
+    processor.pushDataGenerator.pushPayloadCache = new PushPayloadCache(config);
     processor.intTaskBuffer();
     processor.taskBuffer.suspend();
     Assert.assertEquals(1, processor.taskBuffer.workers.length);
@@ -441,7 +490,6 @@ public class PushProcessorTest {
     PushProcessor processor = newProcessor();
     final PushTaskBuffer.BufferWorker worker = processor.taskBuffer.workers[0];
 
-    Assert.assertEquals(0, processor.cleanPushingTaskRunTooLong());
     TriggerPushContext ctx =
         new TriggerPushContext("testDc", 100, null, System.currentTimeMillis());
     PushCause pushCause = new PushCause(ctx, PushType.Reg, System.currentTimeMillis());
@@ -455,11 +503,43 @@ public class PushProcessorTest {
         datum);
     PushTask task = worker.bufferMap.values().iterator().next();
     processor.doPush(task);
-    // no run too long
-    Assert.assertEquals(0, processor.cleanPushingTaskRunTooLong());
+    Assert.assertEquals(processor.pushingRecords.size(), 1);
+    PushTask.PushingTaskKey key = processor.pushingRecords.keySet().iterator().next();
+    PushProcessor.PushRecord record = processor.pushingRecords.get(key);
+    // no run too long, wait for the remains
+    processor.onPushingTimeout(key, record);
+    Assert.assertEquals(processor.pushingRecords.size(), 1);
     // make expire
     ((SessionServerConfigBean) processor.sessionServerConfig).setClientNodeExchangeTimeoutMillis(0);
-    Assert.assertEquals(1, processor.cleanPushingTaskRunTooLong());
+    processor.onPushingTimeout(key, record);
+    Assert.assertEquals(processor.pushingRecords.size(), 0);
+  }
+
+  @Test
+  public void testPushingTimeout() throws Exception {
+    PushProcessor processor = newProcessor();
+    final PushTaskBuffer.BufferWorker worker = processor.taskBuffer.workers[0];
+    ((SessionServerConfigBean) processor.sessionServerConfig)
+        .setClientNodeExchangeTimeoutMillis(10);
+    TriggerPushContext ctx =
+        new TriggerPushContext("testDc", 100, null, System.currentTimeMillis());
+    PushCause pushCause = new PushCause(ctx, PushType.Reg, System.currentTimeMillis());
+    Subscriber subscriber = TestUtils.newZoneSubscriber(dataId, zone);
+    SubDatum datum = TestUtils.newSubDatum(subscriber.getDataId(), 100, Collections.emptyList());
+
+    processor.firePush(
+        pushCause,
+        NetUtil.getLocalSocketAddress(),
+        Collections.singletonMap(subscriber.getRegisterId(), subscriber),
+        datum);
+    PushTask task = worker.bufferMap.values().iterator().next();
+    processor.doPush(task);
+    Assert.assertEquals(processor.pushingRecords.size(), 1);
+    // the callback is missing, cleaned by the timeout
+    for (int i = 0; i < 100 && !processor.pushingRecords.isEmpty(); i++) {
+      Thread.sleep(30);
+    }
+    Assert.assertEquals(processor.pushingRecords.size(), 0);
   }
 
   @Test
@@ -43,7 +43,9 @@ public class PushTaskBufferTest {
             NetUtil.getLocalSocketAddress(),
             Collections.singletonMap(subscriber.getRegisterId(), subscriber),
             datum);
-    task.expireTimestamp = 1;
+    // not expired, the worker would not transfer it during the test
+    final long expireTimestamp = System.currentTimeMillis() + 60000;
+    task.expireTimestamp = expireTimestamp;
     Assert.assertTrue(buffer.buffer(task));
 
     Assert.assertFalse(buffer.buffer(task));
@@ -55,9 +57,9 @@ public class PushTaskBufferTest {
             NetUtil.getLocalSocketAddress(),
             Collections.singletonMap(subscriber.getRegisterId(), subscriber),
             datum);
-    task1.expireTimestamp = 2;
+    task1.expireTimestamp = expireTimestamp + 1;
     Assert.assertTrue(buffer.buffer(task1));
-    Assert.assertEquals(task1.expireTimestamp, 1);
+    Assert.assertEquals(task1.expireTimestamp, expireTimestamp);
   }
 
   private static final class MockTask extends PushTask {
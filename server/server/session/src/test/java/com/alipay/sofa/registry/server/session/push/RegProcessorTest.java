@@ -20,6 +20,7 @@ import static org.mockito.Mockito.*;
 
 import com.alipay.sofa.registry.common.model.store.Subscriber;
 import com.alipay.sofa.registry.server.session.TestUtils;
+import java.util.Collections;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -43,6 +44,7 @@ public class RegProcessorTest {
     Assert.assertTrue(processor.fireOnReg(sub2));
 
     Assert.assertEquals(1, w.watchBuffer());
+    verify(processor.regHandler, times(1)).prefetch(Collections.singletonList(sub.getDataInfoId()));
     verify(processor.regHandler, times(1)).onReg(anyString(), anyList());
 
     sub2.checkAndUpdateCtx("testDc", 100, 10);
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import static org.mockito.Mockito.*;
+
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.client.pb.BatchRegisterPb;
+import com.alipay.sofa.registry.common.model.client.pb.BatchRegisterResponsePb;
+import com.alipay.sofa.registry.common.model.client.pb.PublisherRegisterPb;
+import com.alipay.sofa.registry.common.model.client.pb.SubscriberRegisterPb;
+import com.alipay.sofa.registry.core.model.BaseRegister;
+import com.alipay.sofa.registry.core.model.BatchRegister;
+import com.alipay.sofa.registry.core.model.BatchRegisterResponse;
+import com.alipay.sofa.registry.core.model.ConfiguratorRegister;
+import com.alipay.sofa.registry.core.model.PublisherRegister;
+import com.alipay.sofa.registry.core.model.RegisterResponse;
+import com.alipay.sofa.registry.core.model.SubscriberRegister;
+import com.alipay.sofa.registry.remoting.ChannelHandler;
+import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.ExecutorManager;
+import com.alipay.sofa.registry.server.session.strategy.PublisherHandlerStrategy;
+import com.alipay.sofa.registry.server.session.strategy.SubscriberHandlerStrategy;
+import com.alipay.sofa.registry.server.session.strategy.WatcherHandlerStrategy;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchRegisterHandlerTest {
+
+  private BatchRegisterHandler newHandler() {
+    BatchRegisterHandler handler = new BatchRegisterHandler();
+    handler.executorManager = new ExecutorManager(TestUtils.newSessionConfig("testDc"));
+    Assert.assertNotNull(handler.getExecutor());
+    Assert.assertEquals(handler.interest(), BatchRegister.class);
+    Assert.assertEquals(handler.getConnectNodeType(), Node.NodeType.CLIENT);
+    Assert.assertEquals(handler.getType(), ChannelHandler.HandlerType.PROCESSER);
+    Assert.assertEquals(handler.getInvokeType(), ChannelHandler.InvokeType.SYNC);
+    handler.publisherHandler = new PublisherHandler();
+    handler.publisherHandler.publisherHandlerStrategy = mock(PublisherHandlerStrategy.class);
+    handler.subscriberHandler = new SubscriberHandler();
+    handler.subscriberHandler.subscriberHandlerStrategy = mock(SubscriberHandlerStrategy.class);
+    handler.watcherHandler = new WatcherHandler();
+    handler.watcherHandler.watcherHandlerStrategy = mock(WatcherHandlerStrategy.class);
+    return handler;
+  }
+
+  @Test
+  public void testHandle() {
+    BatchRegisterHandler handler = newHandler();
+    BatchRegister request = new BatchRegister();
+    BatchRegisterResponse response = (BatchRegisterResponse) handler.doHandle(null, request);
+    Assert.assertEquals(0, response.getResponses().size());
+
+    BaseRegister unknown = new BaseRegister();
+    unknown.setRegistId("unknown");
+    List<BaseRegister> registers =
+        Lists.newArrayList(
+            new PublisherRegister(), new SubscriberRegister(), new ConfiguratorRegister(), unknown);
+    request.setRegisters(registers);
+    response = (BatchRegisterResponse) handler.doHandle(null, request);
+    List<RegisterResponse> responses = response.getResponses();
+    Assert.assertEquals(registers.size(), responses.size());
+    Assert.assertEquals("unknown", responses.get(3).getRegistId());
+    Assert.assertFalse(responses.get(3).isSuccess());
+
+    verify(handler.publisherHandler.publisherHandlerStrategy, times(1))
+        .handlePublisherRegister(anyObject(), anyObject(), any());
+    verify(handler.subscriberHandler.subscriberHandlerStrategy, times(1))
+        .handleSubscriberRegister(anyObject(), anyObject(), any());
+    verify(handler.watcherHandler.watcherHandlerStrategy, times(1))
+        .handleConfiguratorRegister(anyObject(), anyObject(), any());
+  }
+
+  @Test
+  public void testPb() {
+    BatchRegisterHandler batchHandler = newHandler();
+    BatchRegisterPbHandler handler = new BatchRegisterPbHandler();
+    handler.executorManager = batchHandler.executorManager;
+    handler.publisherHandler = batchHandler.publisherHandler;
+    handler.subscriberHandler = batchHandler.subscriberHandler;
+    Assert.assertNotNull(handler.getExecutor());
+    Assert.assertEquals(handler.interest(), BatchRegisterPb.class);
+    Assert.assertEquals(handler.getConnectNodeType(), Node.NodeType.CLIENT);
+
+    BatchRegisterResponsePb response =
+        (BatchRegisterResponsePb) handler.doHandle(null, BatchRegisterPb.newBuilder().build());
+    Assert.assertEquals(0, response.getResponsesCount());
+
+    BatchRegisterPb request =
+        BatchRegisterPb.newBuilder()
+            .addPublishers(PublisherRegisterPb.newBuilder().build())
+            .addPublishers(PublisherRegisterPb.newBuilder().build())
+            .addSubscribers(SubscriberRegisterPb.newBuilder().build())
+            .build();
+    response = (BatchRegisterResponsePb) handler.doHandle(null, request);
+    Assert.assertEquals(3, response.getResponsesCount());
+    verify(handler.publisherHandler.publisherHandlerStrategy, times(2))
+        .handlePublisherRegister(anyObject(), anyObject(), any());
+    verify(handler.subscriberHandler.subscriberHandlerStrategy, times(1))
+        .handleSubscriberRegister(anyObject(), anyObject(), any());
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.session.remoting.handler;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.alipay.sofa.registry.common.model.GenericResponse;
+import com.alipay.sofa.registry.common.model.Node;
+import com.alipay.sofa.registry.common.model.slot.DataSlotBucketDigest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketRequest;
+import com.alipay.sofa.registry.common.model.slot.DataSlotDiffBucketResult;
+import com.alipay.sofa.registry.common.model.store.Publisher;
+import com.alipay.sofa.registry.remoting.ChannelHandler;
+import com.alipay.sofa.registry.server.session.TestUtils;
+import com.alipay.sofa.registry.server.session.bootstrap.ExecutorManager;
+import com.alipay.sofa.registry.server.session.slot.SlotTableCache;
+import com.alipay.sofa.registry.server.session.store.DataStore;
+import com.alipay.sofa.registry.server.shared.env.ServerEnv;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataSlotDiffBucketRequestHandlerTest {
+
+  private DataSlotDiffBucketRequestHandler newHandler() {
+    DataSlotDiffBucketRequestHandler handler = new DataSlotDiffBucketRequestHandler();
+    handler.executorManager = new ExecutorManager(TestUtils.newSessionConfig("testDc"));
+    Assert.assertNotNull(handler.getExecutor());
+    Assert.assertEquals(handler.interest(), DataSlotDiffBucketRequest.class);
+    Assert.assertEquals(handler.getConnectNodeType(), Node.NodeType.DATA);
+    Assert.assertEquals(handler.getType(), ChannelHandler.HandlerType.PROCESSER);
+    Assert.assertEquals(handler.getInvokeType(), ChannelHandler.InvokeType.SYNC);
+    GenericResponse failed = (GenericResponse) handler.buildFailedResponse("msg");
+    Assert.assertFalse(failed.isSuccess());
+    return handler;
+  }
+
+  @Test
+  public void testHandle() {
+    DataSlotDiffBucketRequestHandler handler = newHandler();
+    handler.slotTableCache = mock(SlotTableCache.class);
+    TestUtils.MockBlotChannel channel = TestUtils.newChannel(9620, "localhost", 8888);
+
+    DataSlotDiffBucketRequest request =
+        new DataSlotDiffBucketRequest(
+            1, 1, DataSlotBucketDigest.ofPublishers(Collections.emptyMap()));
+    handler.checkParam(request);
+    // npe
+    GenericResponse resp = (GenericResponse) handler.doHandle(channel, request);
+    Assert.assertFalse(resp.isSuccess());
+    Assert.assertNull(resp.getData());
+
+    handler.sessionDataStore = mock(DataStore.class);
+    Publisher publisher = TestUtils.createTestPublishers(1, 1).get(0);
+    Map<String, Map<String, Publisher>> publishers =
+        Collections.singletonMap(
+            publisher.getDataInfoId(),
+            Collections.singletonMap(publisher.getRegisterId(), publisher));
+    when(handler.sessionDataStore.getDataInfoIdPublishers(anyInt())).thenReturn(publishers);
+    resp = (GenericResponse) handler.doHandle(channel, request);
+    Assert.assertTrue(resp.isSuccess());
+    DataSlotDiffBucketResult result = (DataSlotDiffBucketResult) resp.getData();
+    Assert.assertEquals(
+        result.getDiffBuckets(),
+        Collections.singleton(DataSlotBucketDigest.bucketOf(publisher.getDataInfoId())));
+    Assert.assertEquals(result.getSessionProcessId(), ServerEnv.PROCESS_ID);
+
+    // same digest
+    request = new DataSlotDiffBucketRequest(1, 1, DataSlotBucketDigest.ofPublishers(publishers));
+    resp = (GenericResponse) handler.doHandle(channel, request);
+    Assert.assertTrue(((DataSlotDiffBucketResult) resp.getData()).isEmpty());
+  }
+}
@@ -156,6 +156,24 @@ public class SlotTableCacheImplTest extends AbstractSessionServerTestBase {
     Assert.assertNotEquals(prev, slotTableCache.getCurrentSlotTable());
   }
 
+  @Test
+  public void testSplitSlotTable() {
+    SlotTable slotTable = randomSlotTable();
+    slotTableCache.updateSlotTable(slotTable);
+    final int slotNum = SlotFunctionRegistry.getFunc().maxSlots();
+    SlotTable split = slotTable.split(slotTable.getEpoch() + 1);
+    Assert.assertTrue(slotTableCache.updateSlotTable(split));
+    Assert.assertEquals(slotNum * 2, slotTableCache.getCurrentSlotTable().getSlotNum());
+    for (int i = 0; i < 100; i++) {
+      String dataInfoId = randomString();
+      int parent = SlotFunctionRegistry.getFunc().slotOf(dataInfoId);
+      int child = slotTableCache.slotOf(dataInfoId);
+      Assert.assertEquals(SlotFunctionRegistry.getFunc(slotNum * 2).slotOf(dataInfoId), child);
+      Assert.assertTrue(child == parent || child == parent + slotNum);
+      Assert.assertEquals(split.getSlot(child), slotTableCache.getSlot(dataInfoId));
+    }
+  }
+
   @Test
   public void testWillNotUpdateLowerEpoch() {
     slotTableCache.updateSlotTable(randomSlotTable());
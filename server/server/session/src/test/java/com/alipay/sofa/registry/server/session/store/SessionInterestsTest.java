@@ -17,10 +17,14 @@
 package com.alipay.sofa.registry.server.session.store;
 
 import com.alipay.sofa.registry.common.model.dataserver.DatumVersion;
+import com.alipay.sofa.registry.common.model.slot.func.SlotFunctionRegistry;
 import com.alipay.sofa.registry.common.model.store.DataInfo;
 import com.alipay.sofa.registry.common.model.store.Subscriber;
 import com.alipay.sofa.registry.server.session.AbstractSessionServerTestBase;
+import com.google.common.collect.Lists;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Before;
@@ -98,6 +102,129 @@ public class SessionInterestsTest extends AbstractSessionServerTestBase {
     Assert.assertEquals(map.get(subscriber.getDataInfoId()).getValue(), 80);
   }
 
+  @Test
+  public void testCheckInterestVersionBound() {
+    String dataInfo = randomString(10);
+    String instanceId = randomString(10);
+    final String dataInfoId = DataInfo.toDataInfoId(dataInfo, instanceId, "default-group");
+    Subscriber subscriber1 = randomSubscriber(dataInfo, instanceId);
+    Subscriber subscriber2 = randomSubscriber(dataInfo, instanceId);
+    interests.add(subscriber1);
+    interests.add(subscriber2);
+    subscriber1.checkAndUpdateCtx(getDc(), 100, 1);
+    Assert.assertEquals(
+        Interests.InterestVersionCheck.Interested,
+        interests.checkInterestVersion(getDc(), dataInfoId, 100));
+    subscriber2.checkAndUpdateCtx(getDc(), 120, 1);
+    Assert.assertEquals(
+        Interests.InterestVersionCheck.Obsolete,
+        interests.checkInterestVersion(getDc(), dataInfoId, 100));
+    SessionInterests.PushedVersionBound bound = getBound(dataInfoId);
+    Assert.assertEquals(100, bound.get(getDc()));
+    Assert.assertEquals(-1, bound.get(getDc() + "1"));
+
+    Assert.assertEquals(
+        Interests.InterestVersionCheck.Interested,
+        interests.checkInterestVersion(getDc(), dataInfoId, 110));
+    Assert.assertEquals(100, bound.get(getDc()));
+
+    // the push of the last subscriber at the bound raises the bound
+    subscriber1.checkAndUpdateCtx(getDc(), 130, 1);
+    interests.onPushed(getDc(), 100, subscriber1);
+    Assert.assertEquals(120, bound.get(getDc()));
+    // not at the bound
+    interests.onPushed(getDc(), 110, subscriber1);
+    Assert.assertEquals(120, bound.get(getDc()));
+
+    // new subscriber resets the bound
+    Subscriber subscriber3 = randomSubscriber(dataInfo, instanceId);
+    interests.add(subscriber3);
+    Assert.assertEquals(-1, bound.get(getDc()));
+    Assert.assertEquals(
+        Interests.InterestVersionCheck.Interested,
+        interests.checkInterestVersion(getDc(), dataInfoId, 100));
+
+    // the scan started before the reset could not update the bound
+    final long stamp = bound.stamp();
+    bound.reset();
+    bound.update(stamp, getDc(), 200, 1);
+    Assert.assertEquals(-1, bound.get(getDc()));
+
+    // push empty subscriber is not interested
+    subscriber3.markPushEmpty(getDc(), 1);
+    Assert.assertEquals(
+        Interests.InterestVersionCheck.Obsolete,
+        interests.checkInterestVersion(getDc(), dataInfoId, 120));
+    Assert.assertEquals(120, bound.get(getDc()));
+
+    List<Subscriber> visited = Lists.newArrayList();
+    interests.forEachData(dataInfoId, visited::add);
+    Assert.assertEquals(3, visited.size());
+
+    // the remove of the last subscriber at the bound raises the bound
+    interests.deleteById(subscriber2.getRegisterId(), dataInfoId);
+    Assert.assertEquals(130, bound.get(getDc()));
+
+    // the bound is removed with the last subscriber
+    interests.deleteById(subscriber3.getRegisterId(), dataInfoId);
+    interests.deleteByConnectId(subscriber1.connectId());
+    Assert.assertNull(getBound(dataInfoId));
+    interests.add(subscriber1);
+    Assert.assertEquals(-1, getBound(dataInfoId).get(getDc()));
+  }
+
+  private SessionInterests.PushedVersionBound getBound(String dataInfoId) {
+    return interests.getPushedVersionBound(dataInfoId);
+  }
+
+  @Test
+  public void testSelectBySlots() {
+    Assert.assertTrue(interests.takeDirtySlots().isEmpty());
+    Subscriber subscriber = randomSubscriber();
+    interests.add(subscriber);
+    final int slotId = SlotFunctionRegistry.getFunc().slotOf(subscriber.getDataInfoId());
+    Assert.assertEquals(interests.takeDirtySlots(), Collections.singleton(slotId));
+    Assert.assertTrue(interests.takeDirtySlots().isEmpty());
+
+    Map<String, DatumVersion> map =
+        interests.selectSubscribers(getDc(), Collections.singletonList(slotId)).o1;
+    Assert.assertEquals(map.size(), 1);
+    Assert.assertTrue(map.containsKey(subscriber.getDataInfoId()));
+    map = interests.selectSubscribers(getDc(), Collections.singletonList(slotId + 1)).o1;
+    Assert.assertEquals(map.size(), 0);
+
+    interests.markDirtySlots(Collections.singletonList(slotId));
+    Assert.assertEquals(interests.takeDirtySlots(), Collections.singleton(slotId));
+
+    // the index is pruned with the last subscriber
+    Assert.assertTrue(interests.getSlotDataInfoIds(slotId).contains(subscriber.getDataInfoId()));
+    interests.deleteById(subscriber.getRegisterId(), subscriber.getDataInfoId());
+    Assert.assertNull(interests.getSlotDataInfoIds(slotId));
+    map = interests.selectSubscribers(getDc(), Collections.singletonList(slotId)).o1;
+    Assert.assertEquals(map.size(), 0);
+    interests.add(subscriber);
+    Assert.assertTrue(interests.getSlotDataInfoIds(slotId).contains(subscriber.getDataInfoId()));
+  }
+
+  @Test
+  public void testSlotVersion() {
+    Assert.assertTrue(interests.checkSlotVersion(1, 10, 100));
+    interests.updateSlotVersion(1, 10, 100);
+    Assert.assertFalse(interests.checkSlotVersion(1, 10, 100));
+    Assert.assertFalse(interests.checkSlotVersion(1, 10, 99));
+    Assert.assertTrue(interests.checkSlotVersion(1, 10, 101));
+    // leader changes
+    Assert.assertTrue(interests.checkSlotVersion(1, 11, 100));
+    Assert.assertTrue(interests.checkSlotVersion(2, 10, 100));
+
+    // not regress
+    interests.updateSlotVersion(1, 10, 90);
+    Assert.assertFalse(interests.checkSlotVersion(1, 10, 100));
+    interests.updateSlotVersion(1, 11, 90);
+    Assert.assertFalse(interests.checkSlotVersion(1, 11, 90));
+    Assert.assertTrue(interests.checkSlotVersion(1, 11, 100));
+  }
+
   @Test
   public void testFilterIPs() {
     Assert.assertEquals(0, interests.filterIPs("", 0).size());
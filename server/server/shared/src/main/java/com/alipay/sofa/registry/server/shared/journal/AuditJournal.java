@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.shared.journal;
+
+import com.alipay.sofa.registry.log.Logger;
+import com.alipay.sofa.registry.log.LoggerFactory;
+import com.alipay.sofa.registry.util.ConcurrentUtils;
+import com.alipay.sofa.registry.util.LoopRunnable;
+import com.alipay.sofa.registry.util.ParaCheckUtil;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * the binary audit journal, the callers only enqueue the records, a single writer thread drains the
+ * queue in batch and encodes the records into a ring of memory-mapped files. when the queue is full
+ * the records are dropped, the callers are never blocked
+ */
+public final class AuditJournal {
+  private static final Logger LOGGER = LoggerFactory.getLogger("AUDIT-JOURNAL");
+
+  static final String FILE_SUFFIX = ".journal";
+
+  private static final int BATCH_SIZE = 1024;
+
+  private final File dir;
+  private final String name;
+  private final int fileSize;
+  private final int fileCount;
+  private final BlockingQueue<AuditRecord> queue;
+  private final AtomicLong dropped = new AtomicLong();
+
+  private final List<AuditRecord> batch = new ArrayList<>(BATCH_SIZE);
+  private final Writer writer = new Writer();
+  private Thread writerThread;
+  private volatile boolean closed;
+
+  private MappedByteBuffer buffer;
+  private long fileSeq = -1;
+
+  public AuditJournal(File dir, String name, int fileSize, int fileCount, int queueSize) {
+    ParaCheckUtil.checkNotNull(dir, "dir");
+    ParaCheckUtil.checkNotBlank(name, "name");
+    ParaCheckUtil.checkIsPositive(fileCount, "fileCount");
+    ParaCheckUtil.checkIsPositive(queueSize, "queueSize");
+    if (fileSize <= AuditJournalFormat.FILE_HEADER_SIZE + AuditJournalFormat.RECORD_FIXED_SIZE) {
+      throw new IllegalArgumentException("fileSize too small: " + fileSize);
+    }
+    this.dir = dir;
+    this.name = name;
+    this.fileSize = fileSize;
+    this.fileCount = fileCount;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+  }
+
+  public synchronized void start() throws IOException {
+    if (writerThread != null) {
+      return;
+    }
+    if (!dir.exists() && !dir.mkdirs()) {
+      throw new IOException("failed to create dir " + dir);
+    }
+    // continue the seq of the existing files, the reader orders the files by the seq
+    final List<File> files = AuditJournalReader.listFiles(dir, name);
+    if (!files.isEmpty()) {
+      fileSeq = AuditJournalReader.fileSeqOf(files.get(files.size() - 1));
+    }
+    roll();
+    writerThread = ConcurrentUtils.createDaemonThread("AuditJournalWriter-" + name, writer);
+    writerThread.start();
+    LOGGER.info("start journal {}, dir={}, fileSeq={}", name, dir, fileSeq);
+  }
+
+  /** @return false if the record is dropped */
+  public boolean append(
+      AuditType type,
+      int slotId,
+      String dataInfoId,
+      String registerId,
+      long version,
+      long registerTimestamp,
+      long datumVersion) {
+    if (closed) {
+      return false;
+    }
+    AuditRecord record =
+        new AuditRecord(
+            type,
+            System.currentTimeMillis(),
+            slotId,
+            dataInfoId,
+            registerId,
+            version,
+            registerTimestamp,
+            datumVersion);
+    if (queue.offer(record)) {
+      return true;
+    }
+    dropped.incrementAndGet();
+    return false;
+  }
+
+  /** stop the writer and flush the pending records */
+  public void close() {
+    closed = true;
+    writer.close();
+    final Thread t = writerThread;
+    if (t != null) {
+      try {
+        t.join(3000);
+      } catch (InterruptedException e) {
+        LOGGER.warn("interrupted waiting writer exit", e);
+      }
+    }
+    synchronized (this) {
+      while (drain(null) != 0) {
+        // flush all the pending records
+      }
+      if (buffer != null) {
+        buffer.force();
+        buffer = null;
+      }
+    }
+    LOGGER.info("close journal {}, fileSeq={}, dropped={}", name, fileSeq, dropped.get());
+  }
+
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /** write one batch of the records, @return the count of the batch */
+  private synchronized int drain(AuditRecord first) {
+    if (first != null) {
+      batch.add(first);
+    }
+    queue.drainTo(batch, BATCH_SIZE - batch.size());
+    final int count = batch.size();
+    try {
+      for (AuditRecord record : batch) {
+        write(record);
+      }
+    } catch (Throwable e) {
+      dropped.addAndGet(count);
+      LOGGER.error("failed to write journal {}, fileSeq={}", name, fileSeq, e);
+    } finally {
+      batch.clear();
+    }
+    return count;
+  }
+
+  private void write(AuditRecord record) throws IOException {
+    final byte[] dataInfoId = AuditJournalFormat.encodeString(record.dataInfoId);
+    final byte[] registerId = AuditJournalFormat.encodeString(record.registerId);
+    final int size = AuditJournalFormat.recordSize(dataInfoId, registerId);
+    if (size > fileSize - AuditJournalFormat.FILE_HEADER_SIZE) {
+      dropped.incrementAndGet();
+      return;
+    }
+    if (buffer == null || buffer.remaining() < size) {
+      roll();
+    }
+    AuditJournalFormat.writeRecord(buffer, record, dataInfoId, registerId);
+  }
+
+  private void roll() throws IOException {
+    if (buffer != null) {
+      buffer.force();
+      buffer = null;
+    }
+    final long seq = fileSeq + 1;
+    final File file = fileOf(dir, name, seq, fileCount);
+    // truncate the oldest file of the ring, the content after the header is zero
+    try (FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+    }
+    AuditJournalFormat.writeFileHeader(buffer, seq, System.currentTimeMillis());
+    fileSeq = seq;
+    final long droppedNum = dropped.get();
+    if (droppedNum != 0) {
+      LOGGER.warn("roll journal {} to {}, dropped={}", name, file, droppedNum);
+    }
+  }
+
+  static File fileOf(File dir, String name, long fileSeq, int fileCount) {
+    return new File(dir, name + "." + (fileSeq % fileCount) + FILE_SUFFIX);
+  }
+
+  @VisibleForTesting
+  synchronized long getFileSeq() {
+    return fileSeq;
+  }
+
+  private final class Writer extends LoopRunnable {
+    @Override
+    public void runUnthrowable() {
+      AuditRecord first = ConcurrentUtils.pollUninterruptibly(queue, 100, TimeUnit.MILLISECONDS);
+      if (first != null) {
+        drain(first);
+      }
+    }
+
+    @Override
+    public void waitingUnthrowable() {}
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.shared.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * the layout of the journal file, all numbers are big endian.
+ *
+ * <pre>
+ * file header: magic(int), formatVersion(short), fileSeq(long), createTimestamp(long)
+ * record:      length(int), type(byte), timestamp(long), slotId(int), version(long),
+ *              registerTimestamp(long), datumVersion(long),
+ *              dataInfoIdLength(short), dataInfoId(utf8), registerIdLength(short), registerId(utf8)
+ * </pre>
+ *
+ * the length of the record is written at last, a zero length means the end of the file
+ */
+final class AuditJournalFormat {
+  static final int MAGIC = 0x52414A31;
+  static final short FORMAT_VERSION = 1;
+  static final int FILE_HEADER_SIZE = 4 + 2 + 8 + 8;
+  static final int RECORD_FIXED_SIZE = 4 + 1 + 8 + 4 + 8 + 8 + 8 + 2 + 2;
+  static final int MAX_STRING_BYTES = 0xFFFF;
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private AuditJournalFormat() {}
+
+  static void writeFileHeader(ByteBuffer buffer, long fileSeq, long createTimestamp) {
+    buffer.putInt(MAGIC);
+    buffer.putShort(FORMAT_VERSION);
+    buffer.putLong(fileSeq);
+    buffer.putLong(createTimestamp);
+  }
+
+  /** @return the fileSeq, -1 if the header is invalid */
+  static long readFileHeader(ByteBuffer buffer) {
+    if (buffer.remaining() < FILE_HEADER_SIZE || buffer.getInt() != MAGIC) {
+      return -1;
+    }
+    if (buffer.getShort() != FORMAT_VERSION) {
+      return -1;
+    }
+    final long fileSeq = buffer.getLong();
+    buffer.getLong();
+    return fileSeq;
+  }
+
+  static byte[] encodeString(String s) {
+    if (s == null || s.isEmpty()) {
+      return EMPTY;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_STRING_BYTES) {
+      byte[] truncated = new byte[MAX_STRING_BYTES];
+      System.arraycopy(bytes, 0, truncated, 0, MAX_STRING_BYTES);
+      return truncated;
+    }
+    return bytes;
+  }
+
+  static int recordSize(byte[] dataInfoId, byte[] registerId) {
+    return RECORD_FIXED_SIZE + dataInfoId.length + registerId.length;
+  }
+
+  /** the caller makes sure the buffer has enough space */
+  static void writeRecord(
+      ByteBuffer buffer, AuditRecord record, byte[] dataInfoId, byte[] registerId) {
+    final int start = buffer.position();
+    final int size = recordSize(dataInfoId, registerId);
+    buffer.position(start + 4);
+    buffer.put(record.type.code);
+    buffer.putLong(record.timestamp);
+    buffer.putInt(record.slotId);
+    buffer.putLong(record.version);
+    buffer.putLong(record.registerTimestamp);
+    buffer.putLong(record.datumVersion);
+    buffer.putShort((short) dataInfoId.length);
+    buffer.put(dataInfoId);
+    buffer.putShort((short) registerId.length);
+    buffer.put(registerId);
+    // publish the record after the body is written
+    buffer.putInt(start, size);
+  }
+
+  /** @return null if reach the end or the record is broken */
+  static AuditRecord readRecord(ByteBuffer buffer) {
+    if (buffer.remaining() < RECORD_FIXED_SIZE) {
+      return null;
+    }
+    final int start = buffer.position();
+    final int size = buffer.getInt();
+    if (size < RECORD_FIXED_SIZE || size > buffer.remaining() + 4) {
+      buffer.position(start);
+      return null;
+    }
+    final AuditType type = AuditType.of(buffer.get());
+    final long timestamp = buffer.getLong();
+    final int slotId = buffer.getInt();
+    final long version = buffer.getLong();
+    final long registerTimestamp = buffer.getLong();
+    final long datumVersion = buffer.getLong();
+    final String dataInfoId = readString(buffer);
+    final String registerId = readString(buffer);
+    if (type == null || buffer.position() - start != size) {
+      buffer.position(start);
+      return null;
+    }
+    return new AuditRecord(
+        type, timestamp, slotId, dataInfoId, registerId, version, registerTimestamp, datumVersion);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    if (buffer.remaining() < 2) {
+      return "";
+    }
+    final int len = buffer.getShort() & 0xFFFF;
+    if (len > buffer.remaining()) {
+      buffer.position(buffer.limit());
+      return "";
+    }
+    if (len == 0) {
+      return "";
+    }
+    byte[] bytes = new byte[len];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.shared.journal;
+
+import com.google.common.collect.Maps;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * decode the audit journal to the text lines, the lines has the same fields as the INFO log lines
+ * which the journal replaces.
+ *
+ * <pre>
+ * usage: AuditJournalReader dir [name]
+ * </pre>
+ */
+public final class AuditJournalReader {
+  private static final DateTimeFormatter TIME_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+  private AuditJournalReader() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("usage: AuditJournalReader dir [name]");
+      System.exit(1);
+    }
+    final File dir = new File(args[0]);
+    final String name = args.length == 2 ? args[1] : null;
+    print(listFiles(dir, name), System.out);
+  }
+
+  public static int print(List<File> files, PrintStream out) throws IOException {
+    int count = 0;
+    for (File file : files) {
+      for (AuditRecord record : read(file)) {
+        out.println(format(record));
+        count++;
+      }
+    }
+    out.flush();
+    return count;
+  }
+
+  /** the files of the journal, ordered by the fileSeq, the name is null means all the journals */
+  public static List<File> listFiles(File dir, String name) throws IOException {
+    final String prefix = name == null ? null : name + ".";
+    final File[] files =
+        dir.listFiles(
+            f ->
+                f.isFile()
+                    && f.getName().endsWith(AuditJournal.FILE_SUFFIX)
+                    && (prefix == null || f.getName().startsWith(prefix)));
+    if (files == null || files.length == 0) {
+      return Collections.emptyList();
+    }
+    final Map<File, Long> seqs = Maps.newHashMapWithExpectedSize(files.length);
+    for (File f : files) {
+      final long seq = fileSeqOf(f);
+      if (seq >= 0) {
+        seqs.put(f, seq);
+      }
+    }
+    final List<File> ret = new ArrayList<>(seqs.keySet());
+    ret.sort(Comparator.comparingLong(seqs::get));
+    return ret;
+  }
+
+  /** @return -1 if the file is not a journal */
+  static long fileSeqOf(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(AuditJournalFormat.FILE_HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) > 0) {
+        // read the full header
+      }
+      header.flip();
+      return AuditJournalFormat.readFileHeader(header);
+    }
+  }
+
+  public static List<AuditRecord> read(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (AuditJournalFormat.readFileHeader(buffer) < 0) {
+        return Collections.emptyList();
+      }
+      List<AuditRecord> records = new ArrayList<>();
+      AuditRecord record;
+      while ((record = AuditJournalFormat.readRecord(buffer)) != null) {
+        records.add(record);
+      }
+      return records;
+    }
+  }
+
+  static String format(AuditRecord record) {
+    return TIME_FORMAT.format(Instant.ofEpochMilli(record.timestamp))
+        + ","
+        + record.type.getTag()
+        + ","
+        + record.slotId
+        + ","
+        + record.dataInfoId
+        + ","
+        + record.registerId
+        + ","
+        + record.version
+        + ","
+        + record.registerTimestamp
+        + ","
+        + record.datumVersion;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.shared.journal;
+
+/**
+ * the fields of the record are captured as is on the caller thread, the writer thread encodes them,
+ * so the caller has no formatting cost
+ */
+public final class AuditRecord {
+  final AuditType type;
+  final long timestamp;
+  final int slotId;
+  final String dataInfoId;
+  final String registerId;
+  final long version;
+  final long registerTimestamp;
+  final long datumVersion;
+
+  AuditRecord(
+      AuditType type,
+      long timestamp,
+      int slotId,
+      String dataInfoId,
+      String registerId,
+      long version,
+      long registerTimestamp,
+      long datumVersion) {
+    this.type = type;
+    this.timestamp = timestamp;
+    this.slotId = slotId;
+    this.dataInfoId = dataInfoId;
+    this.registerId = registerId;
+    this.version = version;
+    this.registerTimestamp = registerTimestamp;
+    this.datumVersion = datumVersion;
+  }
+
+  public AuditType getType() {
+    return type;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public int getSlotId() {
+    return slotId;
+  }
+
+  public String getDataInfoId() {
+    return dataInfoId;
+  }
+
+  public String getRegisterId() {
+    return registerId;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public long getRegisterTimestamp() {
+    return registerTimestamp;
+  }
+
+  public long getDatumVersion() {
+    return datumVersion;
+  }
+
+  @Override
+  public String toString() {
+    return "AuditRecord{"
+        + type
+        + ","
+        + slotId
+        + ","
+        + dataInfoId
+        + ","
+        + registerId
+        + ","
+        + version
+        + ","
+        + registerTimestamp
+        + ","
+        + datumVersion
+        + '}';
+  }
+}
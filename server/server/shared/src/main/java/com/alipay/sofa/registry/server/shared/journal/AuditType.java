@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.shared.journal;
+
+/** the type of the audit record, the code is persisted in the journal, do not change it */
+public enum AuditType {
+  PUB((byte) 1, "pub"),
+  UNPUB((byte) 2, "unpub"),
+  CLIENT_OFF((byte) 3, "off"),
+  CHANGE((byte) 4, "change"),
+  ;
+
+  private static final AuditType[] CODES = new AuditType[8];
+
+  static {
+    for (AuditType type : values()) {
+      CODES[type.code] = type;
+    }
+  }
+
+  final byte code;
+  final String tag;
+
+  AuditType(byte code, String tag) {
+    this.code = code;
+    this.tag = tag;
+  }
+
+  /** @return null if the code is unknown */
+  static AuditType of(byte code) {
+    return code >= 0 && code < CODES.length ? CODES[code] : null;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+}
@@ -39,6 +39,7 @@ import com.alipay.sofa.registry.remoting.exchange.message.Response;
 import com.alipay.sofa.registry.server.shared.env.ServerEnv;
 import com.alipay.sofa.registry.util.ConcurrentUtils;
 import com.alipay.sofa.registry.util.StringFormatter;
+import com.alipay.sofa.registry.util.SystemUtils;
 import com.alipay.sofa.registry.util.WakeUpLoopRunnable;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
@@ -64,6 +65,12 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
   final AtomicInteger renewFailCounter = new AtomicInteger(0);
   static final int MAX_RENEW_FAIL_COUNT = 3;
 
+  // carry the epochs of the last response, the meta server omits the parts which not change
+  boolean conditionalHeartbeat =
+      Boolean.parseBoolean(SystemUtils.getSystem("registry.meta.heartbeat.conditional", "false"));
+
+  volatile T lastHeartbeatResponse;
+
   @Override
   public synchronized void startRenewer() {
     if (renewerThread == null) {
@@ -140,6 +147,7 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
     boolean success = true;
     try {
       HeartbeatRequest heartbeatRequest = createRequest();
+      setKnownEpochs(heartbeatRequest);
       GenericResponse<T> resp =
           (GenericResponse<T>) metaServerManager.sendRequest(heartbeatRequest).getResult();
       handleHeartbeatResponse(resp);
@@ -175,9 +183,10 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
       throw new RuntimeException("renew node to metaServer error : resp is null");
     }
     if (resp.isSuccess()) {
-      updateState(resp.getData());
-      metaServerManager.refresh(resp.getData());
-      handleRenewResult(resp.getData());
+      final T data = fillUnchanged(resp.getData());
+      updateState(data);
+      metaServerManager.refresh(data);
+      handleRenewResult(data);
       renewFailCounter.set(0);
     } else {
       T data = resp.getData();
@@ -204,6 +213,33 @@ public abstract class AbstractMetaServerService<T extends BaseHeartBeatResponse>
     }
   }
 
+  void setKnownEpochs(HeartbeatRequest request) {
+    final T last = lastHeartbeatResponse;
+    if (!conditionalHeartbeat || last == null) {
+      return;
+    }
+    request.setKnownEpochs(
+        last.getMetaLeaderEpoch(),
+        last.getSlotTable().getEpoch(),
+        last.getMetaServerEpoch(),
+        last.getSessionServerEpoch());
+  }
+
+  T fillUnchanged(T response) {
+    if (response == null) {
+      throw new RuntimeException("renew node to metaServer error : resp.data is null");
+    }
+    if (!response.isComplete()) {
+      final T last = lastHeartbeatResponse;
+      if (last == null) {
+        throw new RuntimeException("renew node to metaServer error : resp.data is not complete");
+      }
+      response.fillUnchanged(last);
+    }
+    this.lastHeartbeatResponse = response;
+    return response;
+  }
+
   void handleHeartbeatFailed(String leaderIp, Throwable e) {
     renewFailCounter.incrementAndGet();
     RENEWER_LOGGER.error(
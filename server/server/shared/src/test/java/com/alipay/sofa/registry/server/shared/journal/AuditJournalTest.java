@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alipay.sofa.registry.server.shared.journal;
+
+import com.alipay.sofa.registry.util.FileUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AuditJournalTest {
+  private File dir;
+
+  @Before
+  public void before() throws Exception {
+    dir = Files.createTempDirectory("audit-journal").toFile();
+  }
+
+  @After
+  public void after() throws Exception {
+    FileUtils.deleteDirectory(dir);
+  }
+
+  @Test
+  public void testWriteAndRead() throws Exception {
+    AuditJournal journal = new AuditJournal(dir, "test", 1024 * 64, 2, 1000);
+    journal.start();
+    for (int i = 0; i < 10; i++) {
+      Assert.assertTrue(journal.append(AuditType.PUB, 1, "dataInfoId", "reg" + i, i, 100 + i, 200));
+    }
+    journal.append(AuditType.CHANGE, -1, "dataInfoId", null, 0, 0, 300);
+    journal.close();
+    Assert.assertFalse(journal.append(AuditType.PUB, 1, "dataInfoId", "reg", 1, 1, 1));
+    Assert.assertEquals(0, journal.getDropped());
+
+    List<File> files = AuditJournalReader.listFiles(dir, "test");
+    Assert.assertEquals(1, files.size());
+    List<AuditRecord> records = AuditJournalReader.read(files.get(0));
+    Assert.assertEquals(11, records.size());
+    for (int i = 0; i < 10; i++) {
+      AuditRecord record = records.get(i);
+      Assert.assertEquals(AuditType.PUB, record.getType());
+      Assert.assertEquals(1, record.getSlotId());
+      Assert.assertEquals("dataInfoId", record.getDataInfoId());
+      Assert.assertEquals("reg" + i, record.getRegisterId());
+      Assert.assertEquals(i, record.getVersion());
+      Assert.assertEquals(100 + i, record.getRegisterTimestamp());
+      Assert.assertEquals(200, record.getDatumVersion());
+    }
+    Assert.assertEquals(AuditType.CHANGE, records.get(10).getType());
+    Assert.assertEquals("", records.get(10).getRegisterId());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Assert.assertEquals(11, AuditJournalReader.print(files, new PrintStream(out)));
+    String text = out.toString();
+    Assert.assertTrue(text, text.contains(",pub,1,dataInfoId,reg9,9,109,200"));
+    Assert.assertTrue(text, text.contains(",change,-1,dataInfoId,,0,0,300"));
+  }
+
+  @Test
+  public void testRing() throws Exception {
+    AuditJournal journal = new AuditJournal(dir, "test", 512, 3, 1000);
+    journal.start();
+    for (int i = 0; i < 100; i++) {
+      journal.append(AuditType.CLIENT_OFF, 1, "dataInfoId", "reg" + i, i, i, i);
+    }
+    journal.close();
+    final long fileSeq = journal.getFileSeq();
+    Assert.assertTrue(fileSeq > 3);
+
+    List<File> files = AuditJournalReader.listFiles(dir, "test");
+    Assert.assertEquals(3, files.size());
+    List<AuditRecord> records = new ArrayList<>();
+    for (File f : files) {
+      records.addAll(AuditJournalReader.read(f));
+    }
+    Assert.assertTrue(records.size() < 100);
+    // the oldest records are overwritten, the rest are in order
+    for (int i = 0; i < records.size(); i++) {
+      Assert.assertEquals(100 - records.size() + i, records.get(i).getVersion());
+    }
+
+    // restart continues the seq
+    journal = new AuditJournal(dir, "test", 512, 3, 1000);
+    journal.start();
+    journal.append(AuditType.UNPUB, 1, "dataInfoId", "reg", 1000, 1000, 1000);
+    journal.close();
+    Assert.assertEquals(fileSeq + 1, journal.getFileSeq());
+    files = AuditJournalReader.listFiles(dir, "test");
+    List<AuditRecord> last = AuditJournalReader.read(files.get(files.size() - 1));
+    Assert.assertEquals(1, last.size());
+    Assert.assertEquals(AuditType.UNPUB, last.get(0).getType());
+  }
+
+  @Test
+  public void testBroken() {
+    ByteBuffer buffer = ByteBuffer.allocate(128);
+    Assert.assertEquals(-1, AuditJournalFormat.readFileHeader(buffer));
+    buffer.clear();
+    Assert.assertNull(AuditJournalFormat.readRecord(buffer));
+    Assert.assertEquals(0, buffer.position());
+    buffer.putInt(0, 1024);
+    Assert.assertNull(AuditJournalFormat.readRecord(buffer));
+  }
+}
@@ -136,6 +136,54 @@ public class MetaServerServiceTest {
     Assert.assertTrue(zones.contains("192.168.1.2"));
   }
 
+  @Test
+  public void testConditionalHeartbeat() {
+    MockServerService mockServerService = new MockServerService();
+    mockServerService.setMetaServerManager(Mockito.mock(MetaServerManager.class));
+    mockServerService.conditionalHeartbeat = true;
+
+    HeartbeatRequest request = new HeartbeatRequest(null, 0, "dc1", 0, null);
+    mockServerService.setKnownEpochs(request);
+    Assert.assertEquals(-1, request.getKnownSlotTableEpoch());
+
+    // not complete and no last response
+    GenericResponse<BaseHeartBeatResponse> resp = new GenericResponse<>();
+    resp.setSuccess(true);
+    resp.setData(new BaseHeartBeatResponse(true, null, null, null, "test", 100));
+    TestUtils.assertRunException(
+        RuntimeException.class, () -> mockServerService.handleHeartbeatResponse(resp));
+
+    final VersionedList<MetaNode> metaNodes =
+        new VersionedList(2, Lists.newArrayList(new MetaNode(new URL("192.168.1.1"), "dc1")));
+    final SlotTable slotTable = new SlotTable(10, Collections.emptyList());
+    final VersionedList<SessionNode> sessionNodes =
+        new VersionedList(
+            1,
+            Lists.newArrayList(
+                new SessionNode(new URL("192.168.1.2"), "zoneA", ServerEnv.PROCESS_ID)));
+    resp.setData(new BaseHeartBeatResponse(true, metaNodes, slotTable, sessionNodes, "test", 100));
+    mockServerService.handleHeartbeatResponse(resp);
+
+    request = new HeartbeatRequest(null, 0, "dc1", 0, null);
+    mockServerService.setKnownEpochs(request);
+    Assert.assertEquals(100, request.getKnownMetaLeaderEpoch());
+    Assert.assertEquals(10, request.getKnownSlotTableEpoch());
+    Assert.assertEquals(2, request.getKnownMetaNodesEpoch());
+    Assert.assertEquals(1, request.getKnownSessionNodesEpoch());
+
+    // only the slot table not changed
+    final VersionedList<SessionNode> newSessionNodes =
+        new VersionedList(
+            3,
+            Lists.newArrayList(
+                new SessionNode(new URL("192.168.1.3"), "zoneA", ServerEnv.PROCESS_ID)));
+    resp.setData(new BaseHeartBeatResponse(true, metaNodes, null, newSessionNodes, "test", 100));
+    mockServerService.handleHeartbeatResponse(resp);
+    Assert.assertEquals(slotTable, mockServerService.lastHeartbeatResponse.getSlotTable());
+    Assert.assertEquals(3, mockServerService.getSessionServerEpoch());
+    Assert.assertEquals(mockServerService.getSessionServerList(), Sets.newHashSet("192.168.1.3"));
+  }
+
   @Test
   public void testSuspend() {
     MockServerService mockServerService = new MockServerService();
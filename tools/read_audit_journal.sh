@@ -0,0 +1,18 @@
+#!/bin/bash
+# decode the binary audit journal to text lines
+# usage: read_audit_journal.sh <registry-data.jar|classpath> <journal dir> [journal name]
+
+if [ $# -lt 2 ]; then
+  echo "usage: $0 <registry-data.jar|classpath> <journal dir> [journal name]"
+  exit 1
+fi
+
+CLASSPATH=$1
+shift
+READER=com.alipay.sofa.registry.server.shared.journal.AuditJournalReader
+
+if [[ "$CLASSPATH" == *.jar ]] && unzip -l "$CLASSPATH" 2>/dev/null | grep -q "BOOT-INF/"; then
+  # the executable jar of spring boot, the reader is in the nested jars
+  exec java -cp "$CLASSPATH" -Dloader.main=${READER} org.springframework.boot.loader.PropertiesLauncher "$@"
+fi
+exec java -cp "$CLASSPATH" ${READER} "$@"